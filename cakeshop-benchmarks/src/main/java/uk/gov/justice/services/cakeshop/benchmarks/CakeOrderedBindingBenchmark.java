@@ -0,0 +1,69 @@
+package uk.gov.justice.services.cakeshop.benchmarks;
+
+import static java.util.UUID.randomUUID;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static javax.json.Json.createObjectBuilder;
+
+import uk.gov.justice.services.cakeshop.command.handler.EventFactory;
+import uk.gov.justice.services.cakeshop.domain.event.CakeOrdered;
+import uk.gov.justice.services.common.converter.jackson.ObjectMapperProducer;
+
+import java.io.IOException;
+
+import javax.json.JsonObject;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Creation of {@link CakeOrdered} from the payload of an order-cake command, by writing the payload
+ * out as JSON text and parsing it with the framework object mapper, as the {@link EventFactory}
+ * used to, and by binding the payload fields directly, as it does now.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(NANOSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = SECONDS)
+@Fork(2)
+public class CakeOrderedBindingBenchmark {
+
+    @Param({"2025-03-03T09:30:00Z", "2025-03-03T09:30:00.123+01:00"})
+    public String deliveryDate;
+
+    private JsonObject payload;
+    private ObjectMapper objectMapper;
+    private EventFactory eventFactory;
+
+    @Setup
+    public void setup() {
+        payload = createObjectBuilder()
+                .add("orderId", randomUUID().toString())
+                .add("recipeId", randomUUID().toString())
+                .add("deliveryDate", deliveryDate)
+                .build();
+        objectMapper = new ObjectMapperProducer().objectMapper();
+        eventFactory = new EventFactory();
+    }
+
+    @Benchmark
+    public CakeOrdered objectMapperRoundTrip() throws IOException {
+        return objectMapper.readValue(payload.toString(), CakeOrdered.class);
+    }
+
+    @Benchmark
+    public CakeOrdered directBinding() {
+        return eventFactory.cakeOrderedFrom(payload);
+    }
+}
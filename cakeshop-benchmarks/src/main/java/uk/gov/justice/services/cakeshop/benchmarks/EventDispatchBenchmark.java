@@ -0,0 +1,60 @@
+package uk.gov.justice.services.cakeshop.benchmarks;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import uk.gov.justice.services.cakeshop.domain.aggregate.EventDispatcher;
+import uk.gov.justice.services.cakeshop.domain.aggregate.Recipe;
+
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Replay of the same event stream through the precomputed {@link EventDispatcher} table used by
+ * {@link Recipe} and through {@link EventSwitcherRecipe}, the {@code match(...).with(when(...))}
+ * dispatch that {@link Recipe} used before it. Run with the GC profiler to compare allocations
+ * per event.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = SECONDS)
+@Fork(2)
+public class EventDispatchBenchmark {
+
+    @Param({"100", "1000"})
+    private int eventCount;
+
+    private List<Object> events;
+
+    @Setup
+    public void setup() {
+        events = RecipeEvents.recipeStreamOf(eventCount);
+    }
+
+    @Benchmark
+    public Object replayWithEventSwitcher() {
+        final EventSwitcherRecipe recipe = new EventSwitcherRecipe();
+        for (final Object event : events) {
+            recipe.apply(event);
+        }
+        return recipe;
+    }
+
+    @Benchmark
+    public Object replayWithEventDispatcher() {
+        return RecipeEvents.replay(events);
+    }
+}
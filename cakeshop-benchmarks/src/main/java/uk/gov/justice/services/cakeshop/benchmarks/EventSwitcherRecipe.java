@@ -0,0 +1,40 @@
+package uk.gov.justice.services.cakeshop.benchmarks;
+
+import static uk.gov.justice.domain.aggregate.matcher.EventSwitcher.doNothing;
+import static uk.gov.justice.domain.aggregate.matcher.EventSwitcher.match;
+import static uk.gov.justice.domain.aggregate.matcher.EventSwitcher.when;
+
+import uk.gov.justice.domain.aggregate.Aggregate;
+import uk.gov.justice.services.cakeshop.domain.aggregate.Recipe;
+import uk.gov.justice.services.cakeshop.domain.event.CakeMade;
+import uk.gov.justice.services.cakeshop.domain.event.RecipeAdded;
+import uk.gov.justice.services.cakeshop.domain.event.RecipePhotographAdded;
+import uk.gov.justice.services.cakeshop.domain.event.RecipeRemoved;
+import uk.gov.justice.services.cakeshop.domain.event.RecipeRenamed;
+
+import java.util.UUID;
+
+/**
+ * The state handling of {@link Recipe} written with {@code match(event).with(when(...))}, kept as
+ * the baseline for {@link EventDispatchBenchmark}.
+ */
+class EventSwitcherRecipe implements Aggregate {
+
+    private static final long serialVersionUID = 1L;
+
+    private UUID recipeId;
+    private String name;
+
+    @Override
+    public Object apply(final Object event) {
+        return match(event).with(
+                when(RecipeRemoved.class).apply(x -> recipeId = null),
+                when(RecipeAdded.class).apply(x -> {
+                    recipeId = x.getRecipeId();
+                    name = x.getName();
+                }),
+                when(RecipeRenamed.class).apply(x -> name = x.getName()),
+                when(CakeMade.class).apply(x -> doNothing()),
+                when(RecipePhotographAdded.class).apply(x -> doNothing()));
+    }
+}
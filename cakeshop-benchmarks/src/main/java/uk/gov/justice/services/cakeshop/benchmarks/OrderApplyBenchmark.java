@@ -0,0 +1,45 @@
+package uk.gov.justice.services.cakeshop.benchmarks;
+
+import static java.util.UUID.randomUUID;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import uk.gov.justice.services.cakeshop.domain.aggregate.Order;
+import uk.gov.justice.services.cakeshop.domain.event.CakeOrdered;
+
+import java.time.ZonedDateTime;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Application of {@link CakeOrdered} to the {@link Order} aggregate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(NANOSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = SECONDS)
+@Fork(2)
+public class OrderApplyBenchmark {
+
+    private CakeOrdered cakeOrdered;
+
+    @Setup
+    public void setup() {
+        cakeOrdered = new CakeOrdered(randomUUID(), randomUUID(), ZonedDateTime.now());
+    }
+
+    @Benchmark
+    public Object applyCakeOrdered() {
+        return new Order().apply(cakeOrdered);
+    }
+}
@@ -0,0 +1,69 @@
+package uk.gov.justice.services.cakeshop.benchmarks;
+
+import static java.util.UUID.randomUUID;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import uk.gov.justice.services.cakeshop.domain.aggregate.EventDispatcher;
+import uk.gov.justice.services.cakeshop.domain.aggregate.Recipe;
+import uk.gov.justice.services.cakeshop.domain.event.CakeMade;
+import uk.gov.justice.services.cakeshop.domain.event.RecipeRenamed;
+
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Rehydration of the {@link Recipe} aggregate, as done by the aggregate service before each
+ * command, and application of single events through its precomputed {@link EventDispatcher}
+ * table, both for an event that changes its state and for one it ignores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = SECONDS)
+@Fork(2)
+public class RecipeApplyBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int eventCount;
+
+    private List<Object> events;
+    private Recipe recipe;
+    private CakeMade cakeMade;
+    private RecipeRenamed recipeRenamed;
+
+    @Setup
+    public void setup() {
+        events = RecipeEvents.recipeStreamOf(eventCount);
+        recipe = RecipeEvents.replay(events);
+        cakeMade = new CakeMade(randomUUID(), "Victoria Sponge");
+        recipeRenamed = new RecipeRenamed(randomUUID(), "Lemon Drizzle");
+    }
+
+    @Benchmark
+    public Recipe replayStream() {
+        return RecipeEvents.replay(events);
+    }
+
+    @Benchmark
+    public Object applyStateChangingEvent() {
+        return recipe.apply(recipeRenamed);
+    }
+
+    @Benchmark
+    public Object applyIgnoredEvent() {
+        return recipe.apply(cakeMade);
+    }
+}
@@ -0,0 +1,62 @@
+package uk.gov.justice.services.cakeshop.benchmarks;
+
+import static java.util.Arrays.asList;
+import static java.util.UUID.randomUUID;
+
+import uk.gov.justice.services.cakeshop.domain.Ingredient;
+import uk.gov.justice.services.cakeshop.domain.aggregate.Recipe;
+import uk.gov.justice.services.cakeshop.domain.event.CakeMade;
+import uk.gov.justice.services.cakeshop.domain.event.RecipeAdded;
+import uk.gov.justice.services.cakeshop.domain.event.RecipePhotographAdded;
+import uk.gov.justice.services.cakeshop.domain.event.RecipeRenamed;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Builds the event streams replayed by the benchmarks.
+ */
+final class RecipeEvents {
+
+    private RecipeEvents() {
+    }
+
+    /**
+     * A stream of a recipe being added followed by a mix of renames, cakes made and photographs,
+     * roughly in the proportions seen on a busy recipe.
+     */
+    static List<Object> recipeStreamOf(final int eventCount) {
+        final UUID recipeId = randomUUID();
+        final List<Object> events = new ArrayList<>(eventCount);
+
+        events.add(new RecipeAdded(recipeId, "Victoria Sponge", false, asList(
+                new Ingredient("flour", 200),
+                new Ingredient("sugar", 200),
+                new Ingredient("butter", 200),
+                new Ingredient("eggs", 4))));
+
+        for (int i = 1; i < eventCount; i++) {
+            switch (i % 10) {
+                case 0:
+                    events.add(new RecipeRenamed(recipeId, "Victoria Sponge " + i));
+                    break;
+                case 5:
+                    events.add(new RecipePhotographAdded(recipeId, randomUUID()));
+                    break;
+                default:
+                    events.add(new CakeMade(randomUUID(), "Victoria Sponge"));
+            }
+        }
+
+        return events;
+    }
+
+    static Recipe replay(final List<Object> events) {
+        final Recipe recipe = new Recipe();
+        for (final Object event : events) {
+            recipe.apply(event);
+        }
+        return recipe;
+    }
+}
@@ -0,0 +1,65 @@
+package uk.gov.justice.services.cakeshop.benchmarks;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import uk.gov.justice.services.cakeshop.domain.aggregate.Recipe;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Java serialisation of a rehydrated {@link Recipe}, which is the form the aggregate snapshot
+ * service stores and loads snapshots in.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = SECONDS)
+@Fork(2)
+public class RecipeSnapshotBenchmark {
+
+    private Recipe recipe;
+    private byte[] snapshot;
+
+    @Setup
+    public void setup() throws IOException {
+        recipe = RecipeEvents.replay(RecipeEvents.recipeStreamOf(100));
+        snapshot = serialise(recipe);
+    }
+
+    @Benchmark
+    public byte[] serialiseSnapshot() throws IOException {
+        return serialise(recipe);
+    }
+
+    @Benchmark
+    public Recipe deserialiseSnapshot() throws IOException, ClassNotFoundException {
+        try (final ObjectInputStream objectInputStream = new ObjectInputStream(new ByteArrayInputStream(snapshot))) {
+            return (Recipe) objectInputStream.readObject();
+        }
+    }
+
+    private byte[] serialise(final Recipe recipe) throws IOException {
+        final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        try (final ObjectOutputStream objectOutputStream = new ObjectOutputStream(byteArrayOutputStream)) {
+            objectOutputStream.writeObject(recipe);
+        }
+        return byteArrayOutputStream.toByteArray();
+    }
+}
@@ -0,0 +1,30 @@
+package uk.gov.justice.services.cakeshop.command.api;
+
+import uk.gov.justice.services.cakeshop.persistence.CommandStatusRepository;
+
+import java.util.UUID;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.transaction.Transactional;
+
+/**
+ * The make-cake commands accepted by the command API, recorded in the command status table as
+ * {@code Making Cake}, so the status of a command still being made can be told apart from a
+ * command id that was never given out.
+ */
+@ApplicationScoped
+public class AcceptedCommands {
+
+    @Inject
+    CommandStatusRepository commandStatusRepository;
+
+    /**
+     * @param commandId the metadata id of the command, returned to the client
+     * @param cakeId    the id of the cake the command makes
+     */
+    @Transactional
+    public void accepted(final UUID commandId, final UUID cakeId) {
+        commandStatusRepository.recordAccepted(commandId, cakeId);
+    }
+}
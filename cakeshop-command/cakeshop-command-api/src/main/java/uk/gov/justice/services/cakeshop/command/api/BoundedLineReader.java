@@ -0,0 +1,75 @@
+package uk.gov.justice.services.cakeshop.command.api;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reads lines of text ended by {@code \n} or {@code \r\n}, holding at most one more character of
+ * a line than its maximum length in memory. The rest of a longer line is skipped up to the next
+ * line break, and the line is reported as too long.
+ */
+class BoundedLineReader {
+
+    private final Reader reader;
+    private final int maxLength;
+    private final StringBuilder line = new StringBuilder();
+    private boolean tooLong;
+
+    /**
+     * @param reader    the text to read, which should be buffered as it is read a character at a
+     *                  time
+     * @param maxLength the maximum number of characters in a line, without its line break
+     */
+    BoundedLineReader(final Reader reader, final int maxLength) {
+        this.reader = reader;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * Read the next line.
+     *
+     * @return false if there are no more lines
+     * @throws IOException if the text cannot be read
+     */
+    boolean next() throws IOException {
+        line.setLength(0);
+        tooLong = false;
+
+        int c = reader.read();
+        if (c == -1) {
+            return false;
+        }
+
+        while (c != -1 && c != '\n') {
+            if (line.length() <= maxLength) {
+                line.append((char) c);
+            } else {
+                tooLong = true;
+            }
+            c = reader.read();
+        }
+
+        if (!tooLong && line.length() > 0 && line.charAt(line.length() - 1) == '\r') {
+            line.setLength(line.length() - 1);
+        }
+        if (line.length() > maxLength) {
+            tooLong = true;
+        }
+        return true;
+    }
+
+    /**
+     * @return true if the line read is longer than the maximum length, in which case
+     * {@link #line()} holds only its start
+     */
+    boolean isTooLong() {
+        return tooLong;
+    }
+
+    /**
+     * @return the line read, without its line break
+     */
+    String line() {
+        return line.toString();
+    }
+}
@@ -10,6 +10,8 @@ import uk.gov.justice.services.core.sender.Sender;
 import uk.gov.justice.services.messaging.Envelope;
 import uk.gov.justice.services.messaging.JsonEnvelope;
 
+import java.util.UUID;
+
 import javax.inject.Inject;
 import javax.json.JsonObject;
 
@@ -19,15 +21,22 @@ public class MakeCakeCommandApi {
     @Inject
     Sender sender;
 
+    @Inject
+    AcceptedCommands acceptedCommands;
+
     @Handles("cakeshop.make-cake")
     public Envelope<JsonObject> handle(final JsonEnvelope envelope) {
         sender.send(envelop(envelope.payloadAsJsonObject())
                 .withName("cakeshop.command.make-cake")
                 .withMetadataFrom(envelope));
 
+        //recorded once sent on, so a command that could not be sent is not reported as being made
+        acceptedCommands.accepted(envelope.metadata().id(), UUID.fromString(envelope.payloadAsJsonObject().getString("cakeId")));
+
         return envelop(
                 createObjectBuilder()
                         .add("status", "Making Cake")
+                        .add("commandId", envelope.metadata().id().toString())
                         .build())
                 .withName("cakeshop.command.make-cake-status")
                 .withMetadataFrom(envelope);
@@ -1,5 +1,7 @@
 package uk.gov.justice.services.cakeshop.command.api;
 
+import static javax.json.Json.createArrayBuilder;
+import static javax.json.Json.createObjectBuilder;
 import static uk.gov.justice.services.core.annotation.Component.COMMAND_API;
 import static uk.gov.justice.services.core.enveloper.Enveloper.envelop;
 
@@ -7,15 +9,26 @@ import uk.gov.justice.services.core.annotation.FeatureControl;
 import uk.gov.justice.services.core.annotation.Handles;
 import uk.gov.justice.services.core.annotation.ServiceComponent;
 import uk.gov.justice.services.core.sender.Sender;
+import uk.gov.justice.services.messaging.Envelope;
 import uk.gov.justice.services.messaging.JsonEnvelope;
 
+import java.util.HashSet;
+import java.util.Set;
+
 import javax.inject.Inject;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObject;
 
 import org.slf4j.Logger;
 
 @ServiceComponent(COMMAND_API)
 public class RecipeCommandApi {
 
+    private static final String FIELD_RECIPES = "recipes";
+    private static final String FIELD_RECIPE_ID = "recipeId";
+    private static final String STATUS_SENT = "SENT";
+    private static final String STATUS_REJECTED = "REJECTED";
+
     @Inject
     Sender sender;
 
@@ -30,6 +43,47 @@ public class RecipeCommandApi {
                         .withMetadataFrom(envelope));
     }
 
+    /**
+     * Accepts a batch of recipes, already validated against the schema as a whole, and sends them
+     * on as one command. Returns whether each recipe in the batch was sent on or rejected; a recipe
+     * id repeated within the batch is rejected rather than failing the whole batch. A recipe that
+     * was sent is not necessarily added, as the handler skips a recipe that has been added before.
+     */
+    @Handles("cakeshop.add-recipes-batch")
+    public Envelope<JsonObject> addRecipesBatch(final JsonEnvelope envelope) {
+        final Set<String> recipeIds = new HashSet<>();
+        final JsonArrayBuilder acceptedRecipes = createArrayBuilder();
+        final JsonArrayBuilder outcomes = createArrayBuilder();
+
+        for (final JsonObject recipe : envelope.payloadAsJsonObject().getJsonArray(FIELD_RECIPES).getValuesAs(JsonObject.class)) {
+            final String recipeId = recipe.getString(FIELD_RECIPE_ID);
+
+            if (recipeIds.add(recipeId)) {
+                acceptedRecipes.add(recipe);
+                outcomes.add(createObjectBuilder()
+                        .add(FIELD_RECIPE_ID, recipeId)
+                        .add("status", STATUS_SENT));
+            } else {
+                outcomes.add(createObjectBuilder()
+                        .add(FIELD_RECIPE_ID, recipeId)
+                        .add("status", STATUS_REJECTED)
+                        .add("reason", "Duplicate recipeId in batch"));
+            }
+        }
+
+        sender.send(
+                envelop(createObjectBuilder().add(FIELD_RECIPES, acceptedRecipes).build())
+                        .withName("cakeshop.command.add-recipes-batch")
+                        .withMetadataFrom(envelope));
+
+        return envelop(
+                createObjectBuilder()
+                        .add(FIELD_RECIPES, outcomes)
+                        .build())
+                .withName("cakeshop.add-recipes-batch-status")
+                .withMetadataFrom(envelope);
+    }
+
     @Handles("cakeshop.add-recipe-v2")
     @FeatureControl("recipes-have-allergens-specified")
     public void addRecipeWithAllergenSupport(final JsonEnvelope envelope) {
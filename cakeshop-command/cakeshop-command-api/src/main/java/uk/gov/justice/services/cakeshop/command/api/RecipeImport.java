@@ -0,0 +1,109 @@
+package uk.gov.justice.services.cakeshop.command.api;
+
+import static javax.json.Json.createArrayBuilder;
+import static javax.json.Json.createObjectBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObject;
+
+/**
+ * Progress of an import of a newline-delimited JSON file of recipes.
+ */
+public class RecipeImport {
+
+    static final int MAX_ERRORS = 20;
+
+    public enum Status {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    private final UUID importId;
+    private final UUID fileId;
+    private final AtomicLong linesRead = new AtomicLong();
+    private final AtomicLong recipesSent = new AtomicLong();
+    private final AtomicLong linesRejected = new AtomicLong();
+    private final List<String> errors = new ArrayList<>();
+
+    private volatile Status status = Status.RUNNING;
+
+    public RecipeImport(final UUID importId, final UUID fileId) {
+        this.importId = importId;
+        this.fileId = fileId;
+    }
+
+    public UUID getImportId() {
+        return importId;
+    }
+
+    public UUID getFileId() {
+        return fileId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public long getLinesRead() {
+        return linesRead.get();
+    }
+
+    public long getRecipesSent() {
+        return recipesSent.get();
+    }
+
+    public long getLinesRejected() {
+        return linesRejected.get();
+    }
+
+    void lineRead() {
+        linesRead.incrementAndGet();
+    }
+
+    void recipesSent(final int count) {
+        recipesSent.addAndGet(count);
+    }
+
+    void lineRejected(final long lineNumber, final String reason) {
+        linesRejected.incrementAndGet();
+        addError("Line " + lineNumber + ": " + reason);
+    }
+
+    void completed() {
+        status = Status.COMPLETED;
+    }
+
+    void failed(final String reason) {
+        addError(reason);
+        status = Status.FAILED;
+    }
+
+    public JsonObject toJson() {
+        final JsonArrayBuilder errorArray = createArrayBuilder();
+        synchronized (errors) {
+            errors.forEach(errorArray::add);
+        }
+
+        return createObjectBuilder()
+                .add("importId", importId.toString())
+                .add("fileId", fileId.toString())
+                .add("status", status.name())
+                .add("linesRead", linesRead.get())
+                .add("recipesSent", recipesSent.get())
+                .add("linesRejected", linesRejected.get())
+                .add("errors", errorArray)
+                .build();
+    }
+
+    private void addError(final String error) {
+        synchronized (errors) {
+            if (errors.size() < MAX_ERRORS) {
+                errors.add(error);
+            }
+        }
+    }
+}
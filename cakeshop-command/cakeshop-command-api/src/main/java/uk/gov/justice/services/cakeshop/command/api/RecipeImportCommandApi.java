@@ -0,0 +1,48 @@
+package uk.gov.justice.services.cakeshop.command.api;
+
+import static uk.gov.justice.services.core.annotation.Component.COMMAND_API;
+import static uk.gov.justice.services.core.enveloper.Enveloper.envelop;
+
+import uk.gov.justice.services.core.annotation.Handles;
+import uk.gov.justice.services.core.annotation.ServiceComponent;
+import uk.gov.justice.services.core.sender.Sender;
+import uk.gov.justice.services.messaging.Envelope;
+import uk.gov.justice.services.messaging.JsonEnvelope;
+
+import java.util.UUID;
+
+import javax.inject.Inject;
+import javax.json.JsonObject;
+
+@ServiceComponent(COMMAND_API)
+public class RecipeImportCommandApi {
+
+    private static final String NAME_RESPONSE_RECIPE_IMPORT = "cakeshop.recipe-import-status";
+
+    @Inject
+    Sender sender;
+
+    @Inject
+    RecipeImporter recipeImporter;
+
+    @Inject
+    RecipeImports recipeImports;
+
+    @Handles("cakeshop.import-recipes")
+    public Envelope<JsonObject> importRecipes(final JsonEnvelope envelope) {
+        final UUID fileId = UUID.fromString(envelope.payloadAsJsonObject().getString("fileId"));
+
+        return envelop(recipeImporter.start(fileId, envelope, sender).toJson())
+                .withName(NAME_RESPONSE_RECIPE_IMPORT)
+                .withMetadataFrom(envelope);
+    }
+
+    @Handles("cakeshop.get-recipe-import-status")
+    public Envelope<JsonObject> getRecipeImportStatus(final JsonEnvelope envelope) {
+        final UUID importId = UUID.fromString(envelope.payloadAsJsonObject().getString("importId"));
+
+        return envelop(recipeImports.find(importId).map(RecipeImport::toJson).orElse(null))
+                .withName(NAME_RESPONSE_RECIPE_IMPORT)
+                .withMetadataFrom(envelope);
+    }
+}
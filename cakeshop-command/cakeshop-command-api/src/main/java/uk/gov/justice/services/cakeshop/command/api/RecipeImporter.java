@@ -0,0 +1,218 @@
+package uk.gov.justice.services.cakeshop.command.api;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.UUID.randomUUID;
+import static javax.json.Json.createObjectBuilder;
+import static javax.json.JsonValue.ValueType.FALSE;
+import static javax.json.JsonValue.ValueType.TRUE;
+import static uk.gov.justice.services.messaging.Envelope.envelopeFrom;
+import static uk.gov.justice.services.messaging.Envelope.metadataFrom;
+
+import uk.gov.justice.services.common.configuration.Value;
+import uk.gov.justice.services.core.sender.Sender;
+import uk.gov.justice.services.fileservice.api.FileRetriever;
+import uk.gov.justice.services.fileservice.domain.FileReference;
+import uk.gov.justice.services.messaging.JsonEnvelope;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+import javax.annotation.Resource;
+import javax.enterprise.concurrent.ManagedExecutorService;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.json.Json;
+import javax.json.JsonArray;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonException;
+import javax.json.JsonNumber;
+import javax.json.JsonObject;
+import javax.json.JsonReader;
+import javax.json.JsonString;
+import javax.json.JsonValue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Imports a newline-delimited JSON file of recipes, one add-recipe payload with a recipeId per
+ * line, from the file store.
+ *
+ * <p>The file is read a line at a time and the recipes are sent on as
+ * {@code cakeshop.command.add-recipes-batch} commands of at most {@link #BATCH_SIZE}. Nothing more
+ * is read until a batch has been sent, so at most one batch is held in memory whatever the size
+ * of the file. Lines that are not valid recipes are counted and reported on the
+ * {@link RecipeImport} rather than failing the import; a line is only sent if it would pass the
+ * add-recipes-batch schema. A line longer than {@code cakeshop.recipe-import.max-line-length}
+ * characters is rejected without being held in memory whole.
+ *
+ * <p>The batches are sent with the {@link Sender} of the command API component the import was
+ * requested through, and each carries the metadata of the request under a new id.
+ */
+@ApplicationScoped
+public class RecipeImporter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RecipeImporter.class);
+
+    static final int BATCH_SIZE = 100;
+
+    private static final String FIELD_RECIPES = "recipes";
+    private static final Pattern UUID_PATTERN = Pattern.compile("^[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}$");
+
+    @Inject
+    FileRetriever fileRetriever;
+
+    @Inject
+    RecipeImports recipeImports;
+
+    @Inject
+    @Value(key = "cakeshop.recipe-import.max-line-length", defaultValue = "65536")
+    String maxLineLength;
+
+    @Resource
+    ManagedExecutorService managedExecutorService;
+
+    /**
+     * Start importing the file in the background.
+     *
+     * @param fileId   the id of the uploaded file in the file store
+     * @param envelope the import request, whose metadata the add-recipes-batch commands carry
+     * @param sender   the sender of the command API component that took the import request
+     * @return the progress of the import
+     */
+    public RecipeImport start(final UUID fileId, final JsonEnvelope envelope, final Sender sender) {
+        final RecipeImport recipeImport = recipeImports.start(fileId);
+        managedExecutorService.submit(() -> importRecipes(recipeImport, envelope, sender));
+        return recipeImport;
+    }
+
+    void importRecipes(final RecipeImport recipeImport, final JsonEnvelope envelope, final Sender sender) {
+        try {
+            final Optional<FileReference> fileReference = fileRetriever.retrieve(recipeImport.getFileId());
+            if (!fileReference.isPresent()) {
+                recipeImport.failed("File " + recipeImport.getFileId() + " not found");
+                return;
+            }
+
+            try (final FileReference file = fileReference.get();
+                 final BufferedReader reader = new BufferedReader(new InputStreamReader(file.getContentStream(), UTF_8))) {
+                importLines(reader, recipeImport, envelope, sender);
+            }
+
+            recipeImport.completed();
+        } catch (final Exception e) {
+            LOGGER.error("Failed to import recipes from file {}", recipeImport.getFileId(), e);
+            recipeImport.failed("Import failed after " + recipeImport.getLinesRead() + " lines: " + e.getMessage());
+        }
+    }
+
+    private void importLines(final BufferedReader reader, final RecipeImport recipeImport, final JsonEnvelope envelope, final Sender sender) throws Exception {
+        final int maxLength = Integer.parseInt(maxLineLength);
+        final BoundedLineReader lines = new BoundedLineReader(reader, maxLength);
+        JsonArrayBuilder batch = Json.createArrayBuilder();
+        int batchSize = 0;
+        long lineNumber = 0;
+
+        while (lines.next()) {
+            lineNumber++;
+            if (lines.isTooLong()) {
+                recipeImport.lineRead();
+                recipeImport.lineRejected(lineNumber, "Longer than " + maxLength + " characters");
+                continue;
+            }
+            final String line = lines.line();
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            recipeImport.lineRead();
+
+            final Optional<JsonObject> recipe = parse(line, lineNumber, recipeImport);
+            if (recipe.isPresent()) {
+                batch.add(recipe.get());
+                batchSize++;
+            }
+
+            if (batchSize == BATCH_SIZE) {
+                send(batch, batchSize, recipeImport, envelope, sender);
+                batch = Json.createArrayBuilder();
+                batchSize = 0;
+            }
+        }
+
+        if (batchSize > 0) {
+            send(batch, batchSize, recipeImport, envelope, sender);
+        }
+    }
+
+    private Optional<JsonObject> parse(final String line, final long lineNumber, final RecipeImport recipeImport) {
+        final JsonObject recipe;
+        try (final JsonReader jsonReader = Json.createReader(new StringReader(line))) {
+            recipe = jsonReader.readObject();
+        } catch (final JsonException e) {
+            recipeImport.lineRejected(lineNumber, "Not a JSON object");
+            return Optional.empty();
+        }
+
+        final Optional<String> invalidReason = invalidReason(recipe);
+        if (invalidReason.isPresent()) {
+            recipeImport.lineRejected(lineNumber, invalidReason.get());
+            return Optional.empty();
+        }
+
+        return Optional.of(recipe);
+    }
+
+    private Optional<String> invalidReason(final JsonObject recipe) {
+        if (!isString(recipe, "recipeId")) {
+            return Optional.of("Missing recipeId");
+        }
+        if (!UUID_PATTERN.matcher(recipe.getString("recipeId")).matches()) {
+            return Optional.of("recipeId is not a UUID");
+        }
+        if (!isString(recipe, "name")) {
+            return Optional.of("Missing name");
+        }
+        if (!isBoolean(recipe, "glutenFree")) {
+            return Optional.of("Missing glutenFree");
+        }
+        if (!(recipe.get("ingredients") instanceof JsonArray) || recipe.getJsonArray("ingredients").isEmpty()) {
+            return Optional.of("Missing ingredients");
+        }
+        for (final JsonValue ingredient : recipe.getJsonArray("ingredients")) {
+            if (!(ingredient instanceof JsonObject)
+                    || !isString((JsonObject) ingredient, "name")
+                    || !isInteger((JsonObject) ingredient, "quantity")) {
+                return Optional.of("Ingredients must have a name and whole number quantity");
+            }
+        }
+        return Optional.empty();
+    }
+
+    private boolean isString(final JsonObject jsonObject, final String field) {
+        return jsonObject.get(field) instanceof JsonString;
+    }
+
+    private boolean isInteger(final JsonObject jsonObject, final String field) {
+        final JsonValue value = jsonObject.get(field);
+        return value instanceof JsonNumber && ((JsonNumber) value).isIntegral();
+    }
+
+    private boolean isBoolean(final JsonObject jsonObject, final String field) {
+        final JsonValue value = jsonObject.get(field);
+        return value != null && (value.getValueType() == TRUE || value.getValueType() == FALSE);
+    }
+
+    private void send(final JsonArrayBuilder batch, final int batchSize, final RecipeImport recipeImport, final JsonEnvelope envelope, final Sender sender) {
+        sender.send(envelopeFrom(
+                metadataFrom(envelope.metadata())
+                        .withId(randomUUID())
+                        .withName("cakeshop.command.add-recipes-batch")
+                        .build(),
+                createObjectBuilder().add(FIELD_RECIPES, batch).build()));
+        recipeImport.recipesSent(batchSize);
+    }
+}
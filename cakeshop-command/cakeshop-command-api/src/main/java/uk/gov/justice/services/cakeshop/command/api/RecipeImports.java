@@ -0,0 +1,37 @@
+package uk.gov.justice.services.cakeshop.command.api;
+
+import static java.util.UUID.randomUUID;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import javax.enterprise.context.ApplicationScoped;
+
+/**
+ * The recipe imports started on this node, keeping the progress of the most recent
+ * {@link #MAX_IMPORTS}.
+ */
+@ApplicationScoped
+public class RecipeImports {
+
+    static final int MAX_IMPORTS = 100;
+
+    private final Map<UUID, RecipeImport> imports = new LinkedHashMap<UUID, RecipeImport>() {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<UUID, RecipeImport> eldest) {
+            return size() > MAX_IMPORTS;
+        }
+    };
+
+    public synchronized RecipeImport start(final UUID fileId) {
+        final RecipeImport recipeImport = new RecipeImport(randomUUID(), fileId);
+        imports.put(recipeImport.getImportId(), recipeImport);
+        return recipeImport;
+    }
+
+    public synchronized Optional<RecipeImport> find(final UUID importId) {
+        return Optional.ofNullable(imports.get(importId));
+    }
+}
@@ -0,0 +1,93 @@
+package uk.gov.justice.services.cakeshop.command.api.interceptor;
+
+import static java.util.UUID.randomUUID;
+import static javax.json.Json.createReader;
+import static uk.gov.justice.services.messaging.Envelope.metadataFrom;
+import static uk.gov.justice.services.messaging.JsonEnvelope.envelopeFrom;
+
+import uk.gov.justice.services.cakeshop.persistence.entity.ProcessedCommand;
+import uk.gov.justice.services.core.interceptor.Interceptor;
+import uk.gov.justice.services.core.interceptor.InterceptorChain;
+import uk.gov.justice.services.core.interceptor.InterceptorContext;
+import uk.gov.justice.services.messaging.JsonEnvelope;
+
+import java.io.StringReader;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import javax.inject.Inject;
+import javax.json.JsonObject;
+
+/**
+ * Stops a command that creates a resource which an earlier submission of the same command has
+ * already created before it is sent on to the command handler, and answers it with the response
+ * given to the earlier submission, so a client retrying a request gets the same {@code 202}.
+ *
+ * <p>A client retrying a request gets new command metadata each time, so commands are identified
+ * by the id of the resource they create, taken from the payload: the order id of a cake order and
+ * the cake id of a cake. If the command cannot be sent on it is forgotten again, so the client can
+ * retry it. A command submitted again while the earlier submission is still being sent on is
+ * answered without a response body, as there is no response to give yet.
+ */
+public class CommandDeduplicationInterceptor implements Interceptor {
+
+    static final Map<String, String> COMMAND_ID_FIELDS = new HashMap<>();
+
+    static {
+        COMMAND_ID_FIELDS.put("cakeshop.order-cake", "orderId");
+        COMMAND_ID_FIELDS.put("cakeshop.make-cake", "cakeId");
+    }
+
+    @Inject
+    ProcessedCommands processedCommands;
+
+    @Override
+    public InterceptorContext process(final InterceptorContext interceptorContext, final InterceptorChain interceptorChain) {
+        final JsonEnvelope command = interceptorContext.inputEnvelope();
+        final String commandName = command.metadata().name();
+        final Optional<UUID> commandId = commandIdOf(commandName, command.payloadAsJsonObject());
+
+        if (!commandId.isPresent()) {
+            return interceptorChain.processNext(interceptorContext);
+        }
+
+        if (!processedCommands.claim(commandName, commandId.get())) {
+            return processedCommands.find(commandName, commandId.get())
+                    .filter(processedCommand -> processedCommand.getResponseName() != null)
+                    .map(processedCommand -> interceptorContext.copyWithOutput(responseTo(command, processedCommand)))
+                    .orElse(interceptorContext);
+        }
+
+        final InterceptorContext result;
+        try {
+            result = interceptorChain.processNext(interceptorContext);
+        } catch (final RuntimeException e) {
+            processedCommands.release(commandName, commandId.get());
+            throw e;
+        }
+
+        processedCommands.recordResponse(commandName, commandId.get(), result.outputEnvelope());
+        return result;
+    }
+
+    private static JsonEnvelope responseTo(final JsonEnvelope command, final ProcessedCommand processedCommand) {
+        return envelopeFrom(
+                metadataFrom(command.metadata()).withId(randomUUID()).withName(processedCommand.getResponseName()),
+                createReader(new StringReader(processedCommand.getResponsePayload())).readObject());
+    }
+
+    private static Optional<UUID> commandIdOf(final String commandName, final JsonObject payload) {
+        final String field = COMMAND_ID_FIELDS.get(commandName);
+        if (field == null || !payload.containsKey(field)) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(UUID.fromString(payload.getString(field)));
+        } catch (final ClassCastException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+}
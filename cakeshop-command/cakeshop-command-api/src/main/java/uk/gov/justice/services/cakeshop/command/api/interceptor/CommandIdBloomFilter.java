@@ -0,0 +1,76 @@
+package uk.gov.justice.services.cakeshop.command.api.interceptor;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed size bloom filter of command ids. It may report a command it has not seen, but never
+ * misses one it has, so only its hits need confirming against the processed commands table.
+ *
+ * <p>The bits are set without locking, so commands may be added and looked up concurrently.
+ */
+class CommandIdBloomFilter {
+
+    private final AtomicLongArray words;
+    private final int bits;
+    private final int hashes;
+
+    CommandIdBloomFilter(final int bits, final int hashes) {
+        this.words = new AtomicLongArray((bits + Long.SIZE - 1) / Long.SIZE);
+        this.bits = words.length() * Long.SIZE;
+        this.hashes = hashes;
+    }
+
+    void add(final String commandName, final UUID commandId) {
+        final long first = firstHash(commandName, commandId);
+        final long second = secondHash(commandId);
+        for (int i = 0; i < hashes; i++) {
+            final int bit = bitOf(first, second, i);
+            final int word = bit / Long.SIZE;
+            final long mask = 1L << bit;
+            long current = words.get(word);
+            while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+                current = words.get(word);
+            }
+        }
+    }
+
+    boolean mightContain(final String commandName, final UUID commandId) {
+        final long first = firstHash(commandName, commandId);
+        final long second = secondHash(commandId);
+        for (int i = 0; i < hashes; i++) {
+            final int bit = bitOf(first, second, i);
+            if ((words.get(bit / Long.SIZE) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    int bits() {
+        return bits;
+    }
+
+    /**
+     * Double hashing: the i-th bit is {@code first + i * second}, with both hashes taken from the
+     * random bits of the command id.
+     */
+    private int bitOf(final long first, final long second, final int i) {
+        return (int) Math.floorMod(first + i * second, (long) bits);
+    }
+
+    private static long firstHash(final String commandName, final UUID commandId) {
+        return mix(commandId.getMostSignificantBits() ^ commandName.hashCode());
+    }
+
+    private static long secondHash(final UUID commandId) {
+        return mix(commandId.getLeastSignificantBits()) | 1L;
+    }
+
+    private static long mix(final long value) {
+        long h = value;
+        h = (h ^ (h >>> 33)) * 0xff51afd7ed558ccdL;
+        h = (h ^ (h >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return h ^ (h >>> 33);
+    }
+}
@@ -0,0 +1,154 @@
+package uk.gov.justice.services.cakeshop.command.api.interceptor;
+
+import uk.gov.justice.services.cakeshop.persistence.ProcessedCommandRepository;
+import uk.gov.justice.services.cakeshop.persistence.entity.ProcessedCommand;
+import uk.gov.justice.services.common.configuration.Value;
+import uk.gov.justice.services.common.util.UtcClock;
+import uk.gov.justice.services.messaging.JsonEnvelope;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.transaction.Transactional;
+
+/**
+ * The commands accepted by the command API, recorded in the processed command table with a
+ * {@link CommandIdBloomFilter} in front of it.
+ *
+ * <p>A command the filter has not seen is new, so it is recorded without first being looked up.
+ * Only filter hits are looked up in the table, and a command is only ever accepted once its row
+ * has been inserted, so the table decides between concurrent submissions and the filter can never
+ * cause a command to be accepted twice.
+ *
+ * <p>The filter holds at most {@code cakeshop.command.deduplication.capacity} commands. When it is
+ * full it is rebuilt from the most recent half of that many commands in the table; an older command
+ * submitted again is then caught by the primary key of the table rather than the filter.
+ *
+ * <p>Commands are kept for {@code cakeshop.command.deduplication.retention-days}, and older ones are
+ * removed from the table whenever the filter is built, so a command submitted again after that is
+ * accepted as new. The table is in the view store, so commands accepted before the view store is
+ * rebuilt are forgotten along with it.
+ */
+@ApplicationScoped
+public class ProcessedCommands {
+
+    static final int BITS_PER_COMMAND = 10;
+    static final int HASHES = 7;
+
+    @Inject
+    ProcessedCommandRepository processedCommandRepository;
+
+    @Inject
+    UtcClock clock;
+
+    @Inject
+    @Value(key = "cakeshop.command.deduplication.capacity", defaultValue = "100000")
+    String capacity;
+
+    @Inject
+    @Value(key = "cakeshop.command.deduplication.retention-days", defaultValue = "7")
+    String retentionDays;
+
+    private final AtomicInteger added = new AtomicInteger();
+
+    private volatile CommandIdBloomFilter filter;
+
+    /**
+     * Record a command as accepted, unless it already has been.
+     *
+     * @param commandName the name of the command
+     * @param commandId   the id of the resource the command creates
+     * @return true if the command is new and has been recorded, false if it is a duplicate
+     */
+    @Transactional
+    public boolean claim(final String commandName, final UUID commandId) {
+        final CommandIdBloomFilter commandIds = filter();
+
+        if (commandIds.mightContain(commandName, commandId) && processedCommandRepository.contains(commandName, commandId)) {
+            return false;
+        }
+
+        final boolean recorded = processedCommandRepository.record(commandName, commandId, clock.now());
+        commandIds.add(commandName, commandId);
+        if (recorded && added.incrementAndGet() > Integer.parseInt(capacity)) {
+            rebuild();
+        }
+        return recorded;
+    }
+
+    /**
+     * Record the response given to a command, so that it can be given again if the command is
+     * submitted again.
+     *
+     * @param commandName the name of the command
+     * @param commandId   the id of the resource the command creates
+     * @param response    the response given to the command, empty if none was
+     */
+    @Transactional
+    public void recordResponse(final String commandName, final UUID commandId, final Optional<JsonEnvelope> response) {
+        response.ifPresent(envelope -> processedCommandRepository.recordResponse(
+                commandName,
+                commandId,
+                envelope.metadata().name(),
+                envelope.payloadAsJsonObject().toString()));
+    }
+
+    /**
+     * @param commandName the name of the command
+     * @param commandId   the id of the resource the command creates
+     * @return the processed command, holding the response given to it once recorded, or empty if
+     * it is not known
+     */
+    @Transactional
+    public Optional<ProcessedCommand> find(final String commandName, final UUID commandId) {
+        return Optional.ofNullable(processedCommandRepository.findBy(new ProcessedCommand.Key(commandName, commandId)));
+    }
+
+    /**
+     * Forget a command that could not be sent on, so that it may be submitted again.
+     *
+     * @param commandName the name of the command
+     * @param commandId   the id of the resource the command creates
+     */
+    @Transactional
+    public void release(final String commandName, final UUID commandId) {
+        processedCommandRepository.remove(commandName, commandId);
+    }
+
+    private CommandIdBloomFilter filter() {
+        if (filter == null) {
+            synchronized (added) {
+                if (filter == null) {
+                    filter = load();
+                }
+            }
+        }
+        return filter;
+    }
+
+    private void rebuild() {
+        synchronized (added) {
+            if (added.get() > Integer.parseInt(capacity)) {
+                filter = load();
+            }
+        }
+    }
+
+    private CommandIdBloomFilter load() {
+        processedCommandRepository.removeProcessedBefore(clock.now().minusDays(Long.parseLong(retentionDays)));
+
+        final int maxCommands = Integer.parseInt(capacity);
+        final CommandIdBloomFilter loaded = new CommandIdBloomFilter(maxCommands * BITS_PER_COMMAND, HASHES);
+
+        int count = 0;
+        for (final ProcessedCommand processedCommand : processedCommandRepository.findMostRecent(maxCommands / 2)) {
+            loaded.add(processedCommand.getCommandName(), processedCommand.getCommandId());
+            count++;
+        }
+        added.set(count);
+        return loaded;
+    }
+}
@@ -3,6 +3,7 @@ package uk.gov.justice.services.cakeshop.provider;
 import static uk.gov.justice.services.core.annotation.Component.COMMAND_API;
 
 import uk.gov.justice.services.adapter.rest.interceptor.InputStreamFileInterceptor;
+import uk.gov.justice.services.cakeshop.command.api.interceptor.CommandDeduplicationInterceptor;
 import uk.gov.justice.services.core.featurecontrol.FeatureControlInterceptor;
 import uk.gov.justice.services.core.interceptor.InterceptorChainEntry;
 import uk.gov.justice.services.core.interceptor.InterceptorChainEntryProvider;
@@ -17,6 +18,7 @@ public class CakshopCommandApiInterceptorChainProvider implements InterceptorCha
     public CakshopCommandApiInterceptorChainProvider() {
         interceptorChainEntries.add(new InterceptorChainEntry(7000, InputStreamFileInterceptor.class));
         interceptorChainEntries.add(new InterceptorChainEntry(8000, FeatureControlInterceptor.class));
+        interceptorChainEntries.add(new InterceptorChainEntry(9000, CommandDeduplicationInterceptor.class));
     }
 
     @Override
@@ -1,6 +1,7 @@
 package uk.gov.justice.services.cakeshop.command.api;
 
 
+import static java.util.UUID.randomUUID;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
@@ -16,6 +17,8 @@ import uk.gov.justice.services.messaging.Envelope;
 import uk.gov.justice.services.messaging.JsonEnvelope;
 import uk.gov.justice.services.messaging.spi.DefaultEnvelope;
 
+import java.util.UUID;
+
 import javax.json.JsonObject;
 
 import org.junit.jupiter.api.Test;
@@ -32,6 +35,9 @@ public class MakeCakeCommandApiTest {
     @Mock
     private Sender sender;
 
+    @Mock
+    private AcceptedCommands acceptedCommands;
+
     @InjectMocks
     private MakeCakeCommandApi commandApi;
 
@@ -49,16 +55,20 @@ public class MakeCakeCommandApiTest {
     public void shouldHandleMakeCakeRequest() {
         commandApi = new MakeCakeCommandApi();
         commandApi.sender = sender;
+        commandApi.acceptedCommands = acceptedCommands;
 
+        final UUID cakeId = randomUUID();
         final JsonEnvelope envelope = envelope()
                 .with(metadataWithDefaults().withName("cakeshop.make-cake"))
-                .withPayloadOf("Field", "Value").build();
+                .withPayloadOf(cakeId.toString(), "cakeId").build();
 
         final Envelope<JsonObject> jsonObjectEnvelope = commandApi.handle(envelope);
 
         assertThat(jsonObjectEnvelope.payload().getString("status"), equalTo("Making Cake"));
+        assertThat(jsonObjectEnvelope.payload().getString("commandId"), equalTo(envelope.metadata().id().toString()));
 
         verify(sender).send(envelopeCaptor.capture());
         assertThat(envelopeCaptor.getValue().metadata().name(), is("cakeshop.command.make-cake"));
+        verify(acceptedCommands).accepted(envelope.metadata().id(), cakeId);
     }
 }
@@ -1,25 +1,32 @@
 package uk.gov.justice.services.cakeshop.command.api;
 
-
+import static javax.json.Json.createArrayBuilder;
+import static javax.json.Json.createObjectBuilder;
 import static org.hamcrest.CoreMatchers.hasItem;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static uk.gov.justice.services.core.annotation.Component.COMMAND_API;
+import static uk.gov.justice.services.messaging.JsonEnvelope.envelopeFrom;
 import static uk.gov.justice.services.test.utils.core.matchers.HandlerClassMatcher.isHandlerClass;
 import static uk.gov.justice.services.test.utils.core.matchers.HandlerMethodMatcher.method;
 import static uk.gov.justice.services.test.utils.core.messaging.JsonEnvelopeBuilder.envelope;
 import static uk.gov.justice.services.test.utils.core.messaging.MetadataBuilderFactory.metadataWithDefaults;
+import static uk.gov.justice.services.test.utils.core.messaging.MetadataBuilderFactory.metadataWithRandomUUID;
 
 import uk.gov.justice.services.core.featurecontrol.FeatureControlAnnotationFinder;
 import uk.gov.justice.services.core.sender.Sender;
+import uk.gov.justice.services.messaging.Envelope;
 import uk.gov.justice.services.messaging.JsonEnvelope;
 import uk.gov.justice.services.messaging.spi.DefaultEnvelope;
 
 import java.lang.reflect.Method;
 import java.util.List;
 
+import javax.json.JsonArray;
+import javax.json.JsonObject;
+
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
@@ -32,6 +39,9 @@ import org.slf4j.Logger;
 @ExtendWith(MockitoExtension.class)
 public class RecipeCommandApiTest {
 
+    private static final String RECIPE_ID = "163af847-effb-46a9-96bc-32a0f7526f99";
+    private static final String OTHER_RECIPE_ID = "a4b8a8c5-7f2d-4b55-9c0e-6b1f2f6a3d10";
+
     @Mock
     private Sender sender;
 
@@ -49,6 +59,8 @@ public class RecipeCommandApiTest {
         assertThat(RecipeCommandApi.class, isHandlerClass(COMMAND_API)
                 .with(method("addRecipe")
                         .thatHandles("cakeshop.add-recipe"))
+                .with(method("addRecipesBatch")
+                        .thatHandles("cakeshop.add-recipes-batch"))
                 .with(method("renameRecipe")
                         .thatHandles("cakeshop.rename-recipe"))
                 .with(method("removeRecipe")
@@ -66,6 +78,34 @@ public class RecipeCommandApiTest {
         assertThat(envelopeCaptor.getValue().metadata().name(), is("cakeshop.command.add-recipe"));
     }
 
+    @Test
+    public void shouldSendBatchOfRecipesAsOneCommandAndReturnOutcomeOfEach() {
+        final JsonEnvelope batch = envelopeFrom(
+                metadataWithRandomUUID("cakeshop.add-recipes-batch"),
+                createObjectBuilder()
+                        .add("recipes", createArrayBuilder()
+                                .add(createObjectBuilder().add("recipeId", RECIPE_ID).add("name", "Eton Mess"))
+                                .add(createObjectBuilder().add("recipeId", OTHER_RECIPE_ID).add("name", "Lemon Drizzle"))
+                                .add(createObjectBuilder().add("recipeId", RECIPE_ID).add("name", "Eton Mess again")))
+                        .build());
+
+        final Envelope<JsonObject> response = commandApi.addRecipesBatch(batch);
+
+        verify(sender).send(envelopeCaptor.capture());
+        assertThat(envelopeCaptor.getValue().metadata().name(), is("cakeshop.command.add-recipes-batch"));
+        final JsonArray sentRecipes = ((JsonObject) envelopeCaptor.getValue().payload()).getJsonArray("recipes");
+        assertThat(sentRecipes.size(), is(2));
+        assertThat(sentRecipes.getJsonObject(1).getString("name"), is("Lemon Drizzle"));
+
+        final JsonArray outcomes = response.payload().getJsonArray("recipes");
+        assertThat(outcomes.size(), is(3));
+        assertThat(outcomes.getJsonObject(0).getString("status"), is("SENT"));
+        assertThat(outcomes.getJsonObject(1).getString("status"), is("SENT"));
+        assertThat(outcomes.getJsonObject(2).getString("recipeId"), is(RECIPE_ID));
+        assertThat(outcomes.getJsonObject(2).getString("status"), is("REJECTED"));
+        assertThat(outcomes.getJsonObject(2).getString("reason"), is("Duplicate recipeId in batch"));
+    }
+
     @Test
     public void shouldHandleRenameRecipeRequest() {
         commandApi.renameRecipe(buildEnvelopeWith("cakeshop.rename-recipe"));
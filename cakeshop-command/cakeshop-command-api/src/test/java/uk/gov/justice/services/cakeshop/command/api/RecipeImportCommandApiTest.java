@@ -0,0 +1,100 @@
+package uk.gov.justice.services.cakeshop.command.api;
+
+import static java.util.UUID.randomUUID;
+import static javax.json.Json.createObjectBuilder;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.when;
+import static uk.gov.justice.services.core.annotation.Component.COMMAND_API;
+import static uk.gov.justice.services.messaging.JsonEnvelope.envelopeFrom;
+import static uk.gov.justice.services.test.utils.core.matchers.HandlerClassMatcher.isHandlerClass;
+import static uk.gov.justice.services.test.utils.core.matchers.HandlerMethodMatcher.method;
+import static uk.gov.justice.services.test.utils.core.messaging.MetadataBuilderFactory.metadataWithRandomUUID;
+
+import uk.gov.justice.services.core.sender.Sender;
+import uk.gov.justice.services.messaging.Envelope;
+import uk.gov.justice.services.messaging.JsonEnvelope;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import javax.json.JsonObject;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class RecipeImportCommandApiTest {
+
+    private static final UUID FILE_ID = randomUUID();
+    private static final UUID IMPORT_ID = randomUUID();
+
+    @Mock
+    private RecipeImporter recipeImporter;
+
+    @Mock
+    private RecipeImports recipeImports;
+
+    @Mock
+    private Sender sender;
+
+    @InjectMocks
+    private RecipeImportCommandApi commandApi;
+
+    @Test
+    public void shouldHandleRecipeImportCommands() throws Exception {
+        assertThat(RecipeImportCommandApi.class, isHandlerClass(COMMAND_API)
+                .with(method("importRecipes")
+                        .thatHandles("cakeshop.import-recipes"))
+                .with(method("getRecipeImportStatus")
+                        .thatHandles("cakeshop.get-recipe-import-status")));
+    }
+
+    @Test
+    public void shouldStartImportOfUploadedFileAndReturnItsProgress() {
+        final JsonEnvelope envelope = envelopeFrom(
+                metadataWithRandomUUID("cakeshop.import-recipes"),
+                createObjectBuilder().add("fileId", FILE_ID.toString()).build());
+
+        when(recipeImporter.start(FILE_ID, envelope, sender)).thenReturn(new RecipeImport(IMPORT_ID, FILE_ID));
+
+        final Envelope<JsonObject> response = commandApi.importRecipes(envelope);
+
+        assertThat(response.metadata().name(), is("cakeshop.recipe-import-status"));
+        assertThat(response.payload().getString("importId"), is(IMPORT_ID.toString()));
+        assertThat(response.payload().getString("status"), is("RUNNING"));
+    }
+
+    @Test
+    public void shouldReturnProgressOfImport() {
+        final RecipeImport recipeImport = new RecipeImport(IMPORT_ID, FILE_ID);
+        recipeImport.lineRead();
+        recipeImport.recipesSent(1);
+        recipeImport.completed();
+
+        when(recipeImports.find(IMPORT_ID)).thenReturn(Optional.of(recipeImport));
+
+        final Envelope<JsonObject> response = commandApi.getRecipeImportStatus(statusQuery());
+
+        assertThat(response.payload().getString("status"), is("COMPLETED"));
+        assertThat(response.payload().getInt("linesRead"), is(1));
+        assertThat(response.payload().getInt("recipesSent"), is(1));
+    }
+
+    @Test
+    public void shouldReturnNoPayloadForUnknownImport() {
+        when(recipeImports.find(IMPORT_ID)).thenReturn(Optional.empty());
+
+        assertThat(commandApi.getRecipeImportStatus(statusQuery()).payload(), is(nullValue()));
+    }
+
+    private JsonEnvelope statusQuery() {
+        return envelopeFrom(
+                metadataWithRandomUUID("cakeshop.get-recipe-import-status"),
+                createObjectBuilder().add("importId", IMPORT_ID.toString()).build());
+    }
+}
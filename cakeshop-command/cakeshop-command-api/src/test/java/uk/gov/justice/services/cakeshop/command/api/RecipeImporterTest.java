@@ -0,0 +1,181 @@
+package uk.gov.justice.services.cakeshop.command.api;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Optional.empty;
+import static java.util.UUID.randomUUID;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static uk.gov.justice.services.messaging.JsonEnvelope.envelopeFrom;
+import static uk.gov.justice.services.test.utils.core.messaging.MetadataBuilderFactory.metadataWithRandomUUID;
+
+import uk.gov.justice.services.core.sender.Sender;
+import uk.gov.justice.services.fileservice.api.FileRetriever;
+import uk.gov.justice.services.fileservice.domain.FileReference;
+import uk.gov.justice.services.messaging.JsonEnvelope;
+import uk.gov.justice.services.messaging.spi.DefaultEnvelope;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.json.JsonString;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class RecipeImporterTest {
+
+    private static final UUID FILE_ID = randomUUID();
+
+    @Mock
+    private Sender sender;
+
+    @Mock
+    private FileRetriever fileRetriever;
+
+    @Mock
+    private FileReference fileReference;
+
+    @InjectMocks
+    private RecipeImporter recipeImporter;
+
+    @Captor
+    private ArgumentCaptor<DefaultEnvelope> envelopeCaptor;
+
+    private final JsonEnvelope importRequest = envelopeFrom(metadataWithRandomUUID("cakeshop.import-recipes"), Json.createObjectBuilder().build());
+
+    @BeforeEach
+    public void setUp() {
+        recipeImporter.maxLineLength = "200";
+    }
+
+    @Test
+    public void shouldSendRecipesInBatchesOfBatchSize() throws Exception {
+        final int recipeCount = RecipeImporter.BATCH_SIZE * 2 + 1;
+        givenFileContaining(IntStream.range(0, recipeCount)
+                .mapToObj(i -> recipeLine(randomUUID(), "Recipe " + i))
+                .collect(Collectors.joining("\n")));
+
+        final RecipeImport recipeImport = new RecipeImport(randomUUID(), FILE_ID);
+        recipeImporter.importRecipes(recipeImport, importRequest, sender);
+
+        verify(sender, times(3)).send(envelopeCaptor.capture());
+        final List<DefaultEnvelope> batches = envelopeCaptor.getAllValues();
+        assertThat(batches.get(0).metadata().name(), is("cakeshop.command.add-recipes-batch"));
+        assertThat(batches.get(0).metadata().id(), is(not(importRequest.metadata().id())));
+        assertThat(batches.get(1).metadata().id(), is(not(batches.get(0).metadata().id())));
+        assertThat(recipesIn(batches.get(0)), is(RecipeImporter.BATCH_SIZE));
+        assertThat(recipesIn(batches.get(1)), is(RecipeImporter.BATCH_SIZE));
+        assertThat(recipesIn(batches.get(2)), is(1));
+
+        assertThat(recipeImport.getStatus(), is(RecipeImport.Status.COMPLETED));
+        assertThat(recipeImport.getLinesRead(), is((long) recipeCount));
+        assertThat(recipeImport.getRecipesSent(), is((long) recipeCount));
+        assertThat(recipeImport.getLinesRejected(), is(0L));
+    }
+
+    @Test
+    public void shouldRejectInvalidLinesAndCarryOnImporting() throws Exception {
+        givenFileContaining(recipeLine(randomUUID(), "Good recipe") + "\n"
+                + "not json\n"
+                + "\n"
+                + "{\"recipeId\":\"not-a-uuid\",\"name\":\"Bad id\",\"glutenFree\":false,\"ingredients\":[{\"name\":\"egg\",\"quantity\":1}]}\n"
+                + "{\"recipeId\":\"" + randomUUID() + "\",\"name\":\"No ingredients\",\"glutenFree\":false,\"ingredients\":[]}\n"
+                + "{\"recipeId\":\"1-1-1-1-1\",\"name\":\"Short id\",\"glutenFree\":false,\"ingredients\":[{\"name\":\"egg\",\"quantity\":1}]}\n"
+                + "{\"recipeId\":\"" + randomUUID() + "\",\"name\":\"Half an egg\",\"glutenFree\":false,\"ingredients\":[{\"name\":\"egg\",\"quantity\":0.5}]}\n"
+                + recipeLine(randomUUID(), "Another good recipe"));
+
+        final RecipeImport recipeImport = new RecipeImport(randomUUID(), FILE_ID);
+        recipeImporter.importRecipes(recipeImport, importRequest, sender);
+
+        verify(sender).send(envelopeCaptor.capture());
+        assertThat(recipesIn(envelopeCaptor.getValue()), is(2));
+
+        assertThat(recipeImport.getStatus(), is(RecipeImport.Status.COMPLETED));
+        assertThat(recipeImport.getLinesRead(), is(7L));
+        assertThat(recipeImport.getRecipesSent(), is(2L));
+        assertThat(recipeImport.getLinesRejected(), is(5L));
+        assertThat(recipeImport.toJson().getJsonArray("errors").getString(0), is("Line 2: Not a JSON object"));
+        assertThat(recipeImport.toJson().getJsonArray("errors").getString(1), is("Line 4: recipeId is not a UUID"));
+        assertThat(recipeImport.toJson().getJsonArray("errors").getString(2), is("Line 5: Missing ingredients"));
+        assertThat(recipeImport.toJson().getJsonArray("errors").getString(3), is("Line 6: recipeId is not a UUID"));
+        assertThat(recipeImport.toJson().getJsonArray("errors").getString(4), is("Line 7: Ingredients must have a name and whole number quantity"));
+    }
+
+    @Test
+    public void shouldRejectLinesLongerThanMaxLineLengthAndCarryOnImporting() throws Exception {
+        final StringBuilder longName = new StringBuilder();
+        for (int i = 0; i < 10_000; i++) {
+            longName.append("Very ");
+        }
+        givenFileContaining(recipeLine(randomUUID(), "Good recipe") + "\r\n"
+                + recipeLine(randomUUID(), longName.toString()) + "\r\n"
+                + recipeLine(randomUUID(), "Another good recipe"));
+
+        final RecipeImport recipeImport = new RecipeImport(randomUUID(), FILE_ID);
+        recipeImporter.importRecipes(recipeImport, importRequest, sender);
+
+        verify(sender).send(envelopeCaptor.capture());
+        assertThat(recipesIn(envelopeCaptor.getValue()), is(2));
+
+        assertThat(recipeImport.getStatus(), is(RecipeImport.Status.COMPLETED));
+        assertThat(recipeImport.getLinesRead(), is(3L));
+        assertThat(recipeImport.getRecipesSent(), is(2L));
+        assertThat(recipeImport.getLinesRejected(), is(1L));
+        assertThat(recipeImport.toJson().getJsonArray("errors").getString(0), is("Line 2: Longer than 200 characters"));
+    }
+
+    @Test
+    public void shouldFailImportWhenFileIsNotFound() throws Exception {
+        when(fileRetriever.retrieve(FILE_ID)).thenReturn(empty());
+
+        final RecipeImport recipeImport = new RecipeImport(randomUUID(), FILE_ID);
+        recipeImporter.importRecipes(recipeImport, importRequest, sender);
+
+        verifyNoInteractions(sender);
+        assertThat(recipeImport.getStatus(), is(RecipeImport.Status.FAILED));
+        assertThat(recipeImport.toJson().getJsonArray("errors").getValuesAs(JsonString.class).stream()
+                .map(JsonString::getString)
+                .collect(Collectors.toList()), hasItem("File " + FILE_ID + " not found"));
+    }
+
+    private void givenFileContaining(final String content) throws Exception {
+        when(fileRetriever.retrieve(FILE_ID)).thenReturn(Optional.of(fileReference));
+        when(fileReference.getContentStream()).thenReturn(new ByteArrayInputStream(content.getBytes(UTF_8)));
+    }
+
+    private String recipeLine(final UUID recipeId, final String name) {
+        return Json.createObjectBuilder()
+                .add("recipeId", recipeId.toString())
+                .add("name", name)
+                .add("glutenFree", false)
+                .add("ingredients", Json.createArrayBuilder()
+                        .add(Json.createObjectBuilder()
+                                .add("name", "egg")
+                                .add("quantity", 2)))
+                .build()
+                .toString();
+    }
+
+    private int recipesIn(final DefaultEnvelope envelope) {
+        return ((JsonObject) envelope.payload()).getJsonArray("recipes").size();
+    }
+}
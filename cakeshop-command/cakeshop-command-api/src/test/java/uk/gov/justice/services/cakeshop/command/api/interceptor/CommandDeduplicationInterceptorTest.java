@@ -0,0 +1,127 @@
+package uk.gov.justice.services.cakeshop.command.api.interceptor;
+
+import static java.util.UUID.randomUUID;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static uk.gov.justice.services.test.utils.core.messaging.JsonEnvelopeBuilder.envelope;
+import static uk.gov.justice.services.test.utils.core.messaging.MetadataBuilderFactory.metadataWithDefaults;
+
+import uk.gov.justice.services.cakeshop.persistence.entity.ProcessedCommand;
+import uk.gov.justice.services.core.interceptor.InterceptorChain;
+import uk.gov.justice.services.core.interceptor.InterceptorContext;
+import uk.gov.justice.services.messaging.JsonEnvelope;
+
+import java.time.ZonedDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class CommandDeduplicationInterceptorTest {
+
+    private static final UUID ORDER_ID = randomUUID();
+    private static final ZonedDateTime PROCESSED_AT = ZonedDateTime.parse("2025-03-03T09:00:00Z");
+
+    @Mock
+    private ProcessedCommands processedCommands;
+
+    @Mock
+    private InterceptorContext interceptorContext;
+
+    @Mock
+    private InterceptorContext resultContext;
+
+    @Mock
+    private InterceptorContext duplicateResultContext;
+
+    @Mock
+    private InterceptorChain interceptorChain;
+
+    @InjectMocks
+    private CommandDeduplicationInterceptor interceptor;
+
+    @BeforeEach
+    public void setup() {
+        when(interceptorContext.inputEnvelope()).thenReturn(envelope()
+                .with(metadataWithDefaults().withName("cakeshop.order-cake"))
+                .withPayloadOf(ORDER_ID.toString(), "orderId")
+                .withPayloadOf(randomUUID().toString(), "recipeId")
+                .build());
+    }
+
+    @Test
+    public void shouldSendOnNewCommand() {
+        when(processedCommands.claim("cakeshop.order-cake", ORDER_ID)).thenReturn(true);
+        when(interceptorChain.processNext(interceptorContext)).thenReturn(resultContext);
+
+        assertThat(interceptor.process(interceptorContext, interceptorChain), is(resultContext));
+        verify(processedCommands, never()).release(any(), any());
+        verify(processedCommands).recordResponse("cakeshop.order-cake", ORDER_ID, Optional.empty());
+    }
+
+    @Test
+    public void shouldGiveDuplicateCommandOriginalResponseWithoutSendingItOn() {
+        final ArgumentCaptor<JsonEnvelope> response = ArgumentCaptor.forClass(JsonEnvelope.class);
+        when(processedCommands.claim("cakeshop.order-cake", ORDER_ID)).thenReturn(false);
+        when(processedCommands.find("cakeshop.order-cake", ORDER_ID)).thenReturn(Optional.of(new ProcessedCommand(
+                "cakeshop.order-cake", ORDER_ID, PROCESSED_AT, "cakeshop.order-cake-status", "{\"status\":\"Ordered\"}")));
+        when(interceptorContext.copyWithOutput(response.capture())).thenReturn(duplicateResultContext);
+
+        assertThat(interceptor.process(interceptorContext, interceptorChain), is(duplicateResultContext));
+
+        assertThat(response.getValue().metadata().name(), is("cakeshop.order-cake-status"));
+        assertThat(response.getValue().metadata().id(), is(not(interceptorContext.inputEnvelope().metadata().id())));
+        assertThat(response.getValue().payloadAsJsonObject().getString("status"), is("Ordered"));
+        verify(interceptorChain, never()).processNext(any());
+    }
+
+    @Test
+    public void shouldAcceptDuplicateCommandWithoutResponseWhenOriginalHadNone() {
+        when(processedCommands.claim("cakeshop.order-cake", ORDER_ID)).thenReturn(false);
+        when(processedCommands.find("cakeshop.order-cake", ORDER_ID)).thenReturn(Optional.of(new ProcessedCommand("cakeshop.order-cake", ORDER_ID, PROCESSED_AT)));
+
+        assertThat(interceptor.process(interceptorContext, interceptorChain), is(interceptorContext));
+
+        verify(interceptorChain, never()).processNext(any());
+        verify(interceptorContext, never()).copyWithOutput(any());
+    }
+
+    @Test
+    public void shouldForgetCommandThatCouldNotBeSentOn() {
+        final RuntimeException failure = new RuntimeException("JMS unavailable");
+        when(processedCommands.claim("cakeshop.order-cake", ORDER_ID)).thenReturn(true);
+        when(interceptorChain.processNext(interceptorContext)).thenThrow(failure);
+
+        final RuntimeException thrown = assertThrows(RuntimeException.class, () -> interceptor.process(interceptorContext, interceptorChain));
+
+        assertThat(thrown, is(failure));
+        verify(processedCommands).release("cakeshop.order-cake", ORDER_ID);
+        verify(processedCommands, never()).recordResponse(any(), any(), any());
+    }
+
+    @Test
+    public void shouldSendOnOtherCommandsUnchecked() {
+        when(interceptorContext.inputEnvelope()).thenReturn(envelope()
+                .with(metadataWithDefaults().withName("cakeshop.rename-recipe"))
+                .withPayloadOf("Chocolate cake", "name")
+                .build());
+        when(interceptorChain.processNext(interceptorContext)).thenReturn(resultContext);
+
+        assertThat(interceptor.process(interceptorContext, interceptorChain), is(resultContext));
+        verifyNoInteractions(processedCommands);
+    }
+}
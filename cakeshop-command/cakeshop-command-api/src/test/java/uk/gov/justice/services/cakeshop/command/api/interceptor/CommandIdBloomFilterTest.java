@@ -0,0 +1,62 @@
+package uk.gov.justice.services.cakeshop.command.api.interceptor;
+
+import static java.util.UUID.randomUUID;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThan;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+public class CommandIdBloomFilterTest {
+
+    private static final String ORDER_CAKE = "cakeshop.order-cake";
+
+    @Test
+    public void shouldNeverMissAnAddedCommand() {
+        final CommandIdBloomFilter filter = new CommandIdBloomFilter(10_000, 7);
+        final List<UUID> commandIds = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            final UUID commandId = randomUUID();
+            commandIds.add(commandId);
+            filter.add(ORDER_CAKE, commandId);
+        }
+
+        commandIds.forEach(commandId -> assertThat(filter.mightContain(ORDER_CAKE, commandId), is(true)));
+    }
+
+    @Test
+    public void shouldRarelyReportCommandsNotAdded() {
+        final CommandIdBloomFilter filter = new CommandIdBloomFilter(10_000, 7);
+        for (int i = 0; i < 1_000; i++) {
+            filter.add(ORDER_CAKE, randomUUID());
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain(ORDER_CAKE, randomUUID())) {
+                falsePositives++;
+            }
+        }
+
+        assertThat(falsePositives, is(lessThan(300)));
+    }
+
+    @Test
+    public void shouldTellCommandsWithTheSameIdApart() {
+        final CommandIdBloomFilter filter = new CommandIdBloomFilter(10_000, 7);
+        final UUID commandId = randomUUID();
+
+        filter.add(ORDER_CAKE, commandId);
+
+        assertThat(filter.mightContain("cakeshop.make-cake", commandId), is(false));
+    }
+
+    @Test
+    public void shouldRoundBitsUpToWholeWords() {
+        assertThat(new CommandIdBloomFilter(100, 7).bits(), is(128));
+    }
+}
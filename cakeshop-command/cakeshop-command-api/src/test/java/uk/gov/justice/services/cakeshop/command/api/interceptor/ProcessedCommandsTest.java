@@ -0,0 +1,143 @@
+package uk.gov.justice.services.cakeshop.command.api.interceptor;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.UUID.randomUUID;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import uk.gov.justice.services.cakeshop.persistence.ProcessedCommandRepository;
+import uk.gov.justice.services.cakeshop.persistence.entity.ProcessedCommand;
+import uk.gov.justice.services.common.util.UtcClock;
+import uk.gov.justice.services.messaging.JsonEnvelope;
+import uk.gov.justice.services.messaging.Metadata;
+
+import java.time.ZonedDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import javax.json.Json;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class ProcessedCommandsTest {
+
+    private static final String ORDER_CAKE = "cakeshop.order-cake";
+    private static final ZonedDateTime NOW = ZonedDateTime.parse("2025-03-03T09:00:00Z");
+
+    @Mock
+    private ProcessedCommandRepository processedCommandRepository;
+
+    @Mock
+    private UtcClock clock;
+
+    private ProcessedCommands processedCommands;
+
+    @BeforeEach
+    public void setup() {
+        processedCommands = new ProcessedCommands();
+        processedCommands.processedCommandRepository = processedCommandRepository;
+        processedCommands.clock = clock;
+        processedCommands.capacity = "100";
+        processedCommands.retentionDays = "7";
+        lenient().when(clock.now()).thenReturn(NOW);
+    }
+
+    @Test
+    public void shouldRecordNewCommandWithoutLookingItUp() {
+        final UUID orderId = randomUUID();
+        when(processedCommandRepository.findMostRecent(50)).thenReturn(emptyList());
+        when(processedCommandRepository.record(ORDER_CAKE, orderId, NOW)).thenReturn(true);
+
+        assertThat(processedCommands.claim(ORDER_CAKE, orderId), is(true));
+
+        verify(processedCommandRepository, never()).contains(any(), any());
+    }
+
+    @Test
+    public void shouldRejectRecentlyProcessedCommandWithoutRecordingIt() {
+        final UUID orderId = randomUUID();
+        when(processedCommandRepository.findMostRecent(50)).thenReturn(asList(new ProcessedCommand(ORDER_CAKE, orderId, NOW)));
+        when(processedCommandRepository.contains(ORDER_CAKE, orderId)).thenReturn(true);
+
+        assertThat(processedCommands.claim(ORDER_CAKE, orderId), is(false));
+
+        verify(processedCommandRepository, never()).record(any(), any(), any());
+    }
+
+    @Test
+    public void shouldRejectCommandRecordedConcurrently() {
+        final UUID orderId = randomUUID();
+        when(processedCommandRepository.findMostRecent(50)).thenReturn(emptyList());
+        when(processedCommandRepository.record(ORDER_CAKE, orderId, NOW)).thenReturn(false);
+
+        assertThat(processedCommands.claim(ORDER_CAKE, orderId), is(false));
+    }
+
+    @Test
+    public void shouldAcceptReleasedCommandAgain() {
+        final UUID orderId = randomUUID();
+        when(processedCommandRepository.findMostRecent(50)).thenReturn(emptyList());
+        when(processedCommandRepository.record(ORDER_CAKE, orderId, NOW)).thenReturn(true);
+
+        processedCommands.claim(ORDER_CAKE, orderId);
+        processedCommands.release(ORDER_CAKE, orderId);
+
+        assertThat(processedCommands.claim(ORDER_CAKE, orderId), is(true));
+        verify(processedCommandRepository).remove(ORDER_CAKE, orderId);
+        verify(processedCommandRepository).contains(ORDER_CAKE, orderId);
+    }
+
+    @Test
+    public void shouldRebuildFilterFromMostRecentCommandsOnceFull() {
+        when(processedCommandRepository.findMostRecent(50)).thenReturn(emptyList());
+        when(processedCommandRepository.record(any(), any(), any())).thenReturn(true);
+        lenient().when(processedCommandRepository.contains(any(), any())).thenReturn(false);
+
+        for (int i = 0; i <= 100; i++) {
+            processedCommands.claim(ORDER_CAKE, randomUUID());
+        }
+
+        verify(processedCommandRepository, times(2)).findMostRecent(anyInt());
+    }
+
+    @Test
+    public void shouldRemoveCommandsOlderThanRetentionPeriodWhenBuildingFilter() {
+        final UUID orderId = randomUUID();
+        when(processedCommandRepository.findMostRecent(50)).thenReturn(emptyList());
+        when(processedCommandRepository.record(ORDER_CAKE, orderId, NOW)).thenReturn(true);
+
+        processedCommands.claim(ORDER_CAKE, orderId);
+
+        verify(processedCommandRepository).removeProcessedBefore(NOW.minusDays(7));
+    }
+
+    @Test
+    public void shouldRecordResponseGivenToCommand() {
+        final UUID orderId = randomUUID();
+        final JsonEnvelope response = mock(JsonEnvelope.class);
+        final Metadata metadata = mock(Metadata.class);
+        when(response.metadata()).thenReturn(metadata);
+        when(metadata.name()).thenReturn("cakeshop.order-cake-status");
+        when(response.payloadAsJsonObject()).thenReturn(Json.createObjectBuilder().add("status", "Ordered").build());
+
+        processedCommands.recordResponse(ORDER_CAKE, orderId, Optional.of(response));
+        processedCommands.recordResponse(ORDER_CAKE, randomUUID(), Optional.empty());
+
+        verify(processedCommandRepository).recordResponse(ORDER_CAKE, orderId, "cakeshop.order-cake-status", "{\"status\":\"Ordered\"}");
+        verify(processedCommandRepository, times(1)).recordResponse(any(), any(), any(), any());
+    }
+}
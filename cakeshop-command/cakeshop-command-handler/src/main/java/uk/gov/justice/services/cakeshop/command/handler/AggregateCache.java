@@ -0,0 +1,237 @@
+package uk.gov.justice.services.cakeshop.command.handler;
+
+import static java.util.stream.Collectors.toList;
+
+import uk.gov.justice.domain.aggregate.Aggregate;
+import uk.gov.justice.services.common.converter.JsonObjectToObjectConverter;
+import uk.gov.justice.services.core.aggregate.AggregateService;
+import uk.gov.justice.services.core.extension.EventFoundEvent;
+import uk.gov.justice.services.eventsourcing.source.core.EventStream;
+import uk.gov.justice.services.eventsourcing.source.core.Tolerance;
+import uk.gov.justice.services.eventsourcing.source.core.exception.EventStreamException;
+import uk.gov.justice.services.messaging.JsonEnvelope;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import javax.annotation.Resource;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+import javax.transaction.TransactionSynchronizationRegistry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * In-memory cache of aggregates in front of {@link AggregateService}, keyed by stream id and the
+ * stream position the cached aggregate reflects.
+ *
+ * <p>{@link #get(EventStream, Class)} checks an aggregate out of the cache and folds only the
+ * events appended since its cached position. {@link #append} appends the new events and puts the
+ * aggregate back only if the returned stream position shows that nothing else was appended in
+ * between; an aggregate that was only read is put back with {@link #release}. When the append
+ * fails, or anything unexpected is read from the stream, the aggregate is simply not returned to
+ * the cache and the next command loads it through {@link AggregateService}.
+ *
+ * <p>Within a transaction the aggregate is only put back once the transaction commits, since until
+ * then neither its state nor its position has been committed. If the transaction rolls back the
+ * stream is evicted, so the next command loads it from what was committed.
+ */
+@ApplicationScoped
+public class AggregateCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AggregateCache.class);
+
+    static final int MAX_ENTRIES = 1000;
+
+    @Inject
+    AggregateService aggregateService;
+
+    @Inject
+    JsonObjectToObjectConverter jsonObjectToObjectConverter;
+
+    @Resource(lookup = "java:comp/TransactionSynchronizationRegistry")
+    TransactionSynchronizationRegistry transactionSynchronizationRegistry;
+
+    private final Map<String, Class<?>> eventClasses = new ConcurrentHashMap<>();
+
+    private final Map<UUID, CachedAggregate> cachedAggregates = new LinkedHashMap<UUID, CachedAggregate>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<UUID, CachedAggregate> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    private final Map<Aggregate, Long> checkedOutPositions = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * Register an event class, in the same way as {@link AggregateService}, so that events read
+     * from a stream can be applied to a cached aggregate.
+     *
+     * @param event identifies the event class and its name
+     */
+    public void register(@Observes final EventFoundEvent event) {
+        eventClasses.put(event.getEventName(), event.getClazz());
+    }
+
+    /**
+     * Get the current aggregate for the stream, either by folding the events appended since its
+     * cached position or by loading it through the {@link AggregateService}.
+     *
+     * @param eventStream    the stream of the aggregate
+     * @param aggregateClass the type of the aggregate
+     * @return the aggregate, checked out of the cache until {@link #append} succeeds
+     */
+    public <T extends Aggregate> T get(final EventStream eventStream, final Class<T> aggregateClass) {
+        final CachedAggregate cachedAggregate;
+        synchronized (cachedAggregates) {
+            cachedAggregate = cachedAggregates.remove(eventStream.getId());
+        }
+
+        if (cachedAggregate != null && aggregateClass.isInstance(cachedAggregate.aggregate)) {
+            final Optional<Long> position = applyEventsSince(eventStream, cachedAggregate);
+            if (position.isPresent()) {
+                final T aggregate = aggregateClass.cast(cachedAggregate.aggregate);
+                checkedOutPositions.put(aggregate, position.get());
+                return aggregate;
+            }
+        }
+
+        final long position = eventStream.getPosition();
+        final T aggregate = aggregateService.get(eventStream, aggregateClass);
+        checkedOutPositions.put(aggregate, position);
+        return aggregate;
+    }
+
+    /**
+     * Append the events produced by the aggregate to the stream, with the default tolerance.
+     *
+     * @see #append(EventStream, Aggregate, Stream, Tolerance)
+     */
+    public long append(final EventStream eventStream, final Aggregate aggregate, final Stream<JsonEnvelope> events) throws EventStreamException {
+        return append(eventStream, aggregate, events, null);
+    }
+
+    /**
+     * Append the events produced by the aggregate to the stream and return the aggregate to the
+     * cache at the new stream position, if no other events were appended since it was read.
+     *
+     * @param eventStream the stream the aggregate was read from
+     * @param aggregate   the aggregate returned by {@link #get(EventStream, Class)}
+     * @param events      the new events of the aggregate
+     * @param tolerance   the tolerance of the append, or null for the default
+     * @return the stream position after the append
+     * @throws EventStreamException if the append fails, in which case the aggregate is not cached
+     */
+    public long append(final EventStream eventStream, final Aggregate aggregate, final Stream<JsonEnvelope> events, final Tolerance tolerance) throws EventStreamException {
+        final Long checkedOutPosition = checkedOutPositions.remove(aggregate);
+        final List<JsonEnvelope> newEvents = events.collect(toList());
+
+        final long position = tolerance == null ? eventStream.append(newEvents.stream()) : eventStream.append(newEvents.stream(), tolerance);
+
+        if (checkedOutPosition != null && position == checkedOutPosition + newEvents.size()) {
+            putOnCommit(eventStream.getId(), new CachedAggregate(aggregate, position));
+        }
+
+        return position;
+    }
+
+    /**
+     * Return an aggregate that was only read, and had nothing appended, to the cache at the
+     * position it was read at.
+     *
+     * @param eventStream the stream the aggregate was read from
+     * @param aggregate   the aggregate returned by {@link #get(EventStream, Class)}
+     */
+    public void release(final EventStream eventStream, final Aggregate aggregate) {
+        final Long checkedOutPosition = checkedOutPositions.remove(aggregate);
+
+        if (checkedOutPosition != null) {
+            putOnCommit(eventStream.getId(), new CachedAggregate(aggregate, checkedOutPosition));
+        }
+    }
+
+    /**
+     * Put the aggregate in the cache, unless a later position of the stream is already cached. Within
+     * a transaction this waits until it commits, and the stream is evicted if it does not.
+     */
+    private void putOnCommit(final UUID streamId, final CachedAggregate cachedAggregate) {
+        if (transactionSynchronizationRegistry != null && transactionSynchronizationRegistry.getTransactionStatus() == Status.STATUS_ACTIVE) {
+            transactionSynchronizationRegistry.registerInterposedSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                    // nothing to do until the events are committed
+                }
+
+                @Override
+                public void afterCompletion(final int status) {
+                    if (status == Status.STATUS_COMMITTED) {
+                        put(streamId, cachedAggregate);
+                    } else {
+                        evict(streamId);
+                    }
+                }
+            });
+        } else {
+            put(streamId, cachedAggregate);
+        }
+    }
+
+    private void put(final UUID streamId, final CachedAggregate cachedAggregate) {
+        synchronized (cachedAggregates) {
+            final CachedAggregate current = cachedAggregates.get(streamId);
+            if (current == null || current.position < cachedAggregate.position) {
+                cachedAggregates.put(streamId, cachedAggregate);
+            }
+        }
+    }
+
+    private void evict(final UUID streamId) {
+        synchronized (cachedAggregates) {
+            cachedAggregates.remove(streamId);
+        }
+    }
+
+    private Optional<Long> applyEventsSince(final EventStream eventStream, final CachedAggregate cachedAggregate) {
+        long position = cachedAggregate.position;
+
+        try (final Stream<JsonEnvelope> events = eventStream.readFrom(position + 1)) {
+            final Iterator<JsonEnvelope> iterator = events.iterator();
+            while (iterator.hasNext()) {
+                final JsonEnvelope event = iterator.next();
+                final Class<?> eventClass = eventClasses.get(event.metadata().name());
+                if (eventClass == null) {
+                    LOGGER.warn("Unregistered event {} on stream {}, reloading aggregate", event.metadata().name(), eventStream.getId());
+                    return Optional.empty();
+                }
+
+                cachedAggregate.aggregate.apply(jsonObjectToObjectConverter.convert(event.payloadAsJsonObject(), eventClass));
+                position = event.metadata().position().orElse(position + 1);
+            }
+        }
+
+        return Optional.of(position);
+    }
+
+    private static class CachedAggregate {
+
+        private final Aggregate aggregate;
+        private final long position;
+
+        private CachedAggregate(final Aggregate aggregate, final long position) {
+            this.aggregate = aggregate;
+            this.position = position;
+        }
+    }
+}
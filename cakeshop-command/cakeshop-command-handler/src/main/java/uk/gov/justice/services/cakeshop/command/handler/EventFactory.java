@@ -1,27 +1,69 @@
 package uk.gov.justice.services.cakeshop.command.handler;
 
 
+import static javax.json.JsonValue.ValueType.NULL;
+
 import uk.gov.justice.services.cakeshop.domain.event.CakeOrdered;
 import uk.gov.justice.services.messaging.JsonEnvelope;
 
-import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.UUID;
 
 import javax.enterprise.context.ApplicationScoped;
-import javax.inject.Inject;
-
-import com.fasterxml.jackson.databind.ObjectMapper;
+import javax.json.JsonObject;
+import javax.json.JsonString;
+import javax.json.JsonValue;
 
+/**
+ * Creates the events of the order-cake command from its payload.
+ *
+ * <p>The fields are read straight from the {@link JsonObject} the command arrived as, rather than
+ * writing it out as JSON text and parsing that into the event. Delivery dates are adjusted to UTC,
+ * as the framework object mapper does, and a missing field is left null.
+ */
 @ApplicationScoped
 public class EventFactory {
 
-    @Inject
-    ObjectMapper objectMapper;
+    private static final ZoneId UTC = ZoneId.of("UTC");
+
+    private static final String FIELD_ORDER_ID = "orderId";
+    private static final String FIELD_RECIPE_ID = "recipeId";
+    private static final String FIELD_DELIVERY_DATE = "deliveryDate";
 
     public CakeOrdered cakeOrderedEventFrom(final JsonEnvelope command) {
+        return cakeOrderedFrom(command.payloadAsJsonObject());
+    }
+
+    /**
+     * @param payload the payload of an order-cake command
+     * @return the cake ordered event
+     * @throws IllegalStateException if a field is not a string, or not a valid id or date
+     */
+    public CakeOrdered cakeOrderedFrom(final JsonObject payload) {
         try {
-            return objectMapper.readValue(command.payload().toString(), CakeOrdered.class);
-        } catch (IOException e) {
+            return new CakeOrdered(
+                    uuidOf(payload, FIELD_ORDER_ID),
+                    uuidOf(payload, FIELD_RECIPE_ID),
+                    zonedDateTimeOf(payload, FIELD_DELIVERY_DATE));
+        } catch (final ClassCastException | IllegalArgumentException | DateTimeException e) {
             throw new IllegalStateException(e);
         }
     }
+
+    private static UUID uuidOf(final JsonObject payload, final String field) {
+        final String value = stringOf(payload, field);
+        return value == null ? null : UUID.fromString(value);
+    }
+
+    private static ZonedDateTime zonedDateTimeOf(final JsonObject payload, final String field) {
+        final String value = stringOf(payload, field);
+        return value == null ? null : ZonedDateTime.parse(value).withZoneSameInstant(UTC);
+    }
+
+    private static String stringOf(final JsonObject payload, final String field) {
+        final JsonValue value = payload.get(field);
+        return value == null || value.getValueType() == NULL ? null : ((JsonString) value).getString();
+    }
 }
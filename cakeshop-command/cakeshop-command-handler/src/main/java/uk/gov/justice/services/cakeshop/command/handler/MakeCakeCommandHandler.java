@@ -1,5 +1,6 @@
 package uk.gov.justice.services.cakeshop.command.handler;
 
+import static java.util.stream.Collectors.toList;
 import static uk.gov.justice.services.core.annotation.Component.COMMAND_HANDLER;
 import static uk.gov.justice.services.core.enveloper.Enveloper.toEnvelopeWithMetadataFrom;
 import static uk.gov.justice.services.messaging.JsonObjects.getUUID;
@@ -11,13 +12,19 @@ import uk.gov.justice.services.eventsourcing.source.core.EventSource;
 import uk.gov.justice.services.eventsourcing.source.core.EventStream;
 import uk.gov.justice.services.eventsourcing.source.core.Tolerance;
 import uk.gov.justice.services.eventsourcing.source.core.exception.EventStreamException;
+import uk.gov.justice.services.cakeshop.domain.aggregate.Cake;
 import uk.gov.justice.services.cakeshop.domain.aggregate.Recipe;
 import uk.gov.justice.services.messaging.JsonEnvelope;
 
+import java.util.List;
 import java.util.UUID;
 
 import javax.inject.Inject;
 
+/**
+ * Appends CakeMade to the cake's own stream. The recipe is only read to check it is available, so
+ * cakes made concurrently from the same recipe do not contend on the recipe's stream.
+ */
 @ServiceComponent(COMMAND_HANDLER)
 public class MakeCakeCommandHandler {
 
@@ -30,18 +37,31 @@ public class MakeCakeCommandHandler {
     @Inject
     AggregateService aggregateService;
 
+    @Inject
+    AggregateCache aggregateCache;
+
     @Handles("cakeshop.command.make-cake")
     public void makeCake(final JsonEnvelope command) throws EventStreamException {
 
         final UUID recipeId = getUUID(command.payloadAsJsonObject(), FIELD_RECIPE_ID).get();
         final UUID cakeId = getUUID(command.payloadAsJsonObject(), FIELD_CAKE_ID).get();
 
-        final EventStream eventStream = eventSource.getStreamById(recipeId);
-        final Recipe recipe = aggregateService.get(eventStream, Recipe.class);
+        final EventStream cakeStream = eventSource.getStreamById(cakeId);
+        final Cake cake = aggregateService.get(cakeStream, Cake.class);
+
+        final EventStream recipeStream = eventSource.getStreamById(recipeId);
+        final Recipe recipe = aggregateCache.get(recipeStream, Recipe.class);
+
+        final List<JsonEnvelope> events;
+        try {
+            events = cake.makeCake(cakeId, recipe)
+                    .map(toEnvelopeWithMetadataFrom(command))
+                    .collect(toList());
+        } finally {
+            aggregateCache.release(recipeStream, recipe);
+        }
 
-        eventStream.append(
-                recipe.makeCake(cakeId)
-                        .map(toEnvelopeWithMetadataFrom(command)), Tolerance.CONSECUTIVE);
+        cakeStream.append(events.stream(), Tolerance.CONSECUTIVE);
     }
 
 }
@@ -7,7 +7,6 @@ import static uk.gov.justice.services.messaging.JsonObjects.getBoolean;
 import static uk.gov.justice.services.messaging.JsonObjects.getString;
 import static uk.gov.justice.services.messaging.JsonObjects.getUUID;
 
-import uk.gov.justice.services.core.aggregate.AggregateService;
 import uk.gov.justice.services.core.annotation.Handles;
 import uk.gov.justice.services.core.annotation.ServiceComponent;
 import uk.gov.justice.services.eventsourcing.source.core.EventSource;
@@ -36,12 +35,13 @@ public class RecipeCommandHandler {
     private static final String FIELD_NAME = "name";
     private static final String FIELD_GLUTEN_FREE = "glutenFree";
     private static final String FIELD_PHOTO_ID = "photoId";
+    private static final String FIELD_RECIPES = "recipes";
 
     @Inject
     EventSource eventSource;
 
     @Inject
-    AggregateService aggregateService;
+    AggregateCache aggregateCache;
 
     @Handles("cakeshop.command.add-recipe")
     public void addRecipe(final JsonEnvelope command) throws EventStreamException {
@@ -53,13 +53,44 @@ public class RecipeCommandHandler {
         final List<Ingredient> ingredients = ingredientsFrom(command.payloadAsJsonObject());
 
         final EventStream eventStream = eventSource.getStreamById(recipeId);
-        final Recipe recipe = aggregateService.get(eventStream, Recipe.class);
+        final Recipe recipe = aggregateCache.get(eventStream, Recipe.class);
 
-        eventStream.append(
+        aggregateCache.append(eventStream, recipe,
                 recipe.addRecipe(recipeId, name, glutenFree, ingredients)
                         .map(toEnvelopeWithMetadataFrom(command)));
     }
 
+    /**
+     * Adds each recipe in the batch to its own stream, all within the one command transaction.
+     * Recipes that have already been added are skipped, so a failed batch can be resent as is.
+     */
+    @Handles("cakeshop.command.add-recipes-batch")
+    public void addRecipesBatch(final JsonEnvelope command) throws EventStreamException {
+        final List<JsonObject> recipes = command.payloadAsJsonObject().getJsonArray(FIELD_RECIPES).getValuesAs(JsonObject.class);
+        LOGGER.trace("=============> Inside add-recipes-batch Command Handler. Recipes: " + recipes.size());
+
+        for (final JsonObject recipePayload : recipes) {
+            final UUID recipeId = getUUID(recipePayload, FIELD_RECIPE_ID).get();
+            final String name = getString(recipePayload, FIELD_NAME).get();
+            final Boolean glutenFree = getBoolean(recipePayload, FIELD_GLUTEN_FREE).get();
+            final List<Ingredient> ingredients = ingredientsFrom(recipePayload);
+
+            final EventStream eventStream = eventSource.getStreamById(recipeId);
+            final Recipe recipe = aggregateCache.get(eventStream, Recipe.class);
+
+            final List<JsonEnvelope> events = recipe.addRecipeIfAbsent(recipeId, name, glutenFree, ingredients)
+                    .map(toEnvelopeWithMetadataFrom(command))
+                    .collect(Collectors.toList());
+
+            if (events.isEmpty()) {
+                LOGGER.info("Recipe {} already added, skipping", recipeId);
+                aggregateCache.release(eventStream, recipe);
+            } else {
+                aggregateCache.append(eventStream, recipe, events.stream());
+            }
+        }
+    }
+
     @Handles("cakeshop.command.rename-recipe")
     public void renameRecipe(final Envelope<RenameRecipe> command) throws EventStreamException {
         LOGGER.trace("=============> Inside rename-recipe Command Handler");
@@ -69,9 +100,9 @@ public class RecipeCommandHandler {
 
 
         final EventStream eventStream = eventSource.getStreamById(recipeId);
-        final Recipe recipe = aggregateService.get(eventStream, Recipe.class);
+        final Recipe recipe = aggregateCache.get(eventStream, Recipe.class);
 
-        eventStream.append(
+        aggregateCache.append(eventStream, recipe,
                 recipe.renameRecipe(name)
                         .map(toEnvelopeWithMetadataFrom(command)),
                 Tolerance.NON_CONSECUTIVE);
@@ -85,9 +116,9 @@ public class RecipeCommandHandler {
         final UUID recipeId = getUUID(command.payloadAsJsonObject(), FIELD_RECIPE_ID).get();
 
         final EventStream eventStream = eventSource.getStreamById(recipeId);
-        final Recipe recipe = aggregateService.get(eventStream, Recipe.class);
+        final Recipe recipe = aggregateCache.get(eventStream, Recipe.class);
 
-        eventStream.append(
+        aggregateCache.append(eventStream, recipe,
                 recipe.removeRecipe()
                         .map(toEnvelopeWithMetadataFrom(command)));
     }
@@ -100,9 +131,9 @@ public class RecipeCommandHandler {
         final UUID photoId = getUUID(command.payloadAsJsonObject(), FIELD_PHOTO_ID).get();
 
         final EventStream eventStream = eventSource.getStreamById(recipeId);
-        final Recipe recipe = aggregateService.get(eventStream, Recipe.class);
+        final Recipe recipe = aggregateCache.get(eventStream, Recipe.class);
 
-        eventStream.append(
+        aggregateCache.append(eventStream, recipe,
                 recipe.addPhotograph(photoId)
                         .map(toEnvelopeWithMetadataFrom(command)),
                 Tolerance.NON_CONSECUTIVE);
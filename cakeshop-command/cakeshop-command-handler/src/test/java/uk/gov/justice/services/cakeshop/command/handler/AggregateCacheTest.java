@@ -0,0 +1,217 @@
+package uk.gov.justice.services.cakeshop.command.handler;
+
+import static java.util.UUID.randomUUID;
+import static javax.json.Json.createObjectBuilder;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static uk.gov.justice.services.messaging.JsonEnvelope.envelopeFrom;
+import static uk.gov.justice.services.test.utils.core.messaging.MetadataBuilderFactory.metadataWithRandomUUID;
+
+import uk.gov.justice.services.cakeshop.domain.aggregate.Recipe;
+import uk.gov.justice.services.cakeshop.domain.event.CakeMade;
+import uk.gov.justice.services.cakeshop.domain.event.RecipeAdded;
+import uk.gov.justice.services.cakeshop.domain.event.RecipeRenamed;
+import uk.gov.justice.services.common.converter.JsonObjectToObjectConverter;
+import uk.gov.justice.services.core.aggregate.AggregateService;
+import uk.gov.justice.services.core.extension.EventFoundEvent;
+import uk.gov.justice.services.eventsourcing.source.core.EventStream;
+import uk.gov.justice.services.eventsourcing.source.core.exception.EventStreamException;
+import uk.gov.justice.services.messaging.JsonEnvelope;
+
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import javax.json.JsonObject;
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+import javax.transaction.TransactionSynchronizationRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class AggregateCacheTest {
+
+    private static final UUID STREAM_ID = randomUUID();
+    private static final UUID RECIPE_ID = randomUUID();
+    private static final String RECIPE_RENAMED = "cakeshop.events.recipe-renamed";
+
+    @Mock
+    private EventStream eventStream;
+
+    @Mock
+    private AggregateService aggregateService;
+
+    @Mock
+    private JsonObjectToObjectConverter jsonObjectToObjectConverter;
+
+    @Mock
+    private TransactionSynchronizationRegistry transactionSynchronizationRegistry;
+
+    @InjectMocks
+    private AggregateCache aggregateCache;
+
+    private Recipe recipe;
+
+    @BeforeEach
+    public void setup() {
+        aggregateCache.register(new EventFoundEvent(RecipeRenamed.class, RECIPE_RENAMED));
+
+        recipe = new Recipe();
+        recipe.apply(new RecipeAdded(RECIPE_ID, "Chocolate cake", false, null));
+
+        when(eventStream.getId()).thenReturn(STREAM_ID);
+        lenient().when(transactionSynchronizationRegistry.getTransactionStatus()).thenReturn(Status.STATUS_NO_TRANSACTION);
+    }
+
+    @Test
+    public void shouldLoadAggregateThroughAggregateServiceWhenNotCached() {
+        when(eventStream.getPosition()).thenReturn(3L);
+        when(aggregateService.get(eventStream, Recipe.class)).thenReturn(recipe);
+
+        assertThat(aggregateCache.get(eventStream, Recipe.class), is(sameInstance(recipe)));
+    }
+
+    @Test
+    public void shouldApplyOnlyEventsAppendedSinceCachedPosition() throws Exception {
+        final JsonObject renamedPayload = createObjectBuilder().add("recipeId", RECIPE_ID.toString()).add("name", "Lemon cake").build();
+
+        when(eventStream.getPosition()).thenReturn(3L);
+        when(aggregateService.get(eventStream, Recipe.class)).thenReturn(recipe);
+        when(eventStream.append(any())).thenReturn(4L);
+        when(eventStream.readFrom(5L)).thenReturn(Stream.of(envelopeFrom(metadataWithRandomUUID(RECIPE_RENAMED), renamedPayload)));
+        when(jsonObjectToObjectConverter.convert(renamedPayload, RecipeRenamed.class)).thenReturn(new RecipeRenamed(RECIPE_ID, "Lemon cake"));
+
+        aggregateCache.append(eventStream, aggregateCache.get(eventStream, Recipe.class), Stream.of(anEvent()));
+        final Recipe cachedRecipe = aggregateCache.get(eventStream, Recipe.class);
+
+        assertThat(cachedRecipe, is(sameInstance(recipe)));
+        assertThat(((CakeMade) cachedRecipe.makeCake(randomUUID()).findFirst().get()).getName(), is("Lemon cake"));
+        verify(aggregateService, times(1)).get(eventStream, Recipe.class);
+    }
+
+    @Test
+    public void shouldNotCacheAggregateWhenOtherEventsWereAppendedInBetween() throws Exception {
+        when(eventStream.getPosition()).thenReturn(3L);
+        when(aggregateService.get(eventStream, Recipe.class)).thenReturn(recipe);
+        when(eventStream.append(any())).thenReturn(5L);
+
+        aggregateCache.append(eventStream, aggregateCache.get(eventStream, Recipe.class), Stream.of(anEvent()));
+        aggregateCache.get(eventStream, Recipe.class);
+
+        verify(aggregateService, times(2)).get(eventStream, Recipe.class);
+    }
+
+    @Test
+    public void shouldNotCacheAggregateWhenAppendFails() throws Exception {
+        when(eventStream.getPosition()).thenReturn(3L);
+        when(aggregateService.get(eventStream, Recipe.class)).thenReturn(recipe);
+        when(eventStream.append(any())).thenThrow(new EventStreamException("Failed to append"));
+
+        final Recipe checkedOutRecipe = aggregateCache.get(eventStream, Recipe.class);
+        assertThrows(EventStreamException.class, () -> aggregateCache.append(eventStream, checkedOutRecipe, Stream.of(anEvent())));
+        aggregateCache.get(eventStream, Recipe.class);
+
+        verify(aggregateService, times(2)).get(eventStream, Recipe.class);
+    }
+
+    @Test
+    public void shouldReloadAggregateWhenStreamContainsUnregisteredEvent() throws Exception {
+        when(eventStream.getPosition()).thenReturn(3L);
+        when(aggregateService.get(eventStream, Recipe.class)).thenReturn(recipe);
+        when(eventStream.append(any())).thenReturn(4L);
+        when(eventStream.readFrom(5L)).thenReturn(Stream.of(envelopeFrom(metadataWithRandomUUID("cakeshop.events.unknown"), createObjectBuilder().build())));
+
+        aggregateCache.append(eventStream, aggregateCache.get(eventStream, Recipe.class), Stream.of(anEvent()));
+        aggregateCache.get(eventStream, Recipe.class);
+
+        verify(aggregateService, times(2)).get(eventStream, Recipe.class);
+    }
+
+    @Test
+    public void shouldReturnReadOnlyAggregateToCacheOnRelease() throws Exception {
+        when(eventStream.getPosition()).thenReturn(3L);
+        when(aggregateService.get(eventStream, Recipe.class)).thenReturn(recipe);
+        when(eventStream.readFrom(4L)).thenReturn(Stream.empty());
+
+        aggregateCache.release(eventStream, aggregateCache.get(eventStream, Recipe.class));
+
+        assertThat(aggregateCache.get(eventStream, Recipe.class), is(sameInstance(recipe)));
+        verify(aggregateService, times(1)).get(eventStream, Recipe.class);
+    }
+
+    @Test
+    public void shouldCacheAggregateOnlyOnceTransactionCommits() throws Exception {
+        final ArgumentCaptor<Synchronization> synchronization = ArgumentCaptor.forClass(Synchronization.class);
+
+        when(transactionSynchronizationRegistry.getTransactionStatus()).thenReturn(Status.STATUS_ACTIVE);
+        when(eventStream.getPosition()).thenReturn(3L);
+        when(aggregateService.get(eventStream, Recipe.class)).thenReturn(recipe);
+        when(eventStream.append(any())).thenReturn(4L);
+        when(eventStream.readFrom(5L)).thenReturn(Stream.empty());
+
+        aggregateCache.append(eventStream, aggregateCache.get(eventStream, Recipe.class), Stream.of(anEvent()));
+
+        verify(transactionSynchronizationRegistry).registerInterposedSynchronization(synchronization.capture());
+        synchronization.getValue().afterCompletion(Status.STATUS_COMMITTED);
+
+        assertThat(aggregateCache.get(eventStream, Recipe.class), is(sameInstance(recipe)));
+        verify(aggregateService, times(1)).get(eventStream, Recipe.class);
+    }
+
+    @Test
+    public void shouldEvictStreamWhenTransactionRollsBack() throws Exception {
+        final ArgumentCaptor<Synchronization> synchronization = ArgumentCaptor.forClass(Synchronization.class);
+
+        when(eventStream.getPosition()).thenReturn(3L);
+        when(aggregateService.get(eventStream, Recipe.class)).thenReturn(recipe);
+        when(eventStream.readFrom(4L)).thenReturn(Stream.empty());
+        when(eventStream.append(any())).thenReturn(4L);
+
+        aggregateCache.release(eventStream, aggregateCache.get(eventStream, Recipe.class));
+
+        when(transactionSynchronizationRegistry.getTransactionStatus()).thenReturn(Status.STATUS_ACTIVE);
+        aggregateCache.append(eventStream, aggregateCache.get(eventStream, Recipe.class), Stream.of(anEvent()));
+
+        verify(transactionSynchronizationRegistry).registerInterposedSynchronization(synchronization.capture());
+        synchronization.getValue().afterCompletion(Status.STATUS_ROLLEDBACK);
+
+        aggregateCache.get(eventStream, Recipe.class);
+
+        verify(aggregateService, times(2)).get(eventStream, Recipe.class);
+    }
+
+    @Test
+    public void shouldNotReturnReleasedAggregateToCacheWhenTransactionRollsBack() throws Exception {
+        final ArgumentCaptor<Synchronization> synchronization = ArgumentCaptor.forClass(Synchronization.class);
+
+        when(transactionSynchronizationRegistry.getTransactionStatus()).thenReturn(Status.STATUS_ACTIVE);
+        when(eventStream.getPosition()).thenReturn(3L);
+        when(aggregateService.get(eventStream, Recipe.class)).thenReturn(recipe);
+
+        aggregateCache.release(eventStream, aggregateCache.get(eventStream, Recipe.class));
+
+        verify(transactionSynchronizationRegistry).registerInterposedSynchronization(synchronization.capture());
+        synchronization.getValue().afterCompletion(Status.STATUS_ROLLEDBACK);
+
+        aggregateCache.get(eventStream, Recipe.class);
+
+        verify(aggregateService, times(2)).get(eventStream, Recipe.class);
+    }
+
+    private JsonEnvelope anEvent() {
+        return envelopeFrom(metadataWithRandomUUID("cakeshop.events.cake-made"), createObjectBuilder().build());
+    }
+}
@@ -1,25 +1,25 @@
 package uk.gov.justice.services.cakeshop.command.handler;
 
+import static javax.json.Json.createObjectBuilder;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.mockito.Mockito.when;
 import static uk.gov.justice.services.test.utils.core.messaging.JsonEnvelopeBuilder.envelope;
 import static uk.gov.justice.services.test.utils.core.messaging.MetadataBuilderFactory.metadataWithDefaults;
 
 import uk.gov.justice.services.common.converter.jackson.ObjectMapperProducer;
 import uk.gov.justice.services.cakeshop.domain.event.CakeOrdered;
 
-import java.io.IOException;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.UUID;
 
-import com.fasterxml.jackson.databind.JsonMappingException;
+import javax.json.JsonObject;
+
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.Mockito;
 
 public class EventFactoryTest {
 
@@ -28,7 +28,6 @@ public class EventFactoryTest {
     @BeforeEach
     public void setUp() throws Exception {
         eventFactory = new EventFactory();
-        eventFactory.objectMapper = new ObjectMapperProducer().objectMapper();
     }
 
     @Test
@@ -46,13 +45,52 @@ public class EventFactoryTest {
 
     }
 
-    @SuppressWarnings("deprecation")
     @Test
-    public void shouldThrowIllegalStateExceptionOnMapperIOException() throws IOException {
-        final ObjectMapper mockedMapper = Mockito.mock(ObjectMapper.class);
-        when(mockedMapper.readValue(Mockito.anyString(), Mockito.eq(CakeOrdered.class))).thenThrow(new JsonMappingException("Error"));
-        eventFactory.objectMapper = mockedMapper;
+    public void shouldCreateSameEventAsFrameworkObjectMapper() throws Exception {
+        final ObjectMapper objectMapper = new ObjectMapperProducer().objectMapper();
+        final JsonObject payload = createObjectBuilder()
+                .add("orderId", "163af847-effb-46a9-96bc-32a0f7526f22")
+                .add("recipeId", "163af847-effb-46a9-96bc-32a0f7526f23")
+                .add("deliveryDate", "2016-01-14T22:15:03.522Z")
+                .build();
+
+        final CakeOrdered bound = eventFactory.cakeOrderedFrom(payload);
+        final CakeOrdered mapped = objectMapper.readValue(payload.toString(), CakeOrdered.class);
+
+        assertThat(bound.getOrderId(), is(mapped.getOrderId()));
+        assertThat(bound.getRecipeId(), is(mapped.getRecipeId()));
+        assertThat(bound.getDeliveryDate(), is(mapped.getDeliveryDate()));
+    }
+
+    @Test
+    public void shouldLeaveMissingFieldsNull() {
+        final CakeOrdered cakeOrdered = eventFactory.cakeOrderedEventFrom(envelope().with(metadataWithDefaults())
+                .withPayloadOf("163af847-effb-46a9-96bc-32a0f7526f22", "orderId")
+                .build());
+
+        assertThat(cakeOrdered.getOrderId(), is(UUID.fromString("163af847-effb-46a9-96bc-32a0f7526f22")));
+        assertThat(cakeOrdered.getRecipeId(), is(nullValue()));
+        assertThat(cakeOrdered.getDeliveryDate(), is(nullValue()));
+    }
+
+    @Test
+    public void shouldThrowIllegalStateExceptionOnInvalidId() {
+        final JsonObject payload = createObjectBuilder().add("orderId", "not-an-id").build();
+
+        assertThrows(IllegalStateException.class, () -> eventFactory.cakeOrderedFrom(payload));
+    }
+
+    @Test
+    public void shouldThrowIllegalStateExceptionOnInvalidDeliveryDate() {
+        final JsonObject payload = createObjectBuilder().add("deliveryDate", "tomorrow").build();
+
+        assertThrows(IllegalStateException.class, () -> eventFactory.cakeOrderedFrom(payload));
+    }
+
+    @Test
+    public void shouldThrowIllegalStateExceptionOnFieldThatIsNotString() {
+        final JsonObject payload = createObjectBuilder().add("recipeId", 42).build();
 
-        assertThrows(IllegalStateException.class, () -> eventFactory.cakeOrderedEventFrom(envelope().with(metadataWithDefaults()).build()));
+        assertThrows(IllegalStateException.class, () -> eventFactory.cakeOrderedFrom(payload));
     }
 }
@@ -7,6 +7,10 @@ import static javax.json.Json.createObjectBuilder;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.allOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static uk.gov.justice.services.core.annotation.Component.COMMAND_HANDLER;
 import static uk.gov.justice.services.eventsourcing.source.core.Tolerance.CONSECUTIVE;
@@ -24,6 +28,7 @@ import static uk.gov.justice.services.test.utils.core.messaging.MetadataBuilderF
 import uk.gov.justice.services.core.aggregate.AggregateService;
 import uk.gov.justice.services.eventsourcing.source.core.EventSource;
 import uk.gov.justice.services.eventsourcing.source.core.EventStream;
+import uk.gov.justice.services.cakeshop.domain.aggregate.Cake;
 import uk.gov.justice.services.cakeshop.domain.aggregate.Recipe;
 import uk.gov.justice.services.cakeshop.domain.event.CakeMade;
 import uk.gov.justice.services.cakeshop.domain.event.RecipeAdded;
@@ -52,14 +57,22 @@ public class MakeCakeCommandHandlerTest {
     @Mock
     private EventStream eventStream;
 
+    @Mock
+    private EventStream cakeEventStream;
+
     @Mock
     private AggregateService aggregateService;
 
+    private final AggregateCache aggregateCache = new AggregateCache();
+
     @InjectMocks
     private MakeCakeCommandHandler makeCakeCommandHandler;
 
     @BeforeEach
     public void setup() throws Exception {
+        aggregateCache.aggregateService = aggregateService;
+        makeCakeCommandHandler.aggregateCache = aggregateCache;
+        makeCakeCommandHandler.aggregateService = aggregateService;
         createEnveloperWithEvents(CakeMade.class);
     }
 
@@ -78,18 +91,17 @@ public class MakeCakeCommandHandlerTest {
         recipe.apply(new RecipeAdded(RECIPE_ID, cakeName, false, EMPTY_LIST));
 
         when(eventSource.getStreamById(RECIPE_ID)).thenReturn(eventStream);
+        when(eventSource.getStreamById(CAKE_ID)).thenReturn(cakeEventStream);
         when(aggregateService.get(eventStream, Recipe.class)).thenReturn(recipe);
+        when(aggregateService.get(cakeEventStream, Cake.class)).thenReturn(new Cake());
 
-        final JsonEnvelope command = envelopeFrom(
-                metadataWithRandomUUID(COMMAND_NAME),
-                createObjectBuilder()
-                        .add("recipeId", RECIPE_ID.toString())
-                        .add("cakeId", CAKE_ID.toString())
-                        .build());
+        final JsonEnvelope command = makeCakeCommand();
 
         makeCakeCommandHandler.makeCake(command);
 
-        assertThat(eventStream, eventStreamAppendedWith(
+        verify(eventStream, never()).append(any());
+        verify(eventStream, never()).append(any(), any());
+        assertThat(cakeEventStream, eventStreamAppendedWith(
                 streamContaining(
                         jsonEnvelope(
                                 withMetadataEnvelopedFrom(command)
@@ -103,5 +115,43 @@ public class MakeCakeCommandHandlerTest {
                 .withToleranceOf(CONSECUTIVE));
     }
 
+    @Test
+    public void shouldNotMakeCakeFromRecipeThatIsNotAvailable() throws Exception {
+
+        when(eventSource.getStreamById(RECIPE_ID)).thenReturn(eventStream);
+        when(eventSource.getStreamById(CAKE_ID)).thenReturn(cakeEventStream);
+        when(aggregateService.get(eventStream, Recipe.class)).thenReturn(new Recipe());
+        when(aggregateService.get(cakeEventStream, Cake.class)).thenReturn(new Cake());
+
+        assertThrows(RuntimeException.class, () -> makeCakeCommandHandler.makeCake(makeCakeCommand()));
+
+        verify(cakeEventStream, never()).append(any(), any());
+    }
+
+    @Test
+    public void shouldNotMakeTheSameCakeTwice() throws Exception {
+
+        final Recipe recipe = new Recipe();
+        recipe.apply(new RecipeAdded(RECIPE_ID, "Chocolate cake", false, EMPTY_LIST));
+        final Cake cake = new Cake();
+        cake.apply(new CakeMade(CAKE_ID, "Chocolate cake"));
+
+        when(eventSource.getStreamById(RECIPE_ID)).thenReturn(eventStream);
+        when(eventSource.getStreamById(CAKE_ID)).thenReturn(cakeEventStream);
+        when(aggregateService.get(eventStream, Recipe.class)).thenReturn(recipe);
+        when(aggregateService.get(cakeEventStream, Cake.class)).thenReturn(cake);
 
+        assertThrows(RuntimeException.class, () -> makeCakeCommandHandler.makeCake(makeCakeCommand()));
+
+        verify(cakeEventStream, never()).append(any(), any());
+    }
+
+    private JsonEnvelope makeCakeCommand() {
+        return envelopeFrom(
+                metadataWithRandomUUID(COMMAND_NAME),
+                createObjectBuilder()
+                        .add("recipeId", RECIPE_ID.toString())
+                        .add("cakeId", CAKE_ID.toString())
+                        .build());
+    }
 }
@@ -9,7 +9,9 @@ import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.allOf;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.hamcrest.MockitoHamcrest.argThat;
@@ -41,6 +43,8 @@ import uk.gov.justice.services.messaging.JsonEnvelope;
 
 import java.util.UUID;
 
+import javax.json.JsonObject;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -52,6 +56,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 public class RecipeCommandHandlerTest {
 
     private static final String ADD_RECIPE_COMMAND_NAME = "cakeshop.command.add-recipe";
+    private static final String ADD_RECIPES_BATCH_COMMAND_NAME = "cakeshop.command.add-recipes-batch";
     private static final String ADD_RECIPE_EVENT_NAME = "cakeshop.events.recipe-added";
     private static final String RENAME_RECIPE_COMMAND_NAME = "cakeshop.command.rename-recipe";
     private static final String RENAME_RECIPE_EVENT_NAME = "cakeshop.events.recipe-renamed";
@@ -60,6 +65,7 @@ public class RecipeCommandHandlerTest {
     private static final String RECIPE_PHOTOGRAPH_ADDED_EVENT_NAME = "cakeshop.events.recipe-photograph-added";
 
     private static final UUID RECIPE_ID = randomUUID();
+    private static final UUID OTHER_RECIPE_ID = randomUUID();
     private static final UUID PHOTO_ID = randomUUID();
     private static final String RECIPE_NAME = "Test Recipe";
     private static final Boolean GULTEN_FREE = true;
@@ -67,17 +73,24 @@ public class RecipeCommandHandlerTest {
     @Mock
     private EventStream eventStream;
 
+    @Mock
+    private EventStream otherEventStream;
+
     @Mock
     private EventSource eventSource;
 
     @Mock
     private AggregateService aggregateService;
 
+    private final AggregateCache aggregateCache = new AggregateCache();
+
     @InjectMocks
     private RecipeCommandHandler recipeCommandHandler;
 
     @BeforeEach
     public void setup() throws Exception {
+        aggregateCache.aggregateService = aggregateService;
+        recipeCommandHandler.aggregateCache = aggregateCache;
         createEnveloperWithEvents(RecipeAdded.class, RecipeRenamed.class, RecipeRemoved.class, RecipePhotographAdded.class);
     }
 
@@ -126,6 +139,64 @@ public class RecipeCommandHandlerTest {
                 )));
     }
 
+    @Test
+    public void shouldAddEachRecipeInBatchToItsOwnStream() throws Exception {
+        final JsonEnvelope command = envelopeFrom(
+                metadataOf(randomUUID(), ADD_RECIPES_BATCH_COMMAND_NAME),
+                createObjectBuilder()
+                        .add("recipes", createArrayBuilder()
+                                .add(recipeJson(RECIPE_ID, RECIPE_NAME))
+                                .add(recipeJson(OTHER_RECIPE_ID, "Other Recipe")))
+                        .build());
+
+        when(eventSource.getStreamById(RECIPE_ID)).thenReturn(eventStream);
+        when(eventSource.getStreamById(OTHER_RECIPE_ID)).thenReturn(otherEventStream);
+        when(aggregateService.get(eventStream, Recipe.class)).thenReturn(new Recipe());
+        when(aggregateService.get(otherEventStream, Recipe.class)).thenReturn(new Recipe());
+
+        recipeCommandHandler.addRecipesBatch(command);
+
+        assertThat(eventStream, eventStreamAppendedWith(
+                streamContaining(
+                        jsonEnvelope(
+                                withMetadataEnvelopedFrom(command)
+                                        .withName(ADD_RECIPE_EVENT_NAME),
+                                payloadIsJson(allOf(
+                                        withJsonPath("$.recipeId", equalTo(RECIPE_ID.toString())),
+                                        withJsonPath("$.name", equalTo(RECIPE_NAME))
+                                )))
+                                .thatMatchesSchema()
+                )));
+        assertThat(otherEventStream, eventStreamAppendedWith(
+                streamContaining(
+                        jsonEnvelope(
+                                withMetadataEnvelopedFrom(command)
+                                        .withName(ADD_RECIPE_EVENT_NAME),
+                                payloadIsJson(allOf(
+                                        withJsonPath("$.recipeId", equalTo(OTHER_RECIPE_ID.toString())),
+                                        withJsonPath("$.name", equalTo("Other Recipe"))
+                                )))
+                                .thatMatchesSchema()
+                )));
+    }
+
+    @Test
+    public void shouldSkipRecipesInBatchThatHaveAlreadyBeenAdded() throws Exception {
+        final JsonEnvelope command = envelopeFrom(
+                metadataOf(randomUUID(), ADD_RECIPES_BATCH_COMMAND_NAME),
+                createObjectBuilder()
+                        .add("recipes", createArrayBuilder()
+                                .add(recipeJson(RECIPE_ID, RECIPE_NAME)))
+                        .build());
+
+        when(eventSource.getStreamById(RECIPE_ID)).thenReturn(eventStream);
+        when(aggregateService.get(eventStream, Recipe.class)).thenReturn(existingRecipe());
+
+        recipeCommandHandler.addRecipesBatch(command);
+
+        verify(eventStream, never()).append(any());
+    }
+
     @Test
     public void shouldHandleRenameRecipeCommand() throws Exception {
 
@@ -218,4 +289,16 @@ public class RecipeCommandHandlerTest {
         recipe.apply(new RecipeAdded(RECIPE_ID, RECIPE_NAME, GULTEN_FREE, emptyList()));
         return recipe;
     }
+
+    private JsonObject recipeJson(final UUID recipeId, final String name) {
+        return createObjectBuilder()
+                .add("recipeId", recipeId.toString())
+                .add("name", name)
+                .add("glutenFree", GULTEN_FREE)
+                .add("ingredients", createArrayBuilder()
+                        .add(createObjectBuilder()
+                                .add("name", "Flour")
+                                .add("quantity", 200)))
+                .build();
+    }
 }
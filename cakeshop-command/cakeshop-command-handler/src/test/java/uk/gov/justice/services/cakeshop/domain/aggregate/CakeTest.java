@@ -0,0 +1,63 @@
+package uk.gov.justice.services.cakeshop.domain.aggregate;
+
+import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.collection.IsCollectionWithSize.hasSize;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import uk.gov.justice.services.cakeshop.domain.event.CakeMade;
+import uk.gov.justice.services.cakeshop.domain.event.RecipeAdded;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit test for the {@link Cake} aggregate class.
+ */
+public class CakeTest {
+
+    private static final UUID CAKE_ID = UUID.randomUUID();
+    private static final UUID RECIPE_ID = UUID.randomUUID();
+    private static final String NAME = "my recipe";
+
+    private Cake cake;
+    private Recipe recipe;
+
+    @BeforeEach
+    public void setup() {
+        cake = new Cake();
+        recipe = new Recipe();
+    }
+
+    @Test
+    public void shouldReturnCakeMadeEvent() {
+        recipe.apply(new RecipeAdded(RECIPE_ID, NAME, false, emptyList()));
+
+        final List<Object> events = cake.makeCake(CAKE_ID, recipe).collect(toList());
+
+        assertThat(events, hasSize(1));
+        assertThat(events.get(0), is(instanceOf(CakeMade.class)));
+        assertThat(((CakeMade) events.get(0)).getCakeId(), equalTo(CAKE_ID));
+        assertThat(((CakeMade) events.get(0)).getName(), equalTo(NAME));
+    }
+
+    @Test
+    public void shouldNotMakeCakeFromRecipeThatIsNotAvailable() {
+        assertThrows(RuntimeException.class, () -> cake.makeCake(CAKE_ID, recipe));
+    }
+
+    @Test
+    public void shouldNotMakeCakeThatIsAlreadyMade() {
+        recipe.apply(new RecipeAdded(RECIPE_ID, NAME, false, emptyList()));
+        cake.apply(new CakeMade(CAKE_ID, NAME));
+
+        assertThrows(RuntimeException.class, () -> cake.makeCake(CAKE_ID, recipe));
+    }
+}
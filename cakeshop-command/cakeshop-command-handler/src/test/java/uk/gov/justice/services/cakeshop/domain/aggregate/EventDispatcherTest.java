@@ -0,0 +1,70 @@
+package uk.gov.justice.services.cakeshop.domain.aggregate;
+
+import static java.util.UUID.randomUUID;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import uk.gov.justice.domain.aggregate.Aggregate;
+import uk.gov.justice.services.cakeshop.domain.event.CakeMade;
+import uk.gov.justice.services.cakeshop.domain.event.RecipeRemoved;
+import uk.gov.justice.services.cakeshop.domain.event.RecipeRenamed;
+
+import org.junit.jupiter.api.Test;
+
+public class EventDispatcherTest {
+
+    private final EventDispatcher<NamedAggregate> eventDispatcher = EventDispatcher.<NamedAggregate>eventDispatcher()
+            .on(RecipeRenamed.class, (aggregate, recipeRenamed) -> aggregate.name = recipeRenamed.getName())
+            .on(Object.class, (aggregate, event) -> aggregate.name = "fallback")
+            .ignore(CakeMade.class)
+            .build();
+
+    @Test
+    public void shouldApplyEventThroughRegisteredHandler() {
+        final NamedAggregate aggregate = new NamedAggregate();
+        final RecipeRenamed recipeRenamed = new RecipeRenamed(randomUUID(), "Lemon Drizzle");
+
+        assertThat(eventDispatcher.dispatch(aggregate, recipeRenamed), is(sameInstance(recipeRenamed)));
+        assertThat(aggregate.name, is("Lemon Drizzle"));
+    }
+
+    @Test
+    public void shouldSkipIgnoredEvent() {
+        final NamedAggregate aggregate = new NamedAggregate();
+        final CakeMade cakeMade = new CakeMade(randomUUID(), "Victoria Sponge");
+
+        assertThat(eventDispatcher.dispatch(aggregate, cakeMade), is(sameInstance(cakeMade)));
+        assertThat(aggregate.name, is(nullValue()));
+    }
+
+    @Test
+    public void shouldFallBackToHandlerOfSuperType() {
+        final NamedAggregate aggregate = new NamedAggregate();
+
+        eventDispatcher.dispatch(aggregate, new RecipeRemoved(randomUUID()));
+
+        assertThat(aggregate.name, is("fallback"));
+    }
+
+    @Test
+    public void shouldThrowExceptionForUnregisteredEvent() {
+        final EventDispatcher<NamedAggregate> renameOnly = EventDispatcher.<NamedAggregate>eventDispatcher()
+                .on(RecipeRenamed.class, (aggregate, recipeRenamed) -> aggregate.name = recipeRenamed.getName())
+                .build();
+
+        assertThrows(IllegalArgumentException.class, () -> renameOnly.dispatch(new NamedAggregate(), new RecipeRemoved(randomUUID())));
+    }
+
+    private static class NamedAggregate implements Aggregate {
+
+        private String name;
+
+        @Override
+        public Object apply(final Object event) {
+            return event;
+        }
+    }
+}
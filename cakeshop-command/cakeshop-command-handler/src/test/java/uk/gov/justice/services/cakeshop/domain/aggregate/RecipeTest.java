@@ -83,6 +83,29 @@ public class RecipeTest {
         assertThrows(RuntimeException.class, () -> recipe.addRecipe(RECIPE_ID, NAME, false, INGREDIENTS));
     }
 
+    @Test
+    public void shouldAddRecipeIfAbsent() {
+        final List<Object> eventList = recipe.addRecipeIfAbsent(RECIPE_ID, NAME, true, INGREDIENTS).collect(toList());
+
+        assertThat(eventList, hasSize(1));
+        assertThat(eventList.get(0), instanceOf(RecipeAdded.class));
+    }
+
+    @Test
+    public void shouldReturnNoEventsWhenAddingRecipeIfAbsentThatIsAlreadyAdded() {
+        recipe.addRecipe(RECIPE_ID, NAME, false, INGREDIENTS);
+
+        assertThat(recipe.addRecipeIfAbsent(RECIPE_ID, NAME, false, INGREDIENTS).collect(toList()), hasSize(0));
+    }
+
+    @Test
+    public void shouldReturnNoEventsWhenAddingRecipeIfAbsentThatWasAddedAndRemoved() {
+        recipe.addRecipe(RECIPE_ID, NAME, false, INGREDIENTS);
+        recipe.removeRecipe();
+
+        assertThat(recipe.addRecipeIfAbsent(RECIPE_ID, NAME, false, INGREDIENTS).collect(toList()), hasSize(0));
+    }
+
     @Test
     public void shouldReturnRecipeRemovedEvent() {
         recipe.addRecipe(RECIPE_ID, NAME, true, INGREDIENTS);
@@ -0,0 +1,39 @@
+package uk.gov.justice.services.cakeshop.domain.aggregate;
+
+import static java.util.stream.Collectors.toList;
+import static uk.gov.justice.domain.aggregate.condition.Precondition.assertPrecondition;
+
+import uk.gov.justice.domain.aggregate.Aggregate;
+import uk.gov.justice.services.cakeshop.domain.event.CakeMade;
+
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Cake aggregate, with a stream of its own so that cakes made from the same recipe do not contend
+ * on the recipe's stream.
+ */
+public class Cake implements Aggregate {
+
+    private static final long serialVersionUID = -2853094326742415307L;
+
+    private static final EventDispatcher<Cake> EVENT_DISPATCHER = EventDispatcher.<Cake>eventDispatcher()
+            .on(CakeMade.class, (cake, cakeMade) -> cake.cakeId = cakeMade.getCakeId())
+            .build();
+
+    private UUID cakeId;
+
+    /**
+     * Make the cake from the recipe, which must be available. Nothing is appended to the recipe.
+     */
+    public Stream<Object> makeCake(final UUID cakeId, final Recipe recipe) {
+        assertPrecondition(this.cakeId == null).orElseThrow("Cake already made");
+
+        return apply(recipe.makeCake(cakeId).collect(toList()).stream());
+    }
+
+    @Override
+    public Object apply(final Object event) {
+        return EVENT_DISPATCHER.dispatch(this, event);
+    }
+}
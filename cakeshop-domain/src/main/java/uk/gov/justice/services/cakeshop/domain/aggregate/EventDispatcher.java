@@ -0,0 +1,100 @@
+package uk.gov.justice.services.cakeshop.domain.aggregate;
+
+import static java.lang.String.format;
+import static java.util.Collections.unmodifiableMap;
+
+import uk.gov.justice.domain.aggregate.Aggregate;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Dispatches events to an aggregate through a class-to-handler table built once per aggregate
+ * class.
+ *
+ * <p>Unlike {@code match(event).with(when(...)...)}, which builds a new chain of matchers for every
+ * event applied, the table is precomputed so applying an event allocates nothing. Event types
+ * registered with {@link Builder#ignore(Class[])} skip the handler call altogether.
+ *
+ * @param <A> the aggregate type
+ */
+public final class EventDispatcher<A extends Aggregate> {
+
+    private static final BiConsumer<Object, Object> NO_OP = (aggregate, event) -> {
+    };
+
+    private final Map<Class<?>, BiConsumer<? super A, Object>> handlers;
+
+    private EventDispatcher(final Map<Class<?>, BiConsumer<? super A, Object>> handlers) {
+        this.handlers = unmodifiableMap(new HashMap<>(handlers));
+    }
+
+    public static <A extends Aggregate> Builder<A> eventDispatcher() {
+        return new Builder<>();
+    }
+
+    /**
+     * Apply the event to the aggregate.
+     *
+     * @param aggregate the aggregate to apply the event to
+     * @param event     the event
+     * @return the event
+     * @throws IllegalArgumentException if no handler is registered for the event type
+     */
+    public Object dispatch(final A aggregate, final Object event) {
+        final BiConsumer<? super A, Object> handler = handlerFor(event);
+
+        if (handler != NO_OP) {
+            handler.accept(aggregate, event);
+        }
+
+        return event;
+    }
+
+    private BiConsumer<? super A, Object> handlerFor(final Object event) {
+        final BiConsumer<? super A, Object> handler = handlers.get(event.getClass());
+        if (handler != null) {
+            return handler;
+        }
+
+        for (final Map.Entry<Class<?>, BiConsumer<? super A, Object>> entry : handlers.entrySet()) {
+            if (entry.getKey().isInstance(event)) {
+                return entry.getValue();
+            }
+        }
+
+        throw new IllegalArgumentException(format("No matching event handler for %s", event.getClass().getName()));
+    }
+
+    public static final class Builder<A extends Aggregate> {
+
+        private final Map<Class<?>, BiConsumer<? super A, Object>> handlers = new HashMap<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Register the handler of an event type.
+         */
+        @SuppressWarnings("unchecked")
+        public <E> Builder<A> on(final Class<E> eventClass, final BiConsumer<A, E> handler) {
+            handlers.put(eventClass, (BiConsumer<? super A, Object>) handler);
+            return this;
+        }
+
+        /**
+         * Register event types that have no effect on the aggregate's state.
+         */
+        public Builder<A> ignore(final Class<?>... eventClasses) {
+            for (final Class<?> eventClass : eventClasses) {
+                handlers.put(eventClass, NO_OP);
+            }
+            return this;
+        }
+
+        public EventDispatcher<A> build() {
+            return new EventDispatcher<>(handlers);
+        }
+    }
+}
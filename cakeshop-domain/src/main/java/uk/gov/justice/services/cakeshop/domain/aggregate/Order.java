@@ -1,8 +1,6 @@
 package uk.gov.justice.services.cakeshop.domain.aggregate;
 
 import static uk.gov.justice.domain.aggregate.condition.Precondition.assertPrecondition;
-import static uk.gov.justice.domain.aggregate.matcher.EventSwitcher.match;
-import static uk.gov.justice.domain.aggregate.matcher.EventSwitcher.when;
 
 import uk.gov.justice.domain.aggregate.Aggregate;
 import uk.gov.justice.services.cakeshop.domain.event.CakeOrdered;
@@ -16,6 +14,10 @@ import java.util.stream.Stream;
  */
 public class Order implements Aggregate {
 
+    private static final EventDispatcher<Order> EVENT_DISPATCHER = EventDispatcher.<Order>eventDispatcher()
+            .on(CakeOrdered.class, (order, cakeOrdered) -> order.orderId = cakeOrdered.getOrderId())
+            .build();
+
     private UUID orderId;
 
     public Stream<Object> addOrder(final UUID orderId, final UUID recipeId, final ZonedDateTime deliveryDate) {
@@ -26,7 +28,6 @@ public class Order implements Aggregate {
 
     @Override
     public Object apply(final Object event) {
-        return match(event).with(
-                when(CakeOrdered.class).apply(cakeOrdered -> orderId = cakeOrdered.getOrderId()));
+        return EVENT_DISPATCHER.dispatch(this, event);
     }
 }
@@ -1,9 +1,6 @@
 package uk.gov.justice.services.cakeshop.domain.aggregate;
 
 import static uk.gov.justice.domain.aggregate.condition.Precondition.assertPrecondition;
-import static uk.gov.justice.domain.aggregate.matcher.EventSwitcher.doNothing;
-import static uk.gov.justice.domain.aggregate.matcher.EventSwitcher.match;
-import static uk.gov.justice.domain.aggregate.matcher.EventSwitcher.when;
 
 import uk.gov.justice.domain.aggregate.Aggregate;
 import uk.gov.justice.services.cakeshop.domain.Ingredient;
@@ -24,14 +21,39 @@ public class Recipe implements Aggregate {
 
     private static final long serialVersionUID = 7047097583627086738L;
 
+    private static final EventDispatcher<Recipe> EVENT_DISPATCHER = EventDispatcher.<Recipe>eventDispatcher()
+            .on(RecipeRemoved.class, (recipe, recipeRemoved) -> recipe.recipeId = null)
+            .on(RecipeAdded.class, (recipe, recipeAdded) -> {
+                recipe.recipeId = recipeAdded.getRecipeId();
+                recipe.name = recipeAdded.getName();
+                recipe.added = true;
+            })
+            .on(RecipeRenamed.class, (recipe, recipeRenamed) -> recipe.name = recipeRenamed.getName())
+            .ignore(CakeMade.class, RecipePhotographAdded.class)
+            .build();
+
     private UUID recipeId;
     private String name;
+    private boolean added;
 
     public Stream<Object> addRecipe(final UUID recipeId, final String name, final Boolean glutenFree, final List<Ingredient> ingredients) {
         assertPrecondition(this.recipeId == null).orElseThrow("Recipe already added");
         return apply(Stream.of(new RecipeAdded(recipeId, name, glutenFree, ingredients)));
     }
 
+    /**
+     * Add the recipe, or do nothing if it has already been added, so that a batch of recipes can be
+     * retried without failing on the recipes that made it the first time. A recipe that has since
+     * been removed counts as added, so a retried batch does not bring it back. The recipe id is
+     * checked too, for snapshots taken before {@code added} was recorded.
+     */
+    public Stream<Object> addRecipeIfAbsent(final UUID recipeId, final String name, final Boolean glutenFree, final List<Ingredient> ingredients) {
+        if (added || this.recipeId != null) {
+            return Stream.empty();
+        }
+        return addRecipe(recipeId, name, glutenFree, ingredients);
+    }
+
     public Stream<Object> removeRecipe() {
         assertPrecondition(this.recipeId != null).orElseThrow("Recipe not available");
 
@@ -57,14 +79,6 @@ public class Recipe implements Aggregate {
 
     @Override
     public Object apply(final Object event) {
-        return match(event).with(
-                when(RecipeRemoved.class).apply(x -> recipeId = null),
-                when(RecipeAdded.class).apply(x -> {
-                    recipeId = x.getRecipeId();
-                    name = x.getName();
-                }),
-                when(RecipeRenamed.class).apply(x -> name = x.getName()),
-                when(CakeMade.class).apply(x -> doNothing()),
-                when(RecipePhotographAdded.class).apply(x -> doNothing()));
+        return EVENT_DISPATCHER.dispatch(this, event);
     }
 }
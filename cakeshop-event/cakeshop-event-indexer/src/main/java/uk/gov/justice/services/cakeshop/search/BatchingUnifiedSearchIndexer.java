@@ -0,0 +1,206 @@
+package uk.gov.justice.services.cakeshop.search;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import uk.gov.justice.services.cakeshop.persistence.search.DeliverySearchIndex;
+import uk.gov.justice.services.common.configuration.Value;
+import uk.gov.justice.services.messaging.Envelope;
+import uk.gov.justice.services.unifiedsearch.UnifiedSearchIndexer;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.json.JsonObject;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Decorates the {@link LuceneUnifiedSearchIndexer} so that the writes of events indexed at the same
+ * time, as during a replay or catchup, are committed to the {@link DeliverySearchIndex} in one
+ * batch rather than one commit per event.
+ *
+ * <p>A batch is committed once it holds {@code cakeshop.search.index.batch.max-size} writes,
+ * {@code cakeshop.search.index.batch.max-latency-millis} after its first write, or as soon as every
+ * event being indexed is waiting on a commit, so an event indexed on its own is never held back.
+ *
+ * <p>Each call only returns once its write is committed, and throws if the commit fails. The
+ * {@code SubscriptionEventInterceptor} records the event as processed after the call returns, in
+ * the same transaction, so an event is never recorded as processed before its write is on disk and
+ * is redelivered if the commit fails. Writes are keyed by recipe id, so indexing an event twice is
+ * harmless.
+ */
+@ApplicationScoped
+public class BatchingUnifiedSearchIndexer implements UnifiedSearchIndexer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BatchingUnifiedSearchIndexer.class);
+
+    @Inject
+    LuceneUnifiedSearchIndexer luceneUnifiedSearchIndexer;
+
+    @Inject
+    DeliverySearchIndex deliverySearchIndex;
+
+    @Inject
+    @Value(key = "cakeshop.search.index.batch.max-size", defaultValue = "100")
+    String maxBatchSize;
+
+    @Inject
+    @Value(key = "cakeshop.search.index.batch.max-latency-millis", defaultValue = "20")
+    String maxLatencyMillis;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition batchChanged = lock.newCondition();
+
+    private SearchIndexBatchStatistics statistics;
+
+    // guarded by lock
+    private Batch openBatch;
+    private int indexing;
+    private int waiting;
+    private boolean committing;
+
+    @PostConstruct
+    public void start() {
+        statistics = new SearchIndexBatchStatistics(Integer.parseInt(maxBatchSize), Long.parseLong(maxLatencyMillis));
+
+        try {
+            final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            final ObjectName objectName = new ObjectName(SearchIndexBatchStatistics.OBJECT_NAME);
+            if (mBeanServer.isRegistered(objectName)) {
+                mBeanServer.unregisterMBean(objectName);
+            }
+            mBeanServer.registerMBean(statistics, objectName);
+        } catch (final JMException e) {
+            LOGGER.warn("Failed to register search index batch statistics", e);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(new ObjectName(SearchIndexBatchStatistics.OBJECT_NAME));
+        } catch (final JMException e) {
+            LOGGER.warn("Failed to unregister search index batch statistics", e);
+        }
+    }
+
+    @Override
+    public void indexData(final Envelope<JsonObject> eventWithJoltTransformedPayload) {
+        lock.lock();
+        try {
+            indexing++;
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            luceneUnifiedSearchIndexer.indexData(eventWithJoltTransformedPayload);
+            awaitCommit(join());
+        } finally {
+            lock.lock();
+            try {
+                indexing--;
+                batchChanged.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    public SearchIndexBatchStatistics getStatistics() {
+        return statistics;
+    }
+
+    private Batch join() {
+        lock.lock();
+        try {
+            if (openBatch == null) {
+                openBatch = new Batch(System.nanoTime() + MILLISECONDS.toNanos(statistics.getMaxLatencyMillis()));
+            }
+            openBatch.size++;
+            return openBatch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void awaitCommit(final Batch batch) {
+        lock.lock();
+        try {
+            waiting++;
+            while (!batch.done) {
+                if (batch == openBatch && !committing && isDue(batch)) {
+                    commit(batch);
+                } else {
+                    final long remainingNanos = batch == openBatch && !committing ? batch.deadline - System.nanoTime() : MILLISECONDS.toNanos(statistics.getMaxLatencyMillis() + 1);
+                    batchChanged.awaitNanos(remainingNanos);
+                }
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for search index commit", e);
+        } finally {
+            waiting--;
+            lock.unlock();
+        }
+
+        if (batch.failure != null) {
+            throw new IllegalStateException("Failed to commit batch of " + batch.size + " search index writes", batch.failure);
+        }
+    }
+
+    private boolean isDue(final Batch batch) {
+        return batch.size >= statistics.getMaxBatchSize()
+                || waiting == indexing
+                || System.nanoTime() - batch.deadline >= 0;
+    }
+
+    /**
+     * Close the batch and commit it without holding the lock, so that events indexed meanwhile
+     * gather in the next batch.
+     */
+    private void commit(final Batch batch) {
+        openBatch = null;
+        committing = true;
+        lock.unlock();
+        try {
+            deliverySearchIndex.commit();
+        } catch (final RuntimeException e) {
+            batch.failure = e;
+        } finally {
+            lock.lock();
+            committing = false;
+            batch.done = true;
+            batchChanged.signalAll();
+        }
+
+        if (batch.failure == null) {
+            statistics.recordCommitted(batch.size, System.nanoTime() - batch.openedAt);
+        } else {
+            statistics.recordFailed();
+        }
+    }
+
+    private static class Batch {
+
+        private final long openedAt = System.nanoTime();
+        private final long deadline;
+
+        private int size;
+        private boolean done;
+        private RuntimeException failure;
+
+        private Batch(final long deadline) {
+            this.deadline = deadline;
+        }
+    }
+}
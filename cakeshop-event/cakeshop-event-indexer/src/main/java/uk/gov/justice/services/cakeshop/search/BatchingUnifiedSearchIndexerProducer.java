@@ -1,4 +1,4 @@
-package uk.gov.justice.services.cakeshop.dummy;
+package uk.gov.justice.services.cakeshop.search;
 
 import uk.gov.justice.services.unifiedsearch.UnifiedSearchIndexer;
 import uk.gov.justice.services.unifiedsearch.UnifiedSearchName;
@@ -9,14 +9,14 @@ import javax.enterprise.inject.spi.InjectionPoint;
 import javax.inject.Inject;
 
 @ApplicationScoped
-public class DummyUnifiedSearchIndexerProducer {
+public class BatchingUnifiedSearchIndexerProducer {
 
     @Inject
-    private DummyUnifiedSearchIndexer dummyUnifiedSearchIndexer;
+    private BatchingUnifiedSearchIndexer batchingUnifiedSearchIndexer;
 
     @Produces
     @UnifiedSearchName
     public UnifiedSearchIndexer unifiedSearchClient(final InjectionPoint injectionPoint) {
-        return dummyUnifiedSearchIndexer;
+        return batchingUnifiedSearchIndexer;
     }
 }
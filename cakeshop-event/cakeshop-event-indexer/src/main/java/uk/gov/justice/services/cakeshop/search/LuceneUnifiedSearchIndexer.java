@@ -1,31 +1,38 @@
-package uk.gov.justice.services.cakeshop.dummy;
+package uk.gov.justice.services.cakeshop.search;
 
 import static java.util.UUID.fromString;
 
-import uk.gov.justice.services.cakeshop.persistence.IndexRepository;
 import uk.gov.justice.services.cakeshop.persistence.entity.Index;
+import uk.gov.justice.services.cakeshop.persistence.search.DeliverySearchIndex;
 import uk.gov.justice.services.messaging.Envelope;
 import uk.gov.justice.services.unifiedsearch.UnifiedSearchIndexer;
 
 import java.time.ZonedDateTime;
+import java.util.Optional;
 import java.util.UUID;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 import javax.json.JsonObject;
 
+/**
+ * Writes the payload transformed by {@code cake-ordered-spec.json} to the embedded
+ * {@link DeliverySearchIndex}. The write is not committed here: {@link BatchingUnifiedSearchIndexer}
+ * commits the writes of many events together.
+ */
 @ApplicationScoped
-public class DummyUnifiedSearchIndexer implements UnifiedSearchIndexer {
+public class LuceneUnifiedSearchIndexer implements UnifiedSearchIndexer {
 
     @Inject
-    private IndexRepository indexRepository;
+    private DeliverySearchIndex deliverySearchIndex;
 
     @Override
     public void indexData(final Envelope<JsonObject> eventWithJoltTransformedPayload) {
         final JsonObject payload = eventWithJoltTransformedPayload.payload();
         final UUID recipeId = fromString(payload.getString("recipeId"));
         final ZonedDateTime deliveryDate = ZonedDateTime.parse(payload.getString("deliveryDate"));
-        final Index index = new Index(recipeId, deliveryDate);
-        indexRepository.save(index);
+        final Optional<UUID> orderId = payload.containsKey("orderId") ? Optional.of(fromString(payload.getString("orderId"))) : Optional.empty();
+
+        deliverySearchIndex.write(new Index(recipeId, deliveryDate), orderId);
     }
 }
@@ -0,0 +1,84 @@
+package uk.gov.justice.services.cakeshop.search;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class SearchIndexBatchStatistics implements SearchIndexBatchStatisticsMBean {
+
+    public static final String OBJECT_NAME = "uk.gov.justice.services.cakeshop:type=SearchIndexBatches";
+
+    private final int maxBatchSize;
+    private final long maxLatencyMillis;
+
+    private final AtomicLong batchCount = new AtomicLong();
+    private final AtomicLong failedBatchCount = new AtomicLong();
+    private final AtomicLong documentCount = new AtomicLong();
+    private final AtomicInteger lastBatchSize = new AtomicInteger();
+    private final AtomicLong lastFlushLatencyNanos = new AtomicLong();
+    private final AtomicLong maxFlushLatencyNanos = new AtomicLong();
+
+    public SearchIndexBatchStatistics(final int maxBatchSize, final long maxLatencyMillis) {
+        this.maxBatchSize = maxBatchSize;
+        this.maxLatencyMillis = maxLatencyMillis;
+    }
+
+    void recordCommitted(final int batchSize, final long flushLatencyNanos) {
+        batchCount.incrementAndGet();
+        documentCount.addAndGet(batchSize);
+        lastBatchSize.set(batchSize);
+        lastFlushLatencyNanos.set(flushLatencyNanos);
+        maxFlushLatencyNanos.accumulateAndGet(flushLatencyNanos, Math::max);
+    }
+
+    void recordFailed() {
+        failedBatchCount.incrementAndGet();
+    }
+
+    @Override
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    @Override
+    public long getMaxLatencyMillis() {
+        return maxLatencyMillis;
+    }
+
+    @Override
+    public long getBatchCount() {
+        return batchCount.get();
+    }
+
+    @Override
+    public long getFailedBatchCount() {
+        return failedBatchCount.get();
+    }
+
+    @Override
+    public long getDocumentCount() {
+        return documentCount.get();
+    }
+
+    @Override
+    public int getLastBatchSize() {
+        return lastBatchSize.get();
+    }
+
+    @Override
+    public double getMeanBatchSize() {
+        final long batches = batchCount.get();
+        return batches == 0 ? 0 : (double) documentCount.get() / batches;
+    }
+
+    @Override
+    public long getLastFlushLatencyMillis() {
+        return NANOSECONDS.toMillis(lastFlushLatencyNanos.get());
+    }
+
+    @Override
+    public long getMaxFlushLatencyMillis() {
+        return NANOSECONDS.toMillis(maxFlushLatencyNanos.get());
+    }
+}
@@ -0,0 +1,29 @@
+package uk.gov.justice.services.cakeshop.search;
+
+/**
+ * Statistics of the batches of index writes committed by the {@link BatchingUnifiedSearchIndexer},
+ * published over JMX as {@value SearchIndexBatchStatistics#OBJECT_NAME}.
+ */
+public interface SearchIndexBatchStatisticsMBean {
+
+    int getMaxBatchSize();
+
+    long getMaxLatencyMillis();
+
+    long getBatchCount();
+
+    long getFailedBatchCount();
+
+    long getDocumentCount();
+
+    int getLastBatchSize();
+
+    double getMeanBatchSize();
+
+    /**
+     * @return the time from the first write of the last batch until it was committed.
+     */
+    long getLastFlushLatencyMillis();
+
+    long getMaxFlushLatencyMillis();
+}
@@ -0,0 +1,112 @@
+package uk.gov.justice.services.cakeshop.search;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static javax.json.Json.createObjectBuilder;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static uk.gov.justice.services.messaging.Envelope.envelopeFrom;
+import static uk.gov.justice.services.test.utils.core.messaging.MetadataBuilderFactory.metadataWithDefaults;
+
+import uk.gov.justice.services.cakeshop.persistence.search.DeliverySearchIndex;
+import uk.gov.justice.services.messaging.Envelope;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.json.JsonObject;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class BatchingUnifiedSearchIndexerTest {
+
+    private static final Envelope<JsonObject> CAKE_ORDERED = envelopeFrom(metadataWithDefaults(), createObjectBuilder().build());
+
+    @Mock
+    private LuceneUnifiedSearchIndexer luceneUnifiedSearchIndexer;
+
+    @Mock
+    private DeliverySearchIndex deliverySearchIndex;
+
+    private BatchingUnifiedSearchIndexer batchingUnifiedSearchIndexer;
+
+    @BeforeEach
+    public void setup() {
+        batchingUnifiedSearchIndexer = new BatchingUnifiedSearchIndexer();
+        batchingUnifiedSearchIndexer.luceneUnifiedSearchIndexer = luceneUnifiedSearchIndexer;
+        batchingUnifiedSearchIndexer.deliverySearchIndex = deliverySearchIndex;
+        batchingUnifiedSearchIndexer.maxBatchSize = "3";
+        batchingUnifiedSearchIndexer.maxLatencyMillis = "10000";
+        batchingUnifiedSearchIndexer.start();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        batchingUnifiedSearchIndexer.stop();
+    }
+
+    @Test
+    public void shouldCommitEventIndexedOnItsOwnWithoutWaitingForBatchToFill() {
+        batchingUnifiedSearchIndexer.indexData(CAKE_ORDERED);
+
+        final InOrder inOrder = inOrder(luceneUnifiedSearchIndexer, deliverySearchIndex);
+        inOrder.verify(luceneUnifiedSearchIndexer).indexData(CAKE_ORDERED);
+        inOrder.verify(deliverySearchIndex).commit();
+
+        assertThat(batchingUnifiedSearchIndexer.getStatistics().getBatchCount(), is(1L));
+        assertThat(batchingUnifiedSearchIndexer.getStatistics().getLastBatchSize(), is(1));
+    }
+
+    @Test
+    public void shouldCommitEventsIndexedTogetherInOneBatch() throws Exception {
+        final CyclicBarrier allWritten = new CyclicBarrier(3);
+        doAnswer(invocation -> allWritten.await(10, SECONDS)).when(luceneUnifiedSearchIndexer).indexData(any());
+
+        final ExecutorService executorService = Executors.newFixedThreadPool(3);
+        try {
+            final List<Future<?>> indexed = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                indexed.add(executorService.submit(() -> batchingUnifiedSearchIndexer.indexData(CAKE_ORDERED)));
+            }
+            for (final Future<?> future : indexed) {
+                future.get(10, SECONDS);
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        verify(deliverySearchIndex, times(1)).commit();
+        assertThat(batchingUnifiedSearchIndexer.getStatistics().getBatchCount(), is(1L));
+        assertThat(batchingUnifiedSearchIndexer.getStatistics().getDocumentCount(), is(3L));
+        assertThat(batchingUnifiedSearchIndexer.getStatistics().getMeanBatchSize(), is(3.0));
+    }
+
+    @Test
+    public void shouldFailIndexingSoEventIsRedeliveredWhenCommitFails() {
+        doThrow(new UncheckedIOException(new IOException("disk full"))).when(deliverySearchIndex).commit();
+
+        assertThrows(IllegalStateException.class, () -> batchingUnifiedSearchIndexer.indexData(CAKE_ORDERED));
+
+        assertThat(batchingUnifiedSearchIndexer.getStatistics().getBatchCount(), is(0L));
+        assertThat(batchingUnifiedSearchIndexer.getStatistics().getFailedBatchCount(), is(1L));
+    }
+}
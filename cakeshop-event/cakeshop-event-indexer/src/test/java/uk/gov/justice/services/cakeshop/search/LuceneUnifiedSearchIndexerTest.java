@@ -0,0 +1,60 @@
+package uk.gov.justice.services.cakeshop.search;
+
+import static java.util.UUID.randomUUID;
+import static javax.json.Json.createObjectBuilder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static uk.gov.justice.services.messaging.Envelope.envelopeFrom;
+import static uk.gov.justice.services.test.utils.core.messaging.MetadataBuilderFactory.metadataWithDefaults;
+
+import uk.gov.justice.services.cakeshop.persistence.entity.Index;
+import uk.gov.justice.services.cakeshop.persistence.search.DeliverySearchIndex;
+
+import java.time.ZonedDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class LuceneUnifiedSearchIndexerTest {
+
+    @Mock
+    private DeliverySearchIndex deliverySearchIndex;
+
+    @InjectMocks
+    private LuceneUnifiedSearchIndexer luceneUnifiedSearchIndexer;
+
+    @Test
+    public void shouldWriteDeliveryDateOfTransformedCakeOrderedPayload() {
+        final UUID recipeId = randomUUID();
+        final UUID orderId = randomUUID();
+        final ZonedDateTime deliveryDate = ZonedDateTime.parse("2025-03-01T10:15:30Z");
+
+        luceneUnifiedSearchIndexer.indexData(envelopeFrom(metadataWithDefaults(), createObjectBuilder()
+                .add("orderId", orderId.toString())
+                .add("recipeId", recipeId.toString())
+                .add("deliveryDate", deliveryDate.toString())
+                .build()));
+
+        verify(deliverySearchIndex).write(new Index(recipeId, deliveryDate), Optional.of(orderId));
+        verify(deliverySearchIndex, never()).commit();
+    }
+
+    @Test
+    public void shouldWritePayloadWithoutOrderId() {
+        final UUID recipeId = randomUUID();
+        final ZonedDateTime deliveryDate = ZonedDateTime.parse("2025-03-01T10:15:30Z");
+
+        luceneUnifiedSearchIndexer.indexData(envelopeFrom(metadataWithDefaults(), createObjectBuilder()
+                .add("recipeId", recipeId.toString())
+                .add("deliveryDate", deliveryDate.toString())
+                .build()));
+
+        verify(deliverySearchIndex).write(new Index(recipeId, deliveryDate), Optional.empty());
+    }
+}
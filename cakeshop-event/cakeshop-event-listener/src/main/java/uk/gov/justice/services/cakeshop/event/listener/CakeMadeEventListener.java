@@ -1,12 +1,19 @@
 package uk.gov.justice.services.cakeshop.event.listener;
 
+import static uk.gov.justice.services.cakeshop.persistence.entity.CommandStatus.CAKE_MADE;
+
 import uk.gov.justice.services.core.annotation.Component;
 import uk.gov.justice.services.core.annotation.Handles;
 import uk.gov.justice.services.core.annotation.ServiceComponent;
 import uk.gov.justice.services.cakeshop.persistence.CakeRepository;
+import uk.gov.justice.services.cakeshop.persistence.CommandStatusRepository;
 import uk.gov.justice.services.cakeshop.persistence.entity.Cake;
+import uk.gov.justice.services.cakeshop.persistence.notification.CommandStatusNotifier;
 import uk.gov.justice.services.messaging.Envelope;
 
+import java.util.List;
+import java.util.UUID;
+
 import javax.inject.Inject;
 
 @ServiceComponent(value = Component.EVENT_LISTENER)
@@ -15,12 +22,25 @@ public class CakeMadeEventListener {
     @Inject
     CakeRepository cakeRepository;
 
+    @Inject
+    CommandStatusRepository commandStatusRepository;
+
+    @Inject
+    CommandStatusNotifier commandStatusNotifier;
+
     @Handles("cakeshop.events.cake-made")
     public void handle(final Envelope<Cake> envelope) {
         //Best practice is to handle a value object rather than an entity
         //because the event typically would not cover an entire entity.
         //But we have not here as this cakeshop is so simple.
 
-        cakeRepository.save(envelope.payload());
+        final Cake cake = envelope.payload();
+        cakeRepository.save(cake);
+
+        //the causation of the event holds the ids of the make-cake commands that caused it,
+        //starting with the id the command api gave the client
+        final List<UUID> commandIds = envelope.metadata().causation();
+        commandIds.forEach(commandId -> commandStatusRepository.record(commandId, CAKE_MADE, cake.getCakeId()));
+        commandStatusNotifier.notifyRecorded(commandIds);
     }
 }
@@ -1,10 +1,12 @@
 package uk.gov.justice.services.cakeshop.event.listener;
 
+import static java.time.ZoneOffset.UTC;
 import static uk.gov.justice.services.core.annotation.Component.EVENT_LISTENER;
 
 import uk.gov.justice.services.core.annotation.Handles;
 import uk.gov.justice.services.core.annotation.ServiceComponent;
 import uk.gov.justice.services.cakeshop.persistence.CakeOrderRepository;
+import uk.gov.justice.services.cakeshop.persistence.ProductionScheduleRepository;
 import uk.gov.justice.services.cakeshop.persistence.entity.CakeOrder;
 import uk.gov.justice.services.messaging.Envelope;
 
@@ -16,11 +18,26 @@ public class CakeOrderedEventListener {
     @Inject
     CakeOrderRepository repository;
 
+    @Inject
+    ProductionScheduleRepository productionScheduleRepository;
+
+    /**
+     * Store the order and count it in the production schedule, on the UTC day of its delivery date.
+     * The zone the order was placed in is not kept, as delivery dates are adjusted to UTC when the
+     * event is created. Events already recorded as processed are not passed on again, and an order
+     * that is already stored, as when an event is replayed, is not counted again.
+     */
     @Handles("cakeshop.events.cake-ordered")
     public void handle(final Envelope<CakeOrder> envelope) {
         //Best practice is to handle a value object rather than an entity
         //because the event typically would not cover an entire entity.
         //But we have not here as this cakeshop is so simple.
-        repository.save(envelope.payload());
+        final CakeOrder cakeOrder = envelope.payload();
+
+        if (repository.findBy(cakeOrder.getOrderId()) == null) {
+            productionScheduleRepository.incrementOrderCount(cakeOrder.getDeliveryDate().withZoneSameInstant(UTC).toLocalDate(), cakeOrder.getRecipeId());
+        }
+
+        repository.save(cakeOrder);
     }
 }
@@ -6,8 +6,11 @@ import static uk.gov.justice.services.core.annotation.Component.EVENT_LISTENER;
 import uk.gov.justice.services.cakeshop.domain.event.RecipeAdded;
 import uk.gov.justice.services.cakeshop.event.listener.converter.RecipeAddedToIngredientsConverter;
 import uk.gov.justice.services.cakeshop.event.listener.converter.RecipeAddedToRecipeConverter;
+import uk.gov.justice.services.cakeshop.event.listener.converter.RecipeAddedToRecipeIngredientsConverter;
 import uk.gov.justice.services.cakeshop.persistence.IngredientRepository;
+import uk.gov.justice.services.cakeshop.persistence.RecipeIngredientRepository;
 import uk.gov.justice.services.cakeshop.persistence.RecipeRepository;
+import uk.gov.justice.services.cakeshop.persistence.cache.RecipeCache;
 import uk.gov.justice.services.cakeshop.persistence.entity.Ingredient;
 import uk.gov.justice.services.cakeshop.persistence.entity.Recipe;
 import uk.gov.justice.services.common.converter.JsonObjectToObjectConverter;
@@ -15,6 +18,7 @@ import uk.gov.justice.services.core.annotation.Handles;
 import uk.gov.justice.services.core.annotation.ServiceComponent;
 import uk.gov.justice.services.messaging.JsonEnvelope;
 
+import java.util.List;
 import java.util.UUID;
 
 import javax.inject.Inject;
@@ -38,12 +42,21 @@ public class RecipeEventListener {
     @Inject
     RecipeAddedToIngredientsConverter recipeAddedToIngredientsConverter;
 
+    @Inject
+    RecipeAddedToRecipeIngredientsConverter recipeAddedToRecipeIngredientsConverter;
+
     @Inject
     RecipeRepository recipeRepository;
 
     @Inject
     IngredientRepository ingredientRepository;
 
+    @Inject
+    RecipeIngredientRepository recipeIngredientRepository;
+
+    @Inject
+    RecipeCache recipeCache;
+
     @Handles("cakeshop.events.recipe-added")
     public void recipeAdded(final JsonEnvelope event) {
 
@@ -69,15 +82,10 @@ public class RecipeEventListener {
 
         LOGGER.trace("=====================================================> Recipe saved, RecipeId: " + recipeId);
 
-        for (final Ingredient ingredient : recipeAddedToIngredientsConverter.convert(recipeAdded)) {
-            if (ingredientRepository.findByNameIgnoreCase(ingredient.getName()).isEmpty()) {
-                LOGGER.trace("=============> Inside add-recipe Event Listener about to save Ingredient Id: " + ingredient.getId());
-                ingredientRepository.save(ingredient);
-                LOGGER.trace("=====================================================> Ingredient saved, Ingredient Id: " + ingredient.getId());
-            } else {
-                LOGGER.trace("=====================================================> Skipped adding ingredient as it already exists, Ingredient Name: " + ingredient.getName());
-            }
-        }
+        final List<Ingredient> savedIngredients = ingredientRepository.saveMissing(recipeAddedToIngredientsConverter.convert(recipeAdded));
+        LOGGER.trace("=====================================================> Ingredients saved, count: " + savedIngredients.size());
+
+        recipeIngredientRepository.replaceIngredientsOf(recipe.getId(), recipeAddedToRecipeIngredientsConverter.convert(recipeAdded));
     }
 
     @Handles("cakeshop.events.recipe-renamed")
@@ -90,6 +98,7 @@ public class RecipeEventListener {
         final Recipe recipe = recipeRepository.findBy(UUID.fromString(recipeId));
         recipe.setName(recipeName);
         recipeRepository.save(recipe);
+        recipeCache.invalidate(UUID.fromString(recipeId));
     }
 
     @Handles("cakeshop.events.recipe-removed")
@@ -99,6 +108,8 @@ public class RecipeEventListener {
         final Recipe recipeFound = recipeRepository.findBy(UUID.fromString(recipeId));
         LOGGER.trace("=============> Found remove-recipe Event Listener. RecipeId: " + recipeFound);
         recipeRepository.remove(recipeFound);
+        recipeIngredientRepository.removeByRecipeId(UUID.fromString(recipeId));
+        recipeCache.invalidate(UUID.fromString(recipeId));
     }
 
     @Handles("cakeshop.events.recipe-photograph-added")
@@ -111,6 +122,7 @@ public class RecipeEventListener {
         final Recipe recipe = recipeRepository.findBy(UUID.fromString(recipeId));
         recipe.setPhotoId(UUID.fromString(photoId));
         recipeRepository.save(recipe);
+        recipeCache.invalidate(UUID.fromString(recipeId));
     }
 
 }
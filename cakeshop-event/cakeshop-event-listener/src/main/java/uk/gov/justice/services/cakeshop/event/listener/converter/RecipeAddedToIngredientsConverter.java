@@ -1,24 +1,25 @@
 package uk.gov.justice.services.cakeshop.event.listener.converter;
 
+import static java.util.stream.Collectors.toList;
+
 import uk.gov.justice.services.common.converter.Converter;
 import uk.gov.justice.services.cakeshop.domain.event.RecipeAdded;
+import uk.gov.justice.services.cakeshop.persistence.IngredientRepository;
 import uk.gov.justice.services.cakeshop.persistence.entity.Ingredient;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 
 /**
  * Converter to convert the {@link RecipeAdded} 'event' into the relevant view entities (e.g. {@link
- * Ingredient}.
+ * Ingredient}. Each ingredient is given its name-based id from {@link Ingredient#idOf}, so no id
+ * lookups are needed; whether it is stored is left to {@link IngredientRepository#saveMissing}.
  */
 public class RecipeAddedToIngredientsConverter implements Converter<RecipeAdded, List<Ingredient>> {
 
     @Override
     public List<Ingredient> convert(final RecipeAdded source) {
-        final List<Ingredient> ingredients = new ArrayList<>();
-        source.getIngredients().forEach(i -> ingredients.add(new Ingredient(UUID.randomUUID(), i.getName())));
-
-        return ingredients;
+        return source.getIngredients().stream()
+                .map(ingredient -> new Ingredient(Ingredient.idOf(ingredient.getName()), ingredient.getName()))
+                .collect(toList());
     }
 }
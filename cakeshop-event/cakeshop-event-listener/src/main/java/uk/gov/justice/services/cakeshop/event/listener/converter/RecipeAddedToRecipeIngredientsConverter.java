@@ -0,0 +1,26 @@
+package uk.gov.justice.services.cakeshop.event.listener.converter;
+
+import uk.gov.justice.services.common.converter.Converter;
+import uk.gov.justice.services.cakeshop.domain.Ingredient;
+import uk.gov.justice.services.cakeshop.domain.event.RecipeAdded;
+import uk.gov.justice.services.cakeshop.persistence.entity.RecipeIngredient;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Converter to convert the {@link RecipeAdded} 'event' into the {@link RecipeIngredient}s listing
+ * each ingredient of the recipe with its quantity. Ids are left to the sequence generator.
+ */
+public class RecipeAddedToRecipeIngredientsConverter implements Converter<RecipeAdded, List<RecipeIngredient>> {
+
+    @Override
+    public List<RecipeIngredient> convert(final RecipeAdded source) {
+        final List<RecipeIngredient> recipeIngredients = new ArrayList<>(source.getIngredients().size());
+        for (final Ingredient ingredient : source.getIngredients()) {
+            recipeIngredients.add(new RecipeIngredient(null, source.getRecipeId(), ingredient.getName(), ingredient.getQuantity()));
+        }
+
+        return recipeIngredients;
+    }
+}
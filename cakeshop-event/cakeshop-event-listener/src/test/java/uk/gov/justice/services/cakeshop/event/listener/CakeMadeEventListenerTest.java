@@ -1,15 +1,26 @@
 package uk.gov.justice.services.cakeshop.event.listener;
 
-import static org.mockito.Mockito.mock;
+import static java.util.Arrays.asList;
+import static java.util.UUID.randomUUID;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static uk.gov.justice.services.cakeshop.persistence.entity.CommandStatus.CAKE_MADE;
 
 import uk.gov.justice.services.cakeshop.persistence.CakeRepository;
+import uk.gov.justice.services.cakeshop.persistence.CommandStatusRepository;
 import uk.gov.justice.services.cakeshop.persistence.entity.Cake;
+import uk.gov.justice.services.cakeshop.persistence.notification.CommandStatusNotifier;
 import uk.gov.justice.services.messaging.Envelope;
+import uk.gov.justice.services.messaging.Metadata;
 
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -17,21 +28,54 @@ import org.mockito.junit.jupiter.MockitoExtension;
 @ExtendWith(MockitoExtension.class)
 public class CakeMadeEventListenerTest {
 
+    private static final UUID CAKE_ID = randomUUID();
+    private static final UUID API_COMMAND_ID = randomUUID();
+    private static final UUID HANDLER_COMMAND_ID = randomUUID();
+
     @Mock
     private CakeRepository cakeRepository;
 
+    @Mock
+    private CommandStatusRepository commandStatusRepository;
+
+    @Mock
+    private CommandStatusNotifier commandStatusNotifier;
+
+    @Mock
+    private Envelope<Cake> envelope;
+
+    @Mock
+    private Metadata metadata;
+
     @InjectMocks
     private CakeMadeEventListener cakeMadeEventListener = new CakeMadeEventListener();
 
-    @SuppressWarnings("unchecked")
+    private final Cake cake = new Cake(CAKE_ID, "Chocolate cake");
+
+    private final List<UUID> causation = asList(API_COMMAND_ID, HANDLER_COMMAND_ID);
+
+    @BeforeEach
+    public void setup() {
+        when(envelope.payload()).thenReturn(cake);
+        when(envelope.metadata()).thenReturn(metadata);
+        when(metadata.causation()).thenReturn(causation);
+    }
+
     @Test
     public void shouldSaveCake() {
-        final Envelope<Cake> envelope = mock(Envelope.class);
-        final Cake cake = mock(Cake.class);
-        when(envelope.payload()).thenReturn(cake);
         cakeMadeEventListener.handle(envelope);
 
         verify(cakeRepository).save(cake);
     }
 
+    @Test
+    public void shouldRecordCakeMadeForCommandsThatCausedItOnceCakeIsSaved() {
+        cakeMadeEventListener.handle(envelope);
+
+        final InOrder inOrder = inOrder(cakeRepository, commandStatusRepository, commandStatusNotifier);
+        inOrder.verify(cakeRepository).save(cake);
+        inOrder.verify(commandStatusRepository).record(API_COMMAND_ID, CAKE_MADE, CAKE_ID);
+        inOrder.verify(commandStatusRepository).record(HANDLER_COMMAND_ID, CAKE_MADE, CAKE_ID);
+        inOrder.verify(commandStatusNotifier).notifyRecorded(causation);
+    }
 }
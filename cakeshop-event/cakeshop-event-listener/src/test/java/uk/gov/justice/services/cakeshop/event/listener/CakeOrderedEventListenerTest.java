@@ -1,14 +1,18 @@
 package uk.gov.justice.services.cakeshop.event.listener;
 
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import uk.gov.justice.services.cakeshop.persistence.CakeOrderRepository;
+import uk.gov.justice.services.cakeshop.persistence.ProductionScheduleRepository;
 import uk.gov.justice.services.cakeshop.persistence.entity.CakeOrder;
 import uk.gov.justice.services.messaging.Envelope;
 
+import java.time.LocalDate;
 import java.time.ZonedDateTime;
 import java.util.UUID;
 
@@ -24,6 +28,9 @@ public class CakeOrderedEventListenerTest {
     @Mock
     private CakeOrderRepository repository;
 
+    @Mock
+    private ProductionScheduleRepository productionScheduleRepository;
+
     @InjectMocks
     private CakeOrderedEventListener listener;
 
@@ -40,4 +47,33 @@ public class CakeOrderedEventListenerTest {
         verify(repository).save(cakeOrderObject);
 
     }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void shouldCountNewOrderOnUtcDayOfDelivery() throws Exception {
+
+        final Envelope<CakeOrder> envelope = mock(Envelope.class);
+        final UUID recipeId = UUID.randomUUID();
+        final CakeOrder cakeOrderObject = new CakeOrder(UUID.randomUUID(), recipeId, ZonedDateTime.parse("2025-03-03T00:30+01:00"));
+        when(envelope.payload()).thenReturn(cakeOrderObject);
+
+        listener.handle(envelope);
+
+        verify(productionScheduleRepository).incrementOrderCount(LocalDate.of(2025, 3, 2), recipeId);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void shouldNotCountReplayedOrderAgain() throws Exception {
+
+        final Envelope<CakeOrder> envelope = mock(Envelope.class);
+        final CakeOrder cakeOrderObject = new CakeOrder(UUID.randomUUID(), UUID.randomUUID(), ZonedDateTime.now());
+        when(envelope.payload()).thenReturn(cakeOrderObject);
+        when(repository.findBy(cakeOrderObject.getOrderId())).thenReturn(cakeOrderObject);
+
+        listener.handle(envelope);
+
+        verify(productionScheduleRepository, never()).incrementOrderCount(any(), any());
+        verify(repository).save(cakeOrderObject);
+    }
 }
@@ -12,10 +12,14 @@ import uk.gov.justice.services.common.converter.JsonObjectToObjectConverter;
 import uk.gov.justice.services.cakeshop.domain.event.RecipeAdded;
 import uk.gov.justice.services.cakeshop.event.listener.converter.RecipeAddedToIngredientsConverter;
 import uk.gov.justice.services.cakeshop.event.listener.converter.RecipeAddedToRecipeConverter;
+import uk.gov.justice.services.cakeshop.event.listener.converter.RecipeAddedToRecipeIngredientsConverter;
 import uk.gov.justice.services.cakeshop.persistence.IngredientRepository;
+import uk.gov.justice.services.cakeshop.persistence.RecipeIngredientRepository;
 import uk.gov.justice.services.cakeshop.persistence.RecipeRepository;
+import uk.gov.justice.services.cakeshop.persistence.cache.RecipeCache;
 import uk.gov.justice.services.cakeshop.persistence.entity.Ingredient;
 import uk.gov.justice.services.cakeshop.persistence.entity.Recipe;
+import uk.gov.justice.services.cakeshop.persistence.entity.RecipeIngredient;
 import uk.gov.justice.services.messaging.JsonEnvelope;
 
 import java.util.UUID;
@@ -32,8 +36,6 @@ import org.mockito.junit.jupiter.MockitoExtension;
 @ExtendWith(MockitoExtension.class)
 public class RecipeEventListenerTest {
 
-    private static final String INGREDIENT_NAME = "Flour";
-
     @Mock
     private JsonObjectToObjectConverter jsonObjectToObjectConverter;
 
@@ -43,12 +45,21 @@ public class RecipeEventListenerTest {
     @Mock
     private RecipeAddedToIngredientsConverter recipeAddedToIngredientsConverter;
 
+    @Mock
+    private RecipeAddedToRecipeIngredientsConverter recipeAddedToRecipeIngredientsConverter;
+
     @Mock
     private RecipeRepository recipeRepository;
 
     @Mock
     private IngredientRepository ingredientRepository;
 
+    @Mock
+    private RecipeIngredientRepository recipeIngredientRepository;
+
+    @Mock
+    private RecipeCache recipeCache;
+
     @Mock
     private JsonEnvelope envelope;
 
@@ -61,6 +72,9 @@ public class RecipeEventListenerTest {
     @Mock
     private Ingredient ingredient;
 
+    @Mock
+    private RecipeIngredient recipeIngredient;
+
     @Mock
     private JsonObject payload;
 
@@ -74,30 +88,33 @@ public class RecipeEventListenerTest {
 
     @Test
     public void shouldHandleRecipeAddedEvent() throws Exception {
+        final UUID recipeId = randomUUID();
         when(recipeAddedToRecipeConverter.convert(recipeAdded)).thenReturn(recipe);
-        when(ingredient.getName()).thenReturn(INGREDIENT_NAME);
         when(recipeAddedToIngredientsConverter.convert(recipeAdded)).thenReturn(singletonList(ingredient));
-        when(ingredientRepository.findByNameIgnoreCase(INGREDIENT_NAME)).thenReturn(emptyList());
+        when(ingredientRepository.saveMissing(singletonList(ingredient))).thenReturn(singletonList(ingredient));
+        when(recipeAddedToRecipeIngredientsConverter.convert(recipeAdded)).thenReturn(singletonList(recipeIngredient));
+        when(recipe.getId()).thenReturn(recipeId);
         when(jsonObjectToObjectConverter.convert(payload, RecipeAdded.class)).thenReturn(recipeAdded);
 
         recipeEventListener.recipeAdded(envelope);
 
         verify(recipeRepository).save(recipe);
-        verify(ingredientRepository).save(ingredient);
+        verify(ingredientRepository).saveMissing(singletonList(ingredient));
+        verify(recipeIngredientRepository).replaceIngredientsOf(recipeId, singletonList(recipeIngredient));
     }
 
     @Test
     public void shouldHandleRecipeAddedEventWithExistingIngredient() throws Exception {
         when(recipeAddedToRecipeConverter.convert(recipeAdded)).thenReturn(recipe);
-        when(ingredient.getName()).thenReturn(INGREDIENT_NAME);
         when(recipeAddedToIngredientsConverter.convert(recipeAdded)).thenReturn(singletonList(ingredient));
-        when(ingredientRepository.findByNameIgnoreCase(INGREDIENT_NAME)).thenReturn(singletonList(ingredient));
+        when(ingredientRepository.saveMissing(singletonList(ingredient))).thenReturn(emptyList());
         when(jsonObjectToObjectConverter.convert(payload, RecipeAdded.class)).thenReturn(recipeAdded);
 
         recipeEventListener.recipeAdded(envelope);
 
         verify(recipeRepository).save(recipe);
         verify(ingredientRepository, never()).save(ingredient);
+        verify(ingredientRepository, never()).findByNameIgnoreCase(anyString());
     }
 
     @Test
@@ -113,6 +130,7 @@ public class RecipeEventListenerTest {
 
         verify(recipe).setName(name);
         verify(recipeRepository).save(recipe);
+        verify(recipeCache).invalidate(UUID.fromString(recipeId));
     }
 
     @Test
@@ -125,6 +143,8 @@ public class RecipeEventListenerTest {
         recipeEventListener.recipeRemoved(envelope);
 
         verify(recipeRepository).remove(recipe);
+        verify(recipeIngredientRepository).removeByRecipeId(UUID.fromString(recipeId));
+        verify(recipeCache).invalidate(UUID.fromString(recipeId));
     }
 
     @Test
@@ -140,5 +160,6 @@ public class RecipeEventListenerTest {
 
         verify(recipe).setPhotoId(photoId);
         verify(recipeRepository).save(recipe);
+        verify(recipeCache).invalidate(recipeId);
     }
 }
@@ -38,5 +38,6 @@ public class RecipeAddedToIngredientsConverterTest {
 
         assertThat(ingredients.size(), equalTo(1));
         assertThat(ingredients.get(0).getName(), equalTo(NAME));
+        assertThat(ingredients.get(0).getId(), equalTo(Ingredient.idOf(NAME)));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,37 @@
+package uk.gov.justice.services.cakeshop.event.listener.converter;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+
+import uk.gov.justice.services.cakeshop.domain.Ingredient;
+import uk.gov.justice.services.cakeshop.domain.event.RecipeAdded;
+import uk.gov.justice.services.cakeshop.persistence.entity.RecipeIngredient;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+public class RecipeAddedToRecipeIngredientsConverterTest {
+
+    private RecipeAddedToRecipeIngredientsConverter converter = new RecipeAddedToRecipeIngredientsConverter();
+
+    @Test
+    public void shouldListEachIngredientOfRecipeWithQuantity() {
+        final UUID recipeId = UUID.randomUUID();
+        final List<Ingredient> ingredients = asList(new Ingredient("sugar", 2), new Ingredient("flour", 3));
+
+        final List<RecipeIngredient> recipeIngredients = converter.convert(new RecipeAdded(recipeId, "someName123", false, ingredients));
+
+        assertThat(recipeIngredients, hasSize(2));
+        assertThat(recipeIngredients.get(0).getId(), nullValue());
+        assertThat(recipeIngredients.get(0).getRecipeId(), equalTo(recipeId));
+        assertThat(recipeIngredients.get(0).getIngredientName(), equalTo("sugar"));
+        assertThat(recipeIngredients.get(0).getQuantity(), equalTo(2));
+        assertThat(recipeIngredients.get(1).getIngredientName(), equalTo("flour"));
+        assertThat(recipeIngredients.get(1).getQuantity(), equalTo(3));
+    }
+}
@@ -0,0 +1,50 @@
+package uk.gov.justice.services.cakeshop.event.processor;
+
+import javax.inject.Inject;
+import javax.json.JsonObject;
+import org.slf4j.Logger;
+import uk.gov.justice.services.cakeshop.jobstore.RecipeThumbnailJobData;
+import uk.gov.justice.services.common.converter.ObjectToJsonObjectConverter;
+import uk.gov.justice.services.common.util.UtcClock;
+import uk.gov.justice.services.core.annotation.Handles;
+import uk.gov.justice.services.core.annotation.ServiceComponent;
+import uk.gov.justice.services.messaging.JsonEnvelope;
+import uk.gov.moj.cpp.jobstore.api.ExecutionService;
+import uk.gov.moj.cpp.jobstore.api.task.ExecutionInfo;
+
+import static uk.gov.justice.services.cakeshop.jobstore.RecipeThumbnailTask.RECIPE_THUMBNAIL_TASK;
+import static uk.gov.justice.services.core.annotation.Component.EVENT_PROCESSOR;
+import static uk.gov.moj.cpp.jobstore.api.task.ExecutionStatus.STARTED;
+import static uk.gov.moj.cpp.jobstore.persistence.Priority.LOW;
+
+@ServiceComponent(EVENT_PROCESSOR)
+public class RecipePhotographAddedEventProcessor {
+
+    @Inject
+    private ObjectToJsonObjectConverter objectToJsonObjectConverter;
+
+    @Inject
+    private UtcClock clock;
+
+    @Inject
+    private ExecutionService executionService;
+
+    @SuppressWarnings({"squid:S1312"})
+    @Inject
+    private Logger logger;
+
+    @Handles("cakeshop.events.recipe-photograph-added")
+    public void handle(final JsonEnvelope event) {
+        final JsonObject payload = event.payloadAsJsonObject();
+        final ExecutionInfo executionInfo = new ExecutionInfo(
+                objectToJsonObjectConverter.convert(new RecipeThumbnailJobData(payload.getString("recipeId"), payload.getString("photoId"))),
+                RECIPE_THUMBNAIL_TASK,
+                clock.now(),
+                STARTED,
+                LOW);
+
+        executionService.executeWith(executionInfo);
+
+        logger.info("Recipe thumbnail task submitted to job store");
+    }
+}
@@ -0,0 +1,40 @@
+package uk.gov.justice.services.cakeshop.jobstore;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+
+import static org.apache.commons.lang3.builder.EqualsBuilder.reflectionEquals;
+
+public class RecipeThumbnailJobData {
+
+    private final String recipeId;
+    private final String photoId;
+
+    public RecipeThumbnailJobData(@JsonProperty("recipeId") final String recipeId,
+                                  @JsonProperty("photoId") final String photoId) {
+        this.recipeId = recipeId;
+        this.photoId = photoId;
+    }
+
+    public String getRecipeId() {
+        return recipeId;
+    }
+
+    public String getPhotoId() {
+        return photoId;
+    }
+
+    public String toString() {
+        return "RecipeThumbnailJobData(recipeId=" + this.getRecipeId() + ", photoId=" + this.getPhotoId() + ")";
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        return reflectionEquals(this, o);
+    }
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder(17, 37).append(recipeId).append(photoId).toHashCode();
+    }
+}
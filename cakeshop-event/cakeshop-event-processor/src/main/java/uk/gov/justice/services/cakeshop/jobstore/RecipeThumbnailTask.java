@@ -0,0 +1,180 @@
+package uk.gov.justice.services.cakeshop.jobstore;
+
+import static java.util.Arrays.asList;
+import static java.util.Locale.ROOT;
+import static java.util.stream.Collectors.toSet;
+import static javax.json.Json.createObjectBuilder;
+import static uk.gov.justice.services.cakeshop.jobstore.RecipeThumbnailTask.RECIPE_THUMBNAIL_TASK;
+import static uk.gov.justice.services.cakeshop.jobstore.Thumbnailer.THUMBNAIL_MEDIA_TYPE;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import javax.inject.Inject;
+import javax.json.JsonObject;
+import org.slf4j.Logger;
+import uk.gov.justice.services.common.configuration.Value;
+import uk.gov.justice.services.cakeshop.persistence.RecipeThumbnailRepository;
+import uk.gov.justice.services.cakeshop.persistence.entity.RecipeThumbnail;
+import uk.gov.justice.services.cakeshop.persistence.entity.ThumbnailSize;
+import uk.gov.justice.services.fileservice.api.FileRetriever;
+import uk.gov.justice.services.fileservice.api.FileStorer;
+import uk.gov.justice.services.fileservice.domain.FileReference;
+import uk.gov.moj.cpp.jobstore.api.annotation.Task;
+import uk.gov.moj.cpp.jobstore.api.task.ExecutableTask;
+import uk.gov.moj.cpp.jobstore.api.task.ExecutionInfo;
+import uk.gov.moj.cpp.jobstore.api.task.ExecutionStatus;
+
+/**
+ * Generates a thumbnail of a recipe photograph in each {@link ThumbnailSize}, storing them in the
+ * file store alongside the original. Sizes already generated are skipped, so the task can safely
+ * run again for the same photograph.
+ *
+ * <p>A photograph that is missing, not a readable image, or has more than
+ * {@code cakeshop.recipe-photograph.max-pixels} pixels gets no thumbnails; its dimensions are read
+ * from the image header before any pixels are decoded. Any other failure, such as the file store
+ * or view store being unavailable, is retried after each of {@link #RETRY_DURATIONS_IN_SECS}.
+ */
+@Task(RECIPE_THUMBNAIL_TASK)
+public class RecipeThumbnailTask implements ExecutableTask {
+
+    public static final String RECIPE_THUMBNAIL_TASK = "recipe-thumbnail-task";
+
+    static final List<Long> RETRY_DURATIONS_IN_SECS = asList(10L, 60L, 300L, 1800L);
+
+    @Inject
+    private FileRetriever fileRetriever;
+
+    @Inject
+    private FileStorer fileStorer;
+
+    @Inject
+    private RecipeThumbnailRepository recipeThumbnailRepository;
+
+    @Inject
+    private Thumbnailer thumbnailer;
+
+    @Inject
+    @Value(key = "cakeshop.recipe-photograph.max-pixels", defaultValue = "40000000")
+    String maxPixels;
+
+    @SuppressWarnings({"squid:S1312"})
+    @Inject
+    private Logger logger;
+
+    @Override
+    public ExecutionInfo execute(final ExecutionInfo executionInfo) {
+        final UUID photoId;
+        try {
+            photoId = UUID.fromString(executionInfo.getJobData().getString("photoId"));
+        } catch (final ClassCastException | NullPointerException | IllegalArgumentException e) {
+            logger.error("Invalid recipe thumbnail job data, no thumbnails generated", e);
+            return ExecutionInfo.executionInfo()
+                    .withExecutionStatus(ExecutionStatus.COMPLETED)
+                    .build();
+        }
+
+        try {
+            final Set<ThumbnailSize> generatedSizes = recipeThumbnailRepository.findByPhotoId(photoId).stream()
+                    .map(RecipeThumbnail::getSize)
+                    .collect(toSet());
+
+            if (generatedSizes.size() < ThumbnailSize.values().length) {
+                generateThumbnails(photoId, generatedSizes);
+            }
+
+            return ExecutionInfo.executionInfo()
+                    .withExecutionStatus(ExecutionStatus.COMPLETED)
+                    .build();
+
+        } catch (final Exception e) {
+            logger.warn("Error while generating thumbnails of recipe photograph {}, will retry", photoId, e);
+            return ExecutionInfo.executionInfo()
+                    .from(executionInfo)
+                    .withExecutionStatus(ExecutionStatus.INPROGRESS)
+                    .withShouldRetry(true)
+                    .build();
+        }
+    }
+
+    @Override
+    public Optional<List<Long>> getRetryDurationsInSecs() {
+        return Optional.of(RETRY_DURATIONS_IN_SECS);
+    }
+
+    private void generateThumbnails(final UUID photoId, final Set<ThumbnailSize> generatedSizes) throws Exception {
+        final Optional<FileReference> fileReference = fileRetriever.retrieve(photoId);
+        if (!fileReference.isPresent()) {
+            logger.warn("Recipe photograph {} not found in the file store, no thumbnails generated", photoId);
+            return;
+        }
+
+        final Optional<BufferedImage> photograph;
+        try (final FileReference file = fileReference.get();
+             final InputStream content = file.getContentStream()) {
+            photograph = read(photoId, content);
+        }
+
+        if (!photograph.isPresent()) {
+            return;
+        }
+
+        for (final ThumbnailSize size : ThumbnailSize.values()) {
+            if (!generatedSizes.contains(size)) {
+                final byte[] thumbnail = thumbnailer.thumbnail(photograph.get(), size.getLongestSide());
+                final UUID fileId = fileStorer.store(metadataOf(photoId, size), new ByteArrayInputStream(thumbnail));
+                recipeThumbnailRepository.save(new RecipeThumbnail(fileId, photoId, size));
+            }
+        }
+
+        logger.info("Thumbnails generated for recipe photograph {}", photoId);
+    }
+
+    /**
+     * Decode the photograph, unless it is not a readable image or has too many pixels to decode.
+     */
+    private Optional<BufferedImage> read(final UUID photoId, final InputStream content) throws IOException {
+        try (final ImageInputStream input = ImageIO.createImageInputStream(content)) {
+            final Iterator<ImageReader> readers = input == null ? null : ImageIO.getImageReaders(input);
+            if (readers == null || !readers.hasNext()) {
+                logger.warn("Recipe photograph {} is not a readable image, no thumbnails generated", photoId);
+                return Optional.empty();
+            }
+
+            final ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                final long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > Long.parseLong(maxPixels)) {
+                    logger.warn("Recipe photograph {} has {} pixels, more than the {} allowed, no thumbnails generated", photoId, pixels, maxPixels);
+                    return Optional.empty();
+                }
+
+                return Optional.of(reader.read(0));
+            } catch (final IOException | RuntimeException e) {
+                logger.warn("Recipe photograph {} is not a readable image, no thumbnails generated", photoId, e);
+                return Optional.empty();
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private JsonObject metadataOf(final UUID photoId, final ThumbnailSize size) {
+        return createObjectBuilder()
+                .add("fileName", photoId + "-" + size.name().toLowerCase(ROOT) + ".jpg")
+                .add("mediaType", THUMBNAIL_MEDIA_TYPE)
+                .add("photoId", photoId.toString())
+                .add("thumbnailSize", size.name())
+                .build();
+    }
+}
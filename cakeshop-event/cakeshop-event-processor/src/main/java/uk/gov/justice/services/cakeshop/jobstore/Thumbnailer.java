@@ -0,0 +1,54 @@
+package uk.gov.justice.services.cakeshop.jobstore;
+
+import static java.awt.RenderingHints.KEY_INTERPOLATION;
+import static java.awt.RenderingHints.KEY_RENDERING;
+import static java.awt.RenderingHints.VALUE_INTERPOLATION_BILINEAR;
+import static java.awt.RenderingHints.VALUE_RENDER_QUALITY;
+import static java.awt.image.BufferedImage.TYPE_INT_RGB;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import javax.imageio.ImageIO;
+
+/**
+ * Scales images down to thumbnails with the JDK image APIs, keeping their aspect ratio. Images
+ * already smaller than the thumbnail are not enlarged. Thumbnails are encoded as JPEG, so any
+ * transparency is drawn on white.
+ */
+public class Thumbnailer {
+
+    public static final String THUMBNAIL_MEDIA_TYPE = "image/jpeg";
+
+    private static final String THUMBNAIL_FORMAT = "jpg";
+
+    /**
+     * Scale the image so its longest side is at most the given length.
+     *
+     * @param image       the original image
+     * @param longestSide the maximum length in pixels of the longest side of the thumbnail
+     * @return the thumbnail encoded as JPEG
+     */
+    public byte[] thumbnail(final BufferedImage image, final int longestSide) throws IOException {
+        final double scale = Math.min(1.0, (double) longestSide / Math.max(image.getWidth(), image.getHeight()));
+        final int width = Math.max(1, (int) Math.round(image.getWidth() * scale));
+        final int height = Math.max(1, (int) Math.round(image.getHeight() * scale));
+
+        final BufferedImage thumbnail = new BufferedImage(width, height, TYPE_INT_RGB);
+        final Graphics2D graphics = thumbnail.createGraphics();
+        try {
+            graphics.setRenderingHint(KEY_INTERPOLATION, VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(KEY_RENDERING, VALUE_RENDER_QUALITY);
+            graphics.drawImage(image, 0, 0, width, height, Color.WHITE, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        final ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        ImageIO.write(thumbnail, THUMBNAIL_FORMAT, encoded);
+        return encoded.toByteArray();
+    }
+}
@@ -8,7 +8,6 @@ import uk.gov.justice.services.cakeshop.event.listener.converter.OtherRecipeAdde
 import uk.gov.justice.services.cakeshop.event.listener.converter.OtherRecipeAddedToRecipeConverter;
 import uk.gov.justice.services.cakeshop.persistence.IngredientRepository;
 import uk.gov.justice.services.cakeshop.persistence.RecipeRepository;
-import uk.gov.justice.services.cakeshop.persistence.entity.Ingredient;
 import uk.gov.justice.services.messaging.JsonEnvelope;
 
 import javax.inject.Inject;
@@ -36,11 +35,6 @@ public class OtherRecipeEventListener {
 
         final RecipeAdded recipeAdded = jsonObjectConverter.convert(event.payloadAsJsonObject(), RecipeAdded.class);
         recipeRepository.save(otherRecipeAddedToRecipeConverter.convert(recipeAdded));
-
-        for (final Ingredient ingredient : recipeAddedToIngredientsConverter.convert(recipeAdded)) {
-            if (ingredientRepository.findByNameIgnoreCase(ingredient.getName()).isEmpty()) {
-                ingredientRepository.save(ingredient);
-            }
-        }
+        ingredientRepository.saveMissing(recipeAddedToIngredientsConverter.convert(recipeAdded));
     }
 }
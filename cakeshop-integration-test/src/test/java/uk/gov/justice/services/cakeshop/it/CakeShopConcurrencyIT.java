@@ -125,8 +125,13 @@ public class CakeShopConcurrencyIT {
         databaseCleaner.cleanViewStoreTables(DB_CONTEXT_NAME,
                 "ingredient",
                 "recipe",
+                "recipe_ingredients_list",
                 "cake",
                 "cake_order",
+                "production_schedule",
+                "processed_command",
+                "command_status",
+                "recipe_cache_invalidation",
                 "processed_event"
         );
         databaseCleaner.cleanStreamBufferTable(DB_CONTEXT_NAME);
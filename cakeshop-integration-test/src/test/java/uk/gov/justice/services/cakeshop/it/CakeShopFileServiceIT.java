@@ -7,8 +7,11 @@ import static java.util.UUID.randomUUID;
 import static javax.ws.rs.core.MediaType.APPLICATION_OCTET_STREAM_TYPE;
 import static javax.ws.rs.core.Response.Status.ACCEPTED;
 import static javax.ws.rs.core.Response.Status.NOT_FOUND;
+import static javax.ws.rs.core.Response.Status.NOT_MODIFIED;
 import static javax.ws.rs.core.Response.Status.OK;
+import static javax.ws.rs.core.Response.Status.PARTIAL_CONTENT;
 import static org.apache.commons.io.IOUtils.contentEquals;
+import static org.apache.commons.io.IOUtils.toByteArray;
 import static org.apache.http.entity.ContentType.APPLICATION_OCTET_STREAM;
 import static org.apache.http.entity.mime.HttpMultipartMode.BROWSER_COMPATIBLE;
 import static org.awaitility.Awaitility.await;
@@ -17,6 +20,8 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.IsNull.notNullValue;
 import static uk.gov.justice.services.cakeshop.it.params.CakeShopUris.RECIPES_RESOURCE_QUERY_URI;
+import static uk.gov.justice.services.cakeshop.it.params.CakeShopUris.RECIPE_PHOTOGRAPHS_URI;
+import static uk.gov.justice.services.cakeshop.it.params.CakeShopUris.RECIPE_THUMBNAILS_URI;
 import static uk.gov.justice.services.cakeshop.it.params.CakeShopUris.RECIPES_RESOURCE_URI;
 import static uk.gov.justice.services.test.utils.core.matchers.HttpStatusCodeMatcher.isStatus;
 
@@ -34,10 +39,12 @@ import uk.gov.justice.services.test.utils.persistence.DatabaseCleaner;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
 
 import javax.sql.DataSource;
 import javax.ws.rs.client.Client;
 import javax.ws.rs.client.Invocation;
+import javax.ws.rs.core.Response;
 
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpResponse;
@@ -61,7 +68,7 @@ public class CakeShopFileServiceIT {
 
     @BeforeEach
     public void before() throws Exception {
-        new DatabaseCleaner().cleanViewStoreTables("framework", "cake", "cake_order", "recipe", "ingredient", "processed_event");
+        new DatabaseCleaner().cleanViewStoreTables("framework", "cake", "cake_order", "production_schedule", "processed_command", "command_status", "recipe_cache_invalidation", "recipe", "recipe_thumbnail", "recipe_ingredients_list", "ingredient", "processed_event");
         client = new RestEasyClientFactory().createResteasyClient();
         querier = new Querier(client);
         commandSender = new CommandSender(client, new EventFactory());
@@ -127,6 +134,57 @@ public class CakeShopFileServiceIT {
 
     }
 
+    @Test
+    public void shouldDownloadRecipePhotographByRangeAndRevalidateByEntityTag() throws Exception {
+        final String recipeId = randomUUID().toString();
+        commandSender.addRecipe(recipeId, "Victoria sponge");
+        await().until(() -> querier.queryForRecipe(recipeId).httpCode() == OK.getStatusCode());
+
+        final String filename = "croydon.jpg";
+        appendFileToTheRecipe(recipeId, filename);
+
+        await().until(() -> photographDownloadFor(recipeId).head().getStatus() == OK.getStatusCode());
+
+        final Response download = photographDownloadFor(recipeId).get();
+        assertThat(download.getStatus(), isStatus(OK));
+        final String entityTag = download.getHeaderString("ETag");
+        assertThat(entityTag, notNullValue());
+        assertThat(contentEquals(download.readEntity(InputStream.class), fileStreamOf(filename)), is(true));
+
+        final Response revalidated = photographDownloadFor(recipeId).header("If-None-Match", entityTag).get();
+        assertThat(revalidated.getStatus(), isStatus(NOT_MODIFIED));
+
+        final Response range = photographDownloadFor(recipeId).header("Range", "bytes=10-19").get();
+        assertThat(range.getStatus(), isStatus(PARTIAL_CONTENT));
+        assertThat(range.readEntity(byte[].class), is(Arrays.copyOfRange(toByteArray(fileStreamOf(filename)), 10, 20)));
+    }
+
+    @Test
+    public void shouldGenerateThumbnailsOfRecipePhotograph() throws Exception {
+        final String recipeId = randomUUID().toString();
+        commandSender.addRecipe(recipeId, "Lemon drizzle");
+        await().until(() -> querier.queryForRecipe(recipeId).httpCode() == OK.getStatusCode());
+
+        appendFileToTheRecipe(recipeId, "croydon.jpg");
+
+        await().until(() -> thumbnailFor(recipeId, "small").get().getStatus() == OK.getStatusCode());
+
+        final Response thumbnail = thumbnailFor(recipeId, "medium").get();
+        assertThat(thumbnail.getStatus(), isStatus(OK));
+        assertThat(thumbnail.getHeaderString("Content-Type"), is("image/jpeg"));
+        assertThat(thumbnail.getHeaderString("Cache-Control"), is("public, max-age=86400"));
+
+        assertThat(thumbnailFor(recipeId, "huge").get().getStatus(), isStatus(NOT_FOUND));
+    }
+
+    private Invocation.Builder thumbnailFor(final String recipeId, final String size) {
+        return client.target(RECIPE_THUMBNAILS_URI + recipeId + "/" + size).request();
+    }
+
+    private Invocation.Builder photographDownloadFor(final String recipeId) {
+        return client.target(RECIPE_PHOTOGRAPHS_URI + recipeId).request();
+    }
+
     private InputStream fileStreamOf(final String filename) {
         return this.getClass().getClassLoader().getResourceAsStream(filename);
     }
@@ -8,6 +8,7 @@ import static javax.json.Json.createArrayBuilder;
 import static javax.json.Json.createObjectBuilder;
 import static javax.ws.rs.client.Entity.entity;
 import static javax.ws.rs.core.Response.Status.ACCEPTED;
+import static javax.ws.rs.core.Response.Status.NOT_FOUND;
 import static javax.ws.rs.core.Response.Status.OK;
 import static org.awaitility.Awaitility.await;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -15,9 +16,16 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.IsCollectionContaining.hasItem;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static uk.gov.justice.services.cakeshop.it.params.CakeShopMediaTypes.ADD_RECIPES_BATCH_MEDIA_TYPE;
+import static uk.gov.justice.services.cakeshop.it.params.CakeShopMediaTypes.ADD_RECIPES_BATCH_STATUS_MEDIA_TYPE;
 import static uk.gov.justice.services.cakeshop.it.params.CakeShopMediaTypes.ADD_RECIPE_MEDIA_TYPE;
+import static uk.gov.justice.services.cakeshop.it.params.CakeShopMediaTypes.MAKE_CAKE_MEDIA_TYPE;
+import static uk.gov.justice.services.cakeshop.it.params.CakeShopMediaTypes.MAKE_CAKE_STATUS_MEDIA_TYPE;
 import static uk.gov.justice.services.cakeshop.it.params.CakeShopMediaTypes.REMOVE_RECIPE_MEDIA_TYPE;
+import static uk.gov.justice.services.cakeshop.it.params.CakeShopUris.CAKES_RESOURCE_URI_FORMAT;
+import static uk.gov.justice.services.cakeshop.it.params.CakeShopUris.COMMAND_STATUS_URI;
 import static uk.gov.justice.services.cakeshop.it.params.CakeShopUris.OVEN_RESOURCE_CUSTOM_URI;
+import static uk.gov.justice.services.cakeshop.it.params.CakeShopUris.RECIPES_BATCH_RESOURCE_URI;
 import static uk.gov.justice.services.cakeshop.it.params.CakeShopUris.RECIPES_RESOURCE_URI;
 import static uk.gov.justice.services.test.utils.core.matchers.HttpStatusCodeMatcher.isStatus;
 
@@ -38,12 +46,14 @@ import uk.gov.justice.services.eventsourcing.repository.jdbc.event.EventReposito
 import java.util.Optional;
 
 import javax.jms.MessageConsumer;
+import javax.json.JsonObject;
 import javax.jms.Session;
 import javax.sql.DataSource;
 import javax.ws.rs.client.Client;
 import javax.ws.rs.core.Response;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
 import org.apache.http.message.BasicNameValuePair;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -90,6 +100,37 @@ public class CakeShopIT {
         assertThat(response.getStatus(), isStatus(ACCEPTED));
     }
 
+    @Test
+    public void shouldAddBatchOfRecipesAndReturnOutcomeOfEach() throws Exception {
+        final String recipeId = randomUUID().toString();
+        final String otherRecipeId = randomUUID().toString();
+
+        final String batch = createObjectBuilder()
+                .add("recipes", createArrayBuilder()
+                        .add(batchRecipe(recipeId, "Batch cake"))
+                        .add(batchRecipe(otherRecipeId, "Other batch cake"))
+                        .add(batchRecipe(recipeId, "Batch cake again")))
+                .build().toString();
+
+        final ApiResponse response = ApiResponse.from(client
+                .target(RECIPES_BATCH_RESOURCE_URI)
+                .request()
+                .accept(ADD_RECIPES_BATCH_STATUS_MEDIA_TYPE)
+                .post(entity(batch, ADD_RECIPES_BATCH_MEDIA_TYPE)));
+
+        assertThat(response.httpCode(), isStatus(ACCEPTED));
+        with(response.body())
+                .assertThat("$.recipes[0].status", equalTo("SENT"))
+                .assertThat("$.recipes[1].status", equalTo("SENT"))
+                .assertThat("$.recipes[2].status", equalTo("REJECTED"));
+
+        await().atMost(ofSeconds(MAX_POLL_TIME_IN_SECONDS)).until(() -> querier.queryForRecipe(recipeId).httpCode() == OK.getStatusCode());
+        await().atMost(ofSeconds(MAX_POLL_TIME_IN_SECONDS)).until(() -> querier.queryForRecipe(otherRecipeId).httpCode() == OK.getStatusCode());
+
+        with(querier.queryForRecipe(recipeId).body())
+                .assertThat("$.name", equalTo("Batch cake"));
+    }
+
     @Test
     public void shouldSendNotificationThroughJobStoreTaskOnProcessingCakeMadeEvent() throws Exception {
         try (final Session jmsSession = jmsBootstrapper.jmsSession()) {
@@ -223,6 +264,57 @@ public class CakeShopIT {
                 .assertThat("$.status", equalTo("Making Cake"));
     }
 
+    @Test
+    public void shouldWaitForMadeCakeOnCommandStatus() throws Exception {
+        final String recipeId = randomUUID().toString();
+        final String cakeId = randomUUID().toString();
+
+        commandSender.addRecipe(recipeId, "Super cake");
+        await().atMost(ofSeconds(MAX_POLL_TIME_IN_SECONDS)).until(() -> querier.recipesQueryResult().body().contains(recipeId));
+
+        final ApiResponse makeCakeResponse = commandSender.makeCake(recipeId, cakeId);
+        final String commandId = JsonPath.read(makeCakeResponse.body(), "$.commandId");
+
+        await().atMost(ofSeconds(MAX_POLL_TIME_IN_SECONDS)).until(() -> ApiResponse.from(client
+                .target(COMMAND_STATUS_URI + commandId)
+                .queryParam("wait", 10)
+                .request()
+                .get()).httpCode() == OK.getStatusCode());
+
+        with(ApiResponse.from(client.target(COMMAND_STATUS_URI + commandId).request().get()).body())
+                .assertThat("$.status", equalTo("Cake Made"))
+                .assertThat("$.cakeId", equalTo(cakeId));
+    }
+
+    @Test
+    public void shouldReturnNotFoundForUnknownCommandStatus() throws Exception {
+        final ApiResponse response = ApiResponse.from(client.target(COMMAND_STATUS_URI + randomUUID()).request().get());
+
+        assertThat(response.httpCode(), isStatus(NOT_FOUND));
+    }
+
+    @Test
+    public void shouldGiveCakeThatHasAlreadyBeenMadeTheOriginalResponse() throws Exception {
+        final String recipeId = randomUUID().toString();
+        final String cakeId = randomUUID().toString();
+
+        commandSender.addRecipe(recipeId, "Super cake");
+        await().atMost(ofSeconds(MAX_POLL_TIME_IN_SECONDS)).until(() -> querier.recipesQueryResult().body().contains(recipeId));
+
+        final ApiResponse makeCakeResponse = commandSender.makeCake(recipeId, cakeId);
+        final String commandId = JsonPath.read(makeCakeResponse.body(), "$.commandId");
+
+        final ApiResponse response = ApiResponse.from(client.target(String.format(CAKES_RESOURCE_URI_FORMAT, recipeId, cakeId))
+                .request()
+                .accept(MAKE_CAKE_STATUS_MEDIA_TYPE)
+                .post(entity("{}", MAKE_CAKE_MEDIA_TYPE)));
+
+        final String duplicateCommandId = JsonPath.read(response.body(), "$.commandId");
+
+        assertThat(response.httpCode(), isStatus(ACCEPTED));
+        assertThat(duplicateCommandId, equalTo(commandId));
+    }
+
     @Test
     public void shouldQueryForCakesWithNamesInheritedFromRecipe() throws Exception {
         final String recipeId_1 = randomUUID().toString();
@@ -271,4 +363,16 @@ public class CakeShopIT {
                 .assertEquals("$.ovens[0].name", "Big Oven")
                 .assertEquals("$.ovens[1].name", "Large Oven");
     }
+
+    private JsonObject batchRecipe(final String recipeId, final String name) {
+        return createObjectBuilder()
+                .add("recipeId", recipeId)
+                .add("name", name)
+                .add("glutenFree", false)
+                .add("ingredients", createArrayBuilder()
+                        .add(createObjectBuilder()
+                                .add("name", "someIngredient")
+                                .add("quantity", 1)))
+                .build();
+    }
 }
@@ -118,8 +118,13 @@ public class ReplayEventToEventIndexerIT {
         databaseCleaner.cleanViewStoreTables(contextName,
                 "ingredient",
                 "recipe",
+                "recipe_ingredients_list",
                 "cake",
                 "cake_order",
+                "production_schedule",
+                "processed_command",
+                "command_status",
+                "recipe_cache_invalidation",
                 "processed_event"
         );
 
@@ -115,8 +115,13 @@ public class ReplayEventToEventListenerIT {
         databaseCleaner.cleanViewStoreTables(contextName,
                 "ingredient",
                 "recipe",
+                "recipe_ingredients_list",
                 "cake",
                 "cake_order",
+                "production_schedule",
+                "processed_command",
+                "command_status",
+                "recipe_cache_invalidation",
                 "processed_event"
         );
 
@@ -56,7 +56,12 @@ public class RestResourcesIT {
                 "stream_error",
                 "cake",
                 "cake_order",
+                "production_schedule",
+                "processed_command",
+                "command_status",
+                "recipe_cache_invalidation",
                 "recipe",
+                "recipe_ingredients_list",
                 "ingredient",
                 "processed_event");
     }
@@ -4,17 +4,15 @@ import static com.jayway.jsonassert.JsonAssert.with;
 import static java.util.UUID.randomUUID;
 import static org.awaitility.Awaitility.await;
 import static org.hamcrest.core.IsCollectionContaining.hasItem;
-import static uk.gov.justice.services.test.utils.core.reflection.ReflectionUtil.setField;
+import static uk.gov.justice.services.cakeshop.it.params.CakeShopUris.RECIPES_RESOURCE_URI;
 
 import uk.gov.justice.domain.snapshot.AggregateSnapshot;
-import uk.gov.justice.domain.snapshot.DefaultObjectInputStreamStrategy;
 import uk.gov.justice.services.cakeshop.domain.aggregate.Recipe;
 import uk.gov.justice.services.cakeshop.it.helpers.CommandSender;
 import uk.gov.justice.services.cakeshop.it.helpers.DatabaseManager;
 import uk.gov.justice.services.cakeshop.it.helpers.EventFactory;
 import uk.gov.justice.services.cakeshop.it.helpers.Querier;
 import uk.gov.justice.services.cakeshop.it.helpers.RestEasyClientFactory;
-import uk.gov.justice.services.core.aggregate.exception.AggregateChangeDetectedException;
 import uk.gov.justice.services.eventsourcing.jdbc.snapshot.SnapshotJdbcRepository;
 import uk.gov.justice.services.eventsourcing.jdbc.snapshot.StandaloneSnapshotJdbcRepositoryFactory;
 
@@ -51,7 +49,7 @@ public class SnapshotCakeShopIT {
     }
 
     @Test
-    public void shouldUseSnapshotWhenMakingCakes() throws AggregateChangeDetectedException {
+    public void shouldSnapshotRecipeAndMakeCakesFromIt() {
 
         final String recipeId = randomUUID().toString();
         final String cakeName = "Delicious cake";
@@ -59,36 +57,27 @@ public class SnapshotCakeShopIT {
         commandSender.addRecipe(recipeId, cakeName);
         await().until(() -> querier.recipesQueryResult().body().contains(recipeId));
 
-        //cake made events belong to the recipe aggregate.
+        //cake made events are appended to the cake's own stream, so only recipe events count towards the recipe snapshot.
         //snapshot threshold is set to 3 in settings-test.xml so this should cause snapshot to be created
-        final String cakeId1 = randomUUID().toString();
-        final String cakeId2 = randomUUID().toString();
-
-        commandSender.makeCake(recipeId, cakeId1);
-        commandSender.makeCake(recipeId, cakeId2);
+        renameRecipe(recipeId, "Tweaked cake");
+        renameRecipe(recipeId, "Tweaked cake again");
 
         await().until(() -> recipeAggregateSnapshotOf(recipeId).isPresent());
 
-        final String newCakeName = "Tweaked cake";
-        changeRecipeSnapshotName(recipeId, newCakeName);
-
-        final String lastCakeId = randomUUID().toString();
-        commandSender.makeCake(recipeId, lastCakeId);
+        final String cakeId = randomUUID().toString();
+        commandSender.makeCake(recipeId, cakeId);
 
-        await().until(() -> querier.cakesQueryResult().body().contains(lastCakeId));
+        await().until(() -> querier.cakesQueryResult().body().contains(cakeId));
 
         with(querier.cakesQueryResult().body())
-                .assertThat("$.cakes[?(@.id == '" + lastCakeId + "')].name", hasItem(newCakeName));
-
+                .assertThat("$.cakes[?(@.id == '" + cakeId + "')].name", hasItem("Tweaked cake again"));
     }
 
-    @SuppressWarnings("unchecked")
-    private void changeRecipeSnapshotName(final String recipeId, final String newRecipeName) throws AggregateChangeDetectedException {
-        final AggregateSnapshot<Recipe> recipeAggregateSnapshot = recipeAggregateSnapshotOf(recipeId).get();
-        final Recipe recipe = recipeAggregateSnapshot.getAggregate(new DefaultObjectInputStreamStrategy());
-        setField(recipe, "name", newRecipeName);
-        snapshotJdbcRepository.removeAllSnapshots(recipeAggregateSnapshot.getStreamId(), Recipe.class);
-        snapshotJdbcRepository.storeSnapshot(new AggregateSnapshot(recipeAggregateSnapshot.getStreamId(), recipeAggregateSnapshot.getPositionInStream(), recipe));
+    private void renameRecipe(final String recipeId, final String newRecipeName) {
+        client.target(RECIPES_RESOURCE_URI + recipeId).request()
+                .put(eventFactory.renameRecipeEntity(newRecipeName));
+
+        await().until(() -> querier.queryForRecipe(recipeId).body().contains(newRecipeName));
     }
 
     private Optional<AggregateSnapshot<Recipe>> recipeAggregateSnapshotOf(final String recipeId) {
@@ -50,7 +50,12 @@ public class StreamErrorHandlingIT {
                 "stream_error",
                 "cake",
                 "cake_order",
+                "production_schedule",
+                "processed_command",
+                "command_status",
+                "recipe_cache_invalidation",
                 "recipe",
+                "recipe_ingredients_list",
                 "ingredient",
                 "processed_event");
     }
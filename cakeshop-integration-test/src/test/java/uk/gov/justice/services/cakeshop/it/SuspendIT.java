@@ -74,10 +74,13 @@ public class SuspendIT {
         databaseCleaner.cleanViewStoreTables(contextName,
                 "cake",
                 "cake_order",
+                "production_schedule",
+                "processed_command",
+                "command_status",
+                "recipe_cache_invalidation",
                 "recipe",
+                "recipe_ingredients_list",
                 "ingredient",
-                "index",
-                "index",
                 "processed_event",
                 "stream_buffer",
                 "stream_status",
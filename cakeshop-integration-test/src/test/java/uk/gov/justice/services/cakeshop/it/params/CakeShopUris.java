@@ -6,11 +6,15 @@ public class CakeShopUris {
     private static final String HOST = "http://localhost:" + SystemPropertyFinder.findWildflyHttpPort();
 
     public static final String RECIPES_RESOURCE_URI = HOST + "/cakeshop-command-api/command/api/rest/cakeshop/recipes/";
+    public static final String RECIPES_BATCH_RESOURCE_URI = HOST + "/cakeshop-command-api/command/api/rest/cakeshop/recipes";
     public static final String ORDERS_RESOURCE_URI = HOST + "/cakeshop-command-api/command/api/rest/cakeshop/orders/";
     public static final String RECIPES_RESOURCE_QUERY_URI = HOST + "/cakeshop-query-api/query/api/rest/cakeshop/recipes/";
     public static final String ORDERS_RESOURCE_QUERY_URI = HOST + "/cakeshop-query-api/query/api/rest/cakeshop/orders/";
     public static final String CAKES_RESOURCE_QUERY_URI = HOST + "/cakeshop-query-api/query/api/rest/cakeshop/cakes/";
     public static final String OVEN_RESOURCE_CUSTOM_URI = HOST + "/cakeshop-custom-api/custom/api/rest/cakeshop/ovens/";
+    public static final String RECIPE_PHOTOGRAPHS_URI = HOST + "/cakeshop-service/recipe-photographs/";
+    public static final String RECIPE_THUMBNAILS_URI = HOST + "/cakeshop-service/recipe-thumbnails/";
+    public static final String COMMAND_STATUS_URI = HOST + "/cakeshop-service/command-status/";
     public static final String INDEXES_RESOURCE_QUERY_URI = HOST + "/cakeshop-query-api/query/api/rest/cakeshop/index/";
     public static final String HEALTHCHECK_URI = HOST + "/cakeshop-service/internal/healthchecks/all";
     public static final String STREAMS_QUERY_BASE_URI = HOST + "/cakeshop-service/internal/streams";
@@ -9,6 +9,7 @@ import uk.gov.justice.services.core.requester.Requester;
 import uk.gov.justice.services.cakeshop.query.api.request.SearchCakeOrder;
 import uk.gov.justice.services.cakeshop.query.api.response.CakeOrderView;
 import uk.gov.justice.services.messaging.Envelope;
+import uk.gov.justice.services.messaging.JsonEnvelope;
 
 import javax.inject.Inject;
 
@@ -22,4 +23,9 @@ public class CakeOrdersQueryApi {
     public Envelope<CakeOrderView> getOrder(final Envelope<SearchCakeOrder> query) {
         return requester.request(query, CakeOrderView.class);
     }
+
+    @Handles("cakeshop.search-orders-by-delivery-window")
+    public JsonEnvelope searchOrdersByDeliveryWindow(final JsonEnvelope query) {
+        return requester.request(query);
+    }
 }
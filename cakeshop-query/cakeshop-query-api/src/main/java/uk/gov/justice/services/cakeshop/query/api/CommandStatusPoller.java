@@ -0,0 +1,69 @@
+package uk.gov.justice.services.cakeshop.query.api;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static uk.gov.justice.services.cakeshop.persistence.entity.CommandStatus.CAKE_MADE;
+
+import uk.gov.justice.services.cakeshop.persistence.CommandStatusRepository;
+import uk.gov.justice.services.cakeshop.persistence.notification.CommandStatusNotifier;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.annotation.Resource;
+import javax.enterprise.concurrent.ManagedScheduledExecutorService;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Looks for the cakes made on other nodes for all the commands waited for on this node, and wakes
+ * their waiters through the {@link CommandStatusNotifier}.
+ *
+ * <p>Once started it looks every {@link #POLL_MILLIS}, with one query for up to {@link #BATCH_SIZE}
+ * awaited commands, however many requests are waiting for each of them.
+ */
+@ApplicationScoped
+public class CommandStatusPoller {
+
+    static final long POLL_MILLIS = 1000;
+    static final int BATCH_SIZE = 1000;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CommandStatusPoller.class);
+
+    @Inject
+    CommandStatusRepository commandStatusRepository;
+
+    @Inject
+    CommandStatusNotifier commandStatusNotifier;
+
+    @Resource
+    ManagedScheduledExecutorService managedScheduledExecutorService;
+
+    private final AtomicBoolean started = new AtomicBoolean(false);
+
+    /**
+     * Start looking for made cakes, unless already started.
+     */
+    public void start() {
+        if (started.compareAndSet(false, true)) {
+            managedScheduledExecutorService.scheduleWithFixedDelay(this::poll, POLL_MILLIS, POLL_MILLIS, MILLISECONDS);
+        }
+    }
+
+    void poll() {
+        //an exception escaping would cancel the schedule
+        try {
+            final List<UUID> awaited = new ArrayList<>(commandStatusNotifier.awaitedCommandIds());
+            for (int from = 0; from < awaited.size(); from += BATCH_SIZE) {
+                final List<UUID> batch = awaited.subList(from, Math.min(from + BATCH_SIZE, awaited.size()));
+                commandStatusNotifier.notifyRecorded(commandStatusRepository.findCommandIdsWithStatus(batch, CAKE_MADE));
+            }
+        } catch (final RuntimeException e) {
+            LOGGER.warn("Failed to look for the status of awaited commands", e);
+        }
+    }
+}
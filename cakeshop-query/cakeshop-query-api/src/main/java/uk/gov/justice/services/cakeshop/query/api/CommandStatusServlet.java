@@ -0,0 +1,215 @@
+package uk.gov.justice.services.cakeshop.query.api;
+
+import static java.lang.Math.min;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static javax.json.Json.createObjectBuilder;
+import static javax.servlet.http.HttpServletResponse.SC_ACCEPTED;
+import static javax.servlet.http.HttpServletResponse.SC_NOT_FOUND;
+import static javax.servlet.http.HttpServletResponse.SC_OK;
+import static uk.gov.justice.services.cakeshop.persistence.entity.CommandStatus.CAKE_MADE;
+import static uk.gov.justice.services.cakeshop.query.api.PhotographResponses.uuidFrom;
+
+import uk.gov.justice.services.cakeshop.persistence.CommandStatusRepository;
+import uk.gov.justice.services.cakeshop.persistence.entity.CommandStatus;
+import uk.gov.justice.services.cakeshop.persistence.notification.CommandStatusNotifier;
+import uk.gov.justice.services.common.configuration.Value;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.inject.Inject;
+import javax.json.JsonObject;
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * The status of a make-cake command, {@code GET /command-status/{commandId}}, where the command id
+ * is the one returned when the cake was requested. The status, given with the id of the cake, is
+ * {@code Making Cake} until the event listener has stored the cake, then {@code Cake Made}.
+ *
+ * <p>A request with {@code ?wait=seconds}, up to {@link #MAX_WAIT_SECONDS}, is held until the cake
+ * is made or the wait is over, and answered with {@code 200 OK} once the cake is made or
+ * {@code 202 Accepted} while it is still being made. A request accepting
+ * {@code text/event-stream} gets the status as a server-sent event straight away, and again once
+ * the cake is made, waiting up to {@link #MAX_WAIT_SECONDS} unless told to wait less.
+ *
+ * <p>A command is given a status as the command API accepts it. A command without one is looked for
+ * again until {@code cakeshop.command-status.unknown-after-seconds} after the request came in, in
+ * case it is still being accepted, and then answered with {@code 404 Not Found}.
+ *
+ * <p>Waiting requests hold no thread. They are woken by the {@link CommandStatusNotifier} when the
+ * cake is made, either on this node or, as found by the shared {@link CommandStatusPoller}, on
+ * another, or when their wait is over, and then look up the status again on a request thread.
+ */
+@WebServlet(urlPatterns = "/command-status/*", asyncSupported = true)
+public class CommandStatusServlet extends HttpServlet {
+
+    static final long MAX_WAIT_SECONDS = 30;
+
+    static final String COMMAND_STATUS_MEDIA_TYPE = "application/vnd.cakeshop.command-status+json";
+    static final String EVENT_STREAM_MEDIA_TYPE = "text/event-stream";
+
+    private static final String DEADLINE = CommandStatusServlet.class.getName() + ".deadline";
+    private static final String UNKNOWN_DEADLINE = CommandStatusServlet.class.getName() + ".unknownDeadline";
+    private static final String EVENT_SENT = CommandStatusServlet.class.getName() + ".eventSent";
+    private static final String ACCEPT = "Accept";
+    private static final String CACHE_CONTROL = "Cache-Control";
+    private static final String WAIT = "wait";
+
+    @Inject
+    CommandStatusRepository commandStatusRepository;
+
+    @Inject
+    CommandStatusNotifier commandStatusNotifier;
+
+    @Inject
+    CommandStatusPoller commandStatusPoller;
+
+    @Inject
+    @Value(key = "cakeshop.command-status.unknown-after-seconds", defaultValue = "5")
+    String unknownAfterSeconds;
+
+    @Override
+    protected void doGet(final HttpServletRequest request, final HttpServletResponse response) throws IOException {
+        final Optional<UUID> commandId = request.getPathInfo() == null || request.getPathInfo().length() < 2
+                ? Optional.empty()
+                : uuidFrom(request.getPathInfo().substring(1));
+        if (!commandId.isPresent()) {
+            response.sendError(SC_NOT_FOUND);
+            return;
+        }
+
+        final boolean eventStream = accepts(request, EVENT_STREAM_MEDIA_TYPE);
+        if (request.getAttribute(DEADLINE) == null) {
+            final long now = System.currentTimeMillis();
+            request.setAttribute(DEADLINE, now + SECONDS.toMillis(waitSeconds(request, eventStream)));
+            request.setAttribute(UNKNOWN_DEADLINE, now + SECONDS.toMillis(Long.parseLong(unknownAfterSeconds)));
+        }
+
+        final CommandStatus commandStatus = commandStatusRepository.findBy(commandId.get());
+        if (commandStatus == null) {
+            final long unknownMillis = (Long) request.getAttribute(UNKNOWN_DEADLINE) - System.currentTimeMillis();
+            if (unknownMillis > 0) {
+                await(request, commandId.get(), unknownMillis);
+            } else {
+                response.sendError(SC_NOT_FOUND);
+            }
+            return;
+        }
+
+        final boolean made = CAKE_MADE.equals(commandStatus.getStatus());
+        final long remainingMillis = (Long) request.getAttribute(DEADLINE) - System.currentTimeMillis();
+        final JsonObject status = toJson(commandStatus);
+
+        if (eventStream) {
+            if (request.getAttribute(EVENT_SENT) == null) {
+                request.setAttribute(EVENT_SENT, Boolean.TRUE);
+                response.setContentType(EVENT_STREAM_MEDIA_TYPE);
+                response.setCharacterEncoding(UTF_8.name());
+                response.setHeader(CACHE_CONTROL, "no-cache");
+                sendEvent(response, status);
+            } else if (made) {
+                sendEvent(response, status);
+            }
+        } else if (made || remainingMillis <= 0) {
+            response.setStatus(made ? SC_OK : SC_ACCEPTED);
+            response.setContentType(COMMAND_STATUS_MEDIA_TYPE);
+            response.setCharacterEncoding(UTF_8.name());
+            response.setHeader(CACHE_CONTROL, "no-cache");
+            response.getWriter().write(status.toString());
+            return;
+        }
+
+        if (!made && remainingMillis > 0) {
+            await(request, commandId.get(), remainingMillis);
+        }
+    }
+
+    /**
+     * Release the request thread until the cake is made or the timeout passes, then look again.
+     */
+    private void await(final HttpServletRequest request, final UUID commandId, final long timeoutMillis) {
+        final AsyncContext asyncContext = request.startAsync();
+        asyncContext.setTimeout(timeoutMillis);
+
+        final AtomicBoolean woken = new AtomicBoolean(false);
+        final Runnable waiter = new Runnable() {
+            @Override
+            public void run() {
+                if (woken.compareAndSet(false, true)) {
+                    commandStatusNotifier.unsubscribe(commandId, this);
+                    asyncContext.dispatch();
+                }
+            }
+        };
+
+        asyncContext.addListener(new AsyncListener() {
+            @Override
+            public void onComplete(final AsyncEvent event) {
+                commandStatusNotifier.unsubscribe(commandId, waiter);
+            }
+
+            @Override
+            public void onTimeout(final AsyncEvent event) {
+                waiter.run();
+            }
+
+            @Override
+            public void onError(final AsyncEvent event) {
+                woken.set(true);
+                commandStatusNotifier.unsubscribe(commandId, waiter);
+            }
+
+            @Override
+            public void onStartAsync(final AsyncEvent event) {
+                // nothing to do when waiting again
+            }
+        });
+
+        commandStatusNotifier.subscribe(commandId, waiter);
+        commandStatusPoller.start();
+    }
+
+    private static void sendEvent(final HttpServletResponse response, final JsonObject status) throws IOException {
+        final PrintWriter writer = response.getWriter();
+        writer.write("event: status\n");
+        writer.write("data: " + status + "\n\n");
+        writer.flush();
+        response.flushBuffer();
+    }
+
+    private static JsonObject toJson(final CommandStatus commandStatus) {
+        return createObjectBuilder()
+                .add("commandId", commandStatus.getCommandId().toString())
+                .add("status", commandStatus.getStatus())
+                .add("cakeId", commandStatus.getResourceId().toString())
+                .build();
+    }
+
+    private static long waitSeconds(final HttpServletRequest request, final boolean eventStream) {
+        final String wait = request.getParameter(WAIT);
+        if (wait == null) {
+            return eventStream ? MAX_WAIT_SECONDS : 0;
+        }
+
+        try {
+            return Math.max(0, min(MAX_WAIT_SECONDS, Long.parseLong(wait)));
+        } catch (final NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static boolean accepts(final HttpServletRequest request, final String mediaType) {
+        final String accept = request.getHeader(ACCEPT);
+        return accept != null && accept.contains(mediaType);
+    }
+}
@@ -8,6 +8,7 @@ import uk.gov.justice.services.core.requester.Requester;
 import uk.gov.justice.services.cakeshop.query.api.request.SearchIndex;
 import uk.gov.justice.services.cakeshop.query.api.response.IndexView;
 import uk.gov.justice.services.messaging.Envelope;
+import uk.gov.justice.services.messaging.JsonEnvelope;
 
 import javax.inject.Inject;
 
@@ -21,4 +22,9 @@ public class IndexQueryApi {
     public Envelope<IndexView> getIndex(final Envelope<SearchIndex> query) {
         return requester.request(query, IndexView.class);
     }
+
+    @Handles("cakeshop.search-indexes-by-delivery-date")
+    public JsonEnvelope searchIndexesByDeliveryDate(final JsonEnvelope query) {
+        return requester.request(query);
+    }
 }
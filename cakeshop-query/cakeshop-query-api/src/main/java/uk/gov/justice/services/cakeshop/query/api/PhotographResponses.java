@@ -0,0 +1,75 @@
+package uk.gov.justice.services.cakeshop.query.api;
+
+import uk.gov.justice.services.fileservice.domain.FileReference;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Optional;
+import java.util.UUID;
+
+import javax.json.JsonObject;
+
+/**
+ * Helpers shared by the servlets streaming photographs from the file store.
+ */
+final class PhotographResponses {
+
+    static final int BUFFER_SIZE = 8192;
+
+    private static final String FIELD_MEDIA_TYPE = "mediaType";
+    private static final String APPLICATION_OCTET_STREAM = "application/octet-stream";
+
+    private PhotographResponses() {
+    }
+
+    static Optional<UUID> uuidFrom(final String value) {
+        try {
+            return Optional.of(UUID.fromString(value));
+        } catch (final IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * @return true if the If-None-Match header value matches the entity tag
+     */
+    static boolean matchesAny(final String entityTags, final String entityTag) {
+        if (entityTags == null) {
+            return false;
+        }
+        for (final String candidate : entityTags.split(",")) {
+            final String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(entityTag) || tag.equals("W/" + entityTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static String mediaTypeOf(final FileReference file) {
+        final JsonObject metadata = file.getMetadata();
+        return metadata == null ? APPLICATION_OCTET_STREAM : metadata.getString(FIELD_MEDIA_TYPE, APPLICATION_OCTET_STREAM);
+    }
+
+    /**
+     * Copy up to limit bytes through a fixed size buffer, discarding them if there is no output.
+     *
+     * @return the number of bytes copied
+     */
+    static long copy(final InputStream content, final OutputStream output, final long limit) throws IOException {
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        long copied = 0;
+        while (copied < limit) {
+            final int read = content.read(buffer, 0, (int) Math.min(buffer.length, limit - copied));
+            if (read == -1) {
+                break;
+            }
+            if (output != null) {
+                output.write(buffer, 0, read);
+            }
+            copied += read;
+        }
+        return copied;
+    }
+}
@@ -0,0 +1,39 @@
+package uk.gov.justice.services.cakeshop.query.api;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+import javax.enterprise.context.ApplicationScoped;
+
+/**
+ * Bounded record of the size in bytes of stored photographs, keyed by photo id. A photograph is
+ * never changed once stored, so a recorded size stays valid for as long as the photo id is in
+ * use. Entries are evicted least recently used first once {@link #MAX_ENTRIES} are recorded.
+ */
+@ApplicationScoped
+public class PhotographSizes {
+
+    static final int MAX_ENTRIES = 1000;
+
+    private final Map<UUID, Long> sizes = new LinkedHashMap<UUID, Long>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<UUID, Long> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    public OptionalLong sizeOf(final UUID photoId) {
+        synchronized (sizes) {
+            final Long size = sizes.get(photoId);
+            return size == null ? OptionalLong.empty() : OptionalLong.of(size);
+        }
+    }
+
+    public void record(final UUID photoId, final long size) {
+        synchronized (sizes) {
+            sizes.put(photoId, size);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package uk.gov.justice.services.cakeshop.query.api;
+
+import static uk.gov.justice.services.core.annotation.Component.QUERY_API;
+
+import uk.gov.justice.services.core.annotation.Handles;
+import uk.gov.justice.services.core.annotation.ServiceComponent;
+import uk.gov.justice.services.core.requester.Requester;
+import uk.gov.justice.services.messaging.JsonEnvelope;
+
+import javax.inject.Inject;
+
+@ServiceComponent(QUERY_API)
+public class ProductionScheduleQueryApi {
+
+    @Inject
+    Requester requester;
+
+    @Handles("cakeshop.get-production-schedule")
+    public JsonEnvelope getProductionSchedule(final JsonEnvelope query) {
+        return requester.request(query);
+    }
+}
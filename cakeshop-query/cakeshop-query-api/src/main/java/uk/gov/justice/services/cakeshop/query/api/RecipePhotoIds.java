@@ -0,0 +1,34 @@
+package uk.gov.justice.services.cakeshop.query.api;
+
+import uk.gov.justice.services.cakeshop.persistence.RecipeRepository;
+import uk.gov.justice.services.cakeshop.persistence.cache.RecipeCache;
+import uk.gov.justice.services.cakeshop.persistence.entity.Recipe;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+/**
+ * Looks up the photo id of a recipe, served from the {@link RecipeCache} when possible.
+ */
+@ApplicationScoped
+public class RecipePhotoIds {
+
+    @Inject
+    RecipeRepository recipeRepository;
+
+    @Inject
+    RecipeCache recipeCache;
+
+    /**
+     * @param recipeId the id of the recipe
+     * @return the photo id of the recipe, or null if the recipe does not exist or has no photograph
+     */
+    public UUID photoIdOf(final UUID recipeId) {
+        return recipeCache.get(recipeId, UUID.class, () -> Optional.ofNullable(recipeRepository.findBy(recipeId))
+                .map(Recipe::getPhotoId)
+                .orElse(null));
+    }
+}
@@ -0,0 +1,222 @@
+package uk.gov.justice.services.cakeshop.query.api;
+
+import static javax.servlet.http.HttpServletResponse.SC_NOT_FOUND;
+import static javax.servlet.http.HttpServletResponse.SC_NOT_MODIFIED;
+import static javax.servlet.http.HttpServletResponse.SC_PARTIAL_CONTENT;
+import static javax.servlet.http.HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE;
+import static uk.gov.justice.services.cakeshop.query.api.PhotographResponses.copy;
+import static uk.gov.justice.services.cakeshop.query.api.PhotographResponses.matchesAny;
+import static uk.gov.justice.services.cakeshop.query.api.PhotographResponses.mediaTypeOf;
+import static uk.gov.justice.services.cakeshop.query.api.PhotographResponses.uuidFrom;
+
+import uk.gov.justice.services.fileservice.api.FileRetriever;
+import uk.gov.justice.services.fileservice.api.FileServiceException;
+import uk.gov.justice.services.fileservice.domain.FileReference;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.inject.Inject;
+import javax.servlet.ServletException;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Downloads the photograph of a recipe, {@code GET /recipe-photographs/{recipeId}}.
+ *
+ * <p>The stored photograph is copied from the file store to the response through a fixed
+ * {@link PhotographResponses#BUFFER_SIZE} buffer, so a photograph is never held in memory
+ * whatever its size. A single HTTP byte range is served as partial content; other range requests
+ * get the whole photograph. The size of a photograph is recorded as it is first served whole, and
+ * until then a range request also gets the whole photograph, so the photograph is never read from
+ * the file store just to find its size.
+ *
+ * <p>The photo id is the entity tag. A stored photograph never changes, and adding a new one to a
+ * recipe gives it a new photo id, so a client revalidating with {@code If-None-Match} gets a
+ * {@code 304 Not Modified} from the cached photo id without the file store being read.
+ */
+@WebServlet(urlPatterns = "/recipe-photographs/*")
+public class RecipePhotographServlet extends HttpServlet {
+
+    private static final String ETAG = "ETag";
+    private static final String CACHE_CONTROL = "Cache-Control";
+    private static final String IF_NONE_MATCH = "If-None-Match";
+    private static final String IF_RANGE = "If-Range";
+    private static final String RANGE = "Range";
+    private static final String ACCEPT_RANGES = "Accept-Ranges";
+    private static final String CONTENT_RANGE = "Content-Range";
+    private static final String BYTES = "bytes";
+
+    private static final Pattern SINGLE_BYTE_RANGE = Pattern.compile("^bytes=(\\d*)-(\\d*)$");
+
+    @Inject
+    RecipePhotoIds recipePhotoIds;
+
+    @Inject
+    FileRetriever fileRetriever;
+
+    @Inject
+    PhotographSizes photographSizes;
+
+    @Override
+    protected void doGet(final HttpServletRequest request, final HttpServletResponse response) throws ServletException, IOException {
+        servePhotograph(request, response, true);
+    }
+
+    @Override
+    protected void doHead(final HttpServletRequest request, final HttpServletResponse response) throws ServletException, IOException {
+        servePhotograph(request, response, false);
+    }
+
+    private void servePhotograph(final HttpServletRequest request, final HttpServletResponse response, final boolean withContent) throws ServletException, IOException {
+        final Optional<UUID> recipeId = recipeIdFrom(request.getPathInfo());
+        final UUID photoId = recipeId.isPresent() ? recipePhotoIds.photoIdOf(recipeId.get()) : null;
+        if (photoId == null) {
+            response.sendError(SC_NOT_FOUND);
+            return;
+        }
+
+        final String entityTag = '"' + photoId.toString() + '"';
+        response.setHeader(ETAG, entityTag);
+        response.setHeader(CACHE_CONTROL, "no-cache");
+        response.setHeader(ACCEPT_RANGES, BYTES);
+
+        if (matchesAny(request.getHeader(IF_NONE_MATCH), entityTag)) {
+            response.setStatus(SC_NOT_MODIFIED);
+            return;
+        }
+
+        try {
+            final Optional<ByteRange> range = requestedRange(request, entityTag);
+            final OptionalLong size = photographSizes.sizeOf(photoId);
+
+            final Optional<FileReference> fileReference = fileRetriever.retrieve(photoId);
+            if (!fileReference.isPresent()) {
+                response.sendError(SC_NOT_FOUND);
+                return;
+            }
+
+            try (final FileReference file = fileReference.get();
+                 final InputStream content = file.getContentStream()) {
+                response.setContentType(mediaTypeOf(file));
+
+                if (range.isPresent() && size.isPresent()) {
+                    servePartial(content, range.get(), size.getAsLong(), response, withContent);
+                } else {
+                    if (size.isPresent()) {
+                        response.setContentLengthLong(size.getAsLong());
+                    }
+                    if (withContent) {
+                        photographSizes.record(photoId, copy(content, response.getOutputStream(), Long.MAX_VALUE));
+                    }
+                }
+            }
+        } catch (final FileServiceException e) {
+            throw new ServletException("Failed to retrieve photograph " + photoId, e);
+        }
+    }
+
+    private void servePartial(final InputStream content, final ByteRange range, final long size, final HttpServletResponse response, final boolean withContent) throws IOException {
+        if (!range.isSatisfiable(size)) {
+            response.setHeader(CONTENT_RANGE, BYTES + " */" + size);
+            response.setStatus(SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            return;
+        }
+
+        final long first = range.firstBytePosition(size);
+        final long last = range.lastBytePosition(size);
+        final long length = last - first + 1;
+
+        response.setStatus(SC_PARTIAL_CONTENT);
+        response.setHeader(CONTENT_RANGE, BYTES + " " + first + "-" + last + "/" + size);
+        response.setContentLengthLong(length);
+
+        if (withContent) {
+            skipFully(content, first);
+            copy(content, response.getOutputStream(), length);
+        }
+    }
+
+    private Optional<ByteRange> requestedRange(final HttpServletRequest request, final String entityTag) {
+        final String ifRange = request.getHeader(IF_RANGE);
+        if (ifRange != null && !ifRange.trim().equals(entityTag)) {
+            return Optional.empty();
+        }
+        return ByteRange.parse(request.getHeader(RANGE));
+    }
+
+    private static Optional<UUID> recipeIdFrom(final String pathInfo) {
+        return pathInfo == null || pathInfo.length() < 2 ? Optional.empty() : uuidFrom(pathInfo.substring(1));
+    }
+
+    private static void skipFully(final InputStream content, final long count) throws IOException {
+        long remaining = count;
+        while (remaining > 0) {
+            final long skipped = content.skip(remaining);
+            if (skipped > 0) {
+                remaining -= skipped;
+            } else if (content.read() == -1) {
+                throw new EOFException("Photograph ended before byte " + count);
+            } else {
+                remaining--;
+            }
+        }
+    }
+
+    /**
+     * A single {@code bytes=first-last} range, where either position may be missing: a missing last
+     * position runs to the end and a missing first position asks for the final last bytes.
+     */
+    private static class ByteRange {
+
+        private final Long first;
+        private final Long last;
+
+        private ByteRange(final Long first, final Long last) {
+            this.first = first;
+            this.last = last;
+        }
+
+        private static Optional<ByteRange> parse(final String range) {
+            if (range == null) {
+                return Optional.empty();
+            }
+
+            final Matcher matcher = SINGLE_BYTE_RANGE.matcher(range.trim());
+            if (!matcher.matches() || (matcher.group(1).isEmpty() && matcher.group(2).isEmpty())) {
+                return Optional.empty();
+            }
+
+            try {
+                final Long first = matcher.group(1).isEmpty() ? null : Long.valueOf(matcher.group(1));
+                final Long last = matcher.group(2).isEmpty() ? null : Long.valueOf(matcher.group(2));
+                if (first != null && last != null && last < first) {
+                    return Optional.empty();
+                }
+                return Optional.of(new ByteRange(first, last));
+            } catch (final NumberFormatException e) {
+                return Optional.empty();
+            }
+        }
+
+        private boolean isSatisfiable(final long size) {
+            return first == null ? last > 0 && size > 0 : first < size;
+        }
+
+        private long firstBytePosition(final long size) {
+            return first == null ? Math.max(0, size - last) : first;
+        }
+
+        private long lastBytePosition(final long size) {
+            return first == null || last == null ? size - 1 : Math.min(last, size - 1);
+        }
+    }
+}
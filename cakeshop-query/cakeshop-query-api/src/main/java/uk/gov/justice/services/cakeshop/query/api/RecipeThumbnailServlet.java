@@ -0,0 +1,105 @@
+package uk.gov.justice.services.cakeshop.query.api;
+
+import static java.util.concurrent.TimeUnit.DAYS;
+import static javax.servlet.http.HttpServletResponse.SC_NOT_FOUND;
+import static javax.servlet.http.HttpServletResponse.SC_NOT_MODIFIED;
+import static uk.gov.justice.services.cakeshop.query.api.PhotographResponses.copy;
+import static uk.gov.justice.services.cakeshop.query.api.PhotographResponses.matchesAny;
+import static uk.gov.justice.services.cakeshop.query.api.PhotographResponses.mediaTypeOf;
+import static uk.gov.justice.services.cakeshop.query.api.PhotographResponses.uuidFrom;
+
+import uk.gov.justice.services.cakeshop.persistence.RecipeThumbnailRepository;
+import uk.gov.justice.services.cakeshop.persistence.entity.RecipeThumbnail;
+import uk.gov.justice.services.cakeshop.persistence.entity.ThumbnailSize;
+import uk.gov.justice.services.fileservice.api.FileRetriever;
+import uk.gov.justice.services.fileservice.api.FileServiceException;
+import uk.gov.justice.services.fileservice.domain.FileReference;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+import java.util.UUID;
+
+import javax.inject.Inject;
+import javax.servlet.ServletException;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Downloads a thumbnail of the photograph of a recipe,
+ * {@code GET /recipe-thumbnails/{recipeId}/{size}}, where size is one of the
+ * {@link ThumbnailSize}s such as {@code small}. Thumbnails are generated in the background once a
+ * photograph is added, so a thumbnail is not found until that has completed.
+ *
+ * <p>Responses may be cached for {@link #MAX_AGE_DAYS} day and are tagged with the photo id and
+ * size, so revalidating after that gets a {@code 304 Not Modified} unless the recipe has a new
+ * photograph.
+ */
+@WebServlet(urlPatterns = "/recipe-thumbnails/*")
+public class RecipeThumbnailServlet extends HttpServlet {
+
+    static final long MAX_AGE_DAYS = 1;
+
+    private static final String ETAG = "ETag";
+    private static final String CACHE_CONTROL = "Cache-Control";
+    private static final String IF_NONE_MATCH = "If-None-Match";
+
+    @Inject
+    RecipePhotoIds recipePhotoIds;
+
+    @Inject
+    RecipeThumbnailRepository recipeThumbnailRepository;
+
+    @Inject
+    FileRetriever fileRetriever;
+
+    @Override
+    protected void doGet(final HttpServletRequest request, final HttpServletResponse response) throws ServletException, IOException {
+        final String[] path = request.getPathInfo() == null ? new String[0] : request.getPathInfo().substring(1).split("/");
+        final Optional<UUID> recipeId = path.length == 2 ? uuidFrom(path[0]) : Optional.empty();
+        final Optional<ThumbnailSize> size = path.length == 2 ? ThumbnailSize.fromName(path[1]) : Optional.empty();
+
+        final UUID photoId = recipeId.isPresent() && size.isPresent() ? recipePhotoIds.photoIdOf(recipeId.get()) : null;
+        if (photoId == null) {
+            response.sendError(SC_NOT_FOUND);
+            return;
+        }
+
+        final String entityTag = '"' + photoId.toString() + '-' + size.get().name() + '"';
+        if (matchesAny(request.getHeader(IF_NONE_MATCH), entityTag)) {
+            setCacheHeaders(response, entityTag);
+            response.setStatus(SC_NOT_MODIFIED);
+            return;
+        }
+
+        final RecipeThumbnail thumbnail = recipeThumbnailRepository.findOptionalByPhotoIdAndSize(photoId, size.get());
+        if (thumbnail == null) {
+            response.sendError(SC_NOT_FOUND);
+            return;
+        }
+
+        try {
+            final Optional<FileReference> fileReference = fileRetriever.retrieve(thumbnail.getFileId());
+            if (!fileReference.isPresent()) {
+                response.sendError(SC_NOT_FOUND);
+                return;
+            }
+
+            try (final FileReference file = fileReference.get();
+                 final InputStream content = file.getContentStream()) {
+                setCacheHeaders(response, entityTag);
+                response.setContentType(mediaTypeOf(file));
+                copy(content, response.getOutputStream(), Long.MAX_VALUE);
+            }
+        } catch (final FileServiceException e) {
+            throw new ServletException("Failed to retrieve thumbnail " + thumbnail.getFileId(), e);
+        }
+    }
+
+    private static void setCacheHeaders(final HttpServletResponse response, final String entityTag) {
+        response.setHeader(ETAG, entityTag);
+        response.setHeader(CACHE_CONTROL, "public, max-age=" + DAYS.toSeconds(MAX_AGE_DAYS));
+    }
+}
@@ -6,6 +6,7 @@ import uk.gov.justice.services.core.annotation.Handles;
 import uk.gov.justice.services.core.annotation.ServiceComponent;
 import uk.gov.justice.services.core.requester.Requester;
 import uk.gov.justice.services.cakeshop.query.api.request.SearchRecipes;
+import uk.gov.justice.services.cakeshop.query.api.request.SearchRecipesByIngredient;
 import uk.gov.justice.services.cakeshop.query.api.response.RecipesView;
 import uk.gov.justice.services.messaging.Envelope;
 import uk.gov.justice.services.messaging.JsonEnvelope;
@@ -33,6 +34,16 @@ public class RecipesQueryApi {
         return requester.request(query, RecipesView.class);
     }
 
+    @Handles("cakeshop.search-recipes-by-ingredient")
+    public Envelope<RecipesView> searchRecipesByIngredient(final Envelope<SearchRecipesByIngredient> query) {
+        return requester.request(query, RecipesView.class);
+    }
+
+    @Handles("cakeshop.get-ingredient-recipes")
+    public JsonEnvelope getIngredientRecipes(final JsonEnvelope query) {
+        return requester.request(query);
+    }
+
     @Handles("cakeshop.get-recipe-photograph")
     public JsonEnvelope getRecipePhotograph(final JsonEnvelope query) {
         return requester.request(query);
@@ -6,18 +6,39 @@ public class SearchCake {
 
     private final UUID id;
     private final String name;
+    private final Integer pagesize;
+    private final String pageToken;
 
-    public SearchCake(final UUID id, final String name) {
+    public SearchCake(final UUID id, final String name, final Integer pagesize, final String pageToken) {
         this.id = id;
         this.name = name;
+        this.pagesize = pagesize;
+        this.pageToken = pageToken;
     }
 
     public UUID getId() {
         return id;
     }
 
+    /**
+     * @return the cake name, used as a partial match filter when searching.
+     */
     public String getName() {
         return name;
     }
 
+    /**
+     * @return the maximum number of cakes per page, or null to list all matching cakes.
+     */
+    public Integer getPagesize() {
+        return pagesize;
+    }
+
+    /**
+     * @return the nextPageToken of the previous page, or null for the first page.
+     */
+    public String getPageToken() {
+        return pageToken;
+    }
+
 }
@@ -5,11 +5,13 @@ public class SearchRecipes {
     private int pagesize;
     private String name;
     private boolean glutenFree;
+    private String pageToken;
 
-    public SearchRecipes(final int pagesize, final String name, final boolean glutenFree) {
+    public SearchRecipes(final int pagesize, final String name, final boolean glutenFree, final String pageToken) {
         this.pagesize = pagesize;
         this.name = name;
         this.glutenFree = glutenFree;
+        this.pageToken = pageToken;
     }
 
     public int getPagesize() {
@@ -35,4 +37,12 @@ public class SearchRecipes {
     public void setGlutenFree(final boolean glutenFree) {
         this.glutenFree = glutenFree;
     }
+
+    public String getPageToken() {
+        return pageToken;
+    }
+
+    public void setPageToken(final String pageToken) {
+        this.pageToken = pageToken;
+    }
 }
@@ -0,0 +1,50 @@
+package uk.gov.justice.services.cakeshop.query.api.request;
+
+import java.util.List;
+
+public class SearchRecipesByIngredient {
+
+    private int pagesize;
+    private List<String> include;
+    private List<String> exclude;
+    private String pageToken;
+
+    public SearchRecipesByIngredient(final int pagesize, final List<String> include, final List<String> exclude, final String pageToken) {
+        this.pagesize = pagesize;
+        this.include = include;
+        this.exclude = exclude;
+        this.pageToken = pageToken;
+    }
+
+    public int getPagesize() {
+        return pagesize;
+    }
+
+    public void setPagesize(final int pagesize) {
+        this.pagesize = pagesize;
+    }
+
+    public List<String> getInclude() {
+        return include;
+    }
+
+    public void setInclude(final List<String> include) {
+        this.include = include;
+    }
+
+    public List<String> getExclude() {
+        return exclude;
+    }
+
+    public void setExclude(final List<String> exclude) {
+        this.exclude = exclude;
+    }
+
+    public String getPageToken() {
+        return pageToken;
+    }
+
+    public void setPageToken(final String pageToken) {
+        this.pageToken = pageToken;
+    }
+}
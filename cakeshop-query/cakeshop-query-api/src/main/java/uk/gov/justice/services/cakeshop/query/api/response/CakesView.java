@@ -10,13 +10,26 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 public class CakesView {
 
     private final List<SearchCake> cakes;
+    private final String nextPageToken;
+
+    public CakesView(final List<SearchCake> cakes) {
+        this(cakes, null);
+    }
 
     @JsonCreator
-    public CakesView(@JsonProperty final List<SearchCake> cakes) {
+    public CakesView(@JsonProperty final List<SearchCake> cakes, @JsonProperty final String nextPageToken) {
         this.cakes = cakes;
+        this.nextPageToken = nextPageToken;
     }
 
     public List<SearchCake> getCakes() {
         return cakes;
     }
+
+    /**
+     * @return opaque token requesting the page after this one, or null if this is the last page.
+     */
+    public String getNextPageToken() {
+        return nextPageToken;
+    }
 }
@@ -14,26 +14,40 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 public class RecipesView {
 
     private final List<RecipeView> recipes;
+    private final String nextPageToken;
+
+    public RecipesView(final List<RecipeView> recipes) {
+        this(recipes, null);
+    }
 
     @JsonCreator
-    public RecipesView(@JsonProperty final List<RecipeView> recipes) {
+    public RecipesView(@JsonProperty final List<RecipeView> recipes, @JsonProperty final String nextPageToken) {
         this.recipes = recipes;
+        this.nextPageToken = nextPageToken;
     }
 
     public List<RecipeView> getRecipes() {
         return recipes;
     }
 
+    /**
+     * @return opaque token requesting the page after this one, or null if this is the last page.
+     */
+    public String getNextPageToken() {
+        return nextPageToken;
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         final RecipesView that = (RecipesView) o;
-        return Objects.equals(recipes, that.getRecipes());
+        return Objects.equals(recipes, that.getRecipes()) &&
+                Objects.equals(nextPageToken, that.getNextPageToken());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(recipes);
+        return Objects.hash(recipes, nextPageToken);
     }
 }
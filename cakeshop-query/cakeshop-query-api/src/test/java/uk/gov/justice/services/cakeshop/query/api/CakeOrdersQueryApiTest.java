@@ -15,6 +15,9 @@ public class CakeOrdersQueryApiTest {
         assertThat(CakeOrdersQueryApi.class, isHandlerClass(QUERY_API)
                 .with(method("getOrder")
                         .thatHandles("cakeshop.get-order")
+                        .withRequesterPassThrough())
+                .with(method("searchOrdersByDeliveryWindow")
+                        .thatHandles("cakeshop.search-orders-by-delivery-window")
                         .withRequesterPassThrough()));
     }
 }
@@ -0,0 +1,110 @@
+package uk.gov.justice.services.cakeshop.query.api;
+
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singletonList;
+import static java.util.UUID.randomUUID;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static uk.gov.justice.services.cakeshop.persistence.entity.CommandStatus.CAKE_MADE;
+
+import uk.gov.justice.services.cakeshop.persistence.CommandStatusRepository;
+import uk.gov.justice.services.cakeshop.persistence.notification.CommandStatusNotifier;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import javax.enterprise.concurrent.ManagedScheduledExecutorService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class CommandStatusPollerTest {
+
+    @Mock
+    private CommandStatusRepository commandStatusRepository;
+
+    @Mock
+    private CommandStatusNotifier commandStatusNotifier;
+
+    @Mock
+    private ManagedScheduledExecutorService managedScheduledExecutorService;
+
+    private final CommandStatusPoller commandStatusPoller = new CommandStatusPoller();
+
+    @BeforeEach
+    public void setup() {
+        commandStatusPoller.commandStatusRepository = commandStatusRepository;
+        commandStatusPoller.commandStatusNotifier = commandStatusNotifier;
+        commandStatusPoller.managedScheduledExecutorService = managedScheduledExecutorService;
+    }
+
+    @Test
+    public void shouldOnlyScheduleOnePoll() {
+        commandStatusPoller.start();
+        commandStatusPoller.start();
+
+        verify(managedScheduledExecutorService).scheduleWithFixedDelay(
+                any(Runnable.class),
+                eq(CommandStatusPoller.POLL_MILLIS),
+                eq(CommandStatusPoller.POLL_MILLIS),
+                eq(MILLISECONDS));
+    }
+
+    @Test
+    public void shouldWakeWaitersForCakesMade() {
+        final UUID madeCommandId = randomUUID();
+        final Set<UUID> awaited = new HashSet<>(singletonList(madeCommandId));
+        awaited.add(randomUUID());
+        final List<UUID> made = singletonList(madeCommandId);
+        when(commandStatusNotifier.awaitedCommandIds()).thenReturn(awaited);
+        when(commandStatusRepository.findCommandIdsWithStatus(anyCollection(), eq(CAKE_MADE))).thenReturn(made);
+
+        commandStatusPoller.poll();
+
+        verify(commandStatusNotifier).notifyRecorded(made);
+    }
+
+    @Test
+    public void shouldLookForAwaitedCommandsInBatches() {
+        final Set<UUID> awaited = new HashSet<>();
+        for (int i = 0; i <= CommandStatusPoller.BATCH_SIZE; i++) {
+            awaited.add(randomUUID());
+        }
+        when(commandStatusNotifier.awaitedCommandIds()).thenReturn(awaited);
+
+        commandStatusPoller.poll();
+
+        verify(commandStatusRepository, times(2)).findCommandIdsWithStatus(anyCollection(), eq(CAKE_MADE));
+    }
+
+    @Test
+    public void shouldNotLookForCommandsWhenNoneAreAwaited() {
+        when(commandStatusNotifier.awaitedCommandIds()).thenReturn(emptySet());
+
+        commandStatusPoller.poll();
+
+        verify(commandStatusRepository, never()).findCommandIdsWithStatus(anyCollection(), any());
+    }
+
+    @Test
+    public void shouldKeepPollingWhenStatusesCannotBeRead() {
+        when(commandStatusNotifier.awaitedCommandIds()).thenReturn(new HashSet<>(singletonList(randomUUID())));
+        when(commandStatusRepository.findCommandIdsWithStatus(anyCollection(), eq(CAKE_MADE))).thenThrow(new IllegalStateException("view store unavailable"));
+
+        commandStatusPoller.poll();
+
+        verify(commandStatusNotifier, never()).notifyRecorded(anyCollection());
+    }
+}
@@ -0,0 +1,193 @@
+package uk.gov.justice.services.cakeshop.query.api;
+
+import static java.util.UUID.randomUUID;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static javax.servlet.http.HttpServletResponse.SC_ACCEPTED;
+import static javax.servlet.http.HttpServletResponse.SC_NOT_FOUND;
+import static javax.servlet.http.HttpServletResponse.SC_OK;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.longThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static uk.gov.justice.services.cakeshop.persistence.entity.CommandStatus.CAKE_MADE;
+import static uk.gov.justice.services.cakeshop.persistence.entity.CommandStatus.MAKING_CAKE;
+
+import uk.gov.justice.services.cakeshop.persistence.CommandStatusRepository;
+import uk.gov.justice.services.cakeshop.persistence.entity.CommandStatus;
+import uk.gov.justice.services.cakeshop.persistence.notification.CommandStatusNotifier;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class CommandStatusServletTest {
+
+    private static final UUID COMMAND_ID = randomUUID();
+    private static final UUID CAKE_ID = randomUUID();
+
+    @Mock
+    private CommandStatusRepository commandStatusRepository;
+
+    @Mock
+    private CommandStatusNotifier commandStatusNotifier;
+
+    @Mock
+    private CommandStatusPoller commandStatusPoller;
+
+    @Mock
+    private HttpServletRequest request;
+
+    @Mock
+    private HttpServletResponse response;
+
+    @Mock
+    private AsyncContext asyncContext;
+
+    private final Map<String, Object> attributes = new HashMap<>();
+
+    private final StringWriter responseContent = new StringWriter();
+
+    private final CommandStatusServlet servlet = new CommandStatusServlet();
+
+    @BeforeEach
+    public void setup() throws Exception {
+        servlet.commandStatusRepository = commandStatusRepository;
+        servlet.commandStatusNotifier = commandStatusNotifier;
+        servlet.commandStatusPoller = commandStatusPoller;
+        servlet.unknownAfterSeconds = "5";
+
+        lenient().when(request.getPathInfo()).thenReturn("/" + COMMAND_ID);
+        lenient().when(request.getAttribute(anyString())).thenAnswer(invocation -> attributes.get(invocation.<String>getArgument(0)));
+        lenient().doAnswer(invocation -> attributes.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(request).setAttribute(anyString(), any());
+        lenient().when(request.startAsync()).thenReturn(asyncContext);
+        lenient().when(response.getWriter()).thenReturn(new PrintWriter(responseContent));
+    }
+
+    @Test
+    public void shouldReturnMadeCake() throws Exception {
+        when(commandStatusRepository.findBy(COMMAND_ID)).thenReturn(new CommandStatus(COMMAND_ID, CAKE_MADE, CAKE_ID));
+
+        servlet.doGet(request, response);
+
+        verify(response).setStatus(SC_OK);
+        assertThat(responseContent.toString(), containsString("\"status\":\"Cake Made\""));
+        assertThat(responseContent.toString(), containsString("\"cakeId\":\"" + CAKE_ID + "\""));
+        verify(request, never()).startAsync();
+    }
+
+    @Test
+    public void shouldReturnCakeStillBeingMadeWithoutWaitingByDefault() throws Exception {
+        when(commandStatusRepository.findBy(COMMAND_ID)).thenReturn(new CommandStatus(COMMAND_ID, MAKING_CAKE, CAKE_ID));
+
+        servlet.doGet(request, response);
+
+        verify(response).setStatus(SC_ACCEPTED);
+        assertThat(responseContent.toString(), containsString("\"status\":\"Making Cake\""));
+        verify(request, never()).startAsync();
+    }
+
+    @Test
+    public void shouldWaitForCakeWithoutHoldingThreadAndLookAgainWhenWoken() throws Exception {
+        when(request.getParameter("wait")).thenReturn("10");
+        when(commandStatusRepository.findBy(COMMAND_ID)).thenReturn(new CommandStatus(COMMAND_ID, MAKING_CAKE, CAKE_ID));
+        final ArgumentCaptor<Runnable> waiter = ArgumentCaptor.forClass(Runnable.class);
+
+        servlet.doGet(request, response);
+
+        verify(asyncContext).setTimeout(longThat(timeout -> timeout > SECONDS.toMillis(9) && timeout <= SECONDS.toMillis(10)));
+        verify(commandStatusNotifier).subscribe(any(), waiter.capture());
+        verify(commandStatusPoller).start();
+        verify(response, never()).setStatus(SC_ACCEPTED);
+
+        waiter.getValue().run();
+        waiter.getValue().run();
+
+        verify(asyncContext).dispatch();
+        verify(commandStatusNotifier).unsubscribe(COMMAND_ID, waiter.getValue());
+
+        when(commandStatusRepository.findBy(COMMAND_ID)).thenReturn(new CommandStatus(COMMAND_ID, CAKE_MADE, CAKE_ID));
+
+        servlet.doGet(request, response);
+
+        verify(response).setStatus(SC_OK);
+        assertThat(responseContent.toString(), containsString("\"status\":\"Cake Made\""));
+    }
+
+    @Test
+    public void shouldStreamStatusAsServerSentEvents() throws Exception {
+        when(request.getHeader("Accept")).thenReturn("text/event-stream");
+        when(commandStatusRepository.findBy(COMMAND_ID)).thenReturn(new CommandStatus(COMMAND_ID, MAKING_CAKE, CAKE_ID));
+
+        servlet.doGet(request, response);
+
+        verify(response).setContentType("text/event-stream");
+        assertThat(responseContent.toString(), is("event: status\ndata: {\"commandId\":\"" + COMMAND_ID + "\",\"status\":\"Making Cake\",\"cakeId\":\"" + CAKE_ID + "\"}\n\n"));
+        verify(request).startAsync();
+
+        when(commandStatusRepository.findBy(COMMAND_ID)).thenReturn(new CommandStatus(COMMAND_ID, CAKE_MADE, CAKE_ID));
+
+        servlet.doGet(request, response);
+
+        assertThat(responseContent.toString(), containsString("data: {\"commandId\":\"" + COMMAND_ID + "\",\"status\":\"Cake Made\",\"cakeId\":\"" + CAKE_ID + "\"}\n\n"));
+    }
+
+    @Test
+    public void shouldLookForUnknownCommandAgainUntilItIsKnownToBeUnknown() throws Exception {
+        final ArgumentCaptor<Runnable> waiter = ArgumentCaptor.forClass(Runnable.class);
+
+        servlet.doGet(request, response);
+
+        verify(asyncContext).setTimeout(longThat(timeout -> timeout > SECONDS.toMillis(4) && timeout <= SECONDS.toMillis(5)));
+        verify(commandStatusNotifier).subscribe(any(), waiter.capture());
+        verify(response, never()).sendError(SC_NOT_FOUND);
+
+        waiter.getValue().run();
+        when(commandStatusRepository.findBy(COMMAND_ID)).thenReturn(new CommandStatus(COMMAND_ID, MAKING_CAKE, CAKE_ID));
+
+        servlet.doGet(request, response);
+
+        verify(response).setStatus(SC_ACCEPTED);
+        assertThat(responseContent.toString(), containsString("\"status\":\"Making Cake\""));
+    }
+
+    @Test
+    public void shouldReturnNotFoundForUnknownCommandOnceItIsKnownToBeUnknown() throws Exception {
+        servlet.unknownAfterSeconds = "0";
+
+        servlet.doGet(request, response);
+
+        verify(response).sendError(SC_NOT_FOUND);
+        verify(request, never()).startAsync();
+    }
+
+    @Test
+    public void shouldReturnNotFoundForInvalidCommandId() throws Exception {
+        when(request.getPathInfo()).thenReturn("/not-a-command");
+
+        servlet.doGet(request, response);
+
+        verify(response).sendError(SC_NOT_FOUND);
+    }
+}
@@ -14,6 +14,9 @@ public class IndexQueryApiTest {
         assertThat(IndexQueryApi.class, isHandlerClass(QUERY_API)
                 .with(method("getIndex")
                         .thatHandles("cakeshop.get-index")
+                        .withRequesterPassThrough())
+                .with(method("searchIndexesByDeliveryDate")
+                        .thatHandles("cakeshop.search-indexes-by-delivery-date")
                         .withRequesterPassThrough()));
     }
 
@@ -0,0 +1,19 @@
+package uk.gov.justice.services.cakeshop.query.api;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static uk.gov.justice.services.core.annotation.Component.QUERY_API;
+import static uk.gov.justice.services.test.utils.core.matchers.HandlerClassMatcher.isHandlerClass;
+import static uk.gov.justice.services.test.utils.core.matchers.HandlerMethodMatcher.method;
+
+import org.junit.jupiter.api.Test;
+
+public class ProductionScheduleQueryApiTest {
+
+    @Test
+    public void shouldHandleProductionScheduleQuery() throws Exception {
+        assertThat(ProductionScheduleQueryApi.class, isHandlerClass(QUERY_API)
+                .with(method("getProductionSchedule")
+                        .thatHandles("cakeshop.get-production-schedule")
+                        .withRequesterPassThrough()));
+    }
+}
@@ -0,0 +1,250 @@
+package uk.gov.justice.services.cakeshop.query.api;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.UUID.randomUUID;
+import static javax.json.Json.createObjectBuilder;
+import static javax.servlet.http.HttpServletResponse.SC_NOT_FOUND;
+import static javax.servlet.http.HttpServletResponse.SC_NOT_MODIFIED;
+import static javax.servlet.http.HttpServletResponse.SC_PARTIAL_CONTENT;
+import static javax.servlet.http.HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import uk.gov.justice.services.cakeshop.persistence.RecipeRepository;
+import uk.gov.justice.services.cakeshop.persistence.cache.RecipeCache;
+import uk.gov.justice.services.cakeshop.persistence.entity.Recipe;
+import uk.gov.justice.services.fileservice.api.FileRetriever;
+import uk.gov.justice.services.fileservice.domain.FileReference;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class RecipePhotographServletTest {
+
+    private static final UUID RECIPE_ID = randomUUID();
+    private static final UUID PHOTO_ID = randomUUID();
+    private static final String ENTITY_TAG = "\"" + PHOTO_ID + "\"";
+    private static final byte[] PHOTOGRAPH = "0123456789".getBytes(UTF_8);
+
+    @Mock
+    private RecipeRepository recipeRepository;
+
+    @Mock
+    private FileRetriever fileRetriever;
+
+    @Mock
+    private FileReference fileReference;
+
+    @Mock
+    private HttpServletRequest request;
+
+    @Mock
+    private HttpServletResponse response;
+
+    private final ByteArrayOutputStream responseContent = new ByteArrayOutputStream();
+
+    private final PhotographSizes photographSizes = new PhotographSizes();
+
+    private final RecipePhotographServlet servlet = new RecipePhotographServlet();
+
+    @BeforeEach
+    public void setup() throws Exception {
+        final RecipePhotoIds recipePhotoIds = new RecipePhotoIds();
+        recipePhotoIds.recipeRepository = recipeRepository;
+        recipePhotoIds.recipeCache = new RecipeCache();
+        servlet.recipePhotoIds = recipePhotoIds;
+        servlet.fileRetriever = fileRetriever;
+        servlet.photographSizes = photographSizes;
+
+        lenient().when(request.getPathInfo()).thenReturn("/" + RECIPE_ID);
+        lenient().when(recipeRepository.findBy(RECIPE_ID)).thenReturn(new Recipe(RECIPE_ID, "Chocolate cake", false, PHOTO_ID));
+        lenient().when(fileRetriever.retrieve(PHOTO_ID)).thenReturn(Optional.of(fileReference));
+        lenient().when(fileReference.getContentStream()).thenAnswer(invocation -> new ByteArrayInputStream(PHOTOGRAPH));
+        lenient().when(fileReference.getMetadata()).thenReturn(createObjectBuilder().add("mediaType", "image/jpeg").build());
+        lenient().when(response.getOutputStream()).thenReturn(new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(final WriteListener writeListener) {
+            }
+
+            @Override
+            public void write(final int b) {
+                responseContent.write(b);
+            }
+        });
+    }
+
+    @Test
+    public void shouldStreamWholePhotographTaggedWithPhotoId() throws Exception {
+        servlet.doGet(request, response);
+
+        assertThat(responseContent.toByteArray(), is(PHOTOGRAPH));
+        verify(response).setHeader("ETag", ENTITY_TAG);
+        verify(response).setHeader("Accept-Ranges", "bytes");
+        verify(response).setContentType("image/jpeg");
+        verify(response, never()).setStatus(anyInt());
+        assertThat(photographSizes.sizeOf(PHOTO_ID), is(OptionalLong.of(PHOTOGRAPH.length)));
+    }
+
+    @Test
+    public void shouldSetContentLengthOncePhotographSizeIsKnown() throws Exception {
+        photographSizes.record(PHOTO_ID, PHOTOGRAPH.length);
+
+        servlet.doGet(request, response);
+
+        verify(response).setContentLengthLong(PHOTOGRAPH.length);
+        assertThat(responseContent.toByteArray(), is(PHOTOGRAPH));
+    }
+
+    @Test
+    public void shouldReturnNotModifiedWithoutReadingFileStoreWhenEntityTagMatches() throws Exception {
+        lenient().when(request.getHeader("If-None-Match")).thenReturn("\"other\", " + ENTITY_TAG);
+
+        servlet.doGet(request, response);
+        servlet.doGet(request, response);
+
+        verify(response, times(2)).setStatus(SC_NOT_MODIFIED);
+        verify(recipeRepository, times(1)).findBy(RECIPE_ID);
+        verify(fileRetriever, never()).retrieve(any());
+        assertThat(responseContent.size(), is(0));
+    }
+
+    @Test
+    public void shouldStreamRequestedByteRange() throws Exception {
+        photographSizes.record(PHOTO_ID, PHOTOGRAPH.length);
+        lenient().when(request.getHeader("Range")).thenReturn("bytes=2-5");
+
+        servlet.doGet(request, response);
+
+        verify(response).setStatus(SC_PARTIAL_CONTENT);
+        verify(response).setHeader("Content-Range", "bytes 2-5/10");
+        verify(response).setContentLengthLong(4);
+        assertThat(new String(responseContent.toByteArray(), UTF_8), is("2345"));
+    }
+
+    @Test
+    public void shouldStreamSuffixByteRangeUsingRecordedSize() throws Exception {
+        photographSizes.record(PHOTO_ID, PHOTOGRAPH.length);
+        lenient().when(request.getHeader("Range")).thenReturn("bytes=-3");
+
+        servlet.doGet(request, response);
+
+        verify(response).setStatus(SC_PARTIAL_CONTENT);
+        verify(response).setHeader("Content-Range", "bytes 7-9/10");
+        verify(fileRetriever, times(1)).retrieve(PHOTO_ID);
+        assertThat(new String(responseContent.toByteArray(), UTF_8), is("789"));
+    }
+
+    @Test
+    public void shouldStreamWholePhotographForByteRangeUntilItsSizeIsKnown() throws Exception {
+        lenient().when(request.getHeader("Range")).thenReturn("bytes=2-5");
+
+        servlet.doGet(request, response);
+
+        verify(response, never()).setStatus(anyInt());
+        verify(fileRetriever, times(1)).retrieve(PHOTO_ID);
+        assertThat(responseContent.toByteArray(), is(PHOTOGRAPH));
+        assertThat(photographSizes.sizeOf(PHOTO_ID), is(OptionalLong.of(PHOTOGRAPH.length)));
+    }
+
+    @Test
+    public void shouldRejectRangeBeyondEndOfPhotograph() throws Exception {
+        photographSizes.record(PHOTO_ID, PHOTOGRAPH.length);
+        lenient().when(request.getHeader("Range")).thenReturn("bytes=10-");
+
+        servlet.doGet(request, response);
+
+        verify(response).setStatus(SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+        verify(response).setHeader("Content-Range", "bytes */10");
+        assertThat(responseContent.size(), is(0));
+    }
+
+    @Test
+    public void shouldStreamWholePhotographWhenIfRangeDoesNotMatch() throws Exception {
+        lenient().when(request.getHeader("If-Range")).thenReturn("\"" + randomUUID() + "\"");
+
+        servlet.doGet(request, response);
+
+        verify(request, never()).getHeader("Range");
+        verify(response, never()).setStatus(anyInt());
+        assertThat(responseContent.toByteArray(), is(PHOTOGRAPH));
+    }
+
+    @Test
+    public void shouldStreamWholePhotographForMultipleRanges() throws Exception {
+        lenient().when(request.getHeader("Range")).thenReturn("bytes=0-1,4-5");
+
+        servlet.doGet(request, response);
+
+        verify(response, never()).setStatus(anyInt());
+        assertThat(responseContent.toByteArray(), is(PHOTOGRAPH));
+    }
+
+    @Test
+    public void shouldSendHeadersOnlyForHead() throws Exception {
+        photographSizes.record(PHOTO_ID, PHOTOGRAPH.length);
+
+        servlet.doHead(request, response);
+
+        verify(response).setContentLengthLong(PHOTOGRAPH.length);
+        verify(response).setHeader("ETag", ENTITY_TAG);
+        verify(response, never()).getOutputStream();
+    }
+
+    @Test
+    public void shouldReturnNotFoundForRecipeWithoutPhotograph() throws Exception {
+        when(recipeRepository.findBy(RECIPE_ID)).thenReturn(new Recipe(RECIPE_ID, "Chocolate cake", false, null));
+
+        servlet.doGet(request, response);
+
+        verify(response).sendError(SC_NOT_FOUND);
+        verify(fileRetriever, never()).retrieve(any());
+    }
+
+    @Test
+    public void shouldReturnNotFoundForInvalidRecipeId() throws Exception {
+        when(request.getPathInfo()).thenReturn("/not-a-recipe");
+
+        servlet.doGet(request, response);
+
+        verify(response).sendError(SC_NOT_FOUND);
+        verify(recipeRepository, never()).findBy(any());
+    }
+
+    @Test
+    public void shouldReturnNotFoundWhenPhotographIsMissingFromFileStore() throws Exception {
+        when(fileRetriever.retrieve(PHOTO_ID)).thenReturn(Optional.empty());
+
+        servlet.doGet(request, response);
+
+        verify(response).sendError(SC_NOT_FOUND);
+        verify(response, never()).setContentLengthLong(anyLong());
+    }
+}
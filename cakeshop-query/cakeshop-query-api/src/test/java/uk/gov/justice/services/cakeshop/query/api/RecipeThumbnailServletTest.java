@@ -0,0 +1,154 @@
+package uk.gov.justice.services.cakeshop.query.api;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.UUID.randomUUID;
+import static javax.json.Json.createObjectBuilder;
+import static javax.servlet.http.HttpServletResponse.SC_NOT_FOUND;
+import static javax.servlet.http.HttpServletResponse.SC_NOT_MODIFIED;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static uk.gov.justice.services.cakeshop.persistence.entity.ThumbnailSize.MEDIUM;
+
+import uk.gov.justice.services.cakeshop.persistence.RecipeRepository;
+import uk.gov.justice.services.cakeshop.persistence.RecipeThumbnailRepository;
+import uk.gov.justice.services.cakeshop.persistence.cache.RecipeCache;
+import uk.gov.justice.services.cakeshop.persistence.entity.Recipe;
+import uk.gov.justice.services.cakeshop.persistence.entity.RecipeThumbnail;
+import uk.gov.justice.services.fileservice.api.FileRetriever;
+import uk.gov.justice.services.fileservice.domain.FileReference;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Optional;
+import java.util.UUID;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class RecipeThumbnailServletTest {
+
+    private static final UUID RECIPE_ID = randomUUID();
+    private static final UUID PHOTO_ID = randomUUID();
+    private static final UUID THUMBNAIL_FILE_ID = randomUUID();
+    private static final String ENTITY_TAG = "\"" + PHOTO_ID + "-MEDIUM\"";
+    private static final byte[] THUMBNAIL = "thumbnail".getBytes(UTF_8);
+
+    @Mock
+    private RecipeRepository recipeRepository;
+
+    @Mock
+    private RecipeThumbnailRepository recipeThumbnailRepository;
+
+    @Mock
+    private FileRetriever fileRetriever;
+
+    @Mock
+    private FileReference fileReference;
+
+    @Mock
+    private HttpServletRequest request;
+
+    @Mock
+    private HttpServletResponse response;
+
+    private final ByteArrayOutputStream responseContent = new ByteArrayOutputStream();
+
+    private final RecipeThumbnailServlet servlet = new RecipeThumbnailServlet();
+
+    @BeforeEach
+    public void setup() throws Exception {
+        final RecipePhotoIds recipePhotoIds = new RecipePhotoIds();
+        recipePhotoIds.recipeRepository = recipeRepository;
+        recipePhotoIds.recipeCache = new RecipeCache();
+        servlet.recipePhotoIds = recipePhotoIds;
+        servlet.recipeThumbnailRepository = recipeThumbnailRepository;
+        servlet.fileRetriever = fileRetriever;
+
+        lenient().when(request.getPathInfo()).thenReturn("/" + RECIPE_ID + "/medium");
+        lenient().when(recipeRepository.findBy(RECIPE_ID)).thenReturn(new Recipe(RECIPE_ID, "Chocolate cake", false, PHOTO_ID));
+        lenient().when(recipeThumbnailRepository.findOptionalByPhotoIdAndSize(PHOTO_ID, MEDIUM)).thenReturn(new RecipeThumbnail(THUMBNAIL_FILE_ID, PHOTO_ID, MEDIUM));
+        lenient().when(fileRetriever.retrieve(THUMBNAIL_FILE_ID)).thenReturn(Optional.of(fileReference));
+        lenient().when(fileReference.getContentStream()).thenReturn(new ByteArrayInputStream(THUMBNAIL));
+        lenient().when(fileReference.getMetadata()).thenReturn(createObjectBuilder().add("mediaType", "image/jpeg").build());
+        lenient().when(response.getOutputStream()).thenReturn(new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(final WriteListener writeListener) {
+            }
+
+            @Override
+            public void write(final int b) {
+                responseContent.write(b);
+            }
+        });
+    }
+
+    @Test
+    public void shouldStreamThumbnailWithLongCacheHeaders() throws Exception {
+        servlet.doGet(request, response);
+
+        assertThat(responseContent.toByteArray(), is(THUMBNAIL));
+        verify(response).setContentType("image/jpeg");
+        verify(response).setHeader("ETag", ENTITY_TAG);
+        verify(response).setHeader("Cache-Control", "public, max-age=86400");
+    }
+
+    @Test
+    public void shouldReturnNotModifiedWithoutReadingFileStoreWhenEntityTagMatches() throws Exception {
+        lenient().when(request.getHeader("If-None-Match")).thenReturn(ENTITY_TAG);
+
+        servlet.doGet(request, response);
+
+        verify(response).setStatus(SC_NOT_MODIFIED);
+        verify(recipeThumbnailRepository, never()).findOptionalByPhotoIdAndSize(any(), any());
+        verify(fileRetriever, never()).retrieve(any());
+    }
+
+    @Test
+    public void shouldReturnNotFoundUntilThumbnailIsGenerated() throws Exception {
+        when(recipeThumbnailRepository.findOptionalByPhotoIdAndSize(PHOTO_ID, MEDIUM)).thenReturn(null);
+
+        servlet.doGet(request, response);
+
+        verify(response).sendError(SC_NOT_FOUND);
+        verify(fileRetriever, never()).retrieve(any());
+    }
+
+    @Test
+    public void shouldReturnNotFoundForUnknownSize() throws Exception {
+        when(request.getPathInfo()).thenReturn("/" + RECIPE_ID + "/huge");
+
+        servlet.doGet(request, response);
+
+        verify(response).sendError(SC_NOT_FOUND);
+        verify(recipeRepository, never()).findBy(any());
+    }
+
+    @Test
+    public void shouldReturnNotFoundForRecipeWithoutPhotograph() throws Exception {
+        when(recipeRepository.findBy(RECIPE_ID)).thenReturn(new Recipe(RECIPE_ID, "Chocolate cake", false, null));
+
+        servlet.doGet(request, response);
+
+        verify(response).sendError(SC_NOT_FOUND);
+        verify(recipeThumbnailRepository, never()).findOptionalByPhotoIdAndSize(any(), any());
+    }
+}
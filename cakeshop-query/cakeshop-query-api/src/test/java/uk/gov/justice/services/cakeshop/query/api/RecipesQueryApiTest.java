@@ -24,6 +24,12 @@ public class RecipesQueryApiTest {
                         method("queryRecipes")
                                 .thatHandles("cakeshop.query-recipes")
                                 .withRequesterPassThrough(),
+                        method("searchRecipesByIngredient")
+                                .thatHandles("cakeshop.search-recipes-by-ingredient")
+                                .withRequesterPassThrough(),
+                        method("getIngredientRecipes")
+                                .thatHandles("cakeshop.get-ingredient-recipes")
+                                .withRequesterPassThrough(),
                         method("getRecipePhotograph")
                                 .thatHandles("cakeshop.get-recipe-photograph")
                                 .withRequesterPassThrough()
@@ -1,20 +1,36 @@
 package uk.gov.justice.services.cakeshop.query.view;
 
+import static uk.gov.justice.services.cakeshop.query.view.PageSizes.pageSizeFrom;
 import static uk.gov.justice.services.core.enveloper.Enveloper.envelop;
+import static uk.gov.justice.services.messaging.JsonObjects.getBoolean;
 
+import uk.gov.justice.services.adapter.rest.exception.BadRequestException;
 import uk.gov.justice.services.core.annotation.Component;
 import uk.gov.justice.services.core.annotation.Handles;
 import uk.gov.justice.services.core.annotation.ServiceComponent;
 import uk.gov.justice.services.cakeshop.query.view.request.SearchCakeOrder;
 import uk.gov.justice.services.cakeshop.query.view.response.CakeOrderView;
+import uk.gov.justice.services.cakeshop.query.view.response.CakeOrdersView;
 import uk.gov.justice.services.cakeshop.query.view.service.CakeOrderService;
 import uk.gov.justice.services.messaging.Envelope;
+import uk.gov.justice.services.messaging.JsonEnvelope;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
 
 import javax.inject.Inject;
+import javax.json.JsonObject;
 
 @ServiceComponent(Component.QUERY_VIEW)
 public class CakeOrdersQueryView {
 
+    private static final String FIELD_DELIVERY_DATE_FROM = "deliveryDateFrom";
+    private static final String FIELD_DELIVERY_DATE_TO = "deliveryDateTo";
+    private static final String FIELD_COUNT_BY_RECIPE = "countByRecipe";
+    private static final String PAGESIZE = "pagesize";
+    private static final String FIELD_PAGE_TOKEN = "pageToken";
+
     @Inject
     CakeOrderService service;
 
@@ -26,4 +42,38 @@ public class CakeOrdersQueryView {
                 .withName("cakeshop.get-order")
                 .withMetadataFrom(query);
     }
+
+    @Handles("cakeshop.search-orders-by-delivery-window")
+    public Envelope<CakeOrdersView> searchOrdersByDeliveryWindow(final JsonEnvelope query) {
+        final JsonObject queryObject = query.payloadAsJsonObject();
+        final ZonedDateTime from = dateTimeFrom(queryObject, FIELD_DELIVERY_DATE_FROM);
+        final ZonedDateTime to = dateTimeFrom(queryObject, FIELD_DELIVERY_DATE_TO);
+        if (from.isAfter(to)) {
+            throw new BadRequestException("Delivery window starts after it ends: " + from + " to " + to);
+        }
+
+        final CakeOrdersView orders = service.findOrdersByDeliveryWindow(
+                from,
+                to,
+                getBoolean(queryObject, FIELD_COUNT_BY_RECIPE).orElse(false),
+                pageSizeFrom(hasValue(queryObject, PAGESIZE) ? Optional.of(queryObject.getInt(PAGESIZE)) : Optional.empty()),
+                hasValue(queryObject, FIELD_PAGE_TOKEN) ? Optional.of(queryObject.getString(FIELD_PAGE_TOKEN)) : Optional.empty());
+
+        return envelop(orders)
+                .withName("cakeshop.search-orders-by-delivery-window")
+                .withMetadataFrom(query);
+    }
+
+    private ZonedDateTime dateTimeFrom(final JsonObject queryObject, final String field) {
+        final String dateTime = queryObject.getString(field);
+        try {
+            return ZonedDateTime.parse(dateTime);
+        } catch (final DateTimeParseException e) {
+            throw new BadRequestException("Invalid " + field + ": " + dateTime);
+        }
+    }
+
+    private boolean hasValue(final JsonObject queryObject, final String field) {
+        return queryObject.containsKey(field) && !queryObject.isNull(field);
+    }
 }
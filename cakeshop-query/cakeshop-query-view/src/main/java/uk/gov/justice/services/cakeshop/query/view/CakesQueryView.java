@@ -1,5 +1,6 @@
 package uk.gov.justice.services.cakeshop.query.view;
 
+import static uk.gov.justice.services.cakeshop.query.view.PageSizes.pageSizeFrom;
 import static uk.gov.justice.services.core.annotation.Component.QUERY_VIEW;
 import static uk.gov.justice.services.core.enveloper.Enveloper.envelop;
 
@@ -10,19 +11,37 @@ import uk.gov.justice.services.cakeshop.query.view.service.CakeService;
 import uk.gov.justice.services.messaging.Envelope;
 import uk.gov.justice.services.messaging.JsonEnvelope;
 
+import java.util.Optional;
+
 import javax.inject.Inject;
+import javax.json.JsonObject;
 
 
 @ServiceComponent(QUERY_VIEW)
 public class CakesQueryView {
 
+    private static final String FIELD_NAME = "name";
+    private static final String PAGESIZE = "pagesize";
+    private static final String FIELD_PAGE_TOKEN = "pageToken";
+
     @Inject
     CakeService service;
 
     @Handles("cakeshop.search-cakes")
     public Envelope<CakesView> cakes(final JsonEnvelope query) {
-        return envelop(service.cakes())
+        final JsonObject queryObject = query.payloadAsJsonObject();
+
+        final CakesView cakes = service.cakes(
+                pageSizeFrom(hasValue(queryObject, PAGESIZE) ? Optional.of(queryObject.getInt(PAGESIZE)) : Optional.empty()),
+                hasValue(queryObject, FIELD_NAME) ? Optional.of(queryObject.getString(FIELD_NAME)) : Optional.empty(),
+                hasValue(queryObject, FIELD_PAGE_TOKEN) ? Optional.of(queryObject.getString(FIELD_PAGE_TOKEN)) : Optional.empty());
+
+        return envelop(cakes)
                 .withName("cakeshop.search-cakes")
                 .withMetadataFrom(query);
     }
+
+    private boolean hasValue(final JsonObject queryObject, final String field) {
+        return queryObject.containsKey(field) && !queryObject.isNull(field);
+    }
 }
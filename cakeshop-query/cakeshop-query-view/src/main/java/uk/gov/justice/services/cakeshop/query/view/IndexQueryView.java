@@ -7,14 +7,22 @@ import uk.gov.justice.services.core.annotation.Handles;
 import uk.gov.justice.services.core.annotation.ServiceComponent;
 import uk.gov.justice.services.cakeshop.query.view.request.SearchIndex;
 import uk.gov.justice.services.cakeshop.query.view.response.IndexView;
+import uk.gov.justice.services.cakeshop.query.view.response.IndexesView;
 import uk.gov.justice.services.cakeshop.query.view.service.IndexService;
 import uk.gov.justice.services.messaging.Envelope;
 
+import java.time.ZonedDateTime;
+
 import javax.inject.Inject;
+import javax.json.JsonObject;
 
 @ServiceComponent(Component.QUERY_VIEW)
 public class IndexQueryView {
 
+    private static final String FIELD_DELIVERY_DATE_FROM = "deliveryDateFrom";
+    private static final String FIELD_DELIVERY_DATE_TO = "deliveryDateTo";
+    private static final String PAGESIZE = "pagesize";
+
     @Inject
     private IndexService indexService;
 
@@ -26,4 +34,17 @@ public class IndexQueryView {
                 .withName("cakeshop.get-index")
                 .withMetadataFrom(query);
     }
+
+    @Handles("cakeshop.search-indexes-by-delivery-date")
+    public Envelope<IndexesView> searchIndexesByDeliveryDate(final Envelope<JsonObject> query) {
+        final JsonObject queryObject = query.payload();
+        final IndexesView indexes = indexService.findIndexesByDeliveryDate(
+                ZonedDateTime.parse(queryObject.getString(FIELD_DELIVERY_DATE_FROM)),
+                ZonedDateTime.parse(queryObject.getString(FIELD_DELIVERY_DATE_TO)),
+                queryObject.getInt(PAGESIZE));
+
+        return envelop(indexes)
+                .withName("cakeshop.search-indexes-by-delivery-date")
+                .withMetadataFrom(query);
+    }
 }
@@ -0,0 +1,36 @@
+package uk.gov.justice.services.cakeshop.query.view;
+
+import uk.gov.justice.services.adapter.rest.exception.BadRequestException;
+
+import java.util.Optional;
+
+/**
+ * Checks the page sizes sent by clients, which are rejected as a bad request when a page could not
+ * hold a single result.
+ */
+final class PageSizes {
+
+    private PageSizes() {
+    }
+
+    /**
+     * @param pageSize page size sent by the client
+     * @return the page size
+     * @throws BadRequestException if the page size is less than one
+     */
+    static int pageSizeFrom(final int pageSize) {
+        if (pageSize < 1) {
+            throw new BadRequestException("Page size must be at least 1: " + pageSize);
+        }
+        return pageSize;
+    }
+
+    /**
+     * @param pageSize page size sent by the client, empty if it sent none
+     * @return the page size, empty if the client sent none
+     * @throws BadRequestException if the page size is less than one
+     */
+    static Optional<Integer> pageSizeFrom(final Optional<Integer> pageSize) {
+        return pageSize.map(PageSizes::pageSizeFrom);
+    }
+}
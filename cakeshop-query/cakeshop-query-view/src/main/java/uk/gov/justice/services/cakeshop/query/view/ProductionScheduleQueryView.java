@@ -0,0 +1,39 @@
+package uk.gov.justice.services.cakeshop.query.view;
+
+import static uk.gov.justice.services.core.annotation.Component.QUERY_VIEW;
+import static uk.gov.justice.services.core.enveloper.Enveloper.envelop;
+
+import uk.gov.justice.services.core.annotation.Handles;
+import uk.gov.justice.services.core.annotation.ServiceComponent;
+import uk.gov.justice.services.cakeshop.query.view.response.ProductionScheduleView;
+import uk.gov.justice.services.cakeshop.query.view.service.ProductionScheduleService;
+import uk.gov.justice.services.messaging.Envelope;
+import uk.gov.justice.services.messaging.JsonEnvelope;
+
+import java.time.LocalDate;
+
+import javax.inject.Inject;
+import javax.json.JsonObject;
+
+@ServiceComponent(QUERY_VIEW)
+public class ProductionScheduleQueryView {
+
+    private static final String FIELD_FROM_DAY = "fromDay";
+    private static final String FIELD_TO_DAY = "toDay";
+
+    @Inject
+    ProductionScheduleService service;
+
+    @Handles("cakeshop.get-production-schedule")
+    public Envelope<ProductionScheduleView> getProductionSchedule(final JsonEnvelope query) {
+        final JsonObject queryObject = query.payloadAsJsonObject();
+
+        final ProductionScheduleView schedule = service.getProductionSchedule(
+                LocalDate.parse(queryObject.getString(FIELD_FROM_DAY)),
+                LocalDate.parse(queryObject.getString(FIELD_TO_DAY)));
+
+        return envelop(schedule)
+                .withName("cakeshop.get-production-schedule")
+                .withMetadataFrom(query);
+    }
+}
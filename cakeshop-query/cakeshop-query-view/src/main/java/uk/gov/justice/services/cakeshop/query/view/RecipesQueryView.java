@@ -1,5 +1,7 @@
 package uk.gov.justice.services.cakeshop.query.view;
 
+import static java.util.Collections.emptyList;
+import static uk.gov.justice.services.cakeshop.query.view.PageSizes.pageSizeFrom;
 import static uk.gov.justice.services.core.enveloper.Enveloper.envelop;
 import static uk.gov.justice.services.messaging.JsonObjects.getBoolean;
 import static uk.gov.justice.services.messaging.JsonObjects.getString;
@@ -8,6 +10,7 @@ import uk.gov.justice.services.core.annotation.Component;
 import uk.gov.justice.services.core.annotation.Handles;
 import uk.gov.justice.services.core.annotation.ServiceComponent;
 import uk.gov.justice.services.cakeshop.query.view.request.SearchRecipes;
+import uk.gov.justice.services.cakeshop.query.view.request.SearchRecipesByIngredient;
 import uk.gov.justice.services.cakeshop.query.view.response.PhotoView;
 import uk.gov.justice.services.cakeshop.query.view.response.RecipeView;
 import uk.gov.justice.services.cakeshop.query.view.response.RecipesView;
@@ -27,8 +30,12 @@ public class RecipesQueryView {
     static final String NAME_RESPONSE_RECIPE_LIST = "cakeshop.search-recipes";
     private static final String FIELD_RECIPE_ID = "recipeId";
     private static final String FIELD_NAME = "name";
+    private static final String FIELD_INGREDIENT_NAME = "ingredientName";
     private static final String PAGESIZE = "pagesize";
     private static final String FIELD_GLUTEN_FREE = "glutenFree";
+    private static final String FIELD_PAGE_TOKEN = "pageToken";
+    private static final String FIELD_MATCH = "match";
+    private static final String MATCH_SUBSTRING = "substring";
 
     @Inject
     RecipeService recipeService;
@@ -56,6 +63,33 @@ public class RecipesQueryView {
                 .withMetadataFrom(query);
     }
 
+    @Handles("cakeshop.search-recipes-by-ingredient")
+    public Envelope<RecipesView> searchRecipesByIngredient(final Envelope<SearchRecipesByIngredient> query) {
+        final SearchRecipesByIngredient search = query.payload();
+        final RecipesView recipes = recipeService.searchRecipesByIngredient(
+                pageSizeFrom(search.getPagesize()),
+                search.getInclude(),
+                search.getExclude() == null ? emptyList() : search.getExclude(),
+                Optional.ofNullable(search.getPageToken()));
+
+        return envelop(recipes)
+                .withName(NAME_RESPONSE_RECIPE_LIST)
+                .withMetadataFrom(query);
+    }
+
+    @Handles("cakeshop.get-ingredient-recipes")
+    public Envelope<RecipesView> listIngredientRecipes(final Envelope<JsonObject> query) {
+        final JsonObject queryObject = query.payload();
+        final RecipesView recipes = recipeService.getRecipesByIngredient(
+                pageSizeFrom(queryObject.getInt(PAGESIZE)),
+                queryObject.getString(FIELD_INGREDIENT_NAME),
+                getString(queryObject, FIELD_PAGE_TOKEN));
+
+        return envelop(recipes)
+                .withName(NAME_RESPONSE_RECIPE_LIST)
+                .withMetadataFrom(query);
+    }
+
     @Handles("cakeshop.get-recipe-photograph")
     public Envelope<PhotoView> findRecipePhoto(final Envelope<JsonObject> query) {
         final PhotoView photo = recipeService.findRecipePhoto(query.payload().getString(FIELD_RECIPE_ID));
@@ -64,18 +98,35 @@ public class RecipesQueryView {
                 .withMetadataFrom(query);
     }
 
+    /**
+     * Recipes with a name are found by ranked full-text search, unless the query asks for the
+     * names containing the given name with {@code match=substring}.
+     */
     private RecipesView fetchRecipes(final Envelope<JsonObject> query) {
         final JsonObject queryObject = query.payload();
+        final Optional<String> name = getString(queryObject, FIELD_NAME);
+        final boolean substringMatch = getString(queryObject, FIELD_MATCH).map(MATCH_SUBSTRING::equals).orElse(false);
+
+        if (name.isPresent() && !substringMatch) {
+            return recipeService.searchRecipesByName(
+                    pageSizeFrom(queryObject.getInt(PAGESIZE)),
+                    name.get(),
+                    getBoolean(queryObject, FIELD_GLUTEN_FREE),
+                    getString(queryObject, FIELD_PAGE_TOKEN));
+        }
+
         return recipeService.getRecipes(
-                queryObject.getInt(PAGESIZE),
-                getString(queryObject, FIELD_NAME),
-                getBoolean(queryObject, FIELD_GLUTEN_FREE));
+                pageSizeFrom(queryObject.getInt(PAGESIZE)),
+                name,
+                getBoolean(queryObject, FIELD_GLUTEN_FREE),
+                getString(queryObject, FIELD_PAGE_TOKEN));
     }
 
     private RecipesView fetchRecipes(final SearchRecipes searchRecipes) {
         return recipeService.getRecipes(
-                searchRecipes.getPagesize(),
+                pageSizeFrom(searchRecipes.getPagesize()),
                 Optional.of(searchRecipes.getName()),
-                Optional.of(searchRecipes.isGlutenFree()));
+                Optional.of(searchRecipes.isGlutenFree()),
+                Optional.ofNullable(searchRecipes.getPageToken()));
     }
 }
\ No newline at end of file
@@ -0,0 +1,48 @@
+package uk.gov.justice.services.cakeshop.query.view.response;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public class CakeOrdersView {
+
+    private final List<CakeOrderView> orders;
+    private final List<RecipeOrderCountView> recipeCounts;
+    private final String nextPageToken;
+
+    public CakeOrdersView(final List<CakeOrderView> orders) {
+        this(orders, null, null);
+    }
+
+    public CakeOrdersView(final List<CakeOrderView> orders, final List<RecipeOrderCountView> recipeCounts) {
+        this(orders, recipeCounts, null);
+    }
+
+    @JsonCreator
+    public CakeOrdersView(@JsonProperty final List<CakeOrderView> orders,
+                          @JsonProperty final List<RecipeOrderCountView> recipeCounts,
+                          @JsonProperty final String nextPageToken) {
+        this.orders = orders;
+        this.recipeCounts = recipeCounts;
+        this.nextPageToken = nextPageToken;
+    }
+
+    public List<CakeOrderView> getOrders() {
+        return orders;
+    }
+
+    /**
+     * @return the number of orders of each recipe in the window, or null if they were not asked for.
+     */
+    public List<RecipeOrderCountView> getRecipeCounts() {
+        return recipeCounts;
+    }
+
+    /**
+     * @return opaque token requesting the page after this one, or null if this is the last page.
+     */
+    public String getNextPageToken() {
+        return nextPageToken;
+    }
+}
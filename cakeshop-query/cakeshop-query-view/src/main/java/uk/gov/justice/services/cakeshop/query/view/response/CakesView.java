@@ -8,13 +8,26 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 public class CakesView {
 
     private final List<CakeView> cakes;
+    private final String nextPageToken;
+
+    public CakesView(final List<CakeView> cakes) {
+        this(cakes, null);
+    }
 
     @JsonCreator
-    public CakesView(@JsonProperty final List<CakeView> cakes) {
+    public CakesView(@JsonProperty final List<CakeView> cakes, @JsonProperty final String nextPageToken) {
         this.cakes = cakes;
+        this.nextPageToken = nextPageToken;
     }
 
     public List<CakeView> getCakes() {
         return cakes;
     }
+
+    /**
+     * @return opaque token requesting the page after this one, or null if this is the last page.
+     */
+    public String getNextPageToken() {
+        return nextPageToken;
+    }
 }
@@ -0,0 +1,20 @@
+package uk.gov.justice.services.cakeshop.query.view.response;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public class IndexesView {
+
+    private final List<IndexView> indexes;
+
+    @JsonCreator
+    public IndexesView(@JsonProperty final List<IndexView> indexes) {
+        this.indexes = indexes;
+    }
+
+    public List<IndexView> getIndexes() {
+        return indexes;
+    }
+}
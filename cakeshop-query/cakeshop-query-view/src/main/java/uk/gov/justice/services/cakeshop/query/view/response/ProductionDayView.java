@@ -0,0 +1,23 @@
+package uk.gov.justice.services.cakeshop.query.view.response;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class ProductionDayView {
+
+    private final LocalDate deliveryDay;
+    private final List<RecipeOrderCountView> recipes;
+
+    public ProductionDayView(final LocalDate deliveryDay, final List<RecipeOrderCountView> recipes) {
+        this.deliveryDay = deliveryDay;
+        this.recipes = recipes;
+    }
+
+    public LocalDate getDeliveryDay() {
+        return deliveryDay;
+    }
+
+    public List<RecipeOrderCountView> getRecipes() {
+        return recipes;
+    }
+}
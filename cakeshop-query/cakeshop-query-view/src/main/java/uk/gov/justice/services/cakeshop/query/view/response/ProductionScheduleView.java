@@ -0,0 +1,23 @@
+package uk.gov.justice.services.cakeshop.query.view.response;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public class ProductionScheduleView {
+
+    private final List<ProductionDayView> days;
+
+    @JsonCreator
+    public ProductionScheduleView(@JsonProperty final List<ProductionDayView> days) {
+        this.days = days;
+    }
+
+    /**
+     * @return the days with cakes to make, earliest first.
+     */
+    public List<ProductionDayView> getDays() {
+        return days;
+    }
+}
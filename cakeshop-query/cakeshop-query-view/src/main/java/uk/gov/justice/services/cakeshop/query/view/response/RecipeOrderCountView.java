@@ -0,0 +1,22 @@
+package uk.gov.justice.services.cakeshop.query.view.response;
+
+import java.util.UUID;
+
+public class RecipeOrderCountView {
+
+    private final UUID recipeId;
+    private final long count;
+
+    public RecipeOrderCountView(final UUID recipeId, final long count) {
+        this.recipeId = recipeId;
+        this.count = count;
+    }
+
+    public UUID getRecipeId() {
+        return recipeId;
+    }
+
+    public long getCount() {
+        return count;
+    }
+}
@@ -1,20 +1,77 @@
 package uk.gov.justice.services.cakeshop.query.view.service;
 
+import static java.util.stream.Collectors.toList;
+import static uk.gov.justice.services.cakeshop.query.view.service.PageTokens.orderCursorFrom;
+
 import uk.gov.justice.services.cakeshop.persistence.CakeOrderRepository;
+import uk.gov.justice.services.cakeshop.persistence.PageCursor;
 import uk.gov.justice.services.cakeshop.persistence.entity.CakeOrder;
 import uk.gov.justice.services.cakeshop.query.view.response.CakeOrderView;
+import uk.gov.justice.services.cakeshop.query.view.response.CakeOrdersView;
+import uk.gov.justice.services.cakeshop.query.view.response.RecipeOrderCountView;
 
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import javax.inject.Inject;
 
 public class CakeOrderService {
 
+    static final int FETCH_SIZE = 500;
+    static final int MAX_UNPAGED_ORDERS = 1000;
+
     @Inject
     private CakeOrderRepository repository;
 
     public CakeOrderView findOrder(final String orderId) {
         final CakeOrder cakeOrder = repository.findBy(UUID.fromString(orderId));
-        return cakeOrder != null ? new CakeOrderView(cakeOrder.getOrderId(), cakeOrder.getRecipeId(), cakeOrder.getDeliveryDate()) : null;
+        return cakeOrder != null ? toCakeOrderView(cakeOrder) : null;
+    }
+
+    /**
+     * Get a page of the orders due in a delivery window, earliest first. Without a page size up to
+     * {@link #MAX_UNPAGED_ORDERS} orders are returned, read from the database in forward-only
+     * batches of {@link #FETCH_SIZE} rows that are not kept in the persistence context, with a next
+     * page token if there are more.
+     *
+     * @param from           start of the window, inclusive
+     * @param to             end of the window, exclusive
+     * @param countByRecipe  whether to also count the orders of each recipe in the whole window
+     * @param pageSize       page size to return, at least 1, empty for up to {@link #MAX_UNPAGED_ORDERS}
+     * @param pageToken      next page token of the previous page, empty for the first page
+     * @return List of orders encapsulated in a {@link CakeOrdersView}. Never returns null.
+     */
+    public CakeOrdersView findOrdersByDeliveryWindow(final ZonedDateTime from,
+                                                     final ZonedDateTime to,
+                                                     final boolean countByRecipe,
+                                                     final Optional<Integer> pageSize,
+                                                     final Optional<String> pageToken) {
+        final int size = pageSize.orElse(MAX_UNPAGED_ORDERS);
+        final List<CakeOrder> cakeOrders = pageSize.isPresent()
+                ? repository.findByDeliveryWindow(size + 1, from, to, orderCursorFrom(pageToken))
+                : repository.streamByDeliveryWindow(from, to, orderCursorFrom(pageToken), FETCH_SIZE).limit(size + 1).collect(toList());
+
+        final boolean morePages = cakeOrders.size() > size;
+        final List<CakeOrder> page = morePages ? cakeOrders.subList(0, size) : cakeOrders;
+        final String nextPageToken = morePages ? PageCursor.after(page.get(size - 1)).toToken() : null;
+        final List<CakeOrderView> orders = page.stream()
+                .map(this::toCakeOrderView)
+                .collect(toList());
+
+        if (!countByRecipe) {
+            return new CakeOrdersView(orders, null, nextPageToken);
+        }
+
+        final List<RecipeOrderCountView> recipeCounts = repository.countByRecipeInDeliveryWindow(from, to).entrySet().stream()
+                .map(count -> new RecipeOrderCountView(count.getKey(), count.getValue()))
+                .collect(toList());
+
+        return new CakeOrdersView(orders, recipeCounts, nextPageToken);
+    }
+
+    private CakeOrderView toCakeOrderView(final CakeOrder cakeOrder) {
+        return new CakeOrderView(cakeOrder.getOrderId(), cakeOrder.getRecipeId(), cakeOrder.getDeliveryDate());
     }
-}
\ No newline at end of file
+}
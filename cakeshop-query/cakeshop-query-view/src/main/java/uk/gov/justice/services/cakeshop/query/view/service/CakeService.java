@@ -2,19 +2,56 @@ package uk.gov.justice.services.cakeshop.query.view.service;
 
 
 import static java.util.stream.Collectors.toList;
+import static uk.gov.justice.services.cakeshop.query.view.service.PageTokens.cursorFrom;
 
 import uk.gov.justice.services.cakeshop.persistence.CakeRepository;
+import uk.gov.justice.services.cakeshop.persistence.PageCursor;
+import uk.gov.justice.services.cakeshop.persistence.entity.Cake;
 import uk.gov.justice.services.cakeshop.query.view.response.CakeView;
 import uk.gov.justice.services.cakeshop.query.view.response.CakesView;
 
+import java.util.List;
+import java.util.Optional;
+
 import javax.inject.Inject;
 
 public class CakeService {
 
+    static final int FETCH_SIZE = 500;
+    static final int MAX_UNPAGED_CAKES = 1000;
+
     @Inject
     private CakeRepository cakeRepository;
 
-    public CakesView cakes() {
-        return new CakesView(cakeRepository.findAll().stream().map(cake -> new CakeView(cake.getCakeId(), cake.getName())).collect(toList()));
+    /**
+     * Get a page of cakes by name. Without a page size up to {@link #MAX_UNPAGED_CAKES} cakes are
+     * returned, read from the database in forward-only batches of {@link #FETCH_SIZE} rows that are
+     * not kept in the persistence context, with a next page token if there are more.
+     *
+     * @param pageSize  page size to return, at least 1, empty for up to {@link #MAX_UNPAGED_CAKES}
+     * @param name      cake name to search for
+     * @param pageToken next page token of the previous page, empty for the first page
+     * @return List of cakes encapsulated in a {@link CakesView}. Never returns null.
+     */
+    public CakesView cakes(final Optional<Integer> pageSize, final Optional<String> name, final Optional<String> pageToken) {
+        final int size = pageSize.orElse(MAX_UNPAGED_CAKES);
+        final List<Cake> cakes = pageSize.isPresent()
+                ? cakeRepository.findBy(size + 1, name, cursorFrom(pageToken))
+                : cakeRepository.streamBy(name, cursorFrom(pageToken), FETCH_SIZE).limit(size + 1).collect(toList());
+
+        if (cakes.size() > size) {
+            final List<Cake> page = cakes.subList(0, size);
+            return new CakesView(toCakeViews(page), PageCursor.after(page.get(size - 1)).toToken());
+        }
+
+        return new CakesView(toCakeViews(cakes));
+    }
+
+    private List<CakeView> toCakeViews(final List<Cake> cakes) {
+        return cakes.stream().map(this::toCakeView).collect(toList());
+    }
+
+    private CakeView toCakeView(final Cake cake) {
+        return new CakeView(cake.getCakeId(), cake.getName());
     }
 }
@@ -1,9 +1,13 @@
 package uk.gov.justice.services.cakeshop.query.view.service;
 
-import uk.gov.justice.services.cakeshop.persistence.IndexRepository;
+import static java.util.stream.Collectors.toList;
+
 import uk.gov.justice.services.cakeshop.persistence.entity.Index;
+import uk.gov.justice.services.cakeshop.persistence.search.DeliverySearchIndex;
 import uk.gov.justice.services.cakeshop.query.view.response.IndexView;
+import uk.gov.justice.services.cakeshop.query.view.response.IndexesView;
 
+import java.time.ZonedDateTime;
 import java.util.UUID;
 
 import javax.inject.Inject;
@@ -11,11 +15,21 @@ import javax.inject.Inject;
 public class IndexService {
 
     @Inject
-    private IndexRepository indexRepository;
+    private DeliverySearchIndex deliverySearchIndex;
 
     public IndexView findIndexBy(final String indexId) {
-        final Index index = indexRepository.findBy(UUID.fromString(indexId));
-        return index != null ? new IndexView(index.getIndexId(), index.getDeliveryDate()) : null;
+        return deliverySearchIndex.findByIndexId(UUID.fromString(indexId))
+                .map(IndexService::toIndexView)
+                .orElse(null);
+    }
+
+    public IndexesView findIndexesByDeliveryDate(final ZonedDateTime from, final ZonedDateTime to, final int pageSize) {
+        return new IndexesView(deliverySearchIndex.findByDeliveryDateBetween(from, to, pageSize).stream()
+                .map(IndexService::toIndexView)
+                .collect(toList()));
     }
-}
 
+    private static IndexView toIndexView(final Index index) {
+        return new IndexView(index.getIndexId(), index.getDeliveryDate());
+    }
+}
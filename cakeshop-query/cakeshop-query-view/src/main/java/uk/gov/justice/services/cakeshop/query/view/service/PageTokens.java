@@ -0,0 +1,70 @@
+package uk.gov.justice.services.cakeshop.query.view.service;
+
+import uk.gov.justice.services.adapter.rest.exception.BadRequestException;
+import uk.gov.justice.services.cakeshop.persistence.PageCursor;
+import uk.gov.justice.services.cakeshop.persistence.entity.CakeOrder;
+
+import java.time.DateTimeException;
+import java.time.ZonedDateTime;
+import java.util.Optional;
+
+/**
+ * Decodes the page tokens sent by clients, which are rejected as a bad request when they are not
+ * tokens this service returned, or were returned by a search ordered differently: tokens of a
+ * full-text search hold a rank, and tokens of any other list do not.
+ */
+final class PageTokens {
+
+    private PageTokens() {
+    }
+
+    /**
+     * @param pageToken next page token of the previous page, empty for the first page
+     * @return the cursor the token represents, empty for the first page
+     * @throws BadRequestException if the token is not a valid page token of a list that is not
+     *                             ranked
+     */
+    static Optional<PageCursor> cursorFrom(final Optional<String> pageToken) {
+        final Optional<PageCursor> cursor = decode(pageToken);
+        if (cursor.isPresent() && cursor.get().getRank().isPresent()) {
+            throw new BadRequestException("Page token is from a full-text search: " + pageToken.get());
+        }
+        return cursor;
+    }
+
+    /**
+     * @param pageToken next page token of the previous page of a full-text search, empty for the
+     *                  first page
+     * @return the cursor the token represents, empty for the first page
+     * @throws BadRequestException if the token is not a valid page token of a full-text search
+     */
+    static Optional<PageCursor> rankedCursorFrom(final Optional<String> pageToken) {
+        final Optional<PageCursor> cursor = decode(pageToken);
+        if (cursor.isPresent() && !cursor.get().getRank().isPresent()) {
+            throw new BadRequestException("Page token is not from a full-text search: " + pageToken.get());
+        }
+        return cursor;
+    }
+
+    /**
+     * @param pageToken next page token of the previous page of orders, empty for the first page
+     * @return the order the token represents, holding only its id and delivery date, empty for the
+     * first page
+     * @throws BadRequestException if the token is not a valid page token of orders
+     */
+    static Optional<CakeOrder> orderCursorFrom(final Optional<String> pageToken) {
+        try {
+            return cursorFrom(pageToken).map(cursor -> new CakeOrder(cursor.getId(), null, ZonedDateTime.parse(cursor.getName())));
+        } catch (final DateTimeException e) {
+            throw new BadRequestException("Invalid page token: " + pageToken.get());
+        }
+    }
+
+    private static Optional<PageCursor> decode(final Optional<String> pageToken) {
+        try {
+            return pageToken.map(PageCursor::fromToken);
+        } catch (final IllegalArgumentException e) {
+            throw new BadRequestException("Invalid page token: " + pageToken.get());
+        }
+    }
+}
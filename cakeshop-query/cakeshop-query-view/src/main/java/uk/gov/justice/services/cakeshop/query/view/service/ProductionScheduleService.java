@@ -0,0 +1,44 @@
+package uk.gov.justice.services.cakeshop.query.view.service;
+
+import uk.gov.justice.services.cakeshop.persistence.ProductionScheduleRepository;
+import uk.gov.justice.services.cakeshop.persistence.entity.ProductionScheduleEntry;
+import uk.gov.justice.services.cakeshop.query.view.response.ProductionDayView;
+import uk.gov.justice.services.cakeshop.query.view.response.ProductionScheduleView;
+import uk.gov.justice.services.cakeshop.query.view.response.RecipeOrderCountView;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.inject.Inject;
+
+public class ProductionScheduleService {
+
+    @Inject
+    private ProductionScheduleRepository repository;
+
+    /**
+     * Get the number of cakes of each recipe ordered for each day from one day to another, read
+     * from the production schedule projection rather than counted from the orders.
+     *
+     * @param from the first day, inclusive
+     * @param to   the last day, inclusive
+     * @return the days with orders encapsulated in a {@link ProductionScheduleView}. Never returns null.
+     */
+    public ProductionScheduleView getProductionSchedule(final LocalDate from, final LocalDate to) {
+        final List<ProductionDayView> days = new ArrayList<>();
+
+        List<RecipeOrderCountView> recipes = null;
+        LocalDate day = null;
+        for (final ProductionScheduleEntry entry : repository.findByDeliveryDayBetween(from, to)) {
+            if (!entry.getDeliveryDay().equals(day)) {
+                day = entry.getDeliveryDay();
+                recipes = new ArrayList<>();
+                days.add(new ProductionDayView(day, recipes));
+            }
+            recipes.add(new RecipeOrderCountView(entry.getRecipeId(), entry.getOrderCount()));
+        }
+
+        return new ProductionScheduleView(days);
+    }
+}
@@ -1,13 +1,19 @@
 package uk.gov.justice.services.cakeshop.query.view.service;
 
 import static java.util.stream.Collectors.toList;
+import static uk.gov.justice.services.cakeshop.query.view.service.PageTokens.cursorFrom;
+import static uk.gov.justice.services.cakeshop.query.view.service.PageTokens.rankedCursorFrom;
 
+import uk.gov.justice.services.cakeshop.persistence.PageCursor;
+import uk.gov.justice.services.cakeshop.persistence.RankedRecipe;
 import uk.gov.justice.services.cakeshop.persistence.RecipeRepository;
+import uk.gov.justice.services.cakeshop.persistence.cache.RecipeCache;
 import uk.gov.justice.services.cakeshop.persistence.entity.Recipe;
 import uk.gov.justice.services.cakeshop.query.view.response.PhotoView;
 import uk.gov.justice.services.cakeshop.query.view.response.RecipeView;
 import uk.gov.justice.services.cakeshop.query.view.response.RecipesView;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -21,33 +27,110 @@ public class RecipeService {
     @Inject
     RecipeRepository recipeRepository;
 
+    @Inject
+    RecipeCache recipeCache;
+
     /**
-     * Find findRecipe by id.
+     * Find findRecipe by id, served from the {@link RecipeCache} when possible.
      *
      * @param id of the findRecipe.
      * @return {@link RecipeView} representation of the found recipe, or null.
      */
     public RecipeView findRecipe(final String id) {
-        return Optional.ofNullable(recipeRepository.findBy(UUID.fromString(id)))
+        final UUID recipeId = UUID.fromString(id);
+        return recipeCache.get(recipeId, RecipeView.class, () -> Optional.ofNullable(recipeRepository.findBy(recipeId))
                 .map(RecipeView::new)
-                .orElse(null);
+                .orElse(null));
     }
 
 
     /**
-     * Get recipes by criteria.
+     * Get a page of recipes by criteria. One extra recipe is fetched to decide whether a next page
+     * token should be returned.
      *
-     * @param pageSize   page size to return
+     * @param pageSize   page size to return, at least 1
      * @param recipeName recipe name to search for
      * @param glutenFree optional gluten free
+     * @param pageToken  next page token of the previous page, empty for the first page
+     * @return List of recipes encapsulated in an {@link RecipesView}.   Never returns null.
+     */
+    public RecipesView getRecipes(final int pageSize, final Optional<String> recipeName, Optional<Boolean> glutenFree, final Optional<String> pageToken) {
+        final List<Recipe> recipes = recipeRepository.findBy(pageSize + 1, recipeName, glutenFree, cursorFrom(pageToken));
+        return toRecipesView(pageSize, recipes);
+    }
+
+    /**
+     * Get a page of the recipes whose name matches a full-text search, best match first. Each
+     * word searched for matches the words of a name that start with it. One extra recipe is
+     * fetched to decide whether a next page token should be returned.
+     *
+     * @param pageSize   page size to return, at least 1
+     * @param search     words to search recipe names for
+     * @param glutenFree optional gluten free
+     * @param pageToken  next page token of the previous page, empty for the first page
+     * @return List of recipes encapsulated in an {@link RecipesView}.   Never returns null.
+     */
+    public RecipesView searchRecipesByName(final int pageSize, final String search, final Optional<Boolean> glutenFree, final Optional<String> pageToken) {
+        final List<RankedRecipe> rankedRecipes = recipeRepository.findByNameRanked(pageSize + 1, search, glutenFree, rankedCursorFrom(pageToken));
+
+        if (rankedRecipes.size() > pageSize) {
+            final List<RankedRecipe> page = rankedRecipes.subList(0, pageSize);
+            return new RecipesView(toRecipeViews(recipesOf(page)), PageCursor.after(page.get(pageSize - 1)).toToken());
+        }
+
+        return new RecipesView(toRecipeViews(recipesOf(rankedRecipes)));
+    }
+
+    /**
+     * Get a page of the recipes listing an ingredient, paged as in {@link #getRecipes}.
+     *
+     * @param pageSize       page size to return, at least 1
+     * @param ingredientName ingredient name to search for (case-insensitive)
+     * @param pageToken      next page token of the previous page, empty for the first page
+     * @return List of recipes encapsulated in an {@link RecipesView}.   Never returns null.
+     */
+    public RecipesView getRecipesByIngredient(final int pageSize, final String ingredientName, final Optional<String> pageToken) {
+        final List<Recipe> recipes = recipeRepository.findByIngredientName(pageSize + 1, ingredientName, cursorFrom(pageToken));
+        return toRecipesView(pageSize, recipes);
+    }
+
+    /**
+     * Get a page of the recipes listing all the included ingredients and none of the excluded
+     * ones, paged as in {@link #getRecipes}.
+     *
+     * @param pageSize  page size to return, at least 1
+     * @param include   ingredient names every recipe must list (case-insensitive)
+     * @param exclude   ingredient names no recipe may list (case-insensitive)
+     * @param pageToken next page token of the previous page, empty for the first page
      * @return List of recipes encapsulated in an {@link RecipesView}.   Never returns null.
      */
-    public RecipesView getRecipes(final int pageSize, final Optional<String> recipeName, Optional<Boolean> glutenFree) {
-        return new RecipesView(recipeRepository.findBy(pageSize, recipeName, glutenFree).stream().map(RecipeView::new).collect(toList()));
+    public RecipesView searchRecipesByIngredient(final int pageSize, final List<String> include, final List<String> exclude, final Optional<String> pageToken) {
+        final List<Recipe> recipes = recipeRepository.findByIngredients(pageSize + 1, include, exclude, cursorFrom(pageToken));
+        return toRecipesView(pageSize, recipes);
     }
 
     public PhotoView findRecipePhoto(final String recipeId) {
-        final Recipe recipe = recipeRepository.findBy(UUID.fromString(recipeId));
-        return recipe != null && recipe.getPhotoId() != null ? new PhotoView(recipe.getPhotoId()) : null;
+        final UUID id = UUID.fromString(recipeId);
+        return recipeCache.get(id, PhotoView.class, () -> {
+            final Recipe recipe = recipeRepository.findBy(id);
+            return recipe != null && recipe.getPhotoId() != null ? new PhotoView(recipe.getPhotoId()) : null;
+        });
+    }
+
+    private RecipesView toRecipesView(final int pageSize, final List<Recipe> recipes) {
+        if (recipes.size() > pageSize) {
+            final List<Recipe> page = recipes.subList(0, pageSize);
+            return new RecipesView(toRecipeViews(page), PageCursor.after(page.get(pageSize - 1)).toToken());
+        }
+
+        return new RecipesView(toRecipeViews(recipes));
+    }
+
+    private List<Recipe> recipesOf(final List<RankedRecipe> rankedRecipes) {
+        return rankedRecipes.stream().map(RankedRecipe::getRecipe).collect(toList());
+    }
+
+    private List<RecipeView> toRecipeViews(final List<Recipe> recipes) {
+        return recipes.stream().map(RecipeView::new).collect(toList());
     }
 }
@@ -1,9 +1,12 @@
 package uk.gov.justice.services.cakeshop.query.api.request;
 
 import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
 import static java.util.UUID.randomUUID;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static uk.gov.justice.services.core.annotation.Component.QUERY_VIEW;
 import static uk.gov.justice.services.test.utils.core.matchers.HandlerMatcher.isHandler;
@@ -11,6 +14,7 @@ import static uk.gov.justice.services.test.utils.core.matchers.HandlerMethodMatc
 import static uk.gov.justice.services.test.utils.core.messaging.JsonEnvelopeBuilder.envelope;
 import static uk.gov.justice.services.test.utils.core.messaging.MetadataBuilderFactory.metadataWithDefaults;
 
+import uk.gov.justice.services.adapter.rest.exception.BadRequestException;
 import uk.gov.justice.services.cakeshop.query.view.CakesQueryView;
 import uk.gov.justice.services.cakeshop.query.view.response.CakeView;
 import uk.gov.justice.services.cakeshop.query.view.response.CakesView;
@@ -19,6 +23,7 @@ import uk.gov.justice.services.messaging.Envelope;
 import uk.gov.justice.services.messaging.JsonEnvelope;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import org.junit.jupiter.api.Test;
@@ -50,7 +55,7 @@ public class CakesQueryViewTest {
         final JsonEnvelope query = envelope().with(metadataWithDefaults()).build();
         final UUID id2 = randomUUID();
         final String name2 = "Cheese cake";
-        when(service.cakes()).thenReturn(new CakesView(asList(new CakeView(id1, name1), new CakeView(id2, name2))));
+        when(service.cakes(Optional.empty(), Optional.empty(), Optional.empty())).thenReturn(new CakesView(asList(new CakeView(id1, name1), new CakeView(id2, name2))));
 
         final Envelope<CakesView> response = queryView.cakes(query);
 
@@ -62,4 +67,36 @@ public class CakesQueryViewTest {
         assertThat(cakes.get(1).getId(), is(id2));
         assertThat(cakes.get(1).getName(), is(name2));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldPassPagingAndFilterParameters() throws Exception {
+        final UUID id = randomUUID();
+        final String name = "Cheese cake";
+
+        final JsonEnvelope query = envelope()
+                .with(metadataWithDefaults())
+                .withPayloadOf(1, "pagesize")
+                .withPayloadOf("Cheese", "name")
+                .withPayloadOf("page-token", "pageToken")
+                .build();
+
+        when(service.cakes(Optional.of(1), Optional.of("Cheese"), Optional.of("page-token")))
+                .thenReturn(new CakesView(singletonList(new CakeView(id, name)), "next-page-token"));
+
+        final Envelope<CakesView> response = queryView.cakes(query);
+
+        assertThat(response.payload().getCakes().get(0).getId(), is(id));
+        assertThat(response.payload().getNextPageToken(), is("next-page-token"));
+    }
+
+    @Test
+    public void shouldRejectPageSizeBelowOne() throws Exception {
+        final JsonEnvelope query = envelope()
+                .with(metadataWithDefaults())
+                .withPayloadOf(0, "pagesize")
+                .build();
+
+        assertThrows(BadRequestException.class, () -> queryView.cakes(query));
+        verifyNoInteractions(service);
+    }
+}
@@ -1,21 +1,29 @@
 package uk.gov.justice.services.cakeshop.query.view;
 
 
+import static java.util.Collections.singletonList;
+import static javax.json.Json.createObjectBuilder;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static uk.gov.justice.services.core.annotation.Component.QUERY_VIEW;
-import static uk.gov.justice.services.messaging.Envelope.envelopeFrom;
+import static uk.gov.justice.services.messaging.JsonEnvelope.envelopeFrom;
 import static uk.gov.justice.services.test.utils.core.matchers.HandlerMatcher.isHandler;
 import static uk.gov.justice.services.test.utils.core.matchers.HandlerMethodMatcher.method;
 import static uk.gov.justice.services.test.utils.core.messaging.MetadataBuilderFactory.metadataWithDefaults;
 
+import uk.gov.justice.services.adapter.rest.exception.BadRequestException;
 import uk.gov.justice.services.cakeshop.query.view.request.SearchCakeOrder;
 import uk.gov.justice.services.cakeshop.query.view.response.CakeOrderView;
+import uk.gov.justice.services.cakeshop.query.view.response.CakeOrdersView;
 import uk.gov.justice.services.cakeshop.query.view.service.CakeOrderService;
 import uk.gov.justice.services.messaging.Envelope;
+import uk.gov.justice.services.messaging.JsonEnvelope;
 
 import java.time.ZonedDateTime;
+import java.util.Optional;
 import java.util.UUID;
 
 import org.junit.jupiter.api.Test;
@@ -36,7 +44,8 @@ public class CakeOrdersQueryViewTest {
     @Test
     public void shouldHaveCorrectHandlerMethod() throws Exception {
         assertThat(queryView, isHandler(QUERY_VIEW)
-                .with(method("findOrder").thatHandles("cakeshop.get-order")));
+                .with(method("findOrder").thatHandles("cakeshop.get-order"))
+                .with(method("searchOrdersByDeliveryWindow").thatHandles("cakeshop.search-orders-by-delivery-window")));
     }
 
     @Test
@@ -48,7 +57,7 @@ public class CakeOrdersQueryViewTest {
 
         final SearchCakeOrder searchCakeOrder = new SearchCakeOrder(orderId, recipeId, deliveryDate);
 
-        final Envelope<SearchCakeOrder> query = envelopeFrom(metadataWithDefaults(), searchCakeOrder);
+        final Envelope<SearchCakeOrder> query = Envelope.envelopeFrom(metadataWithDefaults(), searchCakeOrder);
 
         when(service.findOrder(orderId.toString())).thenReturn(new CakeOrderView(orderId, recipeId, deliveryDate));
 
@@ -57,4 +66,87 @@ public class CakeOrdersQueryViewTest {
         assertThat(response.payload().getOrderId(), equalTo(orderId));
         assertThat(response.payload().getRecipeId(), equalTo(recipeId));
     }
+
+    @Test
+    public void shouldReturnOrdersInDeliveryWindow() {
+
+        final UUID orderId = UUID.randomUUID();
+        final UUID recipeId = UUID.randomUUID();
+        final ZonedDateTime from = ZonedDateTime.parse("2025-03-03T09:00Z");
+        final ZonedDateTime to = from.plusHours(48);
+
+        final JsonEnvelope query = envelopeFrom(metadataWithDefaults(), createObjectBuilder()
+                .add("deliveryDateFrom", from.toString())
+                .add("deliveryDateTo", to.toString())
+                .add("countByRecipe", true)
+                .add("pagesize", 10)
+                .add("pageToken", "token")
+                .build());
+
+        when(service.findOrdersByDeliveryWindow(from, to, true, Optional.of(10), Optional.of("token"))).thenReturn(new CakeOrdersView(singletonList(new CakeOrderView(orderId, recipeId, from.plusHours(1)))));
+
+        final Envelope<CakeOrdersView> response = queryView.searchOrdersByDeliveryWindow(query);
+
+        assertThat(response.payload().getOrders().get(0).getOrderId(), equalTo(orderId));
+        assertThat(response.metadata().name(), equalTo("cakeshop.search-orders-by-delivery-window"));
+    }
+
+    @Test
+    public void shouldNotCountOrdersByRecipeUnlessAsked() {
+
+        final ZonedDateTime from = ZonedDateTime.parse("2025-03-03T09:00Z");
+        final ZonedDateTime to = from.plusHours(48);
+
+        final JsonEnvelope query = envelopeFrom(metadataWithDefaults(), createObjectBuilder()
+                .add("deliveryDateFrom", from.toString())
+                .add("deliveryDateTo", to.toString())
+                .build());
+
+        when(service.findOrdersByDeliveryWindow(from, to, false, Optional.empty(), Optional.empty())).thenReturn(new CakeOrdersView(singletonList(new CakeOrderView(UUID.randomUUID(), UUID.randomUUID(), from))));
+
+        final Envelope<CakeOrdersView> response = queryView.searchOrdersByDeliveryWindow(query);
+
+        assertThat(response.payload().getOrders().size(), equalTo(1));
+    }
+
+    @Test
+    public void shouldRejectMalformedDeliveryDate() {
+
+        final JsonEnvelope query = envelopeFrom(metadataWithDefaults(), createObjectBuilder()
+                .add("deliveryDateFrom", "2025-03-03")
+                .add("deliveryDateTo", "2025-03-05T09:00Z")
+                .build());
+
+        assertThrows(BadRequestException.class, () -> queryView.searchOrdersByDeliveryWindow(query));
+        verifyNoInteractions(service);
+    }
+
+    @Test
+    public void shouldRejectDeliveryWindowStartingAfterItEnds() {
+
+        final ZonedDateTime to = ZonedDateTime.parse("2025-03-03T09:00Z");
+
+        final JsonEnvelope query = envelopeFrom(metadataWithDefaults(), createObjectBuilder()
+                .add("deliveryDateFrom", to.plusSeconds(1).toString())
+                .add("deliveryDateTo", to.toString())
+                .build());
+
+        assertThrows(BadRequestException.class, () -> queryView.searchOrdersByDeliveryWindow(query));
+        verifyNoInteractions(service);
+    }
+
+    @Test
+    public void shouldRejectPageSizeBelowOne() {
+
+        final ZonedDateTime from = ZonedDateTime.parse("2025-03-03T09:00Z");
+
+        final JsonEnvelope query = envelopeFrom(metadataWithDefaults(), createObjectBuilder()
+                .add("deliveryDateFrom", from.toString())
+                .add("deliveryDateTo", from.plusHours(48).toString())
+                .add("pagesize", 0)
+                .build());
+
+        assertThrows(BadRequestException.class, () -> queryView.searchOrdersByDeliveryWindow(query));
+        verifyNoInteractions(service);
+    }
 }
@@ -1,6 +1,8 @@
 package uk.gov.justice.services.cakeshop.query.view;
 
+import static java.util.Collections.singletonList;
 import static java.util.UUID.randomUUID;
+import static javax.json.Json.createObjectBuilder;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.mockito.Mockito.when;
@@ -12,12 +14,15 @@ import static uk.gov.justice.services.test.utils.core.messaging.MetadataBuilderF
 
 import uk.gov.justice.services.cakeshop.query.view.request.SearchIndex;
 import uk.gov.justice.services.cakeshop.query.view.response.IndexView;
+import uk.gov.justice.services.cakeshop.query.view.response.IndexesView;
 import uk.gov.justice.services.cakeshop.query.view.service.IndexService;
 import uk.gov.justice.services.messaging.Envelope;
 
 import java.time.ZonedDateTime;
 import java.util.UUID;
 
+import javax.json.JsonObject;
+
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -36,7 +41,8 @@ public class IndexQueryViewTest {
     @Test
     public void shouldHaveCorrectHandlerMethod() throws Exception {
         assertThat(indexQueryView, isHandler(QUERY_VIEW)
-                .with(method("findIndex").thatHandles("cakeshop.get-index")));
+                .with(method("findIndex").thatHandles("cakeshop.get-index"))
+                .with(method("searchIndexesByDeliveryDate").thatHandles("cakeshop.search-indexes-by-delivery-date")));
     }
 
     @Test
@@ -58,4 +64,24 @@ public class IndexQueryViewTest {
         assertThat(response.payload().getDeliveryDate(), equalTo(deliveryDate));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void shouldReturnIndexesOfDeliveriesInWindow() {
+
+        final UUID indexId = randomUUID();
+        final ZonedDateTime from = ZonedDateTime.parse("2025-03-03T00:00Z");
+        final ZonedDateTime to = ZonedDateTime.parse("2025-03-10T00:00Z");
+
+        final Envelope<JsonObject> query = envelopeFrom(metadataWithDefaults(), createObjectBuilder()
+                .add("deliveryDateFrom", from.toString())
+                .add("deliveryDateTo", to.toString())
+                .add("pagesize", 20)
+                .build());
+
+        when(indexService.findIndexesByDeliveryDate(from, to, 20)).thenReturn(new IndexesView(singletonList(new IndexView(indexId, from.plusDays(1)))));
+
+        final Envelope<IndexesView> response = indexQueryView.searchIndexesByDeliveryDate(query);
+
+        assertThat(response.payload().getIndexes().get(0).getIndexId(), equalTo(indexId));
+        assertThat(response.metadata().name(), equalTo("cakeshop.search-indexes-by-delivery-date"));
+    }
+}
@@ -0,0 +1,58 @@
+package uk.gov.justice.services.cakeshop.query.view;
+
+import static java.util.Collections.emptyList;
+import static javax.json.Json.createObjectBuilder;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.Mockito.when;
+import static uk.gov.justice.services.core.annotation.Component.QUERY_VIEW;
+import static uk.gov.justice.services.messaging.JsonEnvelope.envelopeFrom;
+import static uk.gov.justice.services.test.utils.core.matchers.HandlerMatcher.isHandler;
+import static uk.gov.justice.services.test.utils.core.matchers.HandlerMethodMatcher.method;
+import static uk.gov.justice.services.test.utils.core.messaging.MetadataBuilderFactory.metadataWithDefaults;
+
+import uk.gov.justice.services.cakeshop.query.view.response.ProductionScheduleView;
+import uk.gov.justice.services.cakeshop.query.view.service.ProductionScheduleService;
+import uk.gov.justice.services.messaging.Envelope;
+import uk.gov.justice.services.messaging.JsonEnvelope;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class ProductionScheduleQueryViewTest {
+
+    @Mock
+    private ProductionScheduleService service;
+
+    @InjectMocks
+    private ProductionScheduleQueryView queryView;
+
+    @Test
+    public void shouldHaveCorrectHandlerMethod() throws Exception {
+        assertThat(queryView, isHandler(QUERY_VIEW)
+                .with(method("getProductionSchedule").thatHandles("cakeshop.get-production-schedule")));
+    }
+
+    @Test
+    public void shouldReturnProductionScheduleOfDays() {
+        final ProductionScheduleView schedule = new ProductionScheduleView(emptyList());
+
+        final JsonEnvelope query = envelopeFrom(metadataWithDefaults(), createObjectBuilder()
+                .add("fromDay", "2025-03-03")
+                .add("toDay", "2025-03-09")
+                .build());
+
+        when(service.getProductionSchedule(LocalDate.of(2025, 3, 3), LocalDate.of(2025, 3, 9))).thenReturn(schedule);
+
+        final Envelope<ProductionScheduleView> response = queryView.getProductionSchedule(query);
+
+        assertThat(response.payload(), equalTo(schedule));
+        assertThat(response.metadata().name(), equalTo("cakeshop.get-production-schedule"));
+    }
+}
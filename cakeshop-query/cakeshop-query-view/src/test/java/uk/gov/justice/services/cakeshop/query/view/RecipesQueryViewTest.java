@@ -2,6 +2,7 @@ package uk.gov.justice.services.cakeshop.query.view;
 
 
 import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static java.util.UUID.randomUUID;
 import static javax.json.Json.createObjectBuilder;
@@ -9,6 +10,8 @@ import static org.hamcrest.CoreMatchers.allOf;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static uk.gov.justice.services.core.annotation.Component.QUERY_VIEW;
 import static uk.gov.justice.services.messaging.Envelope.envelopeFrom;
@@ -16,7 +19,9 @@ import static uk.gov.justice.services.test.utils.core.matchers.HandlerMatcher.is
 import static uk.gov.justice.services.test.utils.core.matchers.HandlerMethodMatcher.method;
 import static uk.gov.justice.services.test.utils.core.messaging.MetadataBuilderFactory.metadataWithDefaults;
 
+import uk.gov.justice.services.adapter.rest.exception.BadRequestException;
 import uk.gov.justice.services.cakeshop.query.view.request.SearchRecipes;
+import uk.gov.justice.services.cakeshop.query.view.request.SearchRecipesByIngredient;
 import uk.gov.justice.services.cakeshop.query.view.response.PhotoView;
 import uk.gov.justice.services.cakeshop.query.view.response.RecipeView;
 import uk.gov.justice.services.cakeshop.query.view.response.RecipesView;
@@ -48,7 +53,9 @@ public class RecipesQueryViewTest {
         assertThat(queryView, isHandler(QUERY_VIEW)
                 .with(allOf(
                         method("findRecipe").thatHandles("cakeshop.get-recipe"),
-                        method("listRecipes").thatHandles("cakeshop.search-recipes")))
+                        method("listRecipes").thatHandles("cakeshop.search-recipes"),
+                        method("listIngredientRecipes").thatHandles("cakeshop.get-ingredient-recipes"),
+                        method("searchRecipesByIngredient").thatHandles("cakeshop.search-recipes-by-ingredient")))
         );
     }
 
@@ -103,7 +110,7 @@ public class RecipesQueryViewTest {
         final String recipeName2 = "some other recipe name";
         final int pagesize = 5;
 
-        when(service.getRecipes(pagesize, Optional.empty(), Optional.empty()))
+        when(service.getRecipes(pagesize, Optional.empty(), Optional.empty(), Optional.empty()))
                 .thenReturn(new RecipesView(asList(new RecipeView(recipeId, recipeName, false), new RecipeView(recipeId2, recipeName2, false))));
 
         final Envelope<JsonObject> envelope = envelopeFrom(
@@ -131,7 +138,7 @@ public class RecipesQueryViewTest {
         final String nameUsedInQuery = "some recipe";
 
         final int pagesize = 5;
-        when(service.getRecipes(pagesize, Optional.of(nameUsedInQuery), Optional.empty()))
+        when(service.getRecipes(pagesize, Optional.of(nameUsedInQuery), Optional.empty(), Optional.empty()))
                 .thenReturn(new RecipesView(singletonList(new RecipeView(recipeId, recipeName, false))));
 
         final Envelope<JsonObject> envelope = envelopeFrom(
@@ -139,6 +146,7 @@ public class RecipesQueryViewTest {
                 createObjectBuilder()
                         .add("pagesize", pagesize)
                         .add("name", nameUsedInQuery)
+                        .add("match", "substring")
                         .build());
 
         final Envelope<RecipesView> response = queryView.listRecipes(envelope);
@@ -148,6 +156,29 @@ public class RecipesQueryViewTest {
     }
 
 
+    @Test
+    public void shouldSearchRecipeNamesByFullTextUnlessSubstringMatchRequested() throws Exception {
+
+        final UUID recipeId = randomUUID();
+        final String recipeName = "Chocolate cake";
+
+        final int pagesize = 5;
+        when(service.searchRecipesByName(pagesize, "choc", Optional.of(true), Optional.empty()))
+                .thenReturn(new RecipesView(singletonList(new RecipeView(recipeId, recipeName, true))));
+
+        final Envelope<JsonObject> envelope = envelopeFrom(
+                metadataWithDefaults(),
+                createObjectBuilder()
+                        .add("pagesize", pagesize)
+                        .add("name", "choc")
+                        .add("glutenFree", true)
+                        .build());
+
+        final Envelope<RecipesView> response = queryView.listRecipes(envelope);
+
+        assertThat(response.payload().getRecipes().get(0).getId(), is(recipeId));
+    }
+
     @Test
     public void shouldQueryForGlutenFreeRecipes() throws Exception {
 
@@ -157,7 +188,7 @@ public class RecipesQueryViewTest {
         final int pagesize = 5;
         final boolean glutenFree = true;
 
-        when(service.getRecipes(pagesize, Optional.empty(), Optional.of(glutenFree))).thenReturn(
+        when(service.getRecipes(pagesize, Optional.empty(), Optional.of(glutenFree), Optional.empty())).thenReturn(
                 new RecipesView(singletonList(new RecipeView(recipeId, recipeName, glutenFree))));
 
 
@@ -176,6 +207,76 @@ public class RecipesQueryViewTest {
 
     }
 
+    @Test
+    public void shouldPassPageTokenAndReturnNextPageToken() throws Exception {
+
+        final UUID recipeId = randomUUID();
+        final String recipeName = "some recipe name";
+        final String pageToken = "page-token";
+        final String nextPageToken = "next-page-token";
+
+        final int pagesize = 1;
+        when(service.getRecipes(pagesize, Optional.empty(), Optional.empty(), Optional.of(pageToken)))
+                .thenReturn(new RecipesView(singletonList(new RecipeView(recipeId, recipeName, false)), nextPageToken));
+
+        final Envelope<JsonObject> envelope = envelopeFrom(
+                metadataWithDefaults(),
+                createObjectBuilder()
+                        .add("pagesize", pagesize)
+                        .add("pageToken", pageToken)
+                        .build());
+
+        final Envelope<RecipesView> response = queryView.listRecipes(envelope);
+
+        assertThat(response.payload().getRecipes().get(0).getId(), is(recipeId));
+        assertThat(response.payload().getNextPageToken(), is(nextPageToken));
+    }
+
+    @Test
+    public void shouldReturnRecipesListingIngredient() throws Exception {
+
+        final UUID recipeId = randomUUID();
+        final String recipeName = "some recipe name";
+        final String pageToken = "page-token";
+
+        final int pagesize = 10;
+        when(service.getRecipesByIngredient(pagesize, "flour", Optional.of(pageToken)))
+                .thenReturn(new RecipesView(singletonList(new RecipeView(recipeId, recipeName, false))));
+
+        final Envelope<JsonObject> envelope = envelopeFrom(
+                metadataWithDefaults(),
+                createObjectBuilder()
+                        .add("ingredientName", "flour")
+                        .add("pagesize", pagesize)
+                        .add("pageToken", pageToken)
+                        .build());
+
+        final Envelope<RecipesView> response = queryView.listIngredientRecipes(envelope);
+
+        assertThat(response.metadata().name(), is("cakeshop.search-recipes"));
+        assertThat(response.payload().getRecipes().get(0).getId(), is(recipeId));
+        assertThat(response.payload().getRecipes().get(0).getName(), is(recipeName));
+    }
+
+    @Test
+    public void shouldPassPageTokenForQuery() throws Exception {
+
+        final UUID recipeId = randomUUID();
+        final String recipeName = "some recipe name";
+        final String pageToken = "page-token";
+
+        final int pagesize = 5;
+        when(service.getRecipes(pagesize, Optional.of(recipeName), Optional.of(false), Optional.of(pageToken)))
+                .thenReturn(new RecipesView(singletonList(new RecipeView(recipeId, recipeName, false))));
+
+        final Envelope<SearchRecipes> envelope = envelopeFrom(metadataWithDefaults(), new SearchRecipes(pagesize, recipeName, false, pageToken));
+
+        final Envelope<RecipesView> response = queryView.queryRecipes(envelope);
+
+        assertThat(response.payload().getRecipes().get(0).getId(), is(recipeId));
+        assertThat(response.payload().getNextPageToken(), is(nullValue()));
+    }
+
     @Test
     public void shouldReturnResponseWithMetadataWhenQueryingForRecipes() {
 
@@ -200,10 +301,10 @@ public class RecipesQueryViewTest {
         final String recipeName2 = "some other recipe name";
 
         final int pagesize = 5;
-        when(service.getRecipes(pagesize, Optional.of(recipeName), Optional.of(false)))
+        when(service.getRecipes(pagesize, Optional.of(recipeName), Optional.of(false), Optional.empty()))
                 .thenReturn(new RecipesView(asList(new RecipeView(recipeId, recipeName, false), new RecipeView(recipeId2, recipeName2, false))));
 
-        final SearchRecipes searchRecipes = new SearchRecipes(pagesize, recipeName, false);
+        final SearchRecipes searchRecipes = new SearchRecipes(pagesize, recipeName, false, null);
 
         final Envelope<SearchRecipes> envelope = envelopeFrom(metadataWithDefaults(), searchRecipes);
 
@@ -213,6 +314,58 @@ public class RecipesQueryViewTest {
 
     }
 
+    @Test
+    public void shouldSearchRecipesByIncludedAndExcludedIngredients() throws Exception {
+
+        final UUID recipeId = randomUUID();
+        final String recipeName = "Bakewell tart";
+
+        final int pagesize = 5;
+        when(service.searchRecipesByIngredient(pagesize, singletonList("almonds"), singletonList("nuts"), Optional.empty()))
+                .thenReturn(new RecipesView(singletonList(new RecipeView(recipeId, recipeName, false))));
+
+        final Envelope<SearchRecipesByIngredient> envelope = envelopeFrom(metadataWithDefaults(),
+                new SearchRecipesByIngredient(pagesize, singletonList("almonds"), singletonList("nuts"), null));
+
+        final Envelope<RecipesView> response = queryView.searchRecipesByIngredient(envelope);
+
+        assertThat(response.metadata().name(), is("cakeshop.search-recipes"));
+        assertThat(response.payload().getRecipes().get(0).getId(), is(recipeId));
+    }
+
+    @Test
+    public void shouldSearchRecipesByIngredientWithoutExclusions() throws Exception {
+
+        final String pageToken = "page-token";
+
+        final int pagesize = 5;
+        when(service.searchRecipesByIngredient(pagesize, singletonList("almonds"), emptyList(), Optional.of(pageToken)))
+                .thenReturn(new RecipesView(emptyList()));
+
+        final Envelope<SearchRecipesByIngredient> envelope = envelopeFrom(metadataWithDefaults(),
+                new SearchRecipesByIngredient(pagesize, singletonList("almonds"), null, pageToken));
+
+        final Envelope<RecipesView> response = queryView.searchRecipesByIngredient(envelope);
+
+        assertThat(response.payload().getRecipes().isEmpty(), is(true));
+    }
+
+    @Test
+    public void shouldRejectPageSizeBelowOne() throws Exception {
+
+        final Envelope<JsonObject> envelope = envelopeFrom(
+                metadataWithDefaults(),
+                createObjectBuilder()
+                        .add("pagesize", 0)
+                        .add("name", "choc")
+                        .build());
+
+        assertThrows(BadRequestException.class, () -> queryView.listRecipes(envelope));
+        assertThrows(BadRequestException.class, () -> queryView.searchRecipesByIngredient(envelopeFrom(metadataWithDefaults(),
+                new SearchRecipesByIngredient(-1, singletonList("almonds"), null, null))));
+        verifyNoInteractions(service);
+    }
+
     @Test
     public void shouldReturnFileId() {
 
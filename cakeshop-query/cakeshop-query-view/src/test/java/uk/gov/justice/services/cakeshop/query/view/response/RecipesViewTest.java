@@ -21,11 +21,13 @@ public class RecipesViewTest {
         RecipesView item2 = new RecipesView(recipes);
         RecipesView item3 = new RecipesView(Collections.emptyList());
         RecipesView item4 = new RecipesView(Collections.singletonList(new RecipeView(UUID.randomUUID(), NAME, false)));
+        RecipesView item5 = new RecipesView(recipes, "token");
 
         new EqualsTester()
                 .addEqualityGroup(item1, item2)
                 .addEqualityGroup(item3)
                 .addEqualityGroup(item4)
+                .addEqualityGroup(item5)
                 .testEquals();
     }
 
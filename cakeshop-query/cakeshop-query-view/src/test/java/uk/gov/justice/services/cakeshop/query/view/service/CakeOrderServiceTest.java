@@ -1,21 +1,37 @@
 package uk.gov.justice.services.cakeshop.query.view.service;
 
 
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static java.util.stream.Collectors.toList;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import uk.gov.justice.services.adapter.rest.exception.BadRequestException;
 import uk.gov.justice.services.cakeshop.persistence.CakeOrderRepository;
+import uk.gov.justice.services.cakeshop.persistence.PageCursor;
 import uk.gov.justice.services.cakeshop.persistence.entity.CakeOrder;
 import uk.gov.justice.services.cakeshop.query.view.response.CakeOrderView;
+import uk.gov.justice.services.cakeshop.query.view.response.CakeOrdersView;
 
 import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -58,4 +74,88 @@ public class CakeOrderServiceTest {
         assertThat(view, nullValue());
     }
 
+    @Test
+    public void shouldReturnOrdersStreamedFromDeliveryWindow() throws Exception {
+
+        final UUID id = UUID.randomUUID();
+        final UUID recipeId = UUID.randomUUID();
+        final ZonedDateTime from = ZonedDateTime.now();
+        final ZonedDateTime to = from.plusHours(48);
+
+        when(repository.streamByDeliveryWindow(from, to, Optional.empty(), CakeOrderService.FETCH_SIZE)).thenReturn(Stream.of(new CakeOrder(id, recipeId, from.plusHours(1))));
+
+        final CakeOrdersView view = service.findOrdersByDeliveryWindow(from, to, false, Optional.empty(), Optional.empty());
+
+        assertThat(view.getOrders(), hasSize(1));
+        assertThat(view.getOrders().get(0).getOrderId(), is(id));
+        assertThat(view.getRecipeCounts(), nullValue());
+        assertThat(view.getNextPageToken(), nullValue());
+        verify(repository, never()).countByRecipeInDeliveryWindow(any(), any());
+    }
+
+    @Test
+    public void shouldCountOrdersOfEachRecipeInDeliveryWindowWhenAsked() throws Exception {
+
+        final UUID recipeId = UUID.randomUUID();
+        final ZonedDateTime from = ZonedDateTime.now();
+        final ZonedDateTime to = from.plusHours(48);
+
+        when(repository.streamByDeliveryWindow(from, to, Optional.empty(), CakeOrderService.FETCH_SIZE)).thenReturn(Stream.empty());
+        when(repository.countByRecipeInDeliveryWindow(from, to)).thenReturn(singletonMap(recipeId, 3L));
+
+        final CakeOrdersView view = service.findOrdersByDeliveryWindow(from, to, true, Optional.empty(), Optional.empty());
+
+        assertThat(view.getRecipeCounts(), hasSize(1));
+        assertThat(view.getRecipeCounts().get(0).getRecipeId(), is(recipeId));
+        assertThat(view.getRecipeCounts().get(0).getCount(), is(3L));
+    }
+
+    @Test
+    public void shouldCapUnpagedOrdersAndReturnNextPageToken() throws Exception {
+
+        final ZonedDateTime from = ZonedDateTime.parse("2025-03-03T09:00Z");
+        final ZonedDateTime to = from.plusHours(48);
+        final List<CakeOrder> cakeOrders = IntStream.rangeClosed(0, CakeOrderService.MAX_UNPAGED_ORDERS)
+                .mapToObj(i -> new CakeOrder(UUID.randomUUID(), UUID.randomUUID(), from.plusSeconds(i)))
+                .collect(toList());
+
+        when(repository.streamByDeliveryWindow(from, to, Optional.empty(), CakeOrderService.FETCH_SIZE)).thenReturn(cakeOrders.stream());
+
+        final CakeOrdersView view = service.findOrdersByDeliveryWindow(from, to, false, Optional.empty(), Optional.empty());
+
+        final CakeOrder lastOrder = cakeOrders.get(CakeOrderService.MAX_UNPAGED_ORDERS - 1);
+        assertThat(view.getOrders(), hasSize(CakeOrderService.MAX_UNPAGED_ORDERS));
+        assertThat(view.getNextPageToken(), is(PageCursor.after(lastOrder).toToken()));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void shouldReturnPageOfOrdersAfterPageToken() throws Exception {
+
+        final ZonedDateTime from = ZonedDateTime.parse("2025-03-03T09:00Z");
+        final ZonedDateTime to = from.plusHours(48);
+        final CakeOrder previousOrder = new CakeOrder(UUID.randomUUID(), UUID.randomUUID(), from.plusHours(1));
+        final CakeOrder nextOrder = new CakeOrder(UUID.randomUUID(), UUID.randomUUID(), from.plusHours(2));
+        final ArgumentCaptor<Optional<CakeOrder>> after = ArgumentCaptor.forClass(Optional.class);
+
+        when(repository.findByDeliveryWindow(eq(2), eq(from), eq(to), after.capture())).thenReturn(singletonList(nextOrder));
+
+        final CakeOrdersView view = service.findOrdersByDeliveryWindow(from, to, false, Optional.of(1), Optional.of(PageCursor.after(previousOrder).toToken()));
+
+        assertThat(view.getOrders(), hasSize(1));
+        assertThat(view.getOrders().get(0).getOrderId(), is(nextOrder.getOrderId()));
+        assertThat(view.getNextPageToken(), nullValue());
+        assertThat(after.getValue().get().getOrderId(), is(previousOrder.getOrderId()));
+        assertThat(after.getValue().get().getDeliveryDate().toInstant(), is(previousOrder.getDeliveryDate().toInstant()));
+    }
+
+    @Test
+    public void shouldRejectPageTokenThatIsNotOrderPageTokenAsBadRequest() throws Exception {
+
+        final ZonedDateTime from = ZonedDateTime.parse("2025-03-03T09:00Z");
+        final String cakePageToken = new PageCursor("Victoria Sponge", UUID.randomUUID()).toToken();
+
+        assertThrows(BadRequestException.class,
+                () -> service.findOrdersByDeliveryWindow(from, from.plusHours(48), false, Optional.of(1), Optional.of(cakePageToken)));
     }
+}
@@ -1,16 +1,27 @@
 package uk.gov.justice.services.cakeshop.query.view.service;
 
 import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
 import static java.util.UUID.randomUUID;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static uk.gov.justice.services.cakeshop.query.view.service.CakeService.FETCH_SIZE;
+import static uk.gov.justice.services.cakeshop.query.view.service.CakeService.MAX_UNPAGED_CAKES;
 
 import uk.gov.justice.services.cakeshop.persistence.CakeRepository;
+import uk.gov.justice.services.cakeshop.persistence.PageCursor;
 import uk.gov.justice.services.cakeshop.persistence.entity.Cake;
 import uk.gov.justice.services.cakeshop.query.view.response.CakesView;
 
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -35,14 +46,59 @@ public class CakeServiceTest {
         final String name = "Xmass Cake";
         final String name2 = "Easter Cake";
 
-        when(cakeRepository.findAll()).thenReturn(asList(new Cake(id, name), new Cake(id2, name2)));
+        when(cakeRepository.streamBy(Optional.empty(), Optional.empty(), FETCH_SIZE)).thenReturn(Stream.of(new Cake(id, name), new Cake(id2, name2)));
 
-        final CakesView cakes = cakeService.cakes();
+        final CakesView cakes = cakeService.cakes(Optional.empty(), Optional.empty(), Optional.empty());
         assertThat(cakes.getCakes().get(0).getId(), is(id));
         assertThat(cakes.getCakes().get(0).getName(), is(name));
 
         assertThat(cakes.getCakes().get(1).getId(), is(id2));
         assertThat(cakes.getCakes().get(1).getName(), is(name2));
+        assertThat(cakes.getNextPageToken(), is(nullValue()));
 
+        verify(cakeRepository, never()).findAll();
+    }
+
+    @Test
+    public void shouldCapCakesReturnedWithoutPageSize() throws Exception {
+        final PageCursor cursor = new PageCursor("Easter Cake", randomUUID());
+
+        when(cakeRepository.streamBy(Optional.empty(), Optional.of(cursor), FETCH_SIZE))
+                .thenReturn(IntStream.range(0, MAX_UNPAGED_CAKES + 10).mapToObj(i -> new Cake(randomUUID(), "Cake " + i)));
+
+        final CakesView cakes = cakeService.cakes(Optional.empty(), Optional.empty(), Optional.of(cursor.toToken()));
+
+        assertThat(cakes.getCakes(), hasSize(MAX_UNPAGED_CAKES));
+        assertThat(PageCursor.fromToken(cakes.getNextPageToken()).getName(), is("Cake " + (MAX_UNPAGED_CAKES - 1)));
+    }
+
+    @Test
+    public void shouldReturnPageOfCakesWithNextPageToken() throws Exception {
+        final UUID id = randomUUID();
+        final String name = "Easter Cake";
+
+        when(cakeRepository.findBy(2, Optional.of("Cake"), Optional.empty()))
+                .thenReturn(asList(new Cake(id, name), new Cake(randomUUID(), "Xmass Cake")));
+
+        final CakesView cakes = cakeService.cakes(Optional.of(1), Optional.of("Cake"), Optional.empty());
+
+        assertThat(cakes.getCakes(), hasSize(1));
+        assertThat(cakes.getCakes().get(0).getId(), is(id));
+        assertThat(PageCursor.fromToken(cakes.getNextPageToken()), is(new PageCursor(name, id)));
+    }
+
+    @Test
+    public void shouldReturnLastPageOfCakesAfterPageToken() throws Exception {
+        final UUID id = randomUUID();
+        final PageCursor cursor = new PageCursor("Easter Cake", randomUUID());
+
+        when(cakeRepository.findBy(11, Optional.empty(), Optional.of(cursor)))
+                .thenReturn(singletonList(new Cake(id, "Xmass Cake")));
+
+        final CakesView cakes = cakeService.cakes(Optional.of(10), Optional.empty(), Optional.of(cursor.toToken()));
+
+        assertThat(cakes.getCakes(), hasSize(1));
+        assertThat(cakes.getCakes().get(0).getId(), is(id));
+        assertThat(cakes.getNextPageToken(), is(nullValue()));
     }
 }
@@ -1,18 +1,22 @@
 package uk.gov.justice.services.cakeshop.query.view.service;
 
 import static java.time.ZonedDateTime.now;
+import static java.util.Collections.singletonList;
 import static java.util.UUID.randomUUID;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 
-import uk.gov.justice.services.cakeshop.persistence.IndexRepository;
 import uk.gov.justice.services.cakeshop.persistence.entity.Index;
+import uk.gov.justice.services.cakeshop.persistence.search.DeliverySearchIndex;
 import uk.gov.justice.services.cakeshop.query.view.response.IndexView;
+import uk.gov.justice.services.cakeshop.query.view.response.IndexesView;
 
 import java.time.ZonedDateTime;
+import java.util.Optional;
 import java.util.UUID;
 
 import org.junit.jupiter.api.Test;
@@ -25,7 +29,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 public class IndexServiceTest {
 
     @Mock
-    private IndexRepository repository;
+    private DeliverySearchIndex deliverySearchIndex;
 
     @InjectMocks
     private IndexService service;
@@ -36,7 +40,7 @@ public class IndexServiceTest {
         final UUID indexId = randomUUID();
         final ZonedDateTime deliveryDate = now();
 
-        when(repository.findBy(indexId)).thenReturn(new Index(indexId, deliveryDate));
+        when(deliverySearchIndex.findByIndexId(indexId)).thenReturn(Optional.of(new Index(indexId, deliveryDate)));
 
         final IndexView view = service.findIndexBy(indexId.toString());
 
@@ -45,13 +49,28 @@ public class IndexServiceTest {
     }
 
     @Test
-    public void shouldReturnNullIfIndexNotFoundInRepo() throws Exception {
+    public void shouldReturnNullIfIndexNotFoundInSearchIndex() throws Exception {
 
-        when(repository.findBy(any(UUID.class))).thenReturn(null);
+        when(deliverySearchIndex.findByIndexId(any(UUID.class))).thenReturn(Optional.empty());
 
         final IndexView view = service.findIndexBy(randomUUID().toString());
 
         assertThat(view, nullValue());
     }
 
+    @Test
+    public void shouldReturnIndexViewsOfDeliveriesInWindow() throws Exception {
+
+        final UUID indexId = randomUUID();
+        final ZonedDateTime from = now();
+        final ZonedDateTime to = from.plusDays(7);
+
+        when(deliverySearchIndex.findByDeliveryDateBetween(from, to, 20)).thenReturn(singletonList(new Index(indexId, from.plusDays(1))));
+
+        final IndexesView view = service.findIndexesByDeliveryDate(from, to, 20);
+
+        assertThat(view.getIndexes(), hasSize(1));
+        assertThat(view.getIndexes().get(0).getIndexId(), is(indexId));
+        assertThat(view.getIndexes().get(0).getDeliveryDate(), is(from.plusDays(1)));
+    }
 }
@@ -0,0 +1,68 @@
+package uk.gov.justice.services.cakeshop.query.view.service;
+
+import static java.util.Arrays.asList;
+import static java.util.UUID.randomUUID;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.when;
+
+import uk.gov.justice.services.cakeshop.persistence.ProductionScheduleRepository;
+import uk.gov.justice.services.cakeshop.persistence.entity.ProductionScheduleEntry;
+import uk.gov.justice.services.cakeshop.query.view.response.ProductionDayView;
+import uk.gov.justice.services.cakeshop.query.view.response.ProductionScheduleView;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class ProductionScheduleServiceTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2025, 3, 3);
+
+    @Mock
+    private ProductionScheduleRepository repository;
+
+    @InjectMocks
+    private ProductionScheduleService service;
+
+    @Test
+    public void shouldGroupRecipeCountsByDay() {
+        final UUID chocolateCakeId = randomUUID();
+        final UUID muffinId = randomUUID();
+
+        when(repository.findByDeliveryDayBetween(MONDAY, MONDAY.plusDays(6))).thenReturn(asList(
+                new ProductionScheduleEntry(MONDAY, chocolateCakeId, 1),
+                new ProductionScheduleEntry(MONDAY, muffinId, 2),
+                new ProductionScheduleEntry(MONDAY.plusDays(2), chocolateCakeId, 4)));
+
+        final ProductionScheduleView schedule = service.getProductionSchedule(MONDAY, MONDAY.plusDays(6));
+
+        assertThat(schedule.getDays(), hasSize(2));
+
+        final ProductionDayView monday = schedule.getDays().get(0);
+        assertThat(monday.getDeliveryDay(), is(MONDAY));
+        assertThat(monday.getRecipes(), hasSize(2));
+        assertThat(monday.getRecipes().get(1).getRecipeId(), is(muffinId));
+        assertThat(monday.getRecipes().get(1).getCount(), is(2L));
+
+        final ProductionDayView wednesday = schedule.getDays().get(1);
+        assertThat(wednesday.getDeliveryDay(), is(MONDAY.plusDays(2)));
+        assertThat(wednesday.getRecipes().get(0).getCount(), is(4L));
+    }
+
+    @Test
+    public void shouldReturnNoDaysWhenNothingIsOrdered() {
+        when(repository.findByDeliveryDayBetween(MONDAY, MONDAY)).thenReturn(Collections.emptyList());
+
+        assertThat(service.getProductionSchedule(MONDAY, MONDAY).getDays(), is(empty()));
+    }
+}
@@ -1,14 +1,22 @@
 package uk.gov.justice.services.cakeshop.query.view.service;
 
+import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.collection.IsCollectionWithSize.hasSize;
 import static org.junit.Assert.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
+import uk.gov.justice.services.adapter.rest.exception.BadRequestException;
+import uk.gov.justice.services.cakeshop.persistence.PageCursor;
+import uk.gov.justice.services.cakeshop.persistence.RankedRecipe;
 import uk.gov.justice.services.cakeshop.persistence.RecipeRepository;
+import uk.gov.justice.services.cakeshop.persistence.cache.RecipeCache;
 import uk.gov.justice.services.cakeshop.persistence.entity.Recipe;
 import uk.gov.justice.services.cakeshop.query.view.response.PhotoView;
 import uk.gov.justice.services.cakeshop.query.view.response.RecipeView;
@@ -22,6 +30,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,6 +47,9 @@ public class RecipeServiceTest {
     @Mock
     private RecipeRepository recipeRepository;
 
+    @Spy
+    private RecipeCache recipeCache = new RecipeCache();
+
     @Test
     public void shouldReturnRecipeById() {
         given(recipeRepository.findBy(RECIPE_ID)).willReturn(new Recipe(RECIPE_ID, NAME, GLUTEN_FREE, PHOTO_ID));
@@ -48,6 +60,20 @@ public class RecipeServiceTest {
         assertThat(foundPerson.getName(), equalTo(NAME));
     }
 
+    @Test
+    public void shouldServeRepeatedRecipeLookupsFromCache() {
+        given(recipeRepository.findBy(RECIPE_ID)).willReturn(new Recipe(RECIPE_ID, NAME, GLUTEN_FREE, PHOTO_ID));
+
+        service.findRecipe(RECIPE_ID.toString());
+        RecipeView foundRecipe = service.findRecipe(RECIPE_ID.toString());
+        PhotoView foundPhoto = service.findRecipePhoto(RECIPE_ID.toString());
+
+        assertThat(foundRecipe.getName(), equalTo(NAME));
+        assertThat(foundPhoto.getFileId(), is(PHOTO_ID));
+        verify(recipeRepository, times(2)).findBy(RECIPE_ID);
+        assertThat(recipeCache.hitCount(), is(1L));
+    }
+
     @Test
     public void shouldReturnNullWhenRecipeNotFound() {
         given(recipeRepository.findBy(NON_EXISTENT_ID)).willReturn(null);
@@ -60,9 +86,9 @@ public class RecipeServiceTest {
         int pageSize = 20;
         Optional<String> nameQueryParam = Optional.of("name123");
         Optional<Boolean> glutenFreeQueryParam = Optional.of(false);
-        given(recipeRepository.findBy(pageSize, nameQueryParam, glutenFreeQueryParam))
+        given(recipeRepository.findBy(pageSize + 1, nameQueryParam, glutenFreeQueryParam, Optional.empty()))
                 .willReturn(singletonList(new Recipe(RECIPE_ID, NAME, GLUTEN_FREE, PHOTO_ID)));
-        RecipesView recipes = service.getRecipes(pageSize, nameQueryParam, glutenFreeQueryParam);
+        RecipesView recipes = service.getRecipes(pageSize, nameQueryParam, glutenFreeQueryParam, Optional.empty());
 
         List<RecipeView> firstRecipe = recipes.getRecipes();
         assertThat(firstRecipe, hasSize(1));
@@ -78,10 +104,10 @@ public class RecipeServiceTest {
         Optional<String> nameQueryParam = Optional.of("other name");
         Optional<Boolean> glutenFreeQueryParam = Optional.empty();
 
-        given(recipeRepository.findBy(pageSize, nameQueryParam, glutenFreeQueryParam))
+        given(recipeRepository.findBy(pageSize + 1, nameQueryParam, glutenFreeQueryParam, Optional.empty()))
                 .willReturn(singletonList(new Recipe(RECIPE_ID, NAME, GLUTEN_FREE, PHOTO_ID)));
 
-        RecipesView recipes = service.getRecipes(pageSize, nameQueryParam, glutenFreeQueryParam);
+        RecipesView recipes = service.getRecipes(pageSize, nameQueryParam, glutenFreeQueryParam, Optional.empty());
 
         List<RecipeView> firstRecipe = recipes.getRecipes();
         assertThat(firstRecipe, hasSize(1));
@@ -90,6 +116,96 @@ public class RecipeServiceTest {
         assertThat(firstRecipe.get(0).isGlutenFree(), is(GLUTEN_FREE));
     }
 
+    @Test
+    public void shouldReturnNextPageTokenWhenMoreRecipesExist() {
+        final Recipe lastOnPage = new Recipe(RECIPE_ID, NAME, GLUTEN_FREE, PHOTO_ID);
+        final Recipe firstOnNextPage = new Recipe(UUID.randomUUID(), "other name", GLUTEN_FREE, PHOTO_ID);
+
+        given(recipeRepository.findBy(2, Optional.empty(), Optional.empty(), Optional.empty()))
+                .willReturn(asList(lastOnPage, firstOnNextPage));
+
+        RecipesView recipes = service.getRecipes(1, Optional.empty(), Optional.empty(), Optional.empty());
+
+        assertThat(recipes.getRecipes(), hasSize(1));
+        assertThat(recipes.getRecipes().get(0).getId(), equalTo(RECIPE_ID));
+        assertThat(PageCursor.fromToken(recipes.getNextPageToken()), equalTo(new PageCursor(NAME, RECIPE_ID)));
+    }
+
+    @Test
+    public void shouldQueryAfterCursorOfPageToken() {
+        final PageCursor cursor = new PageCursor("previous name", UUID.randomUUID());
+
+        given(recipeRepository.findBy(11, Optional.empty(), Optional.empty(), Optional.of(cursor)))
+                .willReturn(singletonList(new Recipe(RECIPE_ID, NAME, GLUTEN_FREE, PHOTO_ID)));
+
+        RecipesView recipes = service.getRecipes(10, Optional.empty(), Optional.empty(), Optional.of(cursor.toToken()));
+
+        assertThat(recipes.getRecipes(), hasSize(1));
+        assertNull(recipes.getNextPageToken());
+    }
+
+    @Test
+    public void shouldRejectMalformedPageTokenAsBadRequest() {
+        assertThrows(BadRequestException.class, () -> service.getRecipes(10, Optional.empty(), Optional.empty(), Optional.of("not a page token")));
+    }
+
+    @Test
+    public void shouldGetRecipesByIngredientWithNextPageToken() {
+        final Recipe lastOnPage = new Recipe(RECIPE_ID, NAME, GLUTEN_FREE, PHOTO_ID);
+        final Recipe firstOnNextPage = new Recipe(UUID.randomUUID(), "other name", GLUTEN_FREE, PHOTO_ID);
+        final PageCursor cursor = new PageCursor("previous name", UUID.randomUUID());
+
+        given(recipeRepository.findByIngredientName(2, "flour", Optional.of(cursor)))
+                .willReturn(asList(lastOnPage, firstOnNextPage));
+
+        RecipesView recipes = service.getRecipesByIngredient(1, "flour", Optional.of(cursor.toToken()));
+
+        assertThat(recipes.getRecipes(), hasSize(1));
+        assertThat(recipes.getRecipes().get(0).getId(), equalTo(RECIPE_ID));
+        assertThat(PageCursor.fromToken(recipes.getNextPageToken()), equalTo(new PageCursor(NAME, RECIPE_ID)));
+    }
+
+    @Test
+    public void shouldSearchRecipesByNameWithRankedNextPageToken() {
+        final RankedRecipe lastOnPage = new RankedRecipe(new Recipe(RECIPE_ID, NAME, GLUTEN_FREE, PHOTO_ID), 0.2f);
+        final RankedRecipe firstOnNextPage = new RankedRecipe(new Recipe(UUID.randomUUID(), "other name", GLUTEN_FREE, PHOTO_ID), 0.1f);
+
+        given(recipeRepository.findByNameRanked(2, "choc", Optional.empty(), Optional.empty()))
+                .willReturn(asList(lastOnPage, firstOnNextPage));
+
+        RecipesView recipes = service.searchRecipesByName(1, "choc", Optional.empty(), Optional.empty());
+
+        assertThat(recipes.getRecipes(), hasSize(1));
+        assertThat(recipes.getRecipes().get(0).getId(), equalTo(RECIPE_ID));
+        assertThat(PageCursor.fromToken(recipes.getNextPageToken()), equalTo(new PageCursor(0.2f, NAME, RECIPE_ID)));
+    }
+
+    @Test
+    public void shouldRejectUnrankedPageTokenInFullTextSearchAsBadRequest() {
+        final String pageToken = new PageCursor(NAME, RECIPE_ID).toToken();
+
+        assertThrows(BadRequestException.class, () -> service.searchRecipesByName(10, "choc", Optional.empty(), Optional.of(pageToken)));
+    }
+
+    @Test
+    public void shouldRejectRankedPageTokenInSubstringSearchAsBadRequest() {
+        final String pageToken = new PageCursor(0.2f, NAME, RECIPE_ID).toToken();
+
+        assertThrows(BadRequestException.class, () -> service.getRecipes(10, Optional.of("choc"), Optional.empty(), Optional.of(pageToken)));
+    }
+
+    @Test
+    public void shouldSearchRecipesByIncludedAndExcludedIngredients() {
+        given(recipeRepository.findByIngredients(11, singletonList("almonds"), singletonList("nuts"), Optional.empty()))
+                .willReturn(singletonList(new Recipe(RECIPE_ID, NAME, GLUTEN_FREE, PHOTO_ID)));
+
+        RecipesView recipes = service.searchRecipesByIngredient(10, singletonList("almonds"), singletonList("nuts"), Optional.empty());
+
+        assertThat(recipes.getRecipes(), hasSize(1));
+        assertThat(recipes.getRecipes().get(0).getId(), equalTo(RECIPE_ID));
+        assertNull(recipes.getNextPageToken());
+    }
+
     @Test
     public void shouldGetRecipePhoto() throws Exception {
         given(recipeRepository.findBy(RECIPE_ID)).willReturn(new Recipe(RECIPE_ID, NAME, GLUTEN_FREE, PHOTO_ID));
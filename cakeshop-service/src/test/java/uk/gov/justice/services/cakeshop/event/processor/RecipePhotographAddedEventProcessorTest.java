@@ -0,0 +1,74 @@
+package uk.gov.justice.services.cakeshop.event.processor;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+import javax.json.JsonObject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+import uk.gov.justice.services.cakeshop.jobstore.RecipeThumbnailJobData;
+import uk.gov.justice.services.common.converter.ObjectToJsonObjectConverter;
+import uk.gov.justice.services.common.util.UtcClock;
+import uk.gov.justice.services.messaging.JsonEnvelope;
+import uk.gov.justice.services.messaging.spi.DefaultJsonEnvelopeProvider;
+import uk.gov.moj.cpp.jobstore.api.ExecutionService;
+import uk.gov.moj.cpp.jobstore.api.task.ExecutionInfo;
+
+import static java.time.ZoneOffset.UTC;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static uk.gov.justice.services.messaging.spi.DefaultJsonMetadata.metadataBuilder;
+import static uk.gov.moj.cpp.jobstore.api.task.ExecutionStatus.STARTED;
+
+@ExtendWith(MockitoExtension.class)
+class RecipePhotographAddedEventProcessorTest {
+
+    @Mock
+    private ObjectToJsonObjectConverter objectToJsonObjectConverter;
+
+    @Mock
+    private UtcClock clock;
+
+    @Mock
+    private ExecutionService executionService;
+
+    @Mock
+    private Logger logger;
+
+    @InjectMocks
+    private RecipePhotographAddedEventProcessor processor;
+
+    @Test
+    void shouldSubmitThumbnailJobToJobStore() {
+        final JsonObject payload = mock(JsonObject.class);
+        final JsonObject jobData = mock(JsonObject.class);
+        final JsonEnvelope jsonEnvelope = new DefaultJsonEnvelopeProvider().envelopeFrom(metadataBuilder()
+                .withId(UUID.randomUUID())
+                .withName("cakeshop.events.recipe-photograph-added")
+                .build(), payload);
+        final ZonedDateTime now = ZonedDateTime.now(UTC).truncatedTo(java.time.temporal.ChronoUnit.MILLIS);
+        when(clock.now()).thenReturn(now);
+        when(payload.getString("recipeId")).thenReturn("recipe-id");
+        when(payload.getString("photoId")).thenReturn("photo-id");
+        when(objectToJsonObjectConverter.convert(any())).thenReturn(jobData);
+
+        processor.handle(jsonEnvelope);
+
+        verify(executionService).executeWith(argThat((ExecutionInfo executionInfo) -> {
+            assertThat(executionInfo.getJobData(), is(jobData));
+            assertThat(executionInfo.getNextTask(), is("recipe-thumbnail-task"));
+            assertThat(executionInfo.getExecutionStatus(), is(STARTED));
+            assertThat(executionInfo.getNextTaskStartTime(), is(now));
+            return true;
+        }));
+        verify(objectToJsonObjectConverter).convert(new RecipeThumbnailJobData("recipe-id", "photo-id"));
+    }
+}
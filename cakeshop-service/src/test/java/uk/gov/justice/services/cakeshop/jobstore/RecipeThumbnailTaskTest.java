@@ -0,0 +1,190 @@
+package uk.gov.justice.services.cakeshop.jobstore;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Optional;
+import java.util.UUID;
+import javax.imageio.ImageIO;
+import javax.json.JsonObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+import uk.gov.justice.services.cakeshop.persistence.RecipeThumbnailRepository;
+import uk.gov.justice.services.cakeshop.persistence.entity.RecipeThumbnail;
+import uk.gov.justice.services.fileservice.api.FileRetriever;
+import uk.gov.justice.services.fileservice.api.FileStorer;
+import uk.gov.justice.services.fileservice.domain.FileReference;
+import uk.gov.moj.cpp.jobstore.api.task.ExecutionInfo;
+import uk.gov.moj.cpp.jobstore.api.task.ExecutionStatus;
+
+import static java.awt.image.BufferedImage.TYPE_INT_RGB;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.UUID.randomUUID;
+import static javax.json.Json.createObjectBuilder;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static uk.gov.justice.services.cakeshop.persistence.entity.ThumbnailSize.LARGE;
+import static uk.gov.justice.services.cakeshop.persistence.entity.ThumbnailSize.MEDIUM;
+import static uk.gov.justice.services.cakeshop.persistence.entity.ThumbnailSize.SMALL;
+
+@ExtendWith(MockitoExtension.class)
+class RecipeThumbnailTaskTest {
+
+    private static final UUID PHOTO_ID = randomUUID();
+
+    @Mock
+    private FileRetriever fileRetriever;
+
+    @Mock
+    private FileStorer fileStorer;
+
+    @Mock
+    private RecipeThumbnailRepository recipeThumbnailRepository;
+
+    @Mock
+    private FileReference fileReference;
+
+    @Spy
+    private Thumbnailer thumbnailer;
+
+    @Mock
+    private Logger logger;
+
+    @InjectMocks
+    private RecipeThumbnailTask task;
+
+    @BeforeEach
+    void setup() {
+        task.maxPixels = "40000000";
+    }
+
+    @Test
+    void shouldStoreThumbnailOfEachSizeAlongsidePhotograph() throws Exception {
+        final UUID smallFileId = randomUUID();
+        final UUID mediumFileId = randomUUID();
+        final UUID largeFileId = randomUUID();
+        when(recipeThumbnailRepository.findByPhotoId(PHOTO_ID)).thenReturn(emptyList());
+        when(fileRetriever.retrieve(PHOTO_ID)).thenReturn(Optional.of(fileReference));
+        when(fileReference.getContentStream()).thenReturn(new ByteArrayInputStream(jpeg(800, 600)));
+        when(fileStorer.store(any(JsonObject.class), any())).thenReturn(smallFileId, mediumFileId, largeFileId);
+
+        final ExecutionInfo result = task.execute(jobFor(PHOTO_ID));
+
+        assertThat(result.getExecutionStatus(), is(ExecutionStatus.COMPLETED));
+        verify(fileStorer).store(argThat((JsonObject metadata) ->
+                metadata.getString("mediaType").equals("image/jpeg") && metadata.getString("thumbnailSize").equals("SMALL")), any());
+        verify(recipeThumbnailRepository).save(new RecipeThumbnail(smallFileId, PHOTO_ID, SMALL));
+        verify(recipeThumbnailRepository).save(new RecipeThumbnail(mediumFileId, PHOTO_ID, MEDIUM));
+        verify(recipeThumbnailRepository).save(new RecipeThumbnail(largeFileId, PHOTO_ID, LARGE));
+        verify(fileReference).close();
+    }
+
+    @Test
+    void shouldOnlyGenerateMissingSizes() throws Exception {
+        final UUID largeFileId = randomUUID();
+        when(recipeThumbnailRepository.findByPhotoId(PHOTO_ID)).thenReturn(asList(
+                new RecipeThumbnail(randomUUID(), PHOTO_ID, SMALL),
+                new RecipeThumbnail(randomUUID(), PHOTO_ID, MEDIUM)));
+        when(fileRetriever.retrieve(PHOTO_ID)).thenReturn(Optional.of(fileReference));
+        when(fileReference.getContentStream()).thenReturn(new ByteArrayInputStream(jpeg(800, 600)));
+        when(fileStorer.store(any(JsonObject.class), any())).thenReturn(largeFileId);
+
+        task.execute(jobFor(PHOTO_ID));
+
+        verify(fileStorer, times(1)).store(any(JsonObject.class), any());
+        verify(recipeThumbnailRepository).save(new RecipeThumbnail(largeFileId, PHOTO_ID, LARGE));
+    }
+
+    @Test
+    void shouldNotReadPhotographWhenAllSizesAreGenerated() throws Exception {
+        when(recipeThumbnailRepository.findByPhotoId(PHOTO_ID)).thenReturn(asList(
+                new RecipeThumbnail(randomUUID(), PHOTO_ID, SMALL),
+                new RecipeThumbnail(randomUUID(), PHOTO_ID, MEDIUM),
+                new RecipeThumbnail(randomUUID(), PHOTO_ID, LARGE)));
+
+        final ExecutionInfo result = task.execute(jobFor(PHOTO_ID));
+
+        assertThat(result.getExecutionStatus(), is(ExecutionStatus.COMPLETED));
+        verifyNoInteractions(fileRetriever, fileStorer);
+    }
+
+    @Test
+    void shouldCompleteWithoutThumbnailsWhenPhotographIsNotAnImage() throws Exception {
+        when(recipeThumbnailRepository.findByPhotoId(PHOTO_ID)).thenReturn(emptyList());
+        when(fileRetriever.retrieve(PHOTO_ID)).thenReturn(Optional.of(fileReference));
+        when(fileReference.getContentStream()).thenReturn(new ByteArrayInputStream("not an image".getBytes()));
+
+        final ExecutionInfo result = task.execute(jobFor(PHOTO_ID));
+
+        assertThat(result.getExecutionStatus(), is(ExecutionStatus.COMPLETED));
+        verifyNoInteractions(fileStorer);
+        verify(recipeThumbnailRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldCompleteWithoutDecodingPhotographWithMorePixelsThanAllowed() throws Exception {
+        task.maxPixels = String.valueOf(800 * 600 - 1);
+        when(recipeThumbnailRepository.findByPhotoId(PHOTO_ID)).thenReturn(emptyList());
+        when(fileRetriever.retrieve(PHOTO_ID)).thenReturn(Optional.of(fileReference));
+        when(fileReference.getContentStream()).thenReturn(new ByteArrayInputStream(jpeg(800, 600)));
+
+        final ExecutionInfo result = task.execute(jobFor(PHOTO_ID));
+
+        assertThat(result.getExecutionStatus(), is(ExecutionStatus.COMPLETED));
+        verify(thumbnailer, never()).thumbnail(any(), anyInt());
+        verifyNoInteractions(fileStorer);
+    }
+
+    @Test
+    void shouldRetryWhenThumbnailsCannotBeGeneratedForNow() throws Exception {
+        final ExecutionInfo job = jobFor(PHOTO_ID);
+        when(recipeThumbnailRepository.findByPhotoId(PHOTO_ID)).thenThrow(new RuntimeException("view store unavailable"));
+
+        final ExecutionInfo result = task.execute(job);
+
+        assertThat(result.getExecutionStatus(), is(ExecutionStatus.INPROGRESS));
+        assertThat(result.isShouldRetry(), is(true));
+        assertThat(result.getJobData(), is(job.getJobData()));
+        assertThat(task.getRetryDurationsInSecs(), is(Optional.of(RecipeThumbnailTask.RETRY_DURATIONS_IN_SECS)));
+    }
+
+    @Test
+    void shouldCompleteWithoutRetryingWhenJobDataIsInvalid() throws Exception {
+        final ExecutionInfo result = task.execute(ExecutionInfo.executionInfo()
+                .withJobData(createObjectBuilder().add("photoId", "not-a-photo-id").build())
+                .build());
+
+        assertThat(result.getExecutionStatus(), is(ExecutionStatus.COMPLETED));
+        verifyNoInteractions(recipeThumbnailRepository, fileRetriever, fileStorer);
+    }
+
+    private ExecutionInfo jobFor(final UUID photoId) {
+        return ExecutionInfo.executionInfo()
+                .withJobData(createObjectBuilder()
+                        .add("recipeId", randomUUID().toString())
+                        .add("photoId", photoId.toString())
+                        .build())
+                .build();
+    }
+
+    private byte[] jpeg(final int width, final int height) throws Exception {
+        final ByteArrayOutputStream jpeg = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, TYPE_INT_RGB), "jpg", jpeg);
+        return jpeg.toByteArray();
+    }
+}
@@ -0,0 +1,44 @@
+package uk.gov.justice.services.cakeshop.jobstore;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.Test;
+
+import static java.awt.image.BufferedImage.TYPE_INT_ARGB;
+import static java.awt.image.BufferedImage.TYPE_INT_RGB;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+class ThumbnailerTest {
+
+    private final Thumbnailer thumbnailer = new Thumbnailer();
+
+    @Test
+    void shouldScaleLongestSideKeepingAspectRatio() throws Exception {
+        final BufferedImage thumbnail = decode(thumbnailer.thumbnail(new BufferedImage(1000, 500, TYPE_INT_RGB), 240));
+
+        assertThat(thumbnail.getWidth(), is(240));
+        assertThat(thumbnail.getHeight(), is(120));
+    }
+
+    @Test
+    void shouldScalePortraitImagesByHeight() throws Exception {
+        final BufferedImage thumbnail = decode(thumbnailer.thumbnail(new BufferedImage(300, 600, TYPE_INT_ARGB), 96));
+
+        assertThat(thumbnail.getWidth(), is(48));
+        assertThat(thumbnail.getHeight(), is(96));
+    }
+
+    @Test
+    void shouldNotEnlargeSmallImages() throws Exception {
+        final BufferedImage thumbnail = decode(thumbnailer.thumbnail(new BufferedImage(50, 40, TYPE_INT_RGB), 480));
+
+        assertThat(thumbnail.getWidth(), is(50));
+        assertThat(thumbnail.getHeight(), is(40));
+    }
+
+    private BufferedImage decode(final byte[] jpeg) throws Exception {
+        return ImageIO.read(new ByteArrayInputStream(jpeg));
+    }
+}
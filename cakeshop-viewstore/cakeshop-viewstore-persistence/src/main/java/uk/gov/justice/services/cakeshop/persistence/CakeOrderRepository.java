@@ -1,14 +1,142 @@
 package uk.gov.justice.services.cakeshop.persistence;
 
+import static java.util.Spliterator.NONNULL;
+import static java.util.Spliterator.ORDERED;
+import static java.util.Spliterators.spliteratorUnknownSize;
+
 import uk.gov.justice.services.cakeshop.persistence.entity.CakeOrder;
 
+import java.time.ZonedDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import javax.persistence.TypedQuery;
 
-import org.apache.deltaspike.data.api.EntityRepository;
+import org.apache.deltaspike.data.api.AbstractEntityRepository;
 import org.apache.deltaspike.data.api.Repository;
 
 @Repository
-public interface CakeOrderRepository extends EntityRepository<CakeOrder, UUID> {
+public abstract class CakeOrderRepository extends AbstractEntityRepository<CakeOrder, UUID> {
+
+    private static final String FETCH_SIZE_HINT = "org.hibernate.fetchSize";
+    private static final String READ_ONLY_HINT = "org.hibernate.readOnly";
+
+    private static final String IN_WINDOW = "o.deliveryDate >= :from AND o.deliveryDate < :to";
+
+    /**
+     * Find a page of the {@link CakeOrder}s due in a delivery window, ordered by delivery date and
+     * order id, starting after the given order.
+     *
+     * @param pageSize max size of returned result
+     * @param from     start of the window, inclusive
+     * @param to       end of the window, exclusive
+     * @param after    order after which the page starts; empty for the first page.
+     * @return List of matching orders. Never returns null.
+     */
+    public List<CakeOrder> findByDeliveryWindow(final int pageSize, final ZonedDateTime from, final ZonedDateTime to, final Optional<CakeOrder> after) {
+        // the keyset condition repeats the lower bound on delivery date alone, so it stays an index range condition
+        final TypedQuery<CakeOrder> query = entityManager().createQuery(
+                "SELECT o FROM CakeOrder o WHERE " + IN_WINDOW
+                        + (after.isPresent() ? " AND o.deliveryDate >= :afterDate AND (o.deliveryDate > :afterDate OR o.orderId > :afterId)" : "")
+                        + " ORDER BY o.deliveryDate, o.orderId", CakeOrder.class)
+                .setParameter("from", from)
+                .setParameter("to", to);
+
+        after.ifPresent(order -> query
+                .setParameter("afterDate", order.getDeliveryDate())
+                .setParameter("afterId", order.getOrderId()));
+
+        return query
+                .setHint(FETCH_SIZE_HINT, pageSize)
+                .setHint(READ_ONLY_HINT, true)
+                .setMaxResults(pageSize)
+                .getResultList();
+    }
+
+    /**
+     * Stream the {@link CakeOrder}s due in a delivery window, ordered by delivery date and order
+     * id. Rows are read forward only, one keyset page of fetchSize rows at a time, and each page is
+     * detached from the persistence context once read, so memory use does not grow with the number
+     * of orders.
+     *
+     * @param from      start of the window, inclusive
+     * @param to        end of the window, exclusive
+     * @param after     order after which the stream starts; empty to start at the first order.
+     * @param fetchSize number of rows read per database round trip.
+     * @return lazily populated stream of matching orders.
+     * @throws IllegalArgumentException if fetchSize is not positive
+     */
+    public Stream<CakeOrder> streamByDeliveryWindow(final ZonedDateTime from, final ZonedDateTime to, final Optional<CakeOrder> after, final int fetchSize) {
+        if (fetchSize < 1) {
+            throw new IllegalArgumentException("Fetch size must be positive: " + fetchSize);
+        }
+
+        return StreamSupport.stream(spliteratorUnknownSize(new CakeOrderIterator(from, to, after, fetchSize), ORDERED | NONNULL), false);
+    }
+
+    /**
+     * Count the {@link CakeOrder}s due in a delivery window for each recipe.
+     *
+     * @param from start of the window, inclusive
+     * @param to   end of the window, exclusive
+     * @return the number of orders of each recipe with orders in the window, by recipe id.
+     */
+    public Map<UUID, Long> countByRecipeInDeliveryWindow(final ZonedDateTime from, final ZonedDateTime to) {
+        final List<Object[]> rows = entityManager().createQuery(
+                "SELECT o.recipeId, COUNT(o) FROM CakeOrder o WHERE " + IN_WINDOW + " GROUP BY o.recipeId ORDER BY o.recipeId", Object[].class)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .getResultList();
+
+        final Map<UUID, Long> counts = new LinkedHashMap<>();
+        rows.forEach(row -> counts.put((UUID) row[0], (Long) row[1]));
+        return counts;
+    }
+
+    private class CakeOrderIterator implements Iterator<CakeOrder> {
+
+        private final ZonedDateTime from;
+        private final ZonedDateTime to;
+        private final int fetchSize;
+
+        private Iterator<CakeOrder> page;
+        private Optional<CakeOrder> after;
+        private boolean lastPage = false;
+
+        CakeOrderIterator(final ZonedDateTime from, final ZonedDateTime to, final Optional<CakeOrder> after, final int fetchSize) {
+            this.from = from;
+            this.to = to;
+            this.after = after;
+            this.fetchSize = fetchSize;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if ((page == null || !page.hasNext()) && !lastPage) {
+                final List<CakeOrder> orders = findByDeliveryWindow(fetchSize, from, to, after);
+                orders.forEach(entityManager()::detach);
+                lastPage = orders.size() < fetchSize;
+                after = orders.isEmpty() ? after : Optional.of(orders.get(orders.size() - 1));
+                page = orders.iterator();
+            }
+
+            return page.hasNext();
+        }
 
+        @Override
+        public CakeOrder next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
 
+            return page.next();
+        }
+    }
 }
@@ -1,13 +1,119 @@
 package uk.gov.justice.services.cakeshop.persistence;
 
 
+import static java.text.MessageFormat.format;
+import static java.util.Spliterator.NONNULL;
+import static java.util.Spliterator.ORDERED;
+import static java.util.Spliterators.spliteratorUnknownSize;
+
 import uk.gov.justice.services.cakeshop.persistence.entity.Cake;
+import uk.gov.justice.services.cakeshop.persistence.entity.Cake_;
 
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-import org.apache.deltaspike.data.api.EntityRepository;
+import org.apache.deltaspike.data.api.AbstractEntityRepository;
 import org.apache.deltaspike.data.api.Repository;
+import org.apache.deltaspike.data.api.criteria.Criteria;
+import org.apache.deltaspike.data.api.criteria.CriteriaSupport;
 
 @Repository
-public interface CakeRepository extends EntityRepository<Cake, UUID> {
+public abstract class CakeRepository extends AbstractEntityRepository<Cake, UUID> implements CriteriaSupport<Cake> {
+
+    private static final String FETCH_SIZE_HINT = "org.hibernate.fetchSize";
+    private static final String READ_ONLY_HINT = "org.hibernate.readOnly";
+
+    /**
+     * Find a page of {@link Cake} ordered by name and id, starting after the given position.
+     *
+     * @param pageSize max size of returned result
+     * @param name     to retrieve the cakes by.
+     * @param after    position after which the page starts; empty for the first page.
+     * @return List of matching cakes. Never returns null.
+     */
+    public List<Cake> findBy(final int pageSize, final Optional<String> name, final Optional<PageCursor> after) {
+        Criteria<Cake, Cake> criteria = criteria();
+        if (name.isPresent()) {
+            criteria = criteria.like(Cake_.name, format("%{0}%", name.get()));
+        }
+        if (after.isPresent()) {
+            final PageCursor cursor = after.get();
+            // the keyset condition repeats the lower bound on name alone, so it stays an index range condition
+            criteria = criteria.gtOrEq(Cake_.name, cursor.getName()).or(
+                    criteria().gt(Cake_.name, cursor.getName()),
+                    criteria().eq(Cake_.name, cursor.getName()).gt(Cake_.cakeId, cursor.getId()));
+        }
+
+        return criteria
+                .orderAsc(Cake_.name)
+                .orderAsc(Cake_.cakeId)
+                .createQuery()
+                .setHint(FETCH_SIZE_HINT, pageSize)
+                .setHint(READ_ONLY_HINT, true)
+                .setMaxResults(pageSize)
+                .getResultList();
+    }
+
+    /**
+     * Stream the {@link Cake} matching the name, ordered by name and id, starting after the given
+     * position. Rows are read forward only, one keyset page of fetchSize rows at a time, and each
+     * page is detached from the persistence context once read, so memory use does not grow with
+     * the number of cakes.
+     *
+     * @param name      to retrieve the cakes by.
+     * @param after     position after which the stream starts; empty to start with the first cake.
+     * @param fetchSize number of rows read per database round trip.
+     * @return lazily populated stream of matching cakes.
+     * @throws IllegalArgumentException if fetchSize is not positive
+     */
+    public Stream<Cake> streamBy(final Optional<String> name, final Optional<PageCursor> after, final int fetchSize) {
+        if (fetchSize < 1) {
+            throw new IllegalArgumentException("Fetch size must be positive: " + fetchSize);
+        }
+
+        return StreamSupport.stream(spliteratorUnknownSize(new CakeIterator(name, after, fetchSize), ORDERED | NONNULL), false);
+    }
+
+    private class CakeIterator implements Iterator<Cake> {
+
+        private final Optional<String> name;
+        private final int fetchSize;
+
+        private Iterator<Cake> page;
+        private Optional<PageCursor> after;
+        private boolean lastPage = false;
+
+        CakeIterator(final Optional<String> name, final Optional<PageCursor> after, final int fetchSize) {
+            this.name = name;
+            this.after = after;
+            this.fetchSize = fetchSize;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if ((page == null || !page.hasNext()) && !lastPage) {
+                final List<Cake> cakes = findBy(fetchSize, name, after);
+                cakes.forEach(entityManager()::detach);
+                lastPage = cakes.size() < fetchSize;
+                after = cakes.isEmpty() ? after : Optional.of(PageCursor.after(cakes.get(cakes.size() - 1)));
+                page = cakes.iterator();
+            }
+
+            return page.hasNext();
+        }
+
+        @Override
+        public Cake next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            return page.next();
+        }
+    }
 }
@@ -0,0 +1,67 @@
+package uk.gov.justice.services.cakeshop.persistence;
+
+import static uk.gov.justice.services.cakeshop.persistence.entity.CommandStatus.MAKING_CAKE;
+
+import uk.gov.justice.services.cakeshop.persistence.entity.CommandStatus;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.apache.deltaspike.data.api.AbstractEntityRepository;
+import org.apache.deltaspike.data.api.Repository;
+
+@Repository
+public abstract class CommandStatusRepository extends AbstractEntityRepository<CommandStatus, UUID> {
+
+    /**
+     * Record a command as accepted and its resource as being made, unless a status has already been
+     * recorded for it.
+     *
+     * @param commandId  the metadata id of the command
+     * @param resourceId the id of the resource the command creates
+     */
+    public void recordAccepted(final UUID commandId, final UUID resourceId) {
+        entityManager().createNativeQuery(
+                "INSERT INTO command_status (command_id, status, resource_id) VALUES (CAST(:commandId AS uuid), :status, CAST(:resourceId AS uuid)) "
+                        + "ON CONFLICT (command_id) DO NOTHING")
+                .setParameter("commandId", commandId.toString())
+                .setParameter("status", MAKING_CAKE)
+                .setParameter("resourceId", resourceId.toString())
+                .executeUpdate();
+    }
+
+    /**
+     * Record the outcome of a command, unless one has already been recorded, so replaying the event
+     * the command caused leaves its status as it was. A command recorded as accepted has no outcome
+     * yet, so its status is replaced.
+     *
+     * @param commandId  the metadata id of the command
+     * @param status     the outcome of the command
+     * @param resourceId the id of the resource the command created
+     */
+    public void record(final UUID commandId, final String status, final UUID resourceId) {
+        entityManager().createNativeQuery(
+                "INSERT INTO command_status (command_id, status, resource_id) VALUES (CAST(:commandId AS uuid), :status, CAST(:resourceId AS uuid)) "
+                        + "ON CONFLICT (command_id) DO UPDATE SET status = EXCLUDED.status, resource_id = EXCLUDED.resource_id "
+                        + "WHERE command_status.status = :accepted")
+                .setParameter("commandId", commandId.toString())
+                .setParameter("status", status)
+                .setParameter("resourceId", resourceId.toString())
+                .setParameter("accepted", MAKING_CAKE)
+                .executeUpdate();
+    }
+
+    /**
+     * @param commandIds the metadata ids of the commands
+     * @param status     the status to look for
+     * @return List of the ids of the given commands that have the given status. Never returns null.
+     */
+    public List<UUID> findCommandIdsWithStatus(final Collection<UUID> commandIds, final String status) {
+        return entityManager().createQuery(
+                "SELECT c.commandId FROM CommandStatus c WHERE c.commandId IN :commandIds AND c.status = :status", UUID.class)
+                .setParameter("commandIds", commandIds)
+                .setParameter("status", status)
+                .getResultList();
+    }
+}
@@ -1,25 +1,92 @@
 package uk.gov.justice.services.cakeshop.persistence;
 
+import static java.util.Collections.emptyList;
+import static java.util.Locale.ROOT;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+
 import uk.gov.justice.services.cakeshop.persistence.entity.Ingredient;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
-import org.apache.deltaspike.data.api.EntityRepository;
+import org.apache.deltaspike.data.api.AbstractEntityRepository;
 import org.apache.deltaspike.data.api.Query;
 import org.apache.deltaspike.data.api.Repository;
 
 
 @Repository
-public interface IngredientRepository extends EntityRepository<Ingredient, UUID> {
+public abstract class IngredientRepository extends AbstractEntityRepository<Ingredient, UUID> {
 
     /**
      * Find all {@link Ingredient} by ingedientName (case-insensitive). Accepts '%' wildcard
-     * values.
+     * values, served by the trigram index on the lower-cased name.
      *
      * @param ingedientName to retrieve the ingredient by, including wildcard characters.
      * @return List of matching ingredients. Never returns null.
      */
     @Query(value = "FROM Ingredient i WHERE LOWER(i.name) LIKE LOWER(?1)")
-    public List<Ingredient> findByNameIgnoreCase(final String ingedientName);
+    public abstract List<Ingredient> findByNameIgnoreCase(final String ingedientName);
+
+    /**
+     * Find all {@link Ingredient} whose lower-cased name is one of the given names, in a single
+     * query. No wildcard matching is applied.
+     *
+     * @param lowerCaseNames the lower-cased ingredient names to retrieve.
+     * @return List of matching ingredients. Never returns null.
+     */
+    @Query(value = "FROM Ingredient i WHERE LOWER(i.name) IN (?1)")
+    public abstract List<Ingredient> findByLowerCaseNameIn(final Collection<String> lowerCaseNames);
+
+    /**
+     * Insert those {@link Ingredient}s whose name (case-insensitive) is not already stored.
+     * Existing names are resolved with one query and the missing ingredients are inserted with a
+     * single multi-row statement. An ingredient of the same name or id committed concurrently by
+     * another transaction is skipped with {@code ON CONFLICT DO NOTHING}, so neither transaction
+     * fails, no duplicate is stored, and the skipped ingredient is not returned as inserted.
+     *
+     * @param ingredients the candidate ingredients, possibly containing duplicate names.
+     * @return the ingredients that were inserted. Never returns null.
+     */
+    public List<Ingredient> saveMissing(final Collection<Ingredient> ingredients) {
+        if (ingredients.isEmpty()) {
+            return emptyList();
+        }
+
+        final Map<String, Ingredient> missingIngredients = new LinkedHashMap<>();
+        ingredients.forEach(ingredient -> missingIngredients.putIfAbsent(ingredient.getName().toLowerCase(ROOT), ingredient));
+
+        findByLowerCaseNameIn(missingIngredients.keySet())
+                .forEach(existing -> missingIngredients.remove(existing.getName().toLowerCase(ROOT)));
+
+        if (missingIngredients.isEmpty()) {
+            return emptyList();
+        }
+
+        final List<Ingredient> candidates = new ArrayList<>(missingIngredients.values());
+        final StringBuilder sql = new StringBuilder("INSERT INTO ingredient (id, name) VALUES ");
+        for (int i = 0; i < candidates.size(); i++) {
+            sql.append(i == 0 ? "" : ", ").append("(CAST(:id").append(i).append(" AS uuid), :name").append(i).append(")");
+        }
+        sql.append(" ON CONFLICT DO NOTHING RETURNING CAST(id AS text)");
+
+        final javax.persistence.Query query = entityManager().createNativeQuery(sql.toString());
+        for (int i = 0; i < candidates.size(); i++) {
+            query.setParameter("id" + i, candidates.get(i).getId().toString())
+                    .setParameter("name" + i, candidates.get(i).getName());
+        }
+
+        final Set<UUID> insertedIds = ((List<?>) query.getResultList()).stream()
+                .map(id -> UUID.fromString((String) id))
+                .collect(toSet());
+
+        return candidates.stream()
+                .filter(ingredient -> insertedIds.contains(ingredient.getId()))
+                .collect(toList());
+    }
 }
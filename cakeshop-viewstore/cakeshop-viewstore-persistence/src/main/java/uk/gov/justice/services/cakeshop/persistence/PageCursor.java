@@ -0,0 +1,111 @@
+package uk.gov.justice.services.cakeshop.persistence;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import uk.gov.justice.services.cakeshop.persistence.entity.Cake;
+import uk.gov.justice.services.cakeshop.persistence.entity.CakeOrder;
+import uk.gov.justice.services.cakeshop.persistence.entity.Recipe;
+
+import java.util.Base64;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Position of an entity in the (name, id) ordering used for keyset pagination of {@link Recipe}s
+ * and {@link Cake}s, convertible to and from an opaque page token. Cursors of a full-text search
+ * also hold the rank, as those results are ordered by rank before name and id. Cursors of
+ * {@link CakeOrder}s hold the ISO-8601 delivery date in place of the name, as orders are ordered
+ * by delivery date and id.
+ */
+public class PageCursor {
+
+    private static final String SEPARATOR = ":";
+    private static final String RANK_SEPARATOR = "/";
+
+    private final Float rank;
+    private final String name;
+    private final UUID id;
+
+    public PageCursor(final String name, final UUID id) {
+        this(null, name, id);
+    }
+
+    public PageCursor(final Float rank, final String name, final UUID id) {
+        this.rank = rank;
+        this.name = name;
+        this.id = id;
+    }
+
+    public static PageCursor after(final Recipe recipe) {
+        return new PageCursor(recipe.getName(), recipe.getId());
+    }
+
+    public static PageCursor after(final RankedRecipe rankedRecipe) {
+        return new PageCursor(rankedRecipe.getRank(), rankedRecipe.getRecipe().getName(), rankedRecipe.getRecipe().getId());
+    }
+
+    public static PageCursor after(final Cake cake) {
+        return new PageCursor(cake.getName(), cake.getCakeId());
+    }
+
+    public static PageCursor after(final CakeOrder cakeOrder) {
+        return new PageCursor(cakeOrder.getDeliveryDate().toString(), cakeOrder.getOrderId());
+    }
+
+    /**
+     * Decode a page token created by {@link #toToken()}.
+     *
+     * @param token the page token
+     * @return the cursor the token represents
+     * @throws IllegalArgumentException if the token is not a valid page token
+     */
+    public static PageCursor fromToken(final String token) {
+        final String decoded = new String(Base64.getUrlDecoder().decode(token), UTF_8);
+        final int separatorIndex = decoded.indexOf(SEPARATOR);
+        if (separatorIndex < 0) {
+            throw new IllegalArgumentException("Invalid page token: " + token);
+        }
+
+        final String position = decoded.substring(0, separatorIndex);
+        final int rankSeparatorIndex = position.indexOf(RANK_SEPARATOR);
+        try {
+            final Float rank = rankSeparatorIndex < 0 ? null : Float.valueOf(position.substring(0, rankSeparatorIndex));
+            return new PageCursor(rank, decoded.substring(separatorIndex + 1), UUID.fromString(position.substring(rankSeparatorIndex + 1)));
+        } catch (final NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid page token: " + token, e);
+        }
+    }
+
+    public String toToken() {
+        final String position = rank == null ? id.toString() : rank + RANK_SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString((position + SEPARATOR + name).getBytes(UTF_8));
+    }
+
+    public Optional<Float> getRank() {
+        return Optional.ofNullable(rank);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        final PageCursor that = (PageCursor) o;
+        return Objects.equals(rank, that.rank) &&
+                Objects.equals(name, that.name) &&
+                Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(rank, name, id);
+    }
+}
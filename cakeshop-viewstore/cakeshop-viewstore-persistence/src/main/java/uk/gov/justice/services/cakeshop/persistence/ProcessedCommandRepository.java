@@ -0,0 +1,100 @@
+package uk.gov.justice.services.cakeshop.persistence;
+
+import uk.gov.justice.services.cakeshop.persistence.entity.ProcessedCommand;
+
+import java.sql.Timestamp;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.apache.deltaspike.data.api.AbstractEntityRepository;
+import org.apache.deltaspike.data.api.Repository;
+
+@Repository
+public abstract class ProcessedCommandRepository extends AbstractEntityRepository<ProcessedCommand, ProcessedCommand.Key> {
+
+    /**
+     * Record a command as processed, unless it already has been. Concurrent submissions of the same
+     * command are decided by the primary key, so exactly one of them is recorded.
+     *
+     * @param commandName the name of the command
+     * @param commandId   the id of the resource the command creates
+     * @param processedAt when the command was accepted
+     * @return true if the command was recorded, false if it had already been processed
+     */
+    public boolean record(final String commandName, final UUID commandId, final ZonedDateTime processedAt) {
+        return entityManager().createNativeQuery(
+                "INSERT INTO processed_command (command_name, command_id, processed_at) VALUES (:commandName, CAST(:commandId AS uuid), :processedAt) "
+                        + "ON CONFLICT (command_name, command_id) DO NOTHING")
+                .setParameter("commandName", commandName)
+                .setParameter("commandId", commandId.toString())
+                .setParameter("processedAt", Timestamp.from(processedAt.toInstant()))
+                .executeUpdate() == 1;
+    }
+
+    /**
+     * Record the response the command API gave to a processed command.
+     *
+     * @param commandName     the name of the command
+     * @param commandId       the id of the resource the command creates
+     * @param responseName    the name of the response
+     * @param responsePayload the JSON payload of the response
+     */
+    public void recordResponse(final String commandName, final UUID commandId, final String responseName, final String responsePayload) {
+        entityManager().createNativeQuery(
+                "UPDATE processed_command SET response_name = :responseName, response_payload = :responsePayload "
+                        + "WHERE command_name = :commandName AND command_id = CAST(:commandId AS uuid)")
+                .setParameter("responseName", responseName)
+                .setParameter("responsePayload", responsePayload)
+                .setParameter("commandName", commandName)
+                .setParameter("commandId", commandId.toString())
+                .executeUpdate();
+    }
+
+    /**
+     * @param commandName the name of the command
+     * @param commandId   the id of the resource the command creates
+     * @return true if the command has been processed
+     */
+    public boolean contains(final String commandName, final UUID commandId) {
+        return findBy(new ProcessedCommand.Key(commandName, commandId)) != null;
+    }
+
+    /**
+     * Forget a processed command, so that it may be submitted again.
+     *
+     * @param commandName the name of the command
+     * @param commandId   the id of the resource the command creates
+     */
+    public void remove(final String commandName, final UUID commandId) {
+        entityManager().createNativeQuery(
+                "DELETE FROM processed_command WHERE command_name = :commandName AND command_id = CAST(:commandId AS uuid)")
+                .setParameter("commandName", commandName)
+                .setParameter("commandId", commandId.toString())
+                .executeUpdate();
+    }
+
+    /**
+     * Forget the commands processed before the given time, along the index on processed_at.
+     *
+     * @param processedBefore the time before which commands are forgotten
+     * @return the number of commands forgotten
+     */
+    public int removeProcessedBefore(final ZonedDateTime processedBefore) {
+        return entityManager().createNativeQuery(
+                "DELETE FROM processed_command WHERE processed_at < :processedBefore")
+                .setParameter("processedBefore", Timestamp.from(processedBefore.toInstant()))
+                .executeUpdate();
+    }
+
+    /**
+     * @param max the maximum number of commands to find
+     * @return List of the most recently processed commands, most recent first. Never returns null.
+     */
+    public List<ProcessedCommand> findMostRecent(final int max) {
+        return entityManager().createQuery(
+                "SELECT c FROM ProcessedCommand c ORDER BY c.processedAt DESC", ProcessedCommand.class)
+                .setMaxResults(max)
+                .getResultList();
+    }
+}
@@ -0,0 +1,45 @@
+package uk.gov.justice.services.cakeshop.persistence;
+
+import uk.gov.justice.services.cakeshop.persistence.entity.ProductionScheduleEntry;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import org.apache.deltaspike.data.api.AbstractEntityRepository;
+import org.apache.deltaspike.data.api.Repository;
+
+@Repository
+public abstract class ProductionScheduleRepository extends AbstractEntityRepository<ProductionScheduleEntry, ProductionScheduleEntry.Key> {
+
+    /**
+     * Count one more cake of a recipe ordered for delivery on a day. Concurrent orders for the same
+     * day and recipe are counted by the database, so none is lost.
+     *
+     * @param deliveryDay the day the cake is to be delivered
+     * @param recipeId    the recipe of the cake
+     */
+    public void incrementOrderCount(final LocalDate deliveryDay, final UUID recipeId) {
+        entityManager().createNativeQuery(
+                "INSERT INTO production_schedule (delivery_day, recipe_id, order_count) VALUES (:deliveryDay, CAST(:recipeId AS uuid), 1) "
+                        + "ON CONFLICT (delivery_day, recipe_id) DO UPDATE SET order_count = production_schedule.order_count + 1")
+                .setParameter("deliveryDay", deliveryDay)
+                .setParameter("recipeId", recipeId.toString())
+                .executeUpdate();
+    }
+
+    /**
+     * Find the production schedule of the days from one day to another, by day and recipe id.
+     *
+     * @param from the first day, inclusive
+     * @param to   the last day, inclusive
+     * @return List of the cakes of each recipe ordered for each day. Never returns null.
+     */
+    public List<ProductionScheduleEntry> findByDeliveryDayBetween(final LocalDate from, final LocalDate to) {
+        return entityManager().createQuery(
+                "SELECT e FROM ProductionScheduleEntry e WHERE e.deliveryDay BETWEEN :from AND :to ORDER BY e.deliveryDay, e.recipeId", ProductionScheduleEntry.class)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .getResultList();
+    }
+}
@@ -0,0 +1,25 @@
+package uk.gov.justice.services.cakeshop.persistence;
+
+import uk.gov.justice.services.cakeshop.persistence.entity.Recipe;
+
+/**
+ * A {@link Recipe} found by full-text search, with the rank of its name against the search.
+ */
+public class RankedRecipe {
+
+    private final Recipe recipe;
+    private final float rank;
+
+    public RankedRecipe(final Recipe recipe, final float rank) {
+        this.recipe = recipe;
+        this.rank = rank;
+    }
+
+    public Recipe getRecipe() {
+        return recipe;
+    }
+
+    public float getRank() {
+        return rank;
+    }
+}
@@ -0,0 +1,43 @@
+package uk.gov.justice.services.cakeshop.persistence;
+
+import uk.gov.justice.services.cakeshop.persistence.entity.RecipeCacheInvalidation;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import org.apache.deltaspike.data.api.AbstractEntityRepository;
+import org.apache.deltaspike.data.api.Repository;
+
+@Repository
+public abstract class RecipeCacheInvalidationRepository extends AbstractEntityRepository<RecipeCacheInvalidation, UUID> {
+
+    /**
+     * Record that the views of a recipe have changed. There is one row per recipe, holding the
+     * time of its latest change.
+     *
+     * @param recipeId      the id of the changed recipe
+     * @param invalidatedAt when the recipe changed
+     */
+    public void record(final UUID recipeId, final Instant invalidatedAt) {
+        entityManager().createNativeQuery(
+                "INSERT INTO recipe_cache_invalidation (recipe_id, invalidated_at) VALUES (CAST(:recipeId AS uuid), :invalidatedAt) "
+                        + "ON CONFLICT (recipe_id) DO UPDATE SET invalidated_at = EXCLUDED.invalidated_at")
+                .setParameter("recipeId", recipeId.toString())
+                .setParameter("invalidatedAt", Timestamp.from(invalidatedAt))
+                .executeUpdate();
+    }
+
+    /**
+     * @param since the earliest change to find
+     * @return List of the ids of the recipes changed since then. Never returns null.
+     */
+    public List<UUID> findRecipeIdsInvalidatedSince(final Instant since) {
+        return entityManager().createQuery(
+                "SELECT i.recipeId FROM RecipeCacheInvalidation i WHERE i.invalidatedAt >= :since", UUID.class)
+                .setParameter("since", since.atZone(ZoneOffset.UTC))
+                .getResultList();
+    }
+}
@@ -0,0 +1,48 @@
+package uk.gov.justice.services.cakeshop.persistence;
+
+import uk.gov.justice.services.cakeshop.persistence.entity.RecipeIngredient;
+
+import java.util.Collection;
+import java.util.UUID;
+
+import javax.persistence.EntityManager;
+
+import org.apache.deltaspike.data.api.AbstractEntityRepository;
+import org.apache.deltaspike.data.api.Repository;
+
+@Repository
+public abstract class RecipeIngredientRepository extends AbstractEntityRepository<RecipeIngredient, Long> {
+
+    /**
+     * Replace the ingredients listed for a recipe. The previous rows are removed with a single
+     * delete on the recipe id index and the new rows are flushed together, so that the inserts
+     * are sent as JDBC batches with ids allocated from the pooled sequence.
+     *
+     * @param recipeId          the recipe whose ingredients are listed.
+     * @param recipeIngredients the ingredients of the recipe, with their quantities.
+     */
+    public void replaceIngredientsOf(final UUID recipeId, final Collection<RecipeIngredient> recipeIngredients) {
+        removeByRecipeId(recipeId);
+
+        if (recipeIngredients.isEmpty()) {
+            return;
+        }
+
+        final EntityManager entityManager = entityManager();
+        recipeIngredients.forEach(entityManager::persist);
+        entityManager.flush();
+    }
+
+    /**
+     * Remove all the ingredients listed for a recipe.
+     *
+     * @param recipeId the recipe whose ingredients are removed.
+     * @return the number of rows removed.
+     */
+    public int removeByRecipeId(final UUID recipeId) {
+        return entityManager()
+                .createQuery("DELETE FROM RecipeIngredient ri WHERE ri.recipeId = :recipeId")
+                .setParameter("recipeId", recipeId)
+                .executeUpdate();
+    }
+}
@@ -1,13 +1,28 @@
 package uk.gov.justice.services.cakeshop.persistence;
 
 import static java.text.MessageFormat.format;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static java.util.Locale.ROOT;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toCollection;
+import static java.util.stream.Collectors.toList;
 
 import uk.gov.justice.services.cakeshop.persistence.entity.Recipe;
 import uk.gov.justice.services.cakeshop.persistence.entity.Recipe_;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.regex.Pattern;
+
+import javax.persistence.Query;
+import javax.persistence.TypedQuery;
 
 import org.apache.deltaspike.data.api.AbstractEntityRepository;
 import org.apache.deltaspike.data.api.Repository;
@@ -17,6 +32,8 @@ import org.apache.deltaspike.data.api.criteria.CriteriaSupport;
 @Repository
 public abstract class RecipeRepository extends AbstractEntityRepository<Recipe, UUID> implements CriteriaSupport<Recipe> {
 
+    private static final Pattern NON_WORD_CHARACTERS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
     /**
      * Find all {@link Recipe} using criteria.
      *
@@ -26,6 +43,21 @@ public abstract class RecipeRepository extends AbstractEntityRepository<Recipe,
      * @return List of matching recipes. Never returns null.
      */
     public List<Recipe> findBy(final int pageSize, final Optional<String> name, Optional<Boolean> glutenFree) {
+        return findBy(pageSize, name, glutenFree, Optional.empty());
+    }
+
+    /**
+     * Find a page of {@link Recipe} using criteria, ordered by name and id. The next page is
+     * requested by passing the cursor of the last recipe of the previous page, so the cost of a
+     * page does not depend on how many pages precede it.
+     *
+     * @param pageSize   max size of returned result
+     * @param name       to retrieve the recipe by.
+     * @param glutenFree flag to retrieve gluten free recipes.
+     * @param after      position after which the page starts; empty for the first page.
+     * @return List of matching recipes. Never returns null.
+     */
+    public List<Recipe> findBy(final int pageSize, final Optional<String> name, Optional<Boolean> glutenFree, final Optional<PageCursor> after) {
         Criteria<Recipe, Recipe> criteria = criteria();
         if (name.isPresent()) {
             criteria = criteria.like(Recipe_.name, format("%{0}%", name.get()));
@@ -33,13 +65,148 @@ public abstract class RecipeRepository extends AbstractEntityRepository<Recipe,
         if (glutenFree.isPresent()) {
             criteria = criteria.eq(Recipe_.glutenFree, glutenFree.get());
         }
+        if (after.isPresent()) {
+            final PageCursor cursor = after.get();
+            // the keyset condition repeats the lower bound on name alone, so it stays an index range condition
+            criteria = criteria.gtOrEq(Recipe_.name, cursor.getName()).or(
+                    criteria().gt(Recipe_.name, cursor.getName()),
+                    criteria().eq(Recipe_.name, cursor.getName()).gt(Recipe_.id, cursor.getId()));
+        }
 
         return criteria
                 .orderAsc(Recipe_.name)
+                .orderAsc(Recipe_.id)
                 .createQuery()
                 .setMaxResults(pageSize)
                 .getResultList();
     }
 
+    /**
+     * Find a page of {@link Recipe} whose name matches a full-text search, best match first and
+     * then ordered by name and id. Each word of the search matches any word of the name starting
+     * with it, using the GIN index on the generated name search vector rather than scanning every
+     * name as a {@code LIKE '%name%'} does. The next page is requested by passing the cursor of
+     * the last recipe of the previous page, which holds its rank.
+     *
+     * @param pageSize   max size of returned result
+     * @param search     the words to search for; anything other than letters and digits is ignored.
+     * @param glutenFree flag to retrieve gluten free recipes.
+     * @param after      position after which the page starts; empty for the first page.
+     * @return List of matching recipes with their rank. Never returns null.
+     * @throws IllegalArgumentException if the cursor is not from a full-text search
+     */
+    @SuppressWarnings("unchecked")
+    public List<RankedRecipe> findByNameRanked(final int pageSize, final String search, final Optional<Boolean> glutenFree, final Optional<PageCursor> after) {
+        final String textQuery = Arrays.stream(NON_WORD_CHARACTERS.split(search.toLowerCase(ROOT)))
+                .filter(word -> !word.isEmpty())
+                .map(word -> word + ":*")
+                .collect(joining(" & "));
+        if (textQuery.isEmpty()) {
+            return emptyList();
+        }
+        if (after.isPresent() && !after.get().getRank().isPresent()) {
+            throw new IllegalArgumentException("Page token is not from a full-text search");
+        }
+
+        final StringBuilder sql = new StringBuilder("SELECT r.id, r.name, r.gluten_free, r.photo_id, ts_rank(r.name_search_vector, q.query) AS rank "
+                + "FROM recipe r, to_tsquery('simple', :textQuery) AS q(query) "
+                + "WHERE r.name_search_vector @@ q.query");
+        if (glutenFree.isPresent()) {
+            sql.append(" AND r.gluten_free = :glutenFree");
+        }
+        if (after.isPresent()) {
+            // the keyset condition repeats the upper bound on rank alone, so the rows ranked above the cursor are cut first
+            sql.append(" AND ts_rank(r.name_search_vector, q.query) <= :rank");
+            sql.append(" AND (ts_rank(r.name_search_vector, q.query) < :rank OR (ts_rank(r.name_search_vector, q.query) = :rank"
+                    + " AND (r.name > :name OR (r.name = :name AND r.id > CAST(:id AS uuid)))))");
+        }
+        sql.append(" ORDER BY rank DESC, r.name, r.id");
+
+        final Query query = entityManager().createNativeQuery(sql.toString(), Recipe.RANKED_RECIPE_MAPPING)
+                .setParameter("textQuery", textQuery);
+        if (glutenFree.isPresent()) {
+            query.setParameter("glutenFree", glutenFree.get());
+        }
+        if (after.isPresent()) {
+            query.setParameter("rank", after.get().getRank().get())
+                    .setParameter("name", after.get().getName())
+                    .setParameter("id", after.get().getId().toString());
+        }
 
+        final List<Object[]> rows = query
+                .setMaxResults(pageSize)
+                .getResultList();
+
+        return rows.stream()
+                .map(row -> new RankedRecipe((Recipe) row[0], (Float) row[1]))
+                .collect(toList());
+    }
+
+    /**
+     * Find a page of {@link Recipe} listing an ingredient, ordered by name and id. The recipes are
+     * found through the recipe ingredients list, using its index on the lower-cased ingredient
+     * name, and paged in the same way as {@link #findBy(int, Optional, Optional, Optional)}.
+     *
+     * @param pageSize       max size of returned result
+     * @param ingredientName the ingredient name (case-insensitive). No wildcard matching is applied.
+     * @param after          position after which the page starts; empty for the first page.
+     * @return List of matching recipes. Never returns null.
+     */
+    public List<Recipe> findByIngredientName(final int pageSize, final String ingredientName, final Optional<PageCursor> after) {
+        return findByIngredients(pageSize, singleton(ingredientName), emptySet(), after);
+    }
+
+    /**
+     * Find a page of {@link Recipe} listing all of the included ingredients and none of the
+     * excluded ones, ordered by name and id. The recipe ingredients list is the inverted index:
+     * the postings of each included name are read from its index on the lower-cased ingredient
+     * name and intersected by counting the distinct names matched per recipe, and recipes with a
+     * posting for an excluded name are then dropped.
+     *
+     * @param pageSize max size of returned result
+     * @param include  the ingredient names every recipe must list (case-insensitive); not empty.
+     * @param exclude  the ingredient names no recipe may list (case-insensitive).
+     * @param after    position after which the page starts; empty for the first page.
+     * @return List of matching recipes. Never returns null.
+     */
+    public List<Recipe> findByIngredients(final int pageSize, final Collection<String> include, final Collection<String> exclude, final Optional<PageCursor> after) {
+        final Set<String> includedNames = lowerCase(include);
+        final Set<String> excludedNames = lowerCase(exclude);
+        if (includedNames.isEmpty()) {
+            return emptyList();
+        }
+
+        final StringBuilder jpql = new StringBuilder("SELECT r FROM Recipe r WHERE r.id IN ("
+                + "SELECT ri.recipeId FROM RecipeIngredient ri WHERE LOWER(ri.ingredientName) IN :include "
+                + "GROUP BY ri.recipeId HAVING COUNT(DISTINCT LOWER(ri.ingredientName)) = :includeCount)");
+        if (!excludedNames.isEmpty()) {
+            jpql.append(" AND NOT EXISTS (SELECT rx FROM RecipeIngredient rx WHERE rx.recipeId = r.id AND LOWER(rx.ingredientName) IN :exclude)");
+        }
+        if (after.isPresent()) {
+            // the keyset condition repeats the lower bound on name alone, so it stays an index range condition
+            jpql.append(" AND r.name >= :name AND (r.name > :name OR (r.name = :name AND r.id > :id))");
+        }
+        jpql.append(" ORDER BY r.name, r.id");
+
+        final TypedQuery<Recipe> query = entityManager().createQuery(jpql.toString(), Recipe.class)
+                .setParameter("include", includedNames)
+                .setParameter("includeCount", (long) includedNames.size());
+        if (!excludedNames.isEmpty()) {
+            query.setParameter("exclude", excludedNames);
+        }
+        if (after.isPresent()) {
+            query.setParameter("name", after.get().getName())
+                    .setParameter("id", after.get().getId());
+        }
+
+        return query
+                .setMaxResults(pageSize)
+                .getResultList();
+    }
+
+    private static Set<String> lowerCase(final Collection<String> names) {
+        return names.stream()
+                .map(name -> name.toLowerCase(ROOT))
+                .collect(toCollection(LinkedHashSet::new));
+    }
 }
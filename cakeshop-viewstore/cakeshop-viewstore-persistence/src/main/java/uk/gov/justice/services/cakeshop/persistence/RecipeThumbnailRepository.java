@@ -0,0 +1,31 @@
+package uk.gov.justice.services.cakeshop.persistence;
+
+import uk.gov.justice.services.cakeshop.persistence.entity.RecipeThumbnail;
+import uk.gov.justice.services.cakeshop.persistence.entity.ThumbnailSize;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.apache.deltaspike.data.api.EntityRepository;
+import org.apache.deltaspike.data.api.Repository;
+
+@Repository
+public interface RecipeThumbnailRepository extends EntityRepository<RecipeThumbnail, UUID> {
+
+    /**
+     * Find the thumbnails generated so far for a photograph.
+     *
+     * @param photoId the id of the original photograph.
+     * @return List of thumbnails of the photograph. Never returns null.
+     */
+    List<RecipeThumbnail> findByPhotoId(final UUID photoId);
+
+    /**
+     * Find the thumbnail of a photograph in the given size.
+     *
+     * @param photoId the id of the original photograph.
+     * @param size    the size of thumbnail.
+     * @return the thumbnail, or null if it has not been generated.
+     */
+    RecipeThumbnail findOptionalByPhotoIdAndSize(final UUID photoId, final ThumbnailSize size);
+}
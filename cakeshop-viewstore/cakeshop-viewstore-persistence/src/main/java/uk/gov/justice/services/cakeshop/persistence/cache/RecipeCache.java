@@ -0,0 +1,248 @@
+package uk.gov.justice.services.cakeshop.persistence.cache;
+
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+import uk.gov.justice.services.cakeshop.persistence.RecipeCacheInvalidationRepository;
+
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+import javax.transaction.TransactionSynchronizationRegistry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded, expiring, read-through cache of views derived from a single recipe, keyed by recipe id
+ * and view type. Entries are evicted least recently used first once {@link #MAX_ENTRIES} recipes
+ * are cached, and expire {@link #TIME_TO_LIVE_MINUTES} minutes after being loaded.
+ *
+ * <p>Event listeners changing a recipe must call {@link #invalidate(UUID)}. The entry is removed
+ * immediately and again once the listener's transaction completes, so a read that loads the old
+ * row before the commit cannot keep it cached. The change is also recorded in
+ * {@code recipe_cache_invalidation} within the listener's transaction, and every node looks there
+ * for recipes changed elsewhere before serving a cached view, at most every
+ * {@link #CHECK_INTERVAL_MILLIS}. A node therefore never serves a view older than the view store
+ * after a change it made itself, nor for longer than that interval after a change made on another
+ * node. Changes are looked for {@link #CHECK_OVERLAP_MILLIS} before the previous look, to cover
+ * transactions that commit after their change was recorded and clocks that differ between nodes.
+ *
+ * <p>Hits, misses, evictions and invalidations are published over JMX as
+ * {@value RecipeCacheStatistics#OBJECT_NAME}.
+ */
+@ApplicationScoped
+public class RecipeCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RecipeCache.class);
+
+    static final int MAX_ENTRIES = 1000;
+    static final long TIME_TO_LIVE_MINUTES = 5;
+    static final long CHECK_INTERVAL_MILLIS = 1000;
+    static final long CHECK_OVERLAP_MILLIS = 10_000;
+
+    private final RecipeCacheStatistics statistics = new RecipeCacheStatistics(this::size);
+
+    private final Map<UUID, Map<Class<?>, CachedView>> entries = new LinkedHashMap<UUID, Map<Class<?>, CachedView>>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<UUID, Map<Class<?>, CachedView>> eldest) {
+            final boolean evict = size() > MAX_ENTRIES;
+            if (evict) {
+                statistics.recordEviction();
+            }
+            return evict;
+        }
+    };
+
+    private final AtomicBoolean checking = new AtomicBoolean(false);
+
+    private long invalidations = 0;
+
+    private volatile long lastCheckMillis = -1;
+
+    LongSupplier nanoTime = System::nanoTime;
+
+    LongSupplier currentTimeMillis = System::currentTimeMillis;
+
+    @Inject
+    RecipeCacheInvalidationRepository recipeCacheInvalidationRepository;
+
+    @Resource(lookup = "java:comp/TransactionSynchronizationRegistry")
+    TransactionSynchronizationRegistry transactionSynchronizationRegistry;
+
+    @PostConstruct
+    public void start() {
+        try {
+            final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            final ObjectName objectName = new ObjectName(RecipeCacheStatistics.OBJECT_NAME);
+            if (mBeanServer.isRegistered(objectName)) {
+                mBeanServer.unregisterMBean(objectName);
+            }
+            mBeanServer.registerMBean(statistics, objectName);
+        } catch (final JMException e) {
+            LOGGER.warn("Failed to register recipe cache statistics", e);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(new ObjectName(RecipeCacheStatistics.OBJECT_NAME));
+        } catch (final JMException e) {
+            LOGGER.warn("Failed to unregister recipe cache statistics", e);
+        }
+    }
+
+    /**
+     * Get the cached view of the given type for the recipe, loading and caching it on a miss.
+     * Null results are not cached.
+     *
+     * @param recipeId the id of the recipe
+     * @param viewType the type of view
+     * @param loader   loads the view from the view store
+     * @return the cached or loaded view, or null if the loader returns null
+     */
+    public <T> T get(final UUID recipeId, final Class<T> viewType, final Supplier<T> loader) {
+        checkForInvalidations();
+
+        final long invalidationsBeforeLoad;
+
+        synchronized (entries) {
+            final Map<Class<?>, CachedView> recipeViews = entries.get(recipeId);
+            final CachedView cachedView = recipeViews == null ? null : recipeViews.get(viewType);
+            if (cachedView != null && cachedView.expiresAt - nanoTime.getAsLong() > 0) {
+                statistics.recordHit();
+                return viewType.cast(cachedView.view);
+            }
+            invalidationsBeforeLoad = invalidations;
+        }
+
+        statistics.recordMiss();
+        final T view = loader.get();
+
+        if (view != null) {
+            synchronized (entries) {
+                if (invalidations == invalidationsBeforeLoad) {
+                    entries.computeIfAbsent(recipeId, id -> new HashMap<>())
+                            .put(viewType, new CachedView(view, nanoTime.getAsLong() + MINUTES.toNanos(TIME_TO_LIVE_MINUTES)));
+                }
+            }
+        }
+
+        return view;
+    }
+
+    /**
+     * Remove all cached views of the recipe, now and after the current transaction completes, and
+     * record the change for the other nodes within the current transaction.
+     *
+     * @param recipeId the id of the changed recipe
+     */
+    public void invalidate(final UUID recipeId) {
+        remove(recipeId);
+
+        if (recipeCacheInvalidationRepository != null) {
+            recipeCacheInvalidationRepository.record(recipeId, Instant.ofEpochMilli(currentTimeMillis.getAsLong()));
+        }
+
+        if (transactionSynchronizationRegistry != null && transactionSynchronizationRegistry.getTransactionStatus() == Status.STATUS_ACTIVE) {
+            transactionSynchronizationRegistry.registerInterposedSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                    // nothing to do until the change is visible
+                }
+
+                @Override
+                public void afterCompletion(final int status) {
+                    remove(recipeId);
+                }
+            });
+        }
+    }
+
+    public long hitCount() {
+        return statistics.getHitCount();
+    }
+
+    public long missCount() {
+        return statistics.getMissCount();
+    }
+
+    public long evictionCount() {
+        return statistics.getEvictionCount();
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    RecipeCacheStatistics statistics() {
+        return statistics;
+    }
+
+    /**
+     * Remove the recipes changed on any node since shortly before the last look, unless another
+     * thread is already looking or the last look was less than {@link #CHECK_INTERVAL_MILLIS} ago.
+     * Until the first look nothing can be cached, so it only notes the time.
+     */
+    private void checkForInvalidations() {
+        if (recipeCacheInvalidationRepository == null) {
+            return;
+        }
+
+        final long now = currentTimeMillis.getAsLong();
+        if (lastCheckMillis >= 0 && now - lastCheckMillis < CHECK_INTERVAL_MILLIS || !checking.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            if (lastCheckMillis >= 0) {
+                final List<UUID> changedRecipeIds = recipeCacheInvalidationRepository.findRecipeIdsInvalidatedSince(
+                        Instant.ofEpochMilli(lastCheckMillis - CHECK_OVERLAP_MILLIS));
+                changedRecipeIds.forEach(this::remove);
+            }
+            lastCheckMillis = now;
+        } finally {
+            checking.set(false);
+        }
+    }
+
+    private void remove(final UUID recipeId) {
+        synchronized (entries) {
+            invalidations++;
+            if (entries.remove(recipeId) != null) {
+                statistics.recordInvalidation();
+            }
+        }
+    }
+
+    private static class CachedView {
+
+        private final Object view;
+        private final long expiresAt;
+
+        private CachedView(final Object view, final long expiresAt) {
+            this.view = view;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package uk.gov.justice.services.cakeshop.persistence.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+
+public class RecipeCacheStatistics implements RecipeCacheStatisticsMBean {
+
+    public static final String OBJECT_NAME = "uk.gov.justice.services.cakeshop:type=RecipeCache";
+
+    private final IntSupplier size;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+    private final AtomicLong invalidationCount = new AtomicLong();
+
+    public RecipeCacheStatistics(final IntSupplier size) {
+        this.size = size;
+    }
+
+    void recordHit() {
+        hitCount.incrementAndGet();
+    }
+
+    void recordMiss() {
+        missCount.incrementAndGet();
+    }
+
+    void recordEviction() {
+        evictionCount.incrementAndGet();
+    }
+
+    void recordInvalidation() {
+        invalidationCount.incrementAndGet();
+    }
+
+    @Override
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    @Override
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    @Override
+    public double getHitRatio() {
+        final long hits = hitCount.get();
+        final long lookups = hits + missCount.get();
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    @Override
+    public long getInvalidationCount() {
+        return invalidationCount.get();
+    }
+
+    @Override
+    public int getSize() {
+        return size.getAsInt();
+    }
+}
@@ -0,0 +1,26 @@
+package uk.gov.justice.services.cakeshop.persistence.cache;
+
+/**
+ * Statistics of the {@link RecipeCache}, published over JMX as
+ * {@value RecipeCacheStatistics#OBJECT_NAME}.
+ */
+public interface RecipeCacheStatisticsMBean {
+
+    long getHitCount();
+
+    long getMissCount();
+
+    double getHitRatio();
+
+    /**
+     * @return the number of recipes whose views were dropped to make room for others.
+     */
+    long getEvictionCount();
+
+    /**
+     * @return the number of recipes whose views were dropped because the recipe changed.
+     */
+    long getInvalidationCount();
+
+    int getSize();
+}
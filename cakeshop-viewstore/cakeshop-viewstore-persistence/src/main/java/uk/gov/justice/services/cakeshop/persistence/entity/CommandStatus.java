@@ -0,0 +1,70 @@
+package uk.gov.justice.services.cakeshop.persistence.entity;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.UUID;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * The status of a command, recorded as {@code Making Cake} by the command API as it accepts the
+ * command and replaced with its outcome by the event listener once the event it caused has been
+ * projected. A command without a status has not been accepted.
+ */
+@Entity
+@Table(name = "command_status")
+public class CommandStatus implements Serializable {
+
+    public static final String MAKING_CAKE = "Making Cake";
+    public static final String CAKE_MADE = "Cake Made";
+
+    @Id
+    @Column(name = "command_id")
+    private UUID commandId;
+
+    @Column(name = "status", nullable = false)
+    private String status;
+
+    @Column(name = "resource_id", nullable = false)
+    private UUID resourceId;
+
+    public CommandStatus(final UUID commandId, final String status, final UUID resourceId) {
+        this.commandId = commandId;
+        this.status = status;
+        this.resourceId = resourceId;
+    }
+
+    public CommandStatus() {
+
+    }
+
+    public UUID getCommandId() {
+        return commandId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public UUID getResourceId() {
+        return resourceId;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        final CommandStatus that = (CommandStatus) o;
+        return Objects.equals(commandId, that.commandId) &&
+                Objects.equals(status, that.status) &&
+                Objects.equals(resourceId, that.resourceId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(commandId, status, resourceId);
+    }
+}
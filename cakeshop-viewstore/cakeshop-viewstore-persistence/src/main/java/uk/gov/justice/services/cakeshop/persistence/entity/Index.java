@@ -5,20 +5,15 @@ import java.time.ZonedDateTime;
 import java.util.Objects;
 import java.util.UUID;
 
-import javax.persistence.Column;
-import javax.persistence.Entity;
-import javax.persistence.Id;
-import javax.persistence.Table;
-
-@Entity
-@Table(name = "index")
+/**
+ * The delivery date of the latest cake ordered for a recipe, as held in the
+ * {@link uk.gov.justice.services.cakeshop.persistence.search.DeliverySearchIndex}. It is no longer
+ * stored in the view store.
+ */
 public class Index implements Serializable {
 
-    @Id
-    @Column(name = "index_id")
     private UUID indexId;
 
-    @Column(name = "delivery_date", nullable = false, insertable = true, updatable = true)
     private ZonedDateTime deliveryDate;
 
     public Index(final UUID indexId, final ZonedDateTime deliveryDate) {
@@ -26,10 +21,6 @@ public class Index implements Serializable {
         this.deliveryDate = deliveryDate;
     }
 
-    public Index() {
-
-    }
-
     public UUID getIndexId() {
         return indexId;
     }
@@ -1,5 +1,8 @@
 package uk.gov.justice.services.cakeshop.persistence.entity;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Locale.ROOT;
+
 import java.io.Serializable;
 import java.util.Objects;
 import java.util.UUID;
@@ -13,6 +16,8 @@ import javax.persistence.Table;
 @Table(name = "ingredient")
 public class Ingredient implements Serializable {
 
+    private static final String ID_NAMESPACE = "cakeshop.ingredient:";
+
     @Id
     private UUID id;
 
@@ -27,6 +32,17 @@ public class Ingredient implements Serializable {
         this.name = name;
     }
 
+    /**
+     * The id a new ingredient of that name is stored with. It is a name-based UUID of the
+     * lower-cased name, so replaying the same events always gives the same ids.
+     *
+     * @param name the ingredient name, in any case
+     * @return the id of an ingredient of that name
+     */
+    public static UUID idOf(final String name) {
+        return UUID.nameUUIDFromBytes((ID_NAMESPACE + name.toLowerCase(ROOT)).getBytes(UTF_8));
+    }
+
     public UUID getId() {
         return id;
     }
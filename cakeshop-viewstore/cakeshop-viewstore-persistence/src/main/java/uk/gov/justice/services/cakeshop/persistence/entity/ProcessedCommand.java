@@ -0,0 +1,131 @@
+package uk.gov.justice.services.cakeshop.persistence.entity;
+
+import java.io.Serializable;
+import java.time.ZonedDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import javax.persistence.Table;
+
+/**
+ * A command accepted by the command API, keyed by the id of the resource it creates, so a
+ * resubmission of the same command can be recognised and given the response to the original.
+ */
+@Entity
+@Table(name = "processed_command")
+@IdClass(ProcessedCommand.Key.class)
+public class ProcessedCommand implements Serializable {
+
+    @Id
+    @Column(name = "command_name")
+    private String commandName;
+
+    @Id
+    @Column(name = "command_id")
+    private UUID commandId;
+
+    @Column(name = "processed_at", nullable = false)
+    private ZonedDateTime processedAt;
+
+    @Column(name = "response_name")
+    private String responseName;
+
+    @Column(name = "response_payload")
+    private String responsePayload;
+
+    public ProcessedCommand(final String commandName, final UUID commandId, final ZonedDateTime processedAt) {
+        this(commandName, commandId, processedAt, null, null);
+    }
+
+    public ProcessedCommand(final String commandName,
+                            final UUID commandId,
+                            final ZonedDateTime processedAt,
+                            final String responseName,
+                            final String responsePayload) {
+        this.commandName = commandName;
+        this.commandId = commandId;
+        this.processedAt = processedAt;
+        this.responseName = responseName;
+        this.responsePayload = responsePayload;
+    }
+
+    public ProcessedCommand() {
+
+    }
+
+    public String getCommandName() {
+        return commandName;
+    }
+
+    public UUID getCommandId() {
+        return commandId;
+    }
+
+    public ZonedDateTime getProcessedAt() {
+        return processedAt;
+    }
+
+    /**
+     * @return the name of the response the command API gave to the command, or null if it gave
+     * none or it has not been recorded yet.
+     */
+    public String getResponseName() {
+        return responseName;
+    }
+
+    /**
+     * @return the JSON payload of the response the command API gave to the command, or null if it
+     * gave none or it has not been recorded yet.
+     */
+    public String getResponsePayload() {
+        return responsePayload;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        final ProcessedCommand that = (ProcessedCommand) o;
+        return Objects.equals(commandName, that.commandName) &&
+                Objects.equals(commandId, that.commandId) &&
+                Objects.equals(processedAt, that.processedAt);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(commandName, commandId, processedAt);
+    }
+
+    public static class Key implements Serializable {
+
+        private String commandName;
+        private UUID commandId;
+
+        public Key(final String commandName, final UUID commandId) {
+            this.commandName = commandName;
+            this.commandId = commandId;
+        }
+
+        public Key() {
+
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            final Key key = (Key) o;
+            return Objects.equals(commandName, key.commandName) &&
+                    Objects.equals(commandId, key.commandId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(commandName, commandId);
+        }
+    }
+}
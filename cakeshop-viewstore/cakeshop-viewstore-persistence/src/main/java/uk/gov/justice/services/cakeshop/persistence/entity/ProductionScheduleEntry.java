@@ -0,0 +1,99 @@
+package uk.gov.justice.services.cakeshop.persistence.entity;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.UUID;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import javax.persistence.Table;
+
+/**
+ * The number of cakes of a recipe ordered for delivery on a day, kept up to date as cakes are
+ * ordered so the production schedule is read without counting the orders.
+ */
+@Entity
+@Table(name = "production_schedule")
+@IdClass(ProductionScheduleEntry.Key.class)
+public class ProductionScheduleEntry implements Serializable {
+
+    @Id
+    @Column(name = "delivery_day")
+    private LocalDate deliveryDay;
+
+    @Id
+    @Column(name = "recipe_id")
+    private UUID recipeId;
+
+    @Column(name = "order_count", nullable = false)
+    private long orderCount;
+
+    public ProductionScheduleEntry(final LocalDate deliveryDay, final UUID recipeId, final long orderCount) {
+        this.deliveryDay = deliveryDay;
+        this.recipeId = recipeId;
+        this.orderCount = orderCount;
+    }
+
+    public ProductionScheduleEntry() {
+
+    }
+
+    public LocalDate getDeliveryDay() {
+        return deliveryDay;
+    }
+
+    public UUID getRecipeId() {
+        return recipeId;
+    }
+
+    public long getOrderCount() {
+        return orderCount;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        final ProductionScheduleEntry that = (ProductionScheduleEntry) o;
+        return orderCount == that.orderCount &&
+                Objects.equals(deliveryDay, that.deliveryDay) &&
+                Objects.equals(recipeId, that.recipeId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(deliveryDay, recipeId, orderCount);
+    }
+
+    public static class Key implements Serializable {
+
+        private LocalDate deliveryDay;
+        private UUID recipeId;
+
+        public Key(final LocalDate deliveryDay, final UUID recipeId) {
+            this.deliveryDay = deliveryDay;
+            this.recipeId = recipeId;
+        }
+
+        public Key() {
+
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            final Key key = (Key) o;
+            return Objects.equals(deliveryDay, key.deliveryDay) &&
+                    Objects.equals(recipeId, key.recipeId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(deliveryDay, recipeId);
+        }
+    }
+}
@@ -5,14 +5,22 @@ import java.util.Objects;
 import java.util.UUID;
 
 import javax.persistence.Column;
+import javax.persistence.ColumnResult;
 import javax.persistence.Entity;
+import javax.persistence.EntityResult;
 import javax.persistence.Id;
+import javax.persistence.SqlResultSetMapping;
 import javax.persistence.Table;
 
 @Entity
 @Table(name = "recipe")
+@SqlResultSetMapping(name = Recipe.RANKED_RECIPE_MAPPING,
+        entities = @EntityResult(entityClass = Recipe.class),
+        columns = @ColumnResult(name = "rank", type = Float.class))
 public class Recipe implements Serializable {
 
+    public static final String RANKED_RECIPE_MAPPING = "RankedRecipe";
+
     private static final long serialVersionUID = -8793074132428777454L;
 
     @Id
@@ -0,0 +1,58 @@
+package uk.gov.justice.services.cakeshop.persistence.entity;
+
+import java.io.Serializable;
+import java.time.ZonedDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * When the views of a recipe last changed, so that every node can drop the views of the recipe it
+ * has cached, not only the node whose event listener made the change.
+ */
+@Entity
+@Table(name = "recipe_cache_invalidation")
+public class RecipeCacheInvalidation implements Serializable {
+
+    @Id
+    @Column(name = "recipe_id")
+    private UUID recipeId;
+
+    @Column(name = "invalidated_at", nullable = false)
+    private ZonedDateTime invalidatedAt;
+
+    public RecipeCacheInvalidation(final UUID recipeId, final ZonedDateTime invalidatedAt) {
+        this.recipeId = recipeId;
+        this.invalidatedAt = invalidatedAt;
+    }
+
+    public RecipeCacheInvalidation() {
+
+    }
+
+    public UUID getRecipeId() {
+        return recipeId;
+    }
+
+    public ZonedDateTime getInvalidatedAt() {
+        return invalidatedAt;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        final RecipeCacheInvalidation that = (RecipeCacheInvalidation) o;
+        return Objects.equals(recipeId, that.recipeId) &&
+                Objects.equals(invalidatedAt, that.invalidatedAt);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(recipeId, invalidatedAt);
+    }
+}
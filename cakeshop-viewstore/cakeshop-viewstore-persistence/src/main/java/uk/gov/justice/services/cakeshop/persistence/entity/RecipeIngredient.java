@@ -13,12 +13,20 @@ import javax.persistence.Id;
 import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 
+/**
+ * An ingredient of a recipe with its quantity. Ids are allocated in blocks of
+ * {@link #ALLOCATION_SIZE} from {@code recipe_ingredient_sequence}, whose increment must be the
+ * same; the pooled-lo optimizer set in persistence.xml takes each sequence value as the first id
+ * of its block, so the sequence is read once per block rather than once per insert.
+ */
 @Entity
 @Access(AccessType.FIELD)
 @Table(name = "recipe_ingredients_list")
-@SequenceGenerator(name = "RECIPE_INGREDIENT_SEQUENCE", sequenceName = "recipe_ingredient_sequence"/*, allocationSize = 1, initialValue = 0*/)
+@SequenceGenerator(name = "RECIPE_INGREDIENT_SEQUENCE", sequenceName = "recipe_ingredient_sequence", allocationSize = RecipeIngredient.ALLOCATION_SIZE)
 public class RecipeIngredient {
 
+    public static final int ALLOCATION_SIZE = 100;
+
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "RECIPE_INGREDIENT_SEQUENCE")
     private Long id;
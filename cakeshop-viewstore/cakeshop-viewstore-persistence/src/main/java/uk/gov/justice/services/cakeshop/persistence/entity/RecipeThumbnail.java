@@ -0,0 +1,68 @@
+package uk.gov.justice.services.cakeshop.persistence.entity;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.UUID;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * A thumbnail of a recipe photograph, stored in the file store alongside the original.
+ */
+@Entity
+@Table(name = "recipe_thumbnail")
+public class RecipeThumbnail implements Serializable {
+
+    @Id
+    @Column(name = "file_id")
+    private UUID fileId;
+
+    @Column(name = "photo_id", nullable = false)
+    private UUID photoId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "size", nullable = false)
+    private ThumbnailSize size;
+
+    public RecipeThumbnail(final UUID fileId, final UUID photoId, final ThumbnailSize size) {
+        this.fileId = fileId;
+        this.photoId = photoId;
+        this.size = size;
+    }
+
+    public RecipeThumbnail() {
+
+    }
+
+    public UUID getFileId() {
+        return fileId;
+    }
+
+    public UUID getPhotoId() {
+        return photoId;
+    }
+
+    public ThumbnailSize getSize() {
+        return size;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        final RecipeThumbnail that = (RecipeThumbnail) o;
+        return Objects.equals(fileId, that.fileId) &&
+                Objects.equals(photoId, that.photoId) &&
+                size == that.size;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(fileId, photoId, size);
+    }
+}
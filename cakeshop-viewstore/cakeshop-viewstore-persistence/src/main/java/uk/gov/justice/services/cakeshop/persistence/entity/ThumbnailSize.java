@@ -0,0 +1,41 @@
+package uk.gov.justice.services.cakeshop.persistence.entity;
+
+import static java.util.Locale.ROOT;
+
+import java.util.Optional;
+
+/**
+ * The fixed sizes recipe photograph thumbnails are generated in, by the length in pixels of their
+ * longest side.
+ */
+public enum ThumbnailSize {
+
+    SMALL(96),
+    MEDIUM(240),
+    LARGE(480);
+
+    private final int longestSide;
+
+    ThumbnailSize(final int longestSide) {
+        this.longestSide = longestSide;
+    }
+
+    public int getLongestSide() {
+        return longestSide;
+    }
+
+    /**
+     * Find the size by its case-insensitive name, as used in thumbnail urls.
+     *
+     * @param name the name of the size, such as {@code small}
+     * @return the size, or empty if there is no size of that name
+     */
+    public static Optional<ThumbnailSize> fromName(final String name) {
+        for (final ThumbnailSize size : values()) {
+            if (size.name().equals(name.toUpperCase(ROOT))) {
+                return Optional.of(size);
+            }
+        }
+        return Optional.empty();
+    }
+}
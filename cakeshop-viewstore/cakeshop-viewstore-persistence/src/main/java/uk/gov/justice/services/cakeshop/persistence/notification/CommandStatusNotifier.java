@@ -0,0 +1,94 @@
+package uk.gov.justice.services.cakeshop.persistence.notification;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Resource;
+import javax.enterprise.context.ApplicationScoped;
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+import javax.transaction.TransactionSynchronizationRegistry;
+
+/**
+ * Wakes the requests waiting on this node for the outcome of a command once it has been recorded.
+ *
+ * <p>Only waiters on the node that recorded the outcome are woken, so the outcomes of the
+ * {@link #awaitedCommandIds() awaited commands} should also be looked for now and again in case
+ * another node recorded them.
+ */
+@ApplicationScoped
+public class CommandStatusNotifier {
+
+    private final Map<UUID, Set<Runnable>> waiters = new ConcurrentHashMap<>();
+
+    @Resource(lookup = "java:comp/TransactionSynchronizationRegistry")
+    TransactionSynchronizationRegistry transactionSynchronizationRegistry;
+
+    /**
+     * @param commandId the metadata id of the command
+     * @param waiter    run once when the status of the command is recorded
+     */
+    public void subscribe(final UUID commandId, final Runnable waiter) {
+        waiters.computeIfAbsent(commandId, id -> ConcurrentHashMap.newKeySet()).add(waiter);
+    }
+
+    public void unsubscribe(final UUID commandId, final Runnable waiter) {
+        waiters.computeIfPresent(commandId, (id, commandWaiters) -> {
+            commandWaiters.remove(waiter);
+            return commandWaiters.isEmpty() ? null : commandWaiters;
+        });
+    }
+
+    /**
+     * @return the metadata ids of the commands whose outcome is being waited for on this node
+     */
+    public Set<UUID> awaitedCommandIds() {
+        return new HashSet<>(waiters.keySet());
+    }
+
+    /**
+     * Wake the waiters for commands whose status has been recorded. Within a transaction they are
+     * only woken once it commits, so they never look for a status before it can be read.
+     *
+     * @param commandIds the metadata ids of the commands
+     */
+    public void notifyRecorded(final Collection<UUID> commandIds) {
+        if (commandIds.isEmpty()) {
+            return;
+        }
+
+        if (transactionSynchronizationRegistry != null && transactionSynchronizationRegistry.getTransactionStatus() == Status.STATUS_ACTIVE) {
+            final List<UUID> recorded = new ArrayList<>(commandIds);
+            transactionSynchronizationRegistry.registerInterposedSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                    // nothing to do until the statuses are committed
+                }
+
+                @Override
+                public void afterCompletion(final int status) {
+                    if (status == Status.STATUS_COMMITTED) {
+                        wake(recorded);
+                    }
+                }
+            });
+        } else {
+            wake(commandIds);
+        }
+    }
+
+    private void wake(final Collection<UUID> commandIds) {
+        for (final UUID commandId : commandIds) {
+            final Set<Runnable> commandWaiters = waiters.remove(commandId);
+            if (commandWaiters != null) {
+                commandWaiters.forEach(Runnable::run);
+            }
+        }
+    }
+}
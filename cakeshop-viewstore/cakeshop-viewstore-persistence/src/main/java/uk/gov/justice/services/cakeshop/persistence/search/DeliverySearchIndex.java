@@ -0,0 +1,212 @@
+package uk.gov.justice.services.cakeshop.persistence.search;
+
+import static java.time.ZoneOffset.UTC;
+
+import uk.gov.justice.services.cakeshop.persistence.entity.Index;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field.Store;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.SortedDocValuesField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.IndexWriterConfig.OpenMode;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherFactory;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.BytesRef;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Embedded Lucene index of the delivery date of the latest cake ordered for each recipe, kept in
+ * a directory on local disk. It holds one document per recipe (the {@link Index#getIndexId()
+ * index id}), so indexing an order again, as a replay does, replaces its document rather than
+ * adding another.
+ *
+ * <p>The index is local to the node, while the {@code processed_event} rows recording which events
+ * the event indexer has handled are shared by every node, so it only supports running the service
+ * on a single node. It is rebuilt by deleting the directory and the {@code EVENT_INDEXER} rows of
+ * {@code processed_event}, then running a catchup; an index created empty while those rows remain
+ * is logged as a warning, as the events they record will not be indexed again. The view store
+ * migration that drops the {@code index} table deletes those rows, so an upgraded service fills
+ * its new index on the next catchup.
+ *
+ * <p>Writes are buffered by the index writer and made durable by a {@link #commit()}, so that
+ * many writes can share the cost of one commit. The searcher is refreshed from the writer as it
+ * commits.
+ */
+@ApplicationScoped
+public class DeliverySearchIndex {
+
+    static final String DIRECTORY_PROPERTY = "cakeshop.search.index.directory";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DeliverySearchIndex.class);
+
+    private static final String INDEX_ID = "indexId";
+    private static final String ORDER_ID = "orderId";
+    private static final String DELIVERY_DATE = "deliveryDate";
+
+    private static final Sort BY_DELIVERY_DATE = new Sort(
+            new SortField(DELIVERY_DATE, SortField.Type.LONG),
+            new SortField(INDEX_ID, SortField.Type.STRING));
+
+    private FSDirectory directory;
+    private IndexWriter indexWriter;
+    private SearcherManager searcherManager;
+
+    @PostConstruct
+    public void open() {
+        open(Paths.get(System.getProperty(DIRECTORY_PROPERTY,
+                Paths.get(System.getProperty("jboss.server.data.dir", System.getProperty("java.io.tmpdir")), "cakeshop-search-index").toString())));
+    }
+
+    void open(final Path path) {
+        try {
+            directory = FSDirectory.open(path);
+            if (!DirectoryReader.indexExists(directory)) {
+                LOGGER.warn("Creating empty delivery search index in {}. Delete the EVENT_INDEXER rows of processed_event and run a catchup "
+                        + "to index the cake orders already processed", path);
+            }
+            indexWriter = new IndexWriter(directory, new IndexWriterConfig().setOpenMode(OpenMode.CREATE_OR_APPEND));
+            searcherManager = new SearcherManager(indexWriter, new SearcherFactory());
+            LOGGER.info("Opened delivery search index in {} with {} documents", path, indexWriter.getDocStats().numDocs);
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Failed to open delivery search index in " + path, e);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        try {
+            searcherManager.close();
+            indexWriter.close();
+            directory.close();
+        } catch (final IOException e) {
+            LOGGER.warn("Failed to close delivery search index", e);
+        }
+    }
+
+    /**
+     * Write the delivery date of a cake ordered for a recipe to the index, replacing any earlier
+     * order for the same recipe. The write is buffered by the index writer: it is only searchable,
+     * and only survives a restart, once the index is {@link #commit() committed}.
+     *
+     * @param index   the recipe and the delivery date ordered.
+     * @param orderId the id of the order, if known.
+     */
+    public void write(final Index index, final Optional<UUID> orderId) {
+        try {
+            indexWriter.updateDocument(new Term(INDEX_ID, index.getIndexId().toString()), documentOf(index, orderId));
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Failed to index delivery of recipe " + index.getIndexId(), e);
+        }
+    }
+
+    /**
+     * Commit every write made so far to disk in one go and refresh the searcher to see them.
+     */
+    public void commit() {
+        try {
+            indexWriter.commit();
+            searcherManager.maybeRefreshBlocking();
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Failed to commit delivery search index", e);
+        }
+    }
+
+    /**
+     * @param indexId the id of the recipe.
+     * @return the latest delivery indexed for the recipe, if any.
+     */
+    public Optional<Index> findByIndexId(final UUID indexId) {
+        final List<Index> found = search(new TermQuery(new Term(INDEX_ID, indexId.toString())), 1);
+        return found.isEmpty() ? Optional.empty() : Optional.of(found.get(0));
+    }
+
+    /**
+     * Find the deliveries due in a window of time, earliest first, using the point index on the
+     * delivery date.
+     *
+     * @param from       the start of the window, inclusive.
+     * @param to         the end of the window, inclusive.
+     * @param maxResults max size of returned result.
+     * @return List of deliveries in the window. Never returns null.
+     */
+    public List<Index> findByDeliveryDateBetween(final ZonedDateTime from, final ZonedDateTime to, final int maxResults) {
+        return search(LongPoint.newRangeQuery(DELIVERY_DATE, from.toInstant().toEpochMilli(), to.toInstant().toEpochMilli()), maxResults);
+    }
+
+    public int size() {
+        return indexWriter.getDocStats().numDocs;
+    }
+
+    private List<Index> search(final Query query, final int maxResults) {
+        if (maxResults <= 0) {
+            return new ArrayList<>();
+        }
+
+        try {
+            final IndexSearcher searcher = searcherManager.acquire();
+            try {
+                final TopDocs topDocs = searcher.search(query, maxResults, BY_DELIVERY_DATE);
+                final List<Index> found = new ArrayList<>(topDocs.scoreDocs.length);
+                for (final ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                    found.add(indexOf(searcher.doc(scoreDoc.doc)));
+                }
+                return found;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Failed to search delivery search index", e);
+        }
+    }
+
+    private static Document documentOf(final Index index, final Optional<UUID> orderId) {
+        final String indexId = index.getIndexId().toString();
+        final long deliveryDate = index.getDeliveryDate().toInstant().toEpochMilli();
+
+        final Document document = new Document();
+        document.add(new StringField(INDEX_ID, indexId, Store.YES));
+        document.add(new SortedDocValuesField(INDEX_ID, new BytesRef(indexId)));
+        orderId.ifPresent(id -> document.add(new StringField(ORDER_ID, id.toString(), Store.YES)));
+        document.add(new LongPoint(DELIVERY_DATE, deliveryDate));
+        document.add(new NumericDocValuesField(DELIVERY_DATE, deliveryDate));
+        document.add(new StoredField(DELIVERY_DATE, deliveryDate));
+        return document;
+    }
+
+    private static Index indexOf(final Document document) {
+        return new Index(
+                UUID.fromString(document.get(INDEX_ID)),
+                Instant.ofEpochMilli(document.getField(DELIVERY_DATE).numericValue().longValue()).atZone(UTC));
+    }
+}
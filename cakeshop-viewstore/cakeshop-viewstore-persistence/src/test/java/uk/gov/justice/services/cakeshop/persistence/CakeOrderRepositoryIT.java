@@ -1,15 +1,21 @@
 package uk.gov.justice.services.cakeshop.persistence;
 
+import static java.util.stream.Collectors.toList;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 
 import uk.gov.justice.services.cakeshop.persistence.entity.CakeOrder;
 import uk.gov.justice.services.test.utils.persistence.BaseTransactionalJunit4Test;
 
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 import javax.inject.Inject;
@@ -42,4 +48,72 @@ public class CakeOrderRepositoryIT extends BaseTransactionalJunit4Test {
         assertThat(cakeOrder.getDeliveryDate(), is(deliveryDate));
         assertThat(cakeOrder.getDeliveryDate().getZone(), is(ZoneId.of("UTC")));
     }
+
+    @Test
+    public void shouldFindPagesOfOrdersInDeliveryWindowEarliestFirst() {
+        final ZonedDateTime from = ZonedDateTime.of(2025, 3, 3, 9, 0, 0, 0, ZoneId.of("UTC"));
+        final UUID recipeId = UUID.randomUUID();
+
+        final UUID firstOrderIdOfDay = UUID.fromString("00000000-0000-0000-0000-000000000001");
+        final UUID secondOrderIdOfDay = UUID.fromString("00000000-0000-0000-0000-000000000002");
+
+        save(new CakeOrder(UUID.randomUUID(), recipeId, from.minusSeconds(1)));
+        save(new CakeOrder(secondOrderIdOfDay, recipeId, from.plusDays(1)));
+        final CakeOrder now = save(new CakeOrder(UUID.randomUUID(), recipeId, from));
+        save(new CakeOrder(firstOrderIdOfDay, recipeId, from.plusDays(1)));
+        save(new CakeOrder(UUID.randomUUID(), recipeId, from.plusHours(48)));
+
+        final List<CakeOrder> firstPage = cakeOrderRepository.findByDeliveryWindow(2, from, from.plusHours(48), Optional.empty());
+        final List<CakeOrder> secondPage = cakeOrderRepository.findByDeliveryWindow(2, from, from.plusHours(48), Optional.of(firstPage.get(1)));
+
+        assertThat(idsOf(firstPage), contains(now.getOrderId(), firstOrderIdOfDay));
+        assertThat(idsOf(secondPage), contains(secondOrderIdOfDay));
+    }
+
+    @Test
+    public void shouldStreamAllOrdersInDeliveryWindowAcrossFetches() {
+        final ZonedDateTime from = ZonedDateTime.of(2025, 3, 3, 9, 0, 0, 0, ZoneId.of("UTC"));
+        final UUID recipeId = UUID.randomUUID();
+
+        final CakeOrder first = save(new CakeOrder(UUID.randomUUID(), recipeId, from.plusHours(1)));
+        final CakeOrder second = save(new CakeOrder(UUID.randomUUID(), recipeId, from.plusHours(2)));
+        final CakeOrder third = save(new CakeOrder(UUID.randomUUID(), recipeId, from.plusHours(3)));
+        save(new CakeOrder(UUID.randomUUID(), recipeId, from.plusHours(49)));
+
+        final List<UUID> streamed = cakeOrderRepository.streamByDeliveryWindow(from, from.plusHours(48), Optional.empty(), 2)
+                .map(CakeOrder::getOrderId)
+                .collect(toList());
+        final List<UUID> streamedAfterFirst = cakeOrderRepository.streamByDeliveryWindow(from, from.plusHours(48), Optional.of(first), 2)
+                .map(CakeOrder::getOrderId)
+                .collect(toList());
+
+        assertThat(streamed, contains(first.getOrderId(), second.getOrderId(), third.getOrderId()));
+        assertThat(streamedAfterFirst, contains(second.getOrderId(), third.getOrderId()));
+    }
+
+    @Test
+    public void shouldCountOrdersOfEachRecipeInDeliveryWindow() {
+        final ZonedDateTime from = ZonedDateTime.of(2025, 3, 3, 9, 0, 0, 0, ZoneId.of("UTC"));
+        final UUID chocolateCakeId = UUID.randomUUID();
+        final UUID muffinId = UUID.randomUUID();
+
+        save(new CakeOrder(UUID.randomUUID(), chocolateCakeId, from));
+        save(new CakeOrder(UUID.randomUUID(), chocolateCakeId, from.plusHours(5)));
+        save(new CakeOrder(UUID.randomUUID(), muffinId, from.plusHours(6)));
+        save(new CakeOrder(UUID.randomUUID(), muffinId, from.plusHours(50)));
+
+        final Map<UUID, Long> expected = new LinkedHashMap<>();
+        expected.put(chocolateCakeId, 2L);
+        expected.put(muffinId, 1L);
+
+        assertThat(cakeOrderRepository.countByRecipeInDeliveryWindow(from, from.plusHours(48)), is(expected));
+    }
+
+    private CakeOrder save(final CakeOrder cakeOrder) {
+        return cakeOrderRepository.save(cakeOrder);
+    }
+
+    private static List<UUID> idsOf(final List<CakeOrder> cakeOrders) {
+        return cakeOrders.stream().map(CakeOrder::getOrderId).collect(toList());
+    }
 }
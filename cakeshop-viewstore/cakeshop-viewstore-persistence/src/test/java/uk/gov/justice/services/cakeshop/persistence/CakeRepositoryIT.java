@@ -1,7 +1,9 @@
 package uk.gov.justice.services.cakeshop.persistence;
 
 import static java.util.UUID.randomUUID;
+import static java.util.stream.Collectors.toList;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 
@@ -9,6 +11,7 @@ import uk.gov.justice.services.cakeshop.persistence.entity.Cake;
 import uk.gov.justice.services.test.utils.persistence.BaseTransactionalJunit4Test;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import javax.inject.Inject;
@@ -42,4 +45,51 @@ public class CakeRepositoryIT extends BaseTransactionalJunit4Test {
         assertThat(cakes.get(1).getName(), is(name2));
 
     }
+
+    @Test
+    public void shouldReturnPagesOfCakesOrderedByName() throws Exception {
+        final UUID cheeseCakeId = randomUUID();
+        final UUID chocolateCakeId = randomUUID();
+        final UUID muffinId = randomUUID();
+
+        cakeRepository.save(new Cake(muffinId, "Muffin"));
+        cakeRepository.save(new Cake(chocolateCakeId, "Chocolate cake"));
+        cakeRepository.save(new Cake(cheeseCakeId, "Cheese cake"));
+
+        final List<Cake> firstPage = cakeRepository.findBy(2, Optional.empty(), Optional.empty());
+        final List<Cake> secondPage = cakeRepository.findBy(2, Optional.empty(), Optional.of(PageCursor.after(firstPage.get(1))));
+
+        assertThat(firstPage.stream().map(Cake::getCakeId).collect(toList()), contains(cheeseCakeId, chocolateCakeId));
+        assertThat(secondPage.stream().map(Cake::getCakeId).collect(toList()), contains(muffinId));
+    }
+
+    @Test
+    public void shouldFilterCakesByName() throws Exception {
+        final UUID cheeseCakeId = randomUUID();
+
+        cakeRepository.save(new Cake(randomUUID(), "Muffin"));
+        cakeRepository.save(new Cake(cheeseCakeId, "Cheese cake"));
+
+        final List<Cake> cakes = cakeRepository.findBy(10, Optional.of("Cheese"), Optional.empty());
+
+        assertThat(cakes, hasSize(1));
+        assertThat(cakes.get(0).getCakeId(), is(cheeseCakeId));
+    }
+
+    @Test
+    public void shouldStreamAllCakesAcrossFetches() throws Exception {
+        final UUID cheeseCakeId = randomUUID();
+        final UUID chocolateCakeId = randomUUID();
+        final UUID muffinId = randomUUID();
+
+        cakeRepository.save(new Cake(muffinId, "Muffin"));
+        cakeRepository.save(new Cake(chocolateCakeId, "Chocolate cake"));
+        cakeRepository.save(new Cake(cheeseCakeId, "Cheese cake"));
+
+        final List<UUID> cakeIds = cakeRepository.streamBy(Optional.empty(), Optional.empty(), 2)
+                .map(Cake::getCakeId)
+                .collect(toList());
+
+        assertThat(cakeIds, contains(cheeseCakeId, chocolateCakeId, muffinId));
+    }
 }
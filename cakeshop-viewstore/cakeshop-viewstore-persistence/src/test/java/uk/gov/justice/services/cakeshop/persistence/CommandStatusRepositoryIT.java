@@ -0,0 +1,76 @@
+package uk.gov.justice.services.cakeshop.persistence;
+
+import static java.util.Arrays.asList;
+import static java.util.UUID.randomUUID;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static uk.gov.justice.services.cakeshop.persistence.entity.CommandStatus.CAKE_MADE;
+import static uk.gov.justice.services.cakeshop.persistence.entity.CommandStatus.MAKING_CAKE;
+
+import uk.gov.justice.services.cakeshop.persistence.entity.CommandStatus;
+import uk.gov.justice.services.test.utils.persistence.BaseTransactionalJunit4Test;
+
+import java.util.UUID;
+
+import javax.inject.Inject;
+
+import org.apache.deltaspike.testcontrol.api.junit.CdiTestRunner;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(CdiTestRunner.class)
+public class CommandStatusRepositoryIT extends BaseTransactionalJunit4Test {
+
+    @Inject
+    private CommandStatusRepository commandStatusRepository;
+
+    @Test
+    public void shouldFindRecordedStatus() {
+        final UUID commandId = randomUUID();
+        final UUID cakeId = randomUUID();
+
+        commandStatusRepository.record(commandId, CAKE_MADE, cakeId);
+
+        assertThat(commandStatusRepository.findBy(commandId), is(new CommandStatus(commandId, CAKE_MADE, cakeId)));
+        assertThat(commandStatusRepository.findBy(randomUUID()), is(nullValue()));
+    }
+
+    @Test
+    public void shouldKeepFirstStatusRecordedForCommand() {
+        final UUID commandId = randomUUID();
+        final UUID cakeId = randomUUID();
+
+        commandStatusRepository.record(commandId, CAKE_MADE, cakeId);
+        commandStatusRepository.record(commandId, CAKE_MADE, randomUUID());
+
+        assertThat(commandStatusRepository.findBy(commandId).getResourceId(), is(cakeId));
+    }
+
+    @Test
+    public void shouldReplaceAcceptedStatusWithOutcome() {
+        final UUID commandId = randomUUID();
+        final UUID cakeId = randomUUID();
+
+        commandStatusRepository.recordAccepted(commandId, cakeId);
+        assertThat(commandStatusRepository.findBy(commandId), is(new CommandStatus(commandId, MAKING_CAKE, cakeId)));
+
+        commandStatusRepository.record(commandId, CAKE_MADE, cakeId);
+        commandStatusRepository.recordAccepted(commandId, cakeId);
+
+        assertThat(commandStatusRepository.findBy(commandId), is(new CommandStatus(commandId, CAKE_MADE, cakeId)));
+    }
+
+    @Test
+    public void shouldFindCommandsWithStatus() {
+        final UUID madeCommandId = randomUUID();
+        final UUID acceptedCommandId = randomUUID();
+
+        commandStatusRepository.record(madeCommandId, CAKE_MADE, randomUUID());
+        commandStatusRepository.recordAccepted(acceptedCommandId, randomUUID());
+
+        assertThat(commandStatusRepository.findCommandIdsWithStatus(asList(madeCommandId, acceptedCommandId, randomUUID()), CAKE_MADE),
+                contains(madeCommandId));
+    }
+}
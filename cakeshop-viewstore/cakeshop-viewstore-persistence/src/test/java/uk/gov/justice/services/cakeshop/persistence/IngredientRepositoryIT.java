@@ -1,5 +1,7 @@
 package uk.gov.justice.services.cakeshop.persistence;
 
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
@@ -98,6 +100,50 @@ public class IngredientRepositoryIT extends BaseTransactionalJunit4Test {
         assertThat(ingredientList, hasItems(ingredientC));
     }
 
+    @Test
+    public void shouldReturnIngredientsMatchingAnyOfTheLowerCaseNames() {
+        List<Ingredient> ingredientList = ingredientRepository.findByLowerCaseNameIn(asList("flour", "chocolate", "sugar"));
+
+        assertThat(ingredientList, hasSize(2));
+        assertThat(ingredientList, hasItems(ingredientA));
+        assertThat(ingredientList, hasItems(ingredientC));
+    }
+
+    @Test
+    public void shouldOnlySaveIngredientsThatDoNotAlreadyExist() {
+        final Ingredient existing = createIngredient(UUID.randomUUID(), "FLOUR");
+        final Ingredient sugar = createIngredient(UUID.randomUUID(), "Sugar");
+        final Ingredient duplicateSugar = createIngredient(UUID.randomUUID(), "sugar");
+
+        List<Ingredient> savedIngredients = ingredientRepository.saveMissing(asList(existing, sugar, duplicateSugar));
+
+        assertThat(savedIngredients, hasSize(1));
+        assertThat(savedIngredients, hasItems(sugar));
+        assertThat(ingredientRepository.findAll(), hasSize(4));
+        assertThat(ingredientRepository.findBy(existing.getId()), is(nullValue()));
+    }
+
+    @Test
+    public void shouldSaveNothingIfAllIngredientsExist() {
+        List<Ingredient> savedIngredients = ingredientRepository.saveMissing(singletonList(createIngredient(UUID.randomUUID(), INGREDIENT_NAME_B)));
+
+        assertThat(savedIngredients, hasSize(0));
+        assertThat(ingredientRepository.findAll(), hasSize(3));
+    }
+
+    @Test
+    public void shouldSkipIngredientWhoseInsertConflictsWithoutFailing() {
+        final Ingredient conflictingId = createIngredient(ingredientA.getId(), "Caster sugar");
+        final Ingredient icing = createIngredient(UUID.randomUUID(), "Icing sugar");
+
+        List<Ingredient> savedIngredients = ingredientRepository.saveMissing(asList(conflictingId, icing));
+
+        assertThat(savedIngredients, hasSize(1));
+        assertThat(savedIngredients, hasItems(icing));
+        assertThat(ingredientRepository.findAll(), hasSize(4));
+        assertThat(ingredientRepository.findBy(ingredientA.getId()).getName(), equalTo(ingredientA.getName()));
+    }
+
     private Ingredient createIngredient(UUID id, String name) {
         return new Ingredient(id, name);
     }
@@ -0,0 +1,71 @@
+package uk.gov.justice.services.cakeshop.persistence;
+
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.IntStream.range;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import uk.gov.justice.services.cakeshop.persistence.entity.Ingredient;
+import uk.gov.justice.services.test.utils.persistence.BaseTransactionalJunit4Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import javax.inject.Inject;
+import javax.persistence.EntityManager;
+
+import org.apache.deltaspike.testcontrol.api.junit.CdiTestRunner;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Counts the JDBC statements needed to store the ingredients of a single recipe-added event,
+ * comparing the per-ingredient lookup and save with {@link IngredientRepository#saveMissing}.
+ */
+@RunWith(CdiTestRunner.class)
+public class IngredientUpsertRoundTripIT extends BaseTransactionalJunit4Test {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IngredientUpsertRoundTripIT.class);
+
+    private static final int INGREDIENTS_PER_RECIPE = 30;
+
+    @Inject
+    private IngredientRepository ingredientRepository;
+
+    @Inject
+    private EntityManager entityManager;
+
+    @Test
+    public void shouldCountRoundTripsPerRecipeAddedEvent() {
+        final Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        for (final Ingredient ingredient : ingredients("per-ingredient")) {
+            if (ingredientRepository.findByNameIgnoreCase(ingredient.getName()).isEmpty()) {
+                ingredientRepository.save(ingredient);
+            }
+        }
+        entityManager.flush();
+        final long perIngredientStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        ingredientRepository.saveMissing(ingredients("set-based"));
+        final long setBasedStatements = statistics.getPrepareStatementCount();
+
+        LOGGER.info("Ingredient round trips for a recipe with {} ingredients: per-ingredient={}, set-based={}",
+                INGREDIENTS_PER_RECIPE, perIngredientStatements, setBasedStatements);
+
+        assertThat(perIngredientStatements, is((long) INGREDIENTS_PER_RECIPE * 2));
+        assertThat(setBasedStatements, is(2L));
+    }
+
+    private List<Ingredient> ingredients(final String prefix) {
+        return range(0, INGREDIENTS_PER_RECIPE)
+                .mapToObj(index -> new Ingredient(UUID.randomUUID(), prefix + "-" + index))
+                .collect(toList());
+    }
+}
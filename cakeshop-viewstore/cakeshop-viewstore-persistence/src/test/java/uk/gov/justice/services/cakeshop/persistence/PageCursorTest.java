@@ -0,0 +1,59 @@
+package uk.gov.justice.services.cakeshop.persistence;
+
+import static java.util.UUID.randomUUID;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import uk.gov.justice.services.cakeshop.persistence.entity.Recipe;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+public class PageCursorTest {
+
+    @Test
+    public void shouldRoundTripThroughPageToken() {
+        final PageCursor cursor = new PageCursor("Cake: with a colon & ümlaut", randomUUID());
+
+        assertThat(PageCursor.fromToken(cursor.toToken()), is(cursor));
+    }
+
+    @Test
+    public void shouldRoundTripRankExactlyThroughPageToken() {
+        final PageCursor cursor = new PageCursor(0.0607927f, "Cake/with a slash", randomUUID());
+
+        final PageCursor decoded = PageCursor.fromToken(cursor.toToken());
+
+        assertThat(decoded, is(cursor));
+        assertThat(decoded.getRank(), is(Optional.of(0.0607927f)));
+    }
+
+    @Test
+    public void shouldCreateCursorAfterRankedRecipe() {
+        final UUID recipeId = randomUUID();
+
+        final PageCursor cursor = PageCursor.after(new RankedRecipe(new Recipe(recipeId, "Muffin", true, null), 0.5f));
+
+        assertThat(cursor.getRank(), is(Optional.of(0.5f)));
+        assertThat(cursor.getId(), is(recipeId));
+    }
+
+    @Test
+    public void shouldCreateCursorAfterRecipe() {
+        final UUID recipeId = randomUUID();
+
+        final PageCursor cursor = PageCursor.after(new Recipe(recipeId, "Muffin", true, null));
+
+        assertThat(cursor.getId(), is(recipeId));
+        assertThat(cursor.getName(), is("Muffin"));
+        assertThat(cursor.getRank(), is(Optional.empty()));
+    }
+
+    @Test
+    public void shouldRejectInvalidToken() {
+        assertThrows(IllegalArgumentException.class, () -> PageCursor.fromToken("not a token"));
+    }
+}
@@ -0,0 +1,96 @@
+package uk.gov.justice.services.cakeshop.persistence;
+
+import static java.util.UUID.randomUUID;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+
+import uk.gov.justice.services.cakeshop.persistence.entity.ProcessedCommand;
+import uk.gov.justice.services.test.utils.persistence.BaseTransactionalJunit4Test;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import javax.inject.Inject;
+
+import org.apache.deltaspike.testcontrol.api.junit.CdiTestRunner;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(CdiTestRunner.class)
+public class ProcessedCommandRepositoryIT extends BaseTransactionalJunit4Test {
+
+    private static final String ORDER_CAKE = "cakeshop.order-cake";
+    private static final String MAKE_CAKE = "cakeshop.make-cake";
+    private static final ZonedDateTime NOW = ZonedDateTime.of(2025, 3, 3, 9, 0, 0, 0, ZoneOffset.UTC);
+
+    @Inject
+    private ProcessedCommandRepository processedCommandRepository;
+
+    @Test
+    public void shouldOnlyRecordCommandOnce() {
+        final UUID orderId = randomUUID();
+
+        assertThat(processedCommandRepository.record(ORDER_CAKE, orderId, NOW), is(true));
+        assertThat(processedCommandRepository.record(ORDER_CAKE, orderId, NOW.plusSeconds(1)), is(false));
+        assertThat(processedCommandRepository.record(MAKE_CAKE, orderId, NOW), is(true));
+
+        assertThat(processedCommandRepository.contains(ORDER_CAKE, orderId), is(true));
+        assertThat(processedCommandRepository.contains(ORDER_CAKE, randomUUID()), is(false));
+    }
+
+    @Test
+    public void shouldForgetRemovedCommand() {
+        final UUID cakeId = randomUUID();
+        processedCommandRepository.record(MAKE_CAKE, cakeId, NOW);
+
+        processedCommandRepository.remove(MAKE_CAKE, cakeId);
+
+        assertThat(processedCommandRepository.contains(MAKE_CAKE, cakeId), is(false));
+        assertThat(processedCommandRepository.record(MAKE_CAKE, cakeId, NOW), is(true));
+    }
+
+    @Test
+    public void shouldFindMostRecentCommandsFirst() {
+        final UUID oldest = randomUUID();
+        final UUID middle = randomUUID();
+        final UUID newest = randomUUID();
+        processedCommandRepository.record(ORDER_CAKE, middle, NOW.plusMinutes(1));
+        processedCommandRepository.record(ORDER_CAKE, newest, NOW.plusMinutes(2));
+        processedCommandRepository.record(ORDER_CAKE, oldest, NOW);
+
+        final List<UUID> commandIds = processedCommandRepository.findMostRecent(2).stream()
+                .map(ProcessedCommand::getCommandId)
+                .collect(Collectors.toList());
+
+        assertThat(commandIds, contains(newest, middle));
+    }
+
+    @Test
+    public void shouldRecordResponseGivenToCommand() {
+        final UUID cakeId = randomUUID();
+        processedCommandRepository.record(MAKE_CAKE, cakeId, NOW);
+
+        processedCommandRepository.recordResponse(MAKE_CAKE, cakeId, "cakeshop.command.make-cake-status", "{\"status\":\"Making Cake\"}");
+
+        final ProcessedCommand processedCommand = processedCommandRepository.findBy(new ProcessedCommand.Key(MAKE_CAKE, cakeId));
+        assertThat(processedCommand.getResponseName(), is("cakeshop.command.make-cake-status"));
+        assertThat(processedCommand.getResponsePayload(), is("{\"status\":\"Making Cake\"}"));
+    }
+
+    @Test
+    public void shouldRemoveCommandsProcessedBeforeGivenTime() {
+        final UUID older = randomUUID();
+        final UUID newer = randomUUID();
+        processedCommandRepository.record(ORDER_CAKE, older, NOW.minusDays(8));
+        processedCommandRepository.record(ORDER_CAKE, newer, NOW);
+
+        assertThat(processedCommandRepository.removeProcessedBefore(NOW.minusDays(7)), is(1));
+
+        assertThat(processedCommandRepository.contains(ORDER_CAKE, older), is(false));
+        assertThat(processedCommandRepository.contains(ORDER_CAKE, newer), is(true));
+    }
+}
@@ -0,0 +1,110 @@
+package uk.gov.justice.services.cakeshop.persistence;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+
+import uk.gov.justice.services.cakeshop.persistence.entity.ProductionScheduleEntry;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import liquibase.Contexts;
+import liquibase.Liquibase;
+import liquibase.database.Database;
+import liquibase.database.DatabaseFactory;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.resource.ClassLoaderResourceAccessor;
+import org.junit.Test;
+
+/**
+ * Runs the changeset that creates the production schedule over orders stored before it, in a
+ * schema of its own so that the tables of the other tests are left alone.
+ */
+public class ProductionScheduleBackfillIT {
+
+    private static final String URL = "jdbc:postgresql://localhost:5432/frameworkviewstore";
+    private static final String USERNAME = "framework";
+    private static final String PASSWORD = "framework";
+
+    private static final String SCHEMA = "production_schedule_backfill_it";
+    private static final String CHANGESETS = "liquibase/view-store-db-changesets/";
+
+    private static final UUID CHOCOLATE_CAKE_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final UUID MUFFIN_ID = UUID.fromString("00000000-0000-0000-0000-000000000002");
+    private static final LocalDate MONDAY = LocalDate.of(2025, 3, 3);
+
+    @Test
+    public void shouldCountOrdersAlreadyStoredOnTheirUtcDayOfDelivery() throws Exception {
+        try (final Connection connection = DriverManager.getConnection(URL, USERNAME, PASSWORD)) {
+            execute(connection, "DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+            execute(connection, "CREATE SCHEMA " + SCHEMA);
+            execute(connection, "SET search_path TO " + SCHEMA);
+            connection.setAutoCommit(false);
+
+            try {
+                final Database database = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(new JdbcConnection(connection));
+                database.setDefaultSchemaName(SCHEMA);
+                database.setLiquibaseSchemaName(SCHEMA);
+
+                update(database, "003-order-table.changelog.xml");
+                insertOrder(connection, MUFFIN_ID, OffsetDateTime.parse("2025-03-03T09:00Z"));
+                insertOrder(connection, CHOCOLATE_CAKE_ID, OffsetDateTime.parse("2025-03-03T10:00Z"));
+                insertOrder(connection, MUFFIN_ID, OffsetDateTime.parse("2025-03-03T16:00+01:00"));
+                insertOrder(connection, CHOCOLATE_CAKE_ID, OffsetDateTime.parse("2025-03-03T23:30-02:00"));
+                connection.commit();
+
+                update(database, "016-production-schedule-table.changelog.xml");
+
+                assertThat(productionSchedule(connection), contains(
+                        new ProductionScheduleEntry(MONDAY, CHOCOLATE_CAKE_ID, 1),
+                        new ProductionScheduleEntry(MONDAY, MUFFIN_ID, 2),
+                        new ProductionScheduleEntry(MONDAY.plusDays(1), CHOCOLATE_CAKE_ID, 1)));
+            } finally {
+                connection.setAutoCommit(true);
+                execute(connection, "DROP SCHEMA " + SCHEMA + " CASCADE");
+            }
+        }
+    }
+
+    private void update(final Database database, final String changeset) throws Exception {
+        new Liquibase(CHANGESETS + changeset, new ClassLoaderResourceAccessor(), database).update(new Contexts());
+    }
+
+    private void insertOrder(final Connection connection, final UUID recipeId, final OffsetDateTime deliveryDate) throws SQLException {
+        try (final PreparedStatement statement = connection.prepareStatement("INSERT INTO cake_order (order_id, recipe_id, delivery_date) VALUES (?, ?, ?)")) {
+            statement.setObject(1, UUID.randomUUID());
+            statement.setObject(2, recipeId);
+            statement.setObject(3, deliveryDate);
+            statement.executeUpdate();
+        }
+    }
+
+    private List<ProductionScheduleEntry> productionSchedule(final Connection connection) throws SQLException {
+        final List<ProductionScheduleEntry> entries = new ArrayList<>();
+        try (final Statement statement = connection.createStatement();
+             final ResultSet resultSet = statement.executeQuery("SELECT delivery_day, recipe_id, order_count FROM production_schedule ORDER BY delivery_day, recipe_id")) {
+            while (resultSet.next()) {
+                entries.add(new ProductionScheduleEntry(
+                        resultSet.getObject(1, LocalDate.class),
+                        resultSet.getObject(2, UUID.class),
+                        resultSet.getLong(3)));
+            }
+        }
+        return entries;
+    }
+
+    private void execute(final Connection connection, final String sql) throws SQLException {
+        try (final Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
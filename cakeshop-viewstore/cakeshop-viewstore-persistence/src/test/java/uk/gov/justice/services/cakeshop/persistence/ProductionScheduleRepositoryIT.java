@@ -0,0 +1,54 @@
+package uk.gov.justice.services.cakeshop.persistence;
+
+import static java.util.UUID.randomUUID;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+
+import uk.gov.justice.services.cakeshop.persistence.entity.ProductionScheduleEntry;
+import uk.gov.justice.services.test.utils.persistence.BaseTransactionalJunit4Test;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import javax.inject.Inject;
+
+import org.apache.deltaspike.testcontrol.api.junit.CdiTestRunner;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(CdiTestRunner.class)
+public class ProductionScheduleRepositoryIT extends BaseTransactionalJunit4Test {
+
+    private static final LocalDate MONDAY = LocalDate.of(2025, 3, 3);
+
+    @Inject
+    private ProductionScheduleRepository productionScheduleRepository;
+
+    @Test
+    public void shouldCountOrdersOfEachRecipeForEachDay() {
+        final UUID chocolateCakeId = UUID.fromString("00000000-0000-0000-0000-000000000001");
+        final UUID muffinId = UUID.fromString("00000000-0000-0000-0000-000000000002");
+
+        productionScheduleRepository.incrementOrderCount(MONDAY, muffinId);
+        productionScheduleRepository.incrementOrderCount(MONDAY, chocolateCakeId);
+        productionScheduleRepository.incrementOrderCount(MONDAY, muffinId);
+        productionScheduleRepository.incrementOrderCount(MONDAY.plusDays(1), chocolateCakeId);
+
+        assertThat(productionScheduleRepository.findByDeliveryDayBetween(MONDAY, MONDAY.plusDays(1)), contains(
+                new ProductionScheduleEntry(MONDAY, chocolateCakeId, 1),
+                new ProductionScheduleEntry(MONDAY, muffinId, 2),
+                new ProductionScheduleEntry(MONDAY.plusDays(1), chocolateCakeId, 1)));
+    }
+
+    @Test
+    public void shouldOnlyFindDaysInRange() {
+        final UUID recipeId = randomUUID();
+
+        productionScheduleRepository.incrementOrderCount(MONDAY.minusDays(1), recipeId);
+        productionScheduleRepository.incrementOrderCount(MONDAY, recipeId);
+        productionScheduleRepository.incrementOrderCount(MONDAY.plusDays(7), recipeId);
+
+        assertThat(productionScheduleRepository.findByDeliveryDayBetween(MONDAY, MONDAY.plusDays(6)), contains(
+                new ProductionScheduleEntry(MONDAY, recipeId, 1)));
+    }
+}
@@ -0,0 +1,48 @@
+package uk.gov.justice.services.cakeshop.persistence;
+
+import static java.util.UUID.randomUUID;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+
+import uk.gov.justice.services.test.utils.persistence.BaseTransactionalJunit4Test;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import javax.inject.Inject;
+
+import org.apache.deltaspike.testcontrol.api.junit.CdiTestRunner;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(CdiTestRunner.class)
+public class RecipeCacheInvalidationRepositoryIT extends BaseTransactionalJunit4Test {
+
+    private static final Instant NOW = Instant.parse("2026-10-18T12:00:00Z");
+
+    @Inject
+    private RecipeCacheInvalidationRepository recipeCacheInvalidationRepository;
+
+    @Test
+    public void shouldFindRecipesInvalidatedSinceGivenTime() {
+        final UUID earlierRecipeId = randomUUID();
+        final UUID laterRecipeId = randomUUID();
+
+        recipeCacheInvalidationRepository.record(earlierRecipeId, NOW.minusSeconds(60));
+        recipeCacheInvalidationRepository.record(laterRecipeId, NOW);
+
+        assertThat(recipeCacheInvalidationRepository.findRecipeIdsInvalidatedSince(NOW.minusSeconds(1)), contains(laterRecipeId));
+        assertThat(recipeCacheInvalidationRepository.findRecipeIdsInvalidatedSince(NOW.plusSeconds(1)), empty());
+    }
+
+    @Test
+    public void shouldKeepLatestInvalidationOfRecipe() {
+        final UUID recipeId = randomUUID();
+
+        recipeCacheInvalidationRepository.record(recipeId, NOW.minusSeconds(60));
+        recipeCacheInvalidationRepository.record(recipeId, NOW);
+
+        assertThat(recipeCacheInvalidationRepository.findRecipeIdsInvalidatedSince(NOW.minusSeconds(1)), contains(recipeId));
+    }
+}
@@ -0,0 +1,79 @@
+package uk.gov.justice.services.cakeshop.persistence;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.IntStream.range;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static uk.gov.justice.services.cakeshop.persistence.entity.RecipeIngredient.ALLOCATION_SIZE;
+
+import uk.gov.justice.services.cakeshop.persistence.entity.RecipeIngredient;
+import uk.gov.justice.services.test.utils.persistence.BaseTransactionalJunit4Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import javax.inject.Inject;
+import javax.persistence.EntityManager;
+
+import org.apache.deltaspike.testcontrol.api.junit.CdiTestRunner;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Measures the insert throughput of the recipe ingredients list for recipes with many
+ * ingredients, and counts the JDBC statements to check that ids come from pooled-lo blocks of
+ * {@link RecipeIngredient#ALLOCATION_SIZE} and that each recipe's rows are sent as one batch.
+ */
+@RunWith(CdiTestRunner.class)
+public class RecipeIngredientInsertThroughputIT extends BaseTransactionalJunit4Test {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RecipeIngredientInsertThroughputIT.class);
+
+    private static final int RECIPES = 50;
+    private static final int INGREDIENTS_PER_RECIPE = 40;
+    private static final int WARM_UP_RECIPES = 5;
+
+    @Inject
+    private RecipeIngredientRepository recipeIngredientRepository;
+
+    @Inject
+    private EntityManager entityManager;
+
+    @Test
+    public void shouldMeasureInsertThroughputForRecipesWithManyIngredients() {
+        final Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+        range(0, WARM_UP_RECIPES).forEach(recipe -> insertRecipeIngredients());
+        entityManager.clear();
+
+        statistics.clear();
+        final long start = System.nanoTime();
+        range(0, RECIPES).forEach(recipe -> insertRecipeIngredients());
+        final long elapsedMillis = NANOSECONDS.toMillis(System.nanoTime() - start);
+        final long statements = statistics.getPrepareStatementCount();
+
+        final int rows = RECIPES * INGREDIENTS_PER_RECIPE;
+        LOGGER.info("Inserted {} recipe ingredients for {} recipes in {} ms ({} rows/s) using {} statements",
+                rows, RECIPES, elapsedMillis, rows * 1000L / Math.max(1, elapsedMillis), statements);
+
+        // a delete and a batched insert per recipe, plus a sequence read per block of ids
+        final long sequenceReads = rows / ALLOCATION_SIZE + 1;
+        assertThat(statements, lessThanOrEqualTo(RECIPES * 2 + sequenceReads));
+    }
+
+    private void insertRecipeIngredients() {
+        final UUID recipeId = UUID.randomUUID();
+        recipeIngredientRepository.replaceIngredientsOf(recipeId, recipeIngredients(recipeId));
+    }
+
+    private List<RecipeIngredient> recipeIngredients(final UUID recipeId) {
+        return range(0, INGREDIENTS_PER_RECIPE)
+                .mapToObj(index -> new RecipeIngredient(null, recipeId, "ingredient-" + index, index))
+                .collect(toList());
+    }
+}
@@ -0,0 +1,129 @@
+package uk.gov.justice.services.cakeshop.persistence;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static java.util.UUID.randomUUID;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+
+import uk.gov.justice.services.cakeshop.persistence.entity.Recipe;
+import uk.gov.justice.services.cakeshop.persistence.entity.RecipeIngredient;
+import uk.gov.justice.services.test.utils.persistence.BaseTransactionalJunit4Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import javax.inject.Inject;
+
+import org.apache.deltaspike.testcontrol.api.junit.CdiTestRunner;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(CdiTestRunner.class)
+public class RecipeIngredientRepositoryIT extends BaseTransactionalJunit4Test {
+
+    @Inject
+    private RecipeIngredientRepository recipeIngredientRepository;
+
+    @Inject
+    private RecipeRepository recipeRepository;
+
+    private Recipe chocolateCake;
+    private Recipe lemonCake;
+    private Recipe spongeCake;
+
+    @Override
+    protected void setUpBefore() {
+        chocolateCake = saveRecipe("Chocolate Cake", "Flour", "Chocolate");
+        lemonCake = saveRecipe("Lemon Cake", "flour", "Lemon");
+        spongeCake = saveRecipe("Sponge Cake", "Eggs");
+    }
+
+    @Test
+    public void shouldFindRecipesListingIngredientInAnyCase() {
+        final List<Recipe> recipes = recipeRepository.findByIngredientName(10, "FLOUR", Optional.empty());
+
+        assertThat(recipes, contains(chocolateCake, lemonCake));
+    }
+
+    @Test
+    public void shouldPageRecipesListingIngredient() {
+        final List<Recipe> firstPage = recipeRepository.findByIngredientName(1, "flour", Optional.empty());
+        final List<Recipe> secondPage = recipeRepository.findByIngredientName(1, "flour", Optional.of(PageCursor.after(firstPage.get(0))));
+
+        assertThat(firstPage, contains(chocolateCake));
+        assertThat(secondPage, contains(lemonCake));
+    }
+
+    @Test
+    public void shouldFindRecipesListingAllIncludedIngredients() {
+        final List<Recipe> recipes = recipeRepository.findByIngredients(10, asList("flour", "LEMON"), emptyList(), Optional.empty());
+
+        assertThat(recipes, contains(lemonCake));
+    }
+
+    @Test
+    public void shouldLeaveOutRecipesListingExcludedIngredients() {
+        final List<Recipe> recipes = recipeRepository.findByIngredients(10, singletonList("Flour"), asList("chocolate", "nuts"), Optional.empty());
+
+        assertThat(recipes, contains(lemonCake));
+    }
+
+    @Test
+    public void shouldCountDuplicateIncludedIngredientsOnce() {
+        final List<Recipe> recipes = recipeRepository.findByIngredients(10, asList("flour", "Flour"), emptyList(), Optional.empty());
+
+        assertThat(recipes, contains(chocolateCake, lemonCake));
+    }
+
+    @Test
+    public void shouldReplaceIngredientsOfRecipe() {
+        recipeIngredientRepository.replaceIngredientsOf(chocolateCake.getId(), singletonList(recipeIngredient(chocolateCake.getId(), "Cocoa", 2)));
+
+        assertThat(recipeRepository.findByIngredientName(10, "flour", Optional.empty()), contains(lemonCake));
+        assertThat(recipeRepository.findByIngredientName(10, "cocoa", Optional.empty()), contains(chocolateCake));
+    }
+
+    @Test
+    public void shouldRemoveIngredientsOfRecipe() {
+        assertThat(recipeIngredientRepository.removeByRecipeId(spongeCake.getId()), is(1));
+
+        assertThat(recipeRepository.findByIngredientName(10, "eggs", Optional.empty()), is(empty()));
+    }
+
+    @Test
+    public void shouldAllocateIdsFromSequence() {
+        final UUID recipeId = randomUUID();
+        final RecipeIngredient sugar = recipeIngredient(recipeId, "Sugar", 1);
+        final RecipeIngredient butter = recipeIngredient(recipeId, "Butter", 2);
+
+        recipeIngredientRepository.replaceIngredientsOf(recipeId, asList(sugar, butter));
+
+        assertThat(sugar.getId(), is(notNullValue()));
+        assertThat(butter.getId(), is(not(sugar.getId())));
+    }
+
+    private Recipe saveRecipe(final String name, final String... ingredientNames) {
+        final Recipe recipe = new Recipe(randomUUID(), name, false, null);
+        recipeRepository.save(recipe);
+
+        final List<RecipeIngredient> recipeIngredients = new ArrayList<>();
+        for (final String ingredientName : ingredientNames) {
+            recipeIngredients.add(recipeIngredient(recipe.getId(), ingredientName, 1));
+        }
+        recipeIngredientRepository.replaceIngredientsOf(recipe.getId(), recipeIngredients);
+
+        return recipe;
+    }
+
+    private static RecipeIngredient recipeIngredient(final UUID recipeId, final String ingredientName, final int quantity) {
+        return new RecipeIngredient(null, recipeId, ingredientName, quantity);
+    }
+}
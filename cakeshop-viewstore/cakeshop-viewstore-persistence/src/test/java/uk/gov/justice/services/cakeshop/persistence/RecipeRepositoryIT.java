@@ -70,6 +70,34 @@ public class RecipeRepositoryIT extends BaseTransactionalJunit4Test {
 
     }
 
+    @Test
+    public void shouldReturnNextPageAfterCursor() throws Exception {
+        final List<Recipe> firstPage = recipeRepository.findBy(1, Optional.empty(), Optional.empty(), Optional.empty());
+        final List<Recipe> secondPage = recipeRepository.findBy(1, Optional.empty(), Optional.empty(), Optional.of(PageCursor.after(firstPage.get(0))));
+        final List<Recipe> thirdPage = recipeRepository.findBy(1, Optional.empty(), Optional.empty(), Optional.of(PageCursor.after(secondPage.get(0))));
+        final List<Recipe> fourthPage = recipeRepository.findBy(1, Optional.empty(), Optional.empty(), Optional.of(PageCursor.after(thirdPage.get(0))));
+
+        assertThat(firstPage, hasItems(recipeA));
+        assertThat(secondPage, hasItems(recipeC));
+        assertThat(thirdPage, hasItems(recipeB));
+        assertThat(fourthPage, hasSize(0));
+    }
+
+    @Test
+    public void shouldOrderRecipesWithTheSameNameById() throws Exception {
+        final UUID lowerId = new UUID(0, 1);
+        final UUID higherId = new UUID(0, 2);
+        final Recipe first = createRecipe(lowerId, RECIPE_NAME_A, false);
+        final Recipe second = createRecipe(higherId, RECIPE_NAME_A, false);
+        recipeRepository.save(second);
+        recipeRepository.save(first);
+
+        final List<Recipe> page = recipeRepository.findBy(10, Optional.of(RECIPE_NAME_A), Optional.of(false), Optional.of(new PageCursor(RECIPE_NAME_A, lowerId)));
+
+        assertThat(page, hasSize(1));
+        assertThat(page.get(0), equalTo(second));
+    }
+
     @Test
     public void shouldReturnNullIfRecipeNotFound() {
         Recipe recipe = recipeRepository.findBy(UUID.randomUUID());
@@ -86,6 +114,58 @@ public class RecipeRepositoryIT extends BaseTransactionalJunit4Test {
         assertThat(recipeList, hasItems(recipeA, recipeB));
     }
 
+    @Test
+    public void shouldFindRecipesByPrefixOfEveryWordSearched() {
+        recipeRepository.flush();
+
+        final List<RankedRecipe> recipes = recipeRepository.findByNameRanked(10, "choc CAK", Optional.empty(), Optional.empty());
+
+        assertThat(recipes, hasSize(1));
+        assertThat(recipes.get(0).getRecipe(), equalTo(recipeA));
+    }
+
+    @Test
+    public void shouldRankBestMatchingRecipeNamesFirst() {
+        final Recipe cakeOfCakes = createRecipe(UUID.randomUUID(), "Cake of cakes", false);
+        recipeRepository.save(cakeOfCakes);
+        recipeRepository.flush();
+
+        final List<RankedRecipe> recipes = recipeRepository.findByNameRanked(10, "cake", Optional.empty(), Optional.empty());
+
+        assertThat(recipes, hasSize(3));
+        assertThat(recipes.get(0).getRecipe(), equalTo(cakeOfCakes));
+        assertThat(recipes.get(1).getRecipe(), equalTo(recipeA));
+        assertThat(recipes.get(2).getRecipe(), equalTo(recipeB));
+    }
+
+    @Test
+    public void shouldReturnNextRankedPageAfterCursor() {
+        recipeRepository.flush();
+
+        final List<RankedRecipe> firstPage = recipeRepository.findByNameRanked(1, "cake", Optional.empty(), Optional.empty());
+        final List<RankedRecipe> secondPage = recipeRepository.findByNameRanked(1, "cake", Optional.empty(), Optional.of(PageCursor.after(firstPage.get(0))));
+        final List<RankedRecipe> thirdPage = recipeRepository.findByNameRanked(1, "cake", Optional.empty(), Optional.of(PageCursor.after(secondPage.get(0))));
+
+        assertThat(firstPage.get(0).getRecipe(), equalTo(recipeA));
+        assertThat(secondPage.get(0).getRecipe(), equalTo(recipeB));
+        assertThat(thirdPage, hasSize(0));
+    }
+
+    @Test
+    public void shouldFilterRankedRecipesByGlutenFree() {
+        recipeRepository.flush();
+
+        final List<RankedRecipe> recipes = recipeRepository.findByNameRanked(10, "cake", Optional.of(false), Optional.empty());
+
+        assertThat(recipes, hasSize(1));
+        assertThat(recipes.get(0).getRecipe(), equalTo(recipeB));
+    }
+
+    @Test
+    public void shouldReturnNoRankedRecipesForSearchWithoutWords() {
+        assertThat(recipeRepository.findByNameRanked(10, " & !", Optional.empty(), Optional.empty()), hasSize(0));
+    }
+
     @Test
     public void shouldReturnListOfGlutenFreeOfRecipes() {
         List<Recipe> recipeList = recipeRepository.findBy(10, Optional.empty(), Optional.of(true));
@@ -0,0 +1,43 @@
+package uk.gov.justice.services.cakeshop.persistence;
+
+import static java.util.UUID.randomUUID;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static uk.gov.justice.services.cakeshop.persistence.entity.ThumbnailSize.LARGE;
+import static uk.gov.justice.services.cakeshop.persistence.entity.ThumbnailSize.MEDIUM;
+import static uk.gov.justice.services.cakeshop.persistence.entity.ThumbnailSize.SMALL;
+
+import uk.gov.justice.services.cakeshop.persistence.entity.RecipeThumbnail;
+import uk.gov.justice.services.test.utils.persistence.BaseTransactionalJunit4Test;
+
+import java.util.UUID;
+
+import javax.inject.Inject;
+
+import org.apache.deltaspike.testcontrol.api.junit.CdiTestRunner;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(CdiTestRunner.class)
+public class RecipeThumbnailRepositoryIT extends BaseTransactionalJunit4Test {
+
+    @Inject
+    private RecipeThumbnailRepository recipeThumbnailRepository;
+
+    @Test
+    public void shouldFindThumbnailsOfPhotograph() {
+        final UUID photoId = randomUUID();
+        final RecipeThumbnail small = new RecipeThumbnail(randomUUID(), photoId, SMALL);
+        final RecipeThumbnail medium = new RecipeThumbnail(randomUUID(), photoId, MEDIUM);
+        recipeThumbnailRepository.save(small);
+        recipeThumbnailRepository.save(medium);
+        recipeThumbnailRepository.save(new RecipeThumbnail(randomUUID(), randomUUID(), SMALL));
+
+        assertThat(recipeThumbnailRepository.findByPhotoId(photoId), containsInAnyOrder(small, medium));
+        assertThat(recipeThumbnailRepository.findOptionalByPhotoIdAndSize(photoId, MEDIUM), equalTo(medium));
+        assertThat(recipeThumbnailRepository.findOptionalByPhotoIdAndSize(photoId, LARGE), is(nullValue()));
+    }
+}
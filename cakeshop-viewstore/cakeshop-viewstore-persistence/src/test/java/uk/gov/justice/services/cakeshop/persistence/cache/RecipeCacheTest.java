@@ -0,0 +1,198 @@
+package uk.gov.justice.services.cakeshop.persistence.cache;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static java.util.UUID.randomUUID;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static uk.gov.justice.services.cakeshop.persistence.cache.RecipeCache.CHECK_INTERVAL_MILLIS;
+import static uk.gov.justice.services.cakeshop.persistence.cache.RecipeCache.CHECK_OVERLAP_MILLIS;
+import static uk.gov.justice.services.cakeshop.persistence.cache.RecipeCache.MAX_ENTRIES;
+import static uk.gov.justice.services.cakeshop.persistence.cache.RecipeCache.TIME_TO_LIVE_MINUTES;
+
+import uk.gov.justice.services.cakeshop.persistence.RecipeCacheInvalidationRepository;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+import javax.transaction.TransactionSynchronizationRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class RecipeCacheTest {
+
+    private static final UUID RECIPE_ID = randomUUID();
+
+    @Mock
+    private TransactionSynchronizationRegistry transactionSynchronizationRegistry;
+
+    @Mock
+    private RecipeCacheInvalidationRepository recipeCacheInvalidationRepository;
+
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicLong nowMillis = new AtomicLong(1_000_000);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private RecipeCache recipeCache;
+
+    @BeforeEach
+    public void setup() {
+        recipeCache = new RecipeCache();
+        recipeCache.nanoTime = now::get;
+        recipeCache.currentTimeMillis = nowMillis::get;
+        recipeCache.transactionSynchronizationRegistry = transactionSynchronizationRegistry;
+    }
+
+    @Test
+    public void shouldLoadOnMissAndServeHitsFromCache() {
+        assertThat(recipeCache.get(RECIPE_ID, String.class, this::load), is("view 1"));
+        assertThat(recipeCache.get(RECIPE_ID, String.class, this::load), is("view 1"));
+
+        assertThat(loads.get(), is(1));
+        assertThat(recipeCache.missCount(), is(1L));
+        assertThat(recipeCache.hitCount(), is(1L));
+    }
+
+    @Test
+    public void shouldCacheEachViewTypeSeparately() {
+        recipeCache.get(RECIPE_ID, String.class, this::load);
+
+        assertThat(recipeCache.get(RECIPE_ID, Integer.class, () -> 42), is(42));
+        assertThat(recipeCache.get(RECIPE_ID, String.class, this::load), is("view 1"));
+        assertThat(recipeCache.size(), is(1));
+    }
+
+    @Test
+    public void shouldNotCacheNullViews() {
+        assertThat(recipeCache.get(RECIPE_ID, String.class, () -> null), is(nullValue()));
+        assertThat(recipeCache.get(RECIPE_ID, String.class, this::load), is("view 1"));
+    }
+
+    @Test
+    public void shouldReloadAfterTimeToLive() {
+        recipeCache.get(RECIPE_ID, String.class, this::load);
+
+        now.addAndGet(MINUTES.toNanos(TIME_TO_LIVE_MINUTES));
+
+        assertThat(recipeCache.get(RECIPE_ID, String.class, this::load), is("view 2"));
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedRecipeWhenFull() {
+        for (int i = 0; i < MAX_ENTRIES; i++) {
+            recipeCache.get(randomUUID(), String.class, this::load);
+        }
+
+        recipeCache.get(RECIPE_ID, String.class, this::load);
+
+        assertThat(recipeCache.size(), is(MAX_ENTRIES));
+        assertThat(recipeCache.evictionCount(), is(1L));
+    }
+
+    @Test
+    public void shouldReloadAfterInvalidationOutsideTransaction() {
+        when(transactionSynchronizationRegistry.getTransactionStatus()).thenReturn(Status.STATUS_NO_TRANSACTION);
+        recipeCache.get(RECIPE_ID, String.class, this::load);
+
+        recipeCache.invalidate(RECIPE_ID);
+
+        assertThat(recipeCache.get(RECIPE_ID, String.class, this::load), is("view 2"));
+        verify(transactionSynchronizationRegistry, never()).registerInterposedSynchronization(any());
+    }
+
+    @Test
+    public void shouldInvalidateAgainWhenTransactionCompletes() {
+        when(transactionSynchronizationRegistry.getTransactionStatus()).thenReturn(Status.STATUS_ACTIVE);
+        recipeCache.get(RECIPE_ID, String.class, this::load);
+
+        recipeCache.invalidate(RECIPE_ID);
+        recipeCache.get(RECIPE_ID, String.class, this::load);
+
+        final ArgumentCaptor<Synchronization> synchronizationCaptor = ArgumentCaptor.forClass(Synchronization.class);
+        verify(transactionSynchronizationRegistry).registerInterposedSynchronization(synchronizationCaptor.capture());
+        synchronizationCaptor.getValue().afterCompletion(Status.STATUS_COMMITTED);
+
+        assertThat(recipeCache.get(RECIPE_ID, String.class, this::load), is("view 3"));
+    }
+
+    @Test
+    public void shouldNotCacheViewLoadedWhileRecipeWasInvalidated() {
+        when(transactionSynchronizationRegistry.getTransactionStatus()).thenReturn(Status.STATUS_NO_TRANSACTION);
+
+        recipeCache.get(RECIPE_ID, String.class, () -> {
+            recipeCache.invalidate(RECIPE_ID);
+            return load();
+        });
+
+        assertThat(recipeCache.get(RECIPE_ID, String.class, this::load), is("view 2"));
+    }
+
+    @Test
+    public void shouldDropRecipesChangedOnOtherNodesOnceCheckIntervalHasPassed() {
+        recipeCache.recipeCacheInvalidationRepository = recipeCacheInvalidationRepository;
+        final long firstCheckMillis = nowMillis.get();
+        when(recipeCacheInvalidationRepository.findRecipeIdsInvalidatedSince(Instant.ofEpochMilli(firstCheckMillis - CHECK_OVERLAP_MILLIS)))
+                .thenReturn(singletonList(RECIPE_ID));
+
+        recipeCache.get(RECIPE_ID, String.class, this::load);
+        nowMillis.addAndGet(CHECK_INTERVAL_MILLIS - 1);
+        assertThat(recipeCache.get(RECIPE_ID, String.class, this::load), is("view 1"));
+
+        nowMillis.addAndGet(1);
+        assertThat(recipeCache.get(RECIPE_ID, String.class, this::load), is("view 2"));
+
+        verify(recipeCacheInvalidationRepository, times(1)).findRecipeIdsInvalidatedSince(any());
+        assertThat(recipeCache.statistics().getInvalidationCount(), is(1L));
+    }
+
+    @Test
+    public void shouldRecordInvalidationForOtherNodes() {
+        recipeCache.recipeCacheInvalidationRepository = recipeCacheInvalidationRepository;
+        when(transactionSynchronizationRegistry.getTransactionStatus()).thenReturn(Status.STATUS_NO_TRANSACTION);
+
+        recipeCache.invalidate(RECIPE_ID);
+
+        verify(recipeCacheInvalidationRepository).record(RECIPE_ID, Instant.ofEpochMilli(nowMillis.get()));
+    }
+
+    @Test
+    public void shouldPublishStatistics() {
+        recipeCache.recipeCacheInvalidationRepository = recipeCacheInvalidationRepository;
+        when(recipeCacheInvalidationRepository.findRecipeIdsInvalidatedSince(any())).thenReturn(emptyList());
+
+        recipeCache.get(RECIPE_ID, String.class, this::load);
+        recipeCache.get(RECIPE_ID, String.class, this::load);
+        nowMillis.addAndGet(CHECK_INTERVAL_MILLIS);
+        recipeCache.get(RECIPE_ID, String.class, this::load);
+        recipeCache.get(randomUUID(), String.class, this::load);
+
+        final RecipeCacheStatistics statistics = recipeCache.statistics();
+        assertThat(statistics.getHitCount(), is(2L));
+        assertThat(statistics.getMissCount(), is(2L));
+        assertThat(statistics.getHitRatio(), is(0.5));
+        assertThat(statistics.getEvictionCount(), is(0L));
+        assertThat(statistics.getInvalidationCount(), is(0L));
+        assertThat(statistics.getSize(), is(2));
+    }
+
+    private String load() {
+        return "view " + loads.incrementAndGet();
+    }
+}
@@ -1,5 +1,9 @@
 package uk.gov.justice.services.cakeshop.persistence.entity;
 
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+
 import java.util.UUID;
 
 import com.google.common.testing.EqualsTester;
@@ -25,4 +29,12 @@ public class IngredientTest {
                 .testEquals();
     }
 
-}
\ No newline at end of file
+    @Test
+    public void shouldGiveIngredientsTheSameNameBasedIdInAnyCase() {
+        final UUID sugarId = Ingredient.idOf("Sugar");
+
+        assertThat(Ingredient.idOf("sugar"), is(sugarId));
+        assertThat(Ingredient.idOf("Eggs"), is(not(sugarId)));
+        assertThat(sugarId.version(), is(3));
+    }
+}
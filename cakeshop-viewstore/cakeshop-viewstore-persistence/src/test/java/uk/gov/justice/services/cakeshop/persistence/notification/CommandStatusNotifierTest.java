@@ -0,0 +1,94 @@
+package uk.gov.justice.services.cakeshop.persistence.notification;
+
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
+import static java.util.UUID.randomUUID;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+import javax.transaction.TransactionSynchronizationRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class CommandStatusNotifierTest {
+
+    private static final UUID COMMAND_ID = randomUUID();
+
+    @Mock
+    private TransactionSynchronizationRegistry transactionSynchronizationRegistry;
+
+    private final AtomicInteger woken = new AtomicInteger();
+
+    private final Runnable waiter = woken::incrementAndGet;
+
+    private CommandStatusNotifier commandStatusNotifier;
+
+    @BeforeEach
+    public void setup() {
+        commandStatusNotifier = new CommandStatusNotifier();
+        commandStatusNotifier.transactionSynchronizationRegistry = transactionSynchronizationRegistry;
+    }
+
+    @Test
+    public void shouldWakeWaitersOnceOutsideTransaction() {
+        when(transactionSynchronizationRegistry.getTransactionStatus()).thenReturn(Status.STATUS_NO_TRANSACTION);
+        commandStatusNotifier.subscribe(COMMAND_ID, waiter);
+        commandStatusNotifier.subscribe(randomUUID(), waiter);
+
+        commandStatusNotifier.notifyRecorded(singletonList(COMMAND_ID));
+        commandStatusNotifier.notifyRecorded(singletonList(COMMAND_ID));
+
+        assertThat(woken.get(), is(1));
+    }
+
+    @Test
+    public void shouldNotWakeUnsubscribedWaiters() {
+        when(transactionSynchronizationRegistry.getTransactionStatus()).thenReturn(Status.STATUS_NO_TRANSACTION);
+        commandStatusNotifier.subscribe(COMMAND_ID, waiter);
+        commandStatusNotifier.unsubscribe(COMMAND_ID, waiter);
+
+        commandStatusNotifier.notifyRecorded(singletonList(COMMAND_ID));
+
+        assertThat(woken.get(), is(0));
+        assertThat(commandStatusNotifier.awaitedCommandIds().isEmpty(), is(true));
+    }
+
+    @Test
+    public void shouldListCommandsBeingWaitedFor() {
+        commandStatusNotifier.subscribe(COMMAND_ID, waiter);
+        commandStatusNotifier.subscribe(COMMAND_ID, () -> { });
+
+        assertThat(commandStatusNotifier.awaitedCommandIds(), is(singleton(COMMAND_ID)));
+    }
+
+    @Test
+    public void shouldOnlyWakeWaitersOnceTransactionCommits() {
+        when(transactionSynchronizationRegistry.getTransactionStatus()).thenReturn(Status.STATUS_ACTIVE);
+        final ArgumentCaptor<Synchronization> synchronization = ArgumentCaptor.forClass(Synchronization.class);
+        commandStatusNotifier.subscribe(COMMAND_ID, waiter);
+
+        commandStatusNotifier.notifyRecorded(singletonList(COMMAND_ID));
+        verify(transactionSynchronizationRegistry).registerInterposedSynchronization(synchronization.capture());
+
+        assertThat(woken.get(), is(0));
+
+        synchronization.getValue().afterCompletion(Status.STATUS_ROLLEDBACK);
+        assertThat(woken.get(), is(0));
+
+        synchronization.getValue().afterCompletion(Status.STATUS_COMMITTED);
+        assertThat(woken.get(), is(1));
+    }
+}
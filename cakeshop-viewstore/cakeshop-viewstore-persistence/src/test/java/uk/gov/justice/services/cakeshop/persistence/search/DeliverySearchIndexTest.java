@@ -0,0 +1,103 @@
+package uk.gov.justice.services.cakeshop.persistence.search;
+
+import static java.util.Arrays.asList;
+import static java.util.UUID.randomUUID;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+
+import uk.gov.justice.services.cakeshop.persistence.entity.Index;
+
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class DeliverySearchIndexTest {
+
+    private static final ZonedDateTime MONDAY = ZonedDateTime.parse("2025-03-03T09:00Z");
+
+    @TempDir
+    Path directory;
+
+    private DeliverySearchIndex deliverySearchIndex;
+
+    @BeforeEach
+    public void setup() {
+        deliverySearchIndex = new DeliverySearchIndex();
+        deliverySearchIndex.open(directory);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        deliverySearchIndex.close();
+    }
+
+    @Test
+    public void shouldFindIndexedDeliveryByIndexIdWithoutReopening() {
+        final Index index = new Index(randomUUID(), MONDAY);
+
+        deliverySearchIndex.write(index, Optional.of(randomUUID()));
+        deliverySearchIndex.commit();
+
+        assertThat(deliverySearchIndex.findByIndexId(index.getIndexId()), is(Optional.of(index)));
+        assertThat(deliverySearchIndex.findByIndexId(randomUUID()), is(Optional.empty()));
+    }
+
+    @Test
+    public void shouldReplaceEarlierDeliveryOfSameIndexId() {
+        final UUID recipeId = randomUUID();
+
+        deliverySearchIndex.write(new Index(recipeId, MONDAY), Optional.empty());
+        deliverySearchIndex.commit();
+        deliverySearchIndex.write(new Index(recipeId, MONDAY.plusDays(2)), Optional.empty());
+        deliverySearchIndex.commit();
+
+        assertThat(deliverySearchIndex.findByIndexId(recipeId), is(Optional.of(new Index(recipeId, MONDAY.plusDays(2)))));
+        assertThat(deliverySearchIndex.size(), is(1));
+    }
+
+    @Test
+    public void shouldFindDeliveriesInWindowEarliestFirst() {
+        final Index sunday = new Index(randomUUID(), MONDAY.minusDays(1));
+        final Index tuesday = new Index(randomUUID(), MONDAY.plusDays(1));
+        final Index monday = new Index(randomUUID(), MONDAY);
+        final Index wednesday = new Index(randomUUID(), MONDAY.plusDays(2));
+        asList(sunday, tuesday, monday, wednesday).forEach(index -> deliverySearchIndex.write(index, Optional.empty()));
+        deliverySearchIndex.commit();
+
+        assertThat(deliverySearchIndex.findByDeliveryDateBetween(MONDAY, MONDAY.plusDays(1), 10), contains(monday, tuesday));
+        assertThat(deliverySearchIndex.findByDeliveryDateBetween(MONDAY, MONDAY.plusDays(2), 1), contains(monday));
+        assertThat(deliverySearchIndex.findByDeliveryDateBetween(MONDAY.plusDays(3), MONDAY.plusDays(4), 10), is(empty()));
+    }
+
+    @Test
+    public void shouldNotFindWritesUntilCommitted() {
+        final Index index = new Index(randomUUID(), MONDAY);
+
+        deliverySearchIndex.write(index, Optional.empty());
+        assertThat(deliverySearchIndex.findByIndexId(index.getIndexId()), is(Optional.empty()));
+
+        deliverySearchIndex.commit();
+        assertThat(deliverySearchIndex.findByIndexId(index.getIndexId()), is(Optional.of(index)));
+    }
+
+    @Test
+    public void shouldKeepCommittedDeliveriesWhenReopened() {
+        final Index index = new Index(randomUUID(), MONDAY);
+        deliverySearchIndex.write(index, Optional.empty());
+        deliverySearchIndex.commit();
+
+        deliverySearchIndex.close();
+        deliverySearchIndex = new DeliverySearchIndex();
+        deliverySearchIndex.open(directory);
+
+        assertThat(deliverySearchIndex.findByIndexId(index.getIndexId()), is(Optional.of(index)));
+    }
+}